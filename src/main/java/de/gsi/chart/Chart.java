@@ -2,11 +2,13 @@ package de.gsi.chart;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import com.sun.javafx.charts.ChartLayoutAnimator;
@@ -29,7 +31,9 @@ import de.gsi.chart.ui.css.StylishObjectProperty;
 import de.gsi.chart.ui.geometry.Corner;
 import de.gsi.chart.ui.geometry.Side;
 import de.gsi.chart.utils.AssertUtils;
+import de.gsi.chart.utils.InvalidationCoalescer;
 import de.gsi.chart.utils.ProcessingProfiler;
+import de.gsi.chart.utils.RenderScheduler;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -224,6 +228,8 @@ public abstract class Chart extends SidesPane implements Observable {
     }
 
     protected final ListChangeListener<DataSet> datasetChangeListener = this::datasetsChanged;
+    // number of lists (chart and renderers) a data set is part of, its listener is registered only once
+    private final Map<DataSet, Integer> dataSetListenerCount = new IdentityHashMap<>();
     protected final ObservableList<DataSet> allDataSets = FXCollections.observableArrayList();
     private final ObservableList<DataSet> datasets = FXCollections.observableArrayList();
     {
@@ -989,6 +995,9 @@ public abstract class Chart extends SidesPane implements Observable {
     // ------------------------------------------------------------------------------------------
 
     protected boolean layoutOngoing = false;
+    private long nDataSetInvalidations;
+    private long nDataSetInvalidationsCoalesced;
+    private RenderScheduler renderScheduler = RenderScheduler.getDefault();
 
     /**
      * update axes ranges (if necessary). This is supposed to be implemented in derived classes
@@ -1013,6 +1022,8 @@ public abstract class Chart extends SidesPane implements Observable {
         }
         final long start = ProcessingProfiler.getTimeStamp();
         layoutOngoing = true;
+        // data set invalidations from here on require a new layout pass
+        getRenderScheduler().beginRedraw(this);
 
         // update axes range first because this may change the overall layout
         updateAxisRange();
@@ -1051,16 +1062,67 @@ public abstract class Chart extends SidesPane implements Observable {
         plugins.forEach(ChartPlugin::layoutChildren);
     }
 
-    protected final InvalidationListener dataSetDataListener = obs -> dataSetInvalidated();
+    protected final InvalidationListener dataSetDataListener = obs -> {
+        if (obs instanceof DataSet) {
+            dataSetDataChanged((DataSet) obs);
+        }
+        dataSetInvalidated();
+    };
+
+    /**
+     * called for each data set invalidation prior to {@link #dataSetInvalidated()} (N.B. possibly outside the JavaFX
+     * application thread), e.g. to track which data sets changed since the last layout pass
+     *
+     * @param dataSet the invalidated data set
+     */
+    protected void dataSetDataChanged(final DataSet dataSet) {
+        // nothing to be done by default
+    }
 
     protected void dataSetInvalidated() {
         // DataSet has notified and invalidate
         if (DEBUG) {
             System.err.println("chart dataSetDataListener change notified");
         }
-        // updateAxisRange();
-        // TODO: check why the following does not always forces a layoutChildren
-        requestLayout();
+        nDataSetInvalidations++;
+        final RenderScheduler scheduler = getRenderScheduler();
+        if (Platform.isFxApplicationThread() && scheduler.isPending(this)) {
+            // a single layout pass per pulse covers all data sets updated in the meantime
+            nDataSetInvalidationsCoalesced++;
+            return;
+        }
+        // layout (and re-draw) with the next frame
+        scheduler.requestRedraw(this);
+    }
+
+    /**
+     * @return the scheduler that coordinates the re-drawing of this chart with the JavaFX pulses
+     */
+    public RenderScheduler getRenderScheduler() {
+        return renderScheduler;
+    }
+
+    /**
+     * @param scheduler the scheduler that coordinates the re-drawing of this chart with the JavaFX pulses (default:
+     *            {@link RenderScheduler#getDefault()})
+     */
+    public void setRenderScheduler(final RenderScheduler scheduler) {
+        AssertUtils.notNull("scheduler", scheduler);
+        renderScheduler = scheduler;
+    }
+
+    /**
+     * @return number of data set invalidations received by this chart
+     */
+    public long getDataSetInvalidationCount() {
+        return nDataSetInvalidations;
+    }
+
+    /**
+     * @return number of data set invalidations that have been merged into an already requested layout pass
+     */
+    public long getDataSetInvalidationCoalescedCount() {
+        return nDataSetInvalidationsCoalesced;
     }
 
     protected void datasetsChanged(final ListChangeListener.Change<? extends DataSet> change) {
@@ -1072,13 +1134,13 @@ public abstract class Chart extends SidesPane implements Observable {
         while (change.next()) {
             oldDataSets.addAll(change.getRemoved());
             for (final DataSet set : change.getRemoved()) {
-                set.removeListener(dataSetDataListener);
+                unregisterDataSet(set);
                 dataSetChanges = true;
             }
 
             newDataSets.addAll(change.getAddedSubList());
             for (final DataSet set : change.getAddedSubList()) {
-                set.addListener(dataSetDataListener);
+                registerDataSet(set);
                 dataSetChanges = true;
             }
         }
@@ -1102,6 +1164,35 @@ public abstract class Chart extends SidesPane implements Observable {
         // this.requestLayout();
     }
 
+    /**
+     * adds the data listener to the data set if it is not yet part of another data set list of this chart
+     *
+     * @param dataSet data set added to the chart's or a renderer's data set list
+     */
+    private void registerDataSet(final DataSet dataSet) {
+        if (dataSetListenerCount.merge(dataSet, 1, Integer::sum) == 1) {
+            dataSet.addListener(dataSetDataListener);
+        }
+    }
+
+    /**
+     * removes the data listener from the data set if it is not part of another data set list of this chart
+     *
+     * @param dataSet data set removed from the chart's or a renderer's data set list
+     */
+    private void unregisterDataSet(final DataSet dataSet) {
+        final Integer count = dataSetListenerCount.get(dataSet);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            dataSetListenerCount.put(dataSet, count - 1);
+            return;
+        }
+        dataSetListenerCount.remove(dataSet);
+        dataSet.removeListener(dataSetDataListener);
+    }
+
     protected void updateLegend(final List<DataSet> dataSets, final List<Renderer> renderers) {
         final Legend legend = getLegend();
         if (legend == null) {
@@ -1247,7 +1338,8 @@ public abstract class Chart extends SidesPane implements Observable {
     // -------------- LISTENER HANDLING
     // ------------------------------------------------------------------------------
 
-    protected final List<InvalidationListener> listeners = new ArrayList<>();
+    protected final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final InvalidationCoalescer notificationCoalescer = new InvalidationCoalescer(this::executeFireInvalidated);
     protected BooleanProperty autoNotification = new SimpleBooleanProperty(this, "autoNotification", true);
 
     @Override
@@ -1271,17 +1363,20 @@ public abstract class Chart extends SidesPane implements Observable {
             return this;
         }
 
-        if (Platform.isFxApplicationThread()) {
-            executeFireInvalidated();
-        } else {
-            Platform.runLater(this::executeFireInvalidated);
-        }
-
+        notificationCoalescer.request();
         return this;
     }
 
     protected void executeFireInvalidated() {
-        new ArrayList<>(listeners).forEach(listener -> listener.invalidated(this));
+        listeners.forEach(listener -> listener.invalidated(this));
+    }
+
+    /**
+     * @return the coalescer merging notifications that are fired while a previous one is pending on the JavaFX
+     *         application thread
+     */
+    public InvalidationCoalescer getNotificationCoalescer() {
+        return notificationCoalescer;
     }
 
     public void setAutoNotifaction(final boolean flag) {
@@ -1314,6 +1409,8 @@ public abstract class Chart extends SidesPane implements Observable {
             // handle added renderer
             for (final Renderer renderer : change.getAddedSubList()) {
                 renderer.getDatasets().addListener(datasetChangeListener);
+                // data sets that have been added to the renderer before it has been attached to this chart
+                renderer.getDatasets().forEach(this::registerDataSet);
 
                 boolean rendererHasXAxis = false;
                 boolean rendererHasYAxis = false;
@@ -1364,7 +1461,10 @@ public abstract class Chart extends SidesPane implements Observable {
             }
 
             // handle removed renderer
-            change.getRemoved().forEach(renderer -> renderer.getDatasets().removeListener(datasetChangeListener));
+            for (final Renderer renderer : change.getRemoved()) {
+                renderer.getDatasets().removeListener(datasetChangeListener);
+                renderer.getDatasets().forEach(this::unregisterDataSet);
+            }
         }
         requestLayout();
         updateLegend(getDatasets(), getRenderers());
@@ -2,15 +2,20 @@ package de.gsi.chart;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 
 import de.gsi.chart.axes.Axis;
 import de.gsi.chart.axes.spi.CategoryAxis;
 import de.gsi.chart.axes.spi.DefaultNumericAxis;
 import de.gsi.chart.data.DataSet;
 import de.gsi.chart.data.DataSet3D;
+import de.gsi.chart.data.spi.DataRange;
 import de.gsi.chart.renderer.PolarTickStep;
 import de.gsi.chart.renderer.Renderer;
 import de.gsi.chart.renderer.spi.ErrorDataSetRenderer;
@@ -18,9 +23,7 @@ import de.gsi.chart.renderer.spi.GridRenderer;
 import de.gsi.chart.renderer.spi.LabelledMarkerRenderer;
 import de.gsi.chart.ui.geometry.Side;
 import de.gsi.chart.utils.AssertUtils;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.application.Platform;
+import de.gsi.chart.utils.RenderScheduler;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -33,7 +36,6 @@ import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.util.Duration;
 
 /**
  * Chart designed primarily to display data traces using DataSet interfaces which are more flexible and efficient than
@@ -48,13 +50,16 @@ import javafx.util.Duration;
  */
 public class XYChart extends Chart {
 
-    protected static final int BURST_LIMIT_MS = 15;
     protected BooleanProperty polarPlot = new SimpleBooleanProperty(this, "polarPlot", false);
     private final ObjectProperty<PolarTickStep> polarStepSize = new SimpleObjectProperty<>(PolarTickStep.THIRTY);
     private final GridRenderer gridRenderer = new GridRenderer(this);
-    private long lastCanvasUpdate = 0;
-    private boolean callCanvasUpdateLater = false;
     final ChangeListener<Side> axisSideChangeListener = this::axisSideChanged;
+    // incremental auto-ranging: per-axis aggregated data ranges and data sets changed since the last update
+    private final Map<Axis, AxisDataRange> axisDataRanges = new IdentityHashMap<>();
+    private final Set<DataSet> dirtyDataSets = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ListChangeListener<Axis> rendererAxesChangeListener = change -> invalidateAxisDataRanges();
+    private boolean axisDataRangesValid;
+    private long nAxisRangeUpdates;
 
     public XYChart() {
         this(new DefaultNumericAxis(), new DefaultNumericAxis());
@@ -245,96 +250,123 @@ public class XYChart extends Chart {
     }
 
     private boolean isDataEmpty() {
-        return getAllDatasets() == null || getAllDatasets().isEmpty();
+        // N.B. equivalent to 'getAllDatasets().isEmpty()' without rebuilding the list
+        if (!getDatasets().isEmpty()) {
+            return false;
+        }
+        for (final Renderer renderer : getRenderers()) {
+            if (!(renderer instanceof LabelledMarkerRenderer) && !renderer.getDatasets().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
     }
 
+    /**
+     * incremental auto-ranging: the per-axis data ranges are updated only for data sets that have been invalidated
+     * since the last pass and an axis is re-ranged only if its aggregated data range or its auto-ranging relevant
+     * state (side, length, auto-(grow-)ranging flags) changed.
+     * <p>
+     * N.B. as the axis' own auto-ranging may round the bounds, bound changes alone do not trigger a re-ranging, i.e.
+     * bounds that are set on an auto-ranging axis persist until the next data, length or auto-ranging change.
+     */
     @Override
     public void updateAxisRange() {
         if (isDataEmpty()) {
             return;
         }
 
-        getAxes().forEach(chartAxis -> {
-            final List<DataSet> dataSets = getDataSetForAxis(chartAxis);
-            updateNumericAxis(chartAxis, dataSets);
-            // chartAxis.requestAxisLayout();
-        });
+        if (!axisDataRangesValid) {
+            rebuildAxisDataRanges();
+        } else {
+            synchronized (dirtyDataSets) {
+                if (!dirtyDataSets.isEmpty()) {
+                    for (final AxisDataRange axisDataRange : axisDataRanges.values()) {
+                        axisDataRange.update(dirtyDataSets);
+                    }
+                    dirtyDataSets.clear();
+                }
+            }
+        }
 
-        return;
+        for (final Axis axis : getAxes()) {
+            final AxisDataRange axisDataRange = axisDataRanges.get(axis);
+            if (axisDataRange != null && axisDataRange.apply(axis)) {
+                nAxisRangeUpdates++;
+            }
+        }
     }
 
-    protected List<DataSet> getDataSetForAxis(final Axis axis) {
-        final List<DataSet> retVal = new ArrayList<>();
-        if (axis == null) {
-            return retVal;
-        }
-        retVal.addAll(getDatasets());
-        getRenderers().forEach(renderer -> renderer.getAxes().stream().filter(axis::equals)
-                .forEach(rendererAxis -> retVal.addAll(renderer.getDatasets())));
-        return retVal;
+    /**
+     * forces the re-computation of all axis data ranges with the next layout pass, N.B. needed only if data sets have
+     * been modified without notifying their listeners (data set, renderer and axis list changes are tracked
+     * automatically)
+     */
+    public void invalidateAxisDataRanges() {
+        axisDataRangesValid = false;
     }
 
-    protected void updateNumericAxis(final Axis axis, final List<DataSet> dataSets) {
-        if (dataSets != null && dataSets.isEmpty()) {
-            return;
+    /**
+     * @return number of axis (auto-)range updates, i.e. excluding the layout passes that found the axis and its data
+     *         ranges unchanged
+     */
+    public long getAxisRangeUpdateCount() {
+        return nAxisRangeUpdates;
+    }
+
+    private void rebuildAxisDataRanges() {
+        synchronized (dirtyDataSets) {
+            dirtyDataSets.clear();
         }
-        final boolean oldFlag = axis.isAutoNotification();
-        axis.setAutoNotifaction(false);
-
-        // TODO: add new auto-ranging here
-        final boolean isHorizontal = axis.getSide().isHorizontal();
-        final Side side = axis.getSide();
-        axis.getAutoRange().empty();
-        dataSets.forEach(dataset -> {
-            if (dataset instanceof DataSet3D && (side == Side.RIGHT || side == Side.TOP)) {
-                final DataSet3D mDataSet = (DataSet3D) dataset;
-                axis.getAutoRange().add(mDataSet.getZRange().getMin());
-                axis.getAutoRange().add(mDataSet.getZRange().getMax());
-            } else {
-                axis.getAutoRange().add(isHorizontal ? dataset.getXMin() : dataset.getYMin());
-                axis.getAutoRange().add(isHorizontal ? dataset.getXMax() : dataset.getYMax());
+        axisDataRanges.keySet().retainAll(getAxes());
+        for (final Axis axis : getAxes()) {
+            AxisDataRange axisDataRange = axisDataRanges.get(axis);
+            if (axisDataRange == null) {
+                axisDataRange = new AxisDataRange();
+                axisDataRanges.put(axis, axisDataRange);
             }
-        });
-        axis.getAutoRange().setAxisLength(axis.getLength() == 0 ? 1 : axis.getLength(), side);
+            axisDataRange.setDataSets(getDataSetForAxis(axis), axis.getSide());
+        }
+        axisDataRangesValid = true;
+    }
 
-        // handling of numeric axis and auto-range or auto-grow setting only
-        if (!axis.isAutoRanging() && !axis.isAutoGrowRanging()) {
-            axis.setAutoNotifaction(oldFlag);
-            return;
+    @Override
+    protected void dataSetDataChanged(final DataSet dataSet) {
+        synchronized (dirtyDataSets) {
+            dirtyDataSets.add(dataSet);
         }
+    }
 
-        final List<Number> dataMinMax = new ArrayList<>();
-        dataSets.forEach(dataset -> {
-            if (dataset instanceof DataSet3D && (side == Side.RIGHT || side == Side.TOP)) {
-                final DataSet3D mDataSet = (DataSet3D) dataset;
-                dataMinMax.add(mDataSet.getZRange().getMin());
-                dataMinMax.add(mDataSet.getZRange().getMax());
-            } else {
-                dataMinMax.add(isHorizontal ? dataset.getXMin() : dataset.getYMin());
-                dataMinMax.add(isHorizontal ? dataset.getXMax() : dataset.getYMax());
-            }
-        });
+    @Override
+    protected void datasetsChanged(final ListChangeListener.Change<? extends DataSet> change) {
+        invalidateAxisDataRanges();
+        super.datasetsChanged(change);
+    }
 
-        if (axis.isAutoGrowRanging()) {
-            dataMinMax.add(axis.getLowerBound());
-            dataMinMax.add(axis.getUpperBound());
+    @Override
+    protected void rendererChanged(final ListChangeListener.Change<? extends Renderer> change) {
+        invalidateAxisDataRanges();
+        while (change.next()) {
+            for (final Renderer renderer : change.getRemoved()) {
+                renderer.getAxes().removeListener(rendererAxesChangeListener);
+            }
+            for (final Renderer renderer : change.getAddedSubList()) {
+                renderer.getAxes().addListener(rendererAxesChangeListener);
+            }
         }
+        change.reset();
+        super.rendererChanged(change);
+    }
 
-        // work-around since we cannot overwrite the method 'autorange(min,max)'
-        // in ValueAxis
-        if (axis.isAutoGrowRanging()) {
-            double min = +Double.MAX_VALUE;
-            double max = -Double.MAX_VALUE;
-            for (final Number val : dataMinMax) {
-                min = Math.min(min, val.doubleValue());
-                max = Math.max(max, val.doubleValue());
-            }
-            axis.setLowerBound(min);
-            axis.setUpperBound(max);
-        } else {
-            axis.invalidateRange(dataMinMax);
+    protected List<DataSet> getDataSetForAxis(final Axis axis) {
+        final List<DataSet> retVal = new ArrayList<>();
+        if (axis == null) {
+            return retVal;
         }
-        axis.setAutoNotifaction(oldFlag);
+        retVal.addAll(getDatasets());
+        getRenderers().forEach(renderer -> renderer.getAxes().stream().filter(axis::equals)
+                .forEach(rendererAxis -> retVal.addAll(renderer.getDatasets())));
+        return retVal;
     }
 
     @Override
@@ -342,25 +374,10 @@ public class XYChart extends Chart {
         if (DEBUG) {
             System.err.println("   xychart redrawCanvas() - pre");
         }
-        setAutoNotifaction(false);
-
-        final long now = System.nanoTime();
-        final double diffMillisSinceLastUpdate = TimeUnit.NANOSECONDS.toMillis(now - lastCanvasUpdate);
-        if (diffMillisSinceLastUpdate < XYChart.BURST_LIMIT_MS) {
-            if (!callCanvasUpdateLater) {
-                callCanvasUpdateLater = true;
-                // repaint 20 ms later in case this was just a burst operation
-                // final KeyFrame kf1 = new KeyFrame(Duration.millis(20), e ->
-                // redrawCanvas());
-                // final KeyFrame kf1 = new KeyFrame(Duration.millis(20), e ->
-                // layoutChildren());
-                final KeyFrame kf1 = new KeyFrame(Duration.millis(20), e -> requestLayout());
-
-                final Timeline timeline = new Timeline(kf1);
-                Platform.runLater(timeline::play);
-            }
-            // System.err.println("XYChart burst diffMillisSinceLastUpdate = " +
-            // diffMillisSinceLastUpdate);
+        final RenderScheduler scheduler = getRenderScheduler();
+        if (scheduler.isRedrawnThisPulse(this)) {
+            // burst of updates: re-draw (at most) once with the next frame
+            scheduler.requestRedraw(this);
             return;
         }
         if (DEBUG) {
@@ -368,9 +385,8 @@ public class XYChart extends Chart {
             System.err.println("   xychart redrawCanvas() - canvas size = "
                     + String.format("%fx%f", canvas.getWidth(), canvas.getHeight()));
         }
-
-        lastCanvasUpdate = now;
-        callCanvasUpdateLater = false;
+        final long start = System.nanoTime();
+        setAutoNotifaction(false);
 
         final GraphicsContext gc = canvas.getGraphicsContext2D();
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
@@ -389,6 +405,7 @@ public class XYChart extends Chart {
             gridRenderer.render(gc, this, 0, null);
         }
         setAutoNotifaction(true);
+        scheduler.reportRedraw(this, System.nanoTime() - start);
         if (DEBUG) {
             System.err.println("   xychart redrawCanvas() - done");
         }
@@ -396,6 +413,7 @@ public class XYChart extends Chart {
 
     protected void axisSideChanged(final ObservableValue<? extends Side> change, final Side oldValue,
             final Side newValue) {
+        invalidateAxisDataRanges();
         // loop through all registered axis
         for (final Axis axis : axesList) {
 
@@ -427,6 +445,7 @@ public class XYChart extends Chart {
      */
     @Override
     protected void axesChanged(final ListChangeListener.Change<? extends Axis> change) {
+        invalidateAxisDataRanges();
         while (change.next()) {
             change.getRemoved().forEach(set -> {
                 AssertUtils.notNull("to be removed axis is null", set);
@@ -464,4 +483,119 @@ public class XYChart extends Chart {
         requestLayout();
     }
 
+    /**
+     * aggregated data range of all data sets drawn on one axis, keeps the (min, max) contribution of each data set so
+     * that only invalidated data sets need to be re-queried
+     */
+    private static class AxisDataRange {
+        private final List<DataSet> dataSets = new ArrayList<>();
+        private final DataRange dataRange = new DataRange();
+        private final List<Number> dataMinMax = new ArrayList<>(2);
+        private double[] minima = new double[16];
+        private double[] maxima = new double[16];
+        private Side side;
+        private boolean dirty = true;
+        // axis state of the last update
+        private boolean autoRanging;
+        private boolean autoGrowRanging;
+        private double length = Double.NaN;
+
+        private void setDataSets(final List<DataSet> newDataSets, final Side axisSide) {
+            dataSets.clear();
+            dataSets.addAll(newDataSets);
+            if (minima.length < dataSets.size()) {
+                minima = Arrays.copyOf(minima, Math.max(dataSets.size(), 2 * minima.length));
+                maxima = Arrays.copyOf(maxima, minima.length);
+            }
+            side = axisSide;
+            for (int i = 0; i < dataSets.size(); i++) {
+                updateContribution(i);
+            }
+            dirty = true;
+        }
+
+        private void update(final Set<DataSet> changedDataSets) {
+            for (int i = 0; i < dataSets.size(); i++) {
+                if (changedDataSets.contains(dataSets.get(i))) {
+                    updateContribution(i);
+                    dirty = true;
+                }
+            }
+        }
+
+        private void updateContribution(final int index) {
+            final DataSet dataSet = dataSets.get(index);
+            if (dataSet instanceof DataSet3D && (side == Side.RIGHT || side == Side.TOP)) {
+                final DataRange zRange = ((DataSet3D) dataSet).getZRange();
+                minima[index] = zRange.getMin();
+                maxima[index] = zRange.getMax();
+            } else if (side != null && side.isHorizontal()) {
+                minima[index] = dataSet.getXMin();
+                maxima[index] = dataSet.getXMax();
+            } else {
+                minima[index] = dataSet.getYMin();
+                maxima[index] = dataSet.getYMax();
+            }
+        }
+
+        /**
+         * @param axis the axis to be updated
+         * @return {@code true} if the axis (auto-)range has been updated
+         */
+        private boolean apply(final Axis axis) {
+            if (dataSets.isEmpty()) {
+                return false;
+            }
+            final double axisLength = axis.getLength() == 0 ? 1 : axis.getLength();
+            final boolean isAutoRanging = axis.isAutoRanging();
+            final boolean isAutoGrowRanging = axis.isAutoGrowRanging();
+            if (!dirty && axis.getSide() == side && axisLength == length
+                    && isAutoRanging == autoRanging && isAutoGrowRanging == autoGrowRanging) {
+                return false;
+            }
+            if (axis.getSide() != side) {
+                side = axis.getSide();
+                for (int i = 0; i < dataSets.size(); i++) {
+                    updateContribution(i);
+                }
+            }
+
+            dataRange.empty();
+            for (int i = 0; i < dataSets.size(); i++) {
+                dataRange.add(minima[i]);
+                dataRange.add(maxima[i]);
+            }
+
+            final boolean oldFlag = axis.isAutoNotification();
+            axis.setAutoNotifaction(false);
+            axis.getAutoRange().empty();
+            if (dataRange.isDefined()) {
+                axis.getAutoRange().add(dataRange.getMin());
+                axis.getAutoRange().add(dataRange.getMax());
+            }
+            axis.getAutoRange().setAxisLength(axisLength, side);
+
+            // handling of numeric axis and auto-range or auto-grow setting only
+            if (isAutoGrowRanging) {
+                if (dataRange.isDefined()) {
+                    axis.setLowerBound(Math.min(dataRange.getMin(), axis.getLowerBound()));
+                    axis.setUpperBound(Math.max(dataRange.getMax(), axis.getUpperBound()));
+                }
+            } else if (isAutoRanging) {
+                dataMinMax.clear();
+                if (dataRange.isDefined()) {
+                    dataMinMax.add(dataRange.getMin());
+                    dataMinMax.add(dataRange.getMax());
+                }
+                axis.invalidateRange(dataMinMax);
+            }
+            axis.setAutoNotifaction(oldFlag);
+
+            dirty = false;
+            length = axisLength;
+            autoRanging = isAutoRanging;
+            autoGrowRanging = isAutoGrowRanging;
+            return true;
+        }
+    }
 }
@@ -80,6 +80,25 @@ public interface Axis extends Observable {
      */
     double getDisplayPosition(double value);
 
+    /**
+     * bulk version of {@link #getDisplayPosition(double)}, converts 'length' values from 'src' (starting at 'srcFrom')
+     * into display positions stored in 'dst' (starting at 'dstFrom'). N.B. 'src' and 'dst' may be the same array
+     * (in-place conversion). The default implementation delegates to {@link #getDisplayPosition(double)}, axis
+     * implementations are encouraged to override this with a tight loop using their cached scale and offset.
+     *
+     * @param src data values
+     * @param srcFrom first data value index
+     * @param dst display positions
+     * @param dstFrom first display position index
+     * @param length number of values to be converted
+     */
+    default void getDisplayPositions(final double[] src, final int srcFrom, final double[] dst, final int dstFrom,
+            final int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstFrom + i] = getDisplayPosition(src[srcFrom + i]);
+        }
+    }
+
     /**
      * Get the data value for the given display position on this axis. If the axis is a CategoryAxis this will be the
      * nearest value.
@@ -25,6 +25,24 @@ public interface AxisTransform {
      */
     double backward(double val);
 
+    /**
+     * bulk version of {@link #forward(double)}, transforms 'length' values from 'src' (starting at 'srcFrom') into
+     * 'dst' (starting at 'dstFrom'). N.B. 'src' and 'dst' may be the same array (in-place transform). Implementations
+     * are encouraged to override this with a tight loop.
+     *
+     * @param src input values
+     * @param srcFrom first input index
+     * @param dst output values
+     * @param dstFrom first output index
+     * @param length number of values to be transformed
+     */
+    default void forward(final double[] src, final int srcFrom, final double[] dst, final int dstFrom,
+            final int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstFrom + i] = forward(src[srcFrom + i]);
+        }
+    }
+
     void setMinimumRange(double val);
 
     double getMinimumRange();
@@ -4,18 +4,18 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
-import java.util.WeakHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleUnaryOperator;
 
 import de.gsi.chart.axes.Axis;
 import de.gsi.chart.axes.AxisLabelFormatter;
 import de.gsi.chart.axes.AxisLabelOverlapPolicy;
+import de.gsi.chart.axes.spi.format.AbstractFormatter;
 import de.gsi.chart.axes.spi.format.DefaultFormatter;
 import de.gsi.chart.axes.spi.format.DefaultLogFormatter;
 import de.gsi.chart.axes.spi.format.DefaultTimeFormatter;
 import de.gsi.chart.ui.ResizableCanvas;
 import de.gsi.chart.ui.geometry.Side;
-import javafx.animation.FadeTransition;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
@@ -27,7 +27,6 @@ import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.ObservableList;
-import javafx.geometry.Dimension2D;
 import javafx.geometry.VPos;
 import javafx.scene.CacheHint;
 import javafx.scene.canvas.Canvas;
@@ -36,6 +35,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.shape.Path;
+import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.util.Duration;
@@ -46,8 +46,17 @@ import javafx.util.StringConverter;
  */
 public abstract class AbstractAxis extends AbstractAxisParameter implements Axis {
     protected static final int RANGE_ANIMATION_DURATION_MS = 700;
-    protected WeakHashMap<Number, Dimension2D> tickMarkSizeCache = new WeakHashMap<>();
+    protected static final int TICK_LABEL_FADE_DURATION_MS = 750;
     protected final Timeline animator = new Timeline();
+    // N.B. one fade-in animation and listener shared by all tick labels
+    protected final Timeline tickLabelFader = new Timeline();
+    protected final DoubleProperty tickLabelOpacity = new SimpleDoubleProperty(this, "tickLabelOpacity", 1.0);
+    protected final TickLabelEngine tickLabelEngine = new TickLabelEngine(this::getTickMarkLabel);
+    private final DoubleUnaryOperator displayPosition = this::getDisplayPosition;
+    // re-used tick mark instances exposed via getTickMarks() and getMinorTickMarks()
+    private final List<TickMark> majorTickMarkPool = new ArrayList<>();
+    private final List<TickMark> minorTickMarkPool = new ArrayList<>();
+    private long labelFormatUpdateCount;
     private final Canvas canvas = new ResizableCanvas();
     protected boolean labelOverlap = false;
     protected double cachedOffset; // for caching
@@ -174,6 +183,12 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         widthProperty().addListener(axisSizeChangeListener);
         heightProperty().addListener(axisSizeChangeListener);
 
+        tickLabelOpacity.addListener(evt -> {
+            final GraphicsContext gc = canvas.getGraphicsContext2D();
+            clearAxisCanvas(gc, canvas.getWidth(), canvas.getHeight());
+            drawAxis(gc, getWidth(), getHeight());
+        });
+
         VBox.setVgrow(this, Priority.ALWAYS);
         HBox.setHgrow(this, Priority.ALWAYS);
     }
@@ -272,81 +287,99 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
 
     protected abstract List<Double> calculateMinorTickValues();
 
-    // cache for major tick marks
-    protected WeakHashMap<String, TickMark> tickMarkStringCache = new WeakHashMap<>();
-    // cache for minor tick marks (N.B. usually w/o string label)
-    protected WeakHashMap<Double, TickMark> tickMarkDoubleCache = new WeakHashMap<>();
+    /**
+     * @return engine holding the current major tick values, positions, labels and label sizes
+     */
+    public TickLabelEngine getTickLabelEngine() {
+        return tickLabelEngine;
+    }
 
     public TickMark getNewTickMark(final Double tickValue, final Double tickPosition, final String tickMarkLabel) {
-        TickMark tick;
-        if (tickMarkLabel.isEmpty()) {
-            // usually a minor tick mark w/o label
-            tick = tickMarkDoubleCache.computeIfAbsent(tickValue, k -> new TickMark(tickValue, tickPosition, ""));
-        } else {
-            // usually a major tick mark with label
-            tick = tickMarkStringCache.computeIfAbsent(tickMarkLabel, k -> new TickMark(tickValue, tickPosition, k));
-            tick.setValue(tickValue);
-        }
-        tick.setPosition(tickPosition);
-
-        tick.setFont(getTickLabelFont());
-        tick.setFill(getTickLabelFill());
-        tick.setRotate(getTickLabelRotation());
+        final TickMark tick = new TickMark(tickValue, tickPosition, tickMarkLabel);
+        final double rotation = getTickLabelRotation();
+        tick.setSize(TickLabelEngine.getTextWidth(getTickLabelFont(), rotation, tick.getText()),
+                TickLabelEngine.getTextHeight(getTickLabelFont(), rotation, tick.getText()));
         tick.setVisible(isTickLabelsVisible());
-        tick.applyCss();
         return tick;
     }
 
+    private static TickMark getPooledTickMark(final List<TickMark> pool, final int index) {
+        if (index < pool.size()) {
+            return pool.get(index);
+        }
+        final TickMark tick = new TickMark(0.0, 0.0, "");
+        pool.add(tick);
+        return tick;
+    }
+
+    /**
+     * passes the current label format to the tick label engine, labels are re-used across updates as long as the
+     * format key of the axis label formatter does not change
+     */
+    protected void updateTickLabelFormat() {
+        final StringConverter<Number> formatter = getTickLabelFormatter();
+        final AxisLabelFormatter labelFormatter = getAxisLabelFormatter();
+        if (formatter == null && labelFormatter instanceof AbstractFormatter) {
+            tickLabelEngine.setLabelFormat(labelFormatter, getUnitScaling(),
+                    ((AbstractFormatter) labelFormatter).getFormatKey());
+        } else {
+            // unknown format state: labels are only re-used within the same update
+            tickLabelEngine.setLabelFormat(formatter == null ? labelFormatter : formatter, getUnitScaling(),
+                    ++labelFormatUpdateCount);
+        }
+    }
+
     protected List<TickMark> computeTickMarks(final AxisRange range, final boolean majorTickMark) {
-        final List<TickMark> newTickMarkList = new LinkedList<>();
         final Side side = getSide();
         if (side == null) {
-            return newTickMarkList;
+            return new ArrayList<>();
         }
-        final double width = getWidth();
-        final double height = getHeight();
-        final double axisLength = side.isVertical() ? height : width; // [pixel]
+        final double axisLength = side.isVertical() ? getHeight() : getWidth(); // [pixel]
 
         final List<Double> newTickValues = majorTickMark ? calculateMajorTickValues(axisLength, range)
                 : calculateMinorTickValues();
-
-        if (majorTickMark) {
-            getAxisLabelFormatter().updateFormatter(newTickValues, getUnitScaling());
-
-            // TODO. if first number is very large and range very small ->
-            // switch to:
-            // first label: full format
-            // every other label as '... \n+ X.Y'
+        final List<TickMark> newTickMarkList = new ArrayList<>(newTickValues.size());
+
+        if (!majorTickMark) {
+            for (int i = 0; i < newTickValues.size(); i++) {
+                final double value = newTickValues.get(i);
+                final TickMark tick = getPooledTickMark(minorTickMarkPool, i);
+                tick.setValue(value);
+                tick.setPosition(getDisplayPosition(value));
+                newTickMarkList.add(tick);
+            }
+            return newTickMarkList;
         }
 
-        if (majorTickMark) {
-            maxLabelHeight = 0;
-            maxLabelWidth = 0;
+        getAxisLabelFormatter().updateFormatter(newTickValues, getUnitScaling());
+        // TODO. if first number is very large and range very small ->
+        // switch to:
+        // first label: full format
+        // every other label as '... \n+ X.Y'
+        updateTickLabelFormat();
+
+        // N.B. labels are measured via cached glyph advances, no text nodes
+        final TickLabelEngine labels = tickLabelEngine;
+        labels.update(newTickValues, displayPosition, getTickLabelFont(), getTickLabelRotation(),
+                isTickLabelsVisible());
+        maxLabelHeight = labels.getMaxHeight();
+        maxLabelWidth = labels.getMaxWidth();
+        for (int i = 0; i < labels.size(); i++) {
+            final TickMark tick = getPooledTickMark(majorTickMarkPool, i);
+            tick.setValue(labels.getValue(i));
+            tick.setPosition(labels.getPosition(i));
+            tick.setText(labels.getLabel(i));
+            tick.setSize(labels.getWidth(i), labels.getHeight(i));
+            tick.setVisible(labels.isVisible(i));
+            newTickMarkList.add(tick);
         }
 
-        newTickValues.forEach(newValue -> {
-            final double tickPosition = getDisplayPosition(newValue.doubleValue());
-            final TickMark tick = getNewTickMark(newValue, tickPosition,
-                    majorTickMark ? getTickMarkLabel(newValue.doubleValue()) : "");
-
-            if (majorTickMark && shouldAnimate()) {
-                tick.setOpacity(0);
-            }
-            maxLabelHeight = Math.max(maxLabelHeight, tick.getHeight());
-            maxLabelWidth = Math.max(maxLabelWidth, tick.getWidth());
-
-            newTickMarkList.add(tick);
-            if (majorTickMark && shouldAnimate()) {
-                final FadeTransition ft = new FadeTransition(Duration.millis(750), tick);
-                tick.opacityProperty().addListener((ch, o, n) -> {
-                    clearAxisCanvas(canvas.getGraphicsContext2D(), width, height);
-                    drawAxis(canvas.getGraphicsContext2D(), width, height);
-                });
-                ft.setFromValue(0);
-                ft.setToValue(1);
-                ft.play();
-            }
-        });
+        if (shouldAnimate()) {
+            tickLabelFader.stop();
+            tickLabelFader.getKeyFrames().setAll(new KeyFrame(Duration.ZERO, new KeyValue(tickLabelOpacity, 0.0)),
+                    new KeyFrame(Duration.millis(TICK_LABEL_FADE_DURATION_MS), new KeyValue(tickLabelOpacity, 1.0)));
+            tickLabelFader.play();
+        }
 
         return newTickMarkList;
     }
@@ -402,14 +435,13 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         // Don't draw minor tick marks if there isn't enough space for them!
         if (isMinorTickVisible() && axisLength > neededLength) {
             drawTickMarks(gc, axisLength, axisWidth, axisHeight, minorTicks, getMinorTickLength(), getMinorTickStyle());
-            drawTickLabels(gc, axisWidth, axisHeight, minorTicks, getMinorTickLength());
         }
 
         // draw major tick-mark over minor tick-marks so that the visible
         // (long) line along the axis with the style of the major-tick is
         // visible
         drawTickMarks(gc, axisLength, axisWidth, axisHeight, majorTicks, getTickLength(), getMajorTickStyle());
-        drawTickLabels(gc, axisWidth, axisHeight, majorTicks, getTickLength());
+        drawTickLabels(gc, axisWidth, axisHeight, tickLabelEngine, getTickLength());
 
         // draw axis title
         drawAxisLabel(gc, axisLength, axisWidth, axisHeight, getAxisLabel(), majorTicks, getTickLength());
@@ -500,13 +532,19 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
             measureInvalid = false;
             tickLabelsVisibleInvalid = false;
 
+            // N.B. label sizes are re-measured in case the font or rotation changed
+            final TickLabelEngine labels = tickLabelEngine;
+            labels.updateLayout(displayPosition, getTickLabelFont(), getTickLabelRotation(), isTickLabelsVisible());
+            maxLabelHeight = labels.getMaxHeight();
+            maxLabelWidth = labels.getMaxWidth();
+            final int nLabels = labels.size();
+
             int numLabelsToSkip = 0;
             double totalLabelsSize = 0;
             double maxLabelSize = 0;
-            for (final TickMark m : majorTickMarks) {
-                m.setPosition(getDisplayPosition(m.getValue()));
-                if (m.isVisible()) {
-                    final double tickSize = side.isHorizontal() ? m.getWidth() : m.getHeight();
+            for (int i = 0; i < nLabels; i++) {
+                if (labels.isVisible(i)) {
+                    final double tickSize = side.isHorizontal() ? labels.getWidth(i) : labels.getHeight(i);
                     totalLabelsSize += tickSize;
                     maxLabelSize = Math.round(Math.max(maxLabelSize, tickSize));
                 }
@@ -515,7 +553,7 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
             labelOverlap = false;
 
             if (maxLabelSize > 0 && axisLength < totalLabelsSize) {
-                numLabelsToSkip = (int) (majorTickMarks.size() * maxLabelSize / axisLength) + 1;
+                numLabelsToSkip = (int) (nLabels * maxLabelSize / axisLength) + 1;
                 labelOverlap = true;
             }
 
@@ -523,25 +561,30 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
                     || getOverlapPolicy() == AxisLabelOverlapPolicy.FORCED_SHIFT_ALT;
             if (numLabelsToSkip > 0 && !isShiftOverlapPolicy) {
                 int tickIndex = 0;
-                for (final TickMark m : majorTickMarks) {
-                    if (m.isVisible()) {
-                        m.setVisible(tickIndex++ % numLabelsToSkip == 0);
+                for (int i = 0; i < nLabels; i++) {
+                    if (labels.isVisible(i)) {
+                        labels.setVisible(i, tickIndex++ % numLabelsToSkip == 0);
                     }
                 }
             }
 
-            if (majorTickMarks.size() > 2) {
-                TickMark m1 = majorTickMarks.get(0);
-                TickMark m2 = majorTickMarks.get(1);
-                if (isTickLabelsOverlap(side, m1, m2, getTickLabelGap())) {
+            if (nLabels > 2) {
+                if (isTickLabelsOverlap(side, 0, 1, getTickLabelGap())) {
                     labelOverlap = true;
                 }
-                m1 = majorTickMarks.get(majorTickMarks.size() - 2);
-                m2 = majorTickMarks.get(majorTickMarks.size() - 1);
-                if (isTickLabelsOverlap(side, m1, m2, getTickLabelGap())) {
+                if (isTickLabelsOverlap(side, nLabels - 2, nLabels - 1, getTickLabelGap())) {
                     labelOverlap = true;
                 }
             }
+
+            // update the public tick mark view
+            final int nTicks = Math.min(nLabels, majorTickMarks.size());
+            for (int i = 0; i < nTicks; i++) {
+                final TickMark m = majorTickMarks.get(i);
+                m.setPosition(labels.getPosition(i));
+                m.setSize(labels.getWidth(i), labels.getHeight(i));
+                m.setVisible(labels.isVisible(i));
+            }
         }
 
         if (recomputedTicks) {
@@ -1009,23 +1052,21 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
     }
 
     protected void drawTickMarkLabel(final GraphicsContext gc, final double x, final double y, final double rotation,
-            final TickMark tickMark) {
+            final String label) {
+        if (rotation == 0.0) {
+            // N.B. font, fill and opacity are set once for all labels
+            gc.fillText(label, x, y);
+            return;
+        }
         gc.save();
-        gc.setFont(tickMark.getFont());
-        gc.setFill(tickMark.getFill());
         gc.translate(x, y);
-        if (rotation != 0.0) {
-            gc.rotate(tickMark.getRotate());
-        }
-        gc.setGlobalAlpha(tickMark.getOpacity());
-        gc.fillText(tickMark.getText(), 0, 0);
-        // gc.fillText(tickMark.getText(), x, y);C
+        gc.rotate(rotation);
+        gc.fillText(label, 0, 0);
         gc.restore();
-
     }
 
     protected void drawTickLabels(final GraphicsContext gc, final double axisWidth, final double axisHeight,
-            final ObservableList<TickMark> tickMarks, final double tickLength) {
+            final TickLabelEngine labels, final double tickLength) {
         if (tickLength <= 0) {
             return;
         }
@@ -1049,48 +1090,44 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         // numerical number and not actual readability), thus sticking to 'for'
         // loops
 
-        // apply best-guess tick mark font and color (minimises the need of
-        // setting this for individual actual
-        // tickMarks)
-        if (!tickMarks.isEmpty()) {
-            final TickMark firstTick = tickMarks.get(0);
-            gc.setFont(firstTick.getFont());
-            gc.setFill(firstTick.getFill());
-            // gc.setStroke(tickMark.getStroke());
-            // gc.setLineWidth(tickMark.getStrokeWidth());
-            gc.setGlobalAlpha(firstTick.getOpacity());
-        }
+        // tick label font, color and (fade-in) opacity are common to all labels
+        final Font font = getTickLabelFont();
+        final double fontSize = font.getSize();
+        final int nLabels = labels.size();
+        gc.setFont(font);
+        gc.setFill(getTickLabelFill());
+        gc.setGlobalAlpha(tickLabelOpacity.get());
 
         switch (getSide()) {
         case LEFT:
             gc.setTextAlign(TextAlignment.RIGHT);
             gc.setTextBaseline(VPos.CENTER);
-            for (final TickMark tickMark : tickMarks) {
-                final double position = tickMark.getPosition();
-                if (!tickMark.isVisible()) {
+            for (int i = 0; i < nLabels; i++) {
+                final double position = labels.getPosition(i);
+                if (!labels.isVisible(i)) {
                     // skip invisible labels
                     continue;
                 }
 
                 final double x = axisWidth - tickLength - tickLabelGap;
                 final double y = position;
-                drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
             }
             break;
 
         case RIGHT:
             gc.setTextAlign(TextAlignment.LEFT);
             gc.setTextBaseline(VPos.CENTER);
-            for (final TickMark tickMark : tickMarks) {
-                final double position = tickMark.getPosition();
-                if (!tickMark.isVisible()) {
+            for (int i = 0; i < nLabels; i++) {
+                final double position = labels.getPosition(i);
+                if (!labels.isVisible(i)) {
                     // skip invisible labels
                     continue;
                 }
 
                 final double x = tickLength + tickLabelGap;
                 final double y = position;
-                drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
             }
 
             break;
@@ -1106,9 +1143,9 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
                 gc.setTextBaseline(VPos.BOTTOM);
             }
 
-            for (final TickMark tickMark : tickMarks) {
-                final double position = tickMark.getPosition();
-                if (!tickMark.isVisible()) {
+            for (int i = 0; i < nLabels; i++) {
+                final double position = labels.getPosition(i);
+                if (!labels.isVisible(i)) {
                     // skip invisible labels
                     continue;
                 }
@@ -1117,29 +1154,29 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
                 double y = axisHeight - tickLength - tickLabelGap;
                 switch (overlapPolicy) {
                 case DO_NOTHING:
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case NARROW_FONT:
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case SHIFT_ALT:
                     if (isLabelOverlapping()) {
-                        y -= counter % 2 * tickLabelGap + counter % 2 * tickMark.getFont().getSize();
+                        y -= counter % 2 * tickLabelGap + counter % 2 * fontSize;
                     }
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case FORCED_SHIFT_ALT:
-                    y -= counter % 2 * tickLabelGap + counter % 2 * tickMark.getFont().getSize();
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    y -= counter % 2 * tickLabelGap + counter % 2 * fontSize;
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 default:
                 case SKIP_ALT:
                     if (counter % 2 == 0 || !isLabelOverlapping()) {
-                        drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                        drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     }
                     break;
                 }
-                // drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                // drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
             }
             break;
 
@@ -1155,9 +1192,9 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
             }
 
             counter = 0;
-            for (final TickMark tickMark : tickMarks) {
-                final double position = tickMark.getPosition();
-                if (!tickMark.isVisible()) {
+            for (int i = 0; i < nLabels; i++) {
+                final double position = labels.getPosition(i);
+                if (!labels.isVisible(i)) {
                     // skip invisible labels
                     continue;
                 }
@@ -1166,29 +1203,29 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
                 double y = tickLength + tickLabelGap;
                 switch (overlapPolicy) {
                 case DO_NOTHING:
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case NARROW_FONT:
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case SHIFT_ALT:
                     if (isLabelOverlapping()) {
-                        y += counter % 2 * tickLabelGap + counter % 2 * tickMark.getFont().getSize();
+                        y += counter % 2 * tickLabelGap + counter % 2 * fontSize;
                     }
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case FORCED_SHIFT_ALT:
-                    y += counter % 2 * tickLabelGap + counter % 2 * tickMark.getFont().getSize();
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    y += counter % 2 * tickLabelGap + counter % 2 * fontSize;
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 default:
                 case SKIP_ALT:
                     if (counter % 2 == 0 || !isLabelOverlapping()) {
-                        drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                        drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     }
                     break;
                 }
-                // drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                // drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                 counter++;
             }
             break;
@@ -1196,16 +1233,16 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         case CENTER_VER:
             gc.setTextAlign(TextAlignment.LEFT);
             gc.setTextBaseline(VPos.CENTER);
-            for (final TickMark tickMark : tickMarks) {
-                final double position = tickMark.getPosition();
-                if (!tickMark.isVisible()) {
+            for (int i = 0; i < nLabels; i++) {
+                final double position = labels.getPosition(i);
+                if (!labels.isVisible(i)) {
                     // skip invisible labels
                     continue;
                 }
 
                 final double x = axisCentre * axisWidth + tickLength + tickLabelGap;
                 final double y = position;
-                drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
             }
 
             break;
@@ -1221,9 +1258,9 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
                 gc.setTextBaseline(VPos.TOP);
             }
 
-            for (final TickMark tickMark : tickMarks) {
-                final double position = tickMark.getPosition();
-                if (!tickMark.isVisible()) {
+            for (int i = 0; i < nLabels; i++) {
+                final double position = labels.getPosition(i);
+                if (!labels.isVisible(i)) {
                     // skip invisible labels
                     continue;
                 }
@@ -1232,25 +1269,25 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
                 double y = axisCentre * axisHeight + tickLength + tickLabelGap;
                 switch (overlapPolicy) {
                 case DO_NOTHING:
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case NARROW_FONT:
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case SHIFT_ALT:
                     if (isLabelOverlapping()) {
-                        y += counter % 2 * tickLabelGap + counter % 2 * tickMark.getFont().getSize();
+                        y += counter % 2 * tickLabelGap + counter % 2 * fontSize;
                     }
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 case FORCED_SHIFT_ALT:
-                    y += counter % 2 * tickLabelGap + counter % 2 * tickMark.getFont().getSize();
-                    drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                    y += counter % 2 * tickLabelGap + counter % 2 * fontSize;
+                    drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     break;
                 default:
                 case SKIP_ALT:
                     if (counter % 2 == 0 || !isLabelOverlapping()) {
-                        drawTickMarkLabel(gc, x, y, tickLabelRotation, tickMark);
+                        drawTickMarkLabel(gc, x, y, tickLabelRotation, labels.getLabel(i));
                     }
                     break;
                 }
@@ -1279,9 +1316,13 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
     }
 
     protected double measureTickMarkLength(final double major) {
-        // N.B. this is a known performance hot-spot -> start optimisation here
-        final TickMark tick = getNewTickMark(major, 0.0 /* NA */, getTickMarkLabel(major));
-        return getSide().isHorizontal() ? tick.getWidth() : tick.getHeight();
+        // N.B. cached labels and glyph advances, no text node layout
+        updateTickLabelFormat();
+        final String label = tickLabelEngine.getLabel(major);
+        final Font font = getTickLabelFont();
+        final double rotation = getTickLabelRotation();
+        return getSide().isHorizontal() ? TickLabelEngine.getTextWidth(font, rotation, label)
+                : TickLabelEngine.getTextHeight(font, rotation, label);
     }
 
     /**
@@ -1425,16 +1466,17 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
      *            minimum space between labels
      * @return true if labels overlap
      */
-    private boolean isTickLabelsOverlap(final Side side, final TickMark m1, final TickMark m2, final double gap) {
-        if (!m1.isVisible() || !m2.isVisible()) {
+    private boolean isTickLabelsOverlap(final Side side, final int index1, final int index2, final double gap) {
+        final TickLabelEngine labels = tickLabelEngine;
+        if (!labels.isVisible(index1) || !labels.isVisible(index2)) {
             return false;
         }
-        final double m1Size = side.isHorizontal() ? m1.getWidth() : m1.getHeight();
-        final double m2Size = side.isHorizontal() ? m2.getWidth() : m2.getHeight();
-        final double m1Start = m1.getPosition() - m1Size / 2;
-        final double m1End = m1.getPosition() + m1Size / 2;
-        final double m2Start = m2.getPosition() - m2Size / 2;
-        final double m2End = m2.getPosition() + m2Size / 2;
+        final double m1Size = side.isHorizontal() ? labels.getWidth(index1) : labels.getHeight(index1);
+        final double m2Size = side.isHorizontal() ? labels.getWidth(index2) : labels.getHeight(index2);
+        final double m1Start = labels.getPosition(index1) - m1Size / 2;
+        final double m1End = labels.getPosition(index1) + m1Size / 2;
+        final double m2Start = labels.getPosition(index2) - m2Size / 2;
+        final double m2End = labels.getPosition(index2) + m2Size / 2;
         return side.isVertical() ? m1Start - m2End <= gap : m2Start - m1End <= gap;
     }
 
@@ -399,11 +399,7 @@ public abstract class AbstractAxisParameter extends Pane implements Axis {
     /** The font for all tick labels */
     private final ObjectProperty<Font> tickLabelFont = new StylishObjectProperty<>(StyleableProperties.TICK_LABEL_FONT,
             this, "tickLabelFont", Font.font("System", 8), () -> {
-                // TODO: remove once verified that measure isn't needed anymore
-                final Font f = this.tickLabelFontProperty().get();
-                for (final TickMark tm : getTickMarks()) {
-                    tm.setFont(f);
-                }
+                // N.B. labels are re-measured with the new font during the next layout
                 measureInvalid = true;
                 requestAxisLayout();
             });
@@ -557,6 +557,45 @@ public class DefaultNumericAxis extends AbstractAxis {
         return getDisplayPositionImpl(value);
     }
 
+    /**
+     * bulk version of {@link #getDisplayPosition(double)} using the cached axis scale and offset in a tight loop
+     * (bulk transform for logarithmic axes). N.B. 'src' and 'dst' may be the same array.
+     */
+    @Override
+    public void getDisplayPositions(final double[] src, final int srcFrom, final double[] dst, final int dstFrom,
+            final int length) {
+        final double axisOffset = isInvertedAxis ? offset : 0.0;
+        final double sign = isInvertedAxis ? -1.0 : 1.0;
+        if (isLogAxis) {
+            axisTransform.forward(src, srcFrom, dst, dstFrom, length);
+            final double lowerBoundLog = cache.lowerBoundLog;
+            final double logScaleLengthInv = cache.logScaleLengthInv;
+            final double axisHeight = cache.axisHeight;
+            if (cache.isVerticalAxis) {
+                for (int i = dstFrom; i < dstFrom + length; i++) {
+                    dst[i] = axisOffset + sign * (axisHeight - (dst[i] - lowerBoundLog) * logScaleLengthInv);
+                }
+            } else {
+                for (int i = dstFrom; i < dstFrom + length; i++) {
+                    dst[i] = axisOffset + sign * ((dst[i] - lowerBoundLog) * logScaleLengthInv);
+                }
+            }
+            return;
+        }
+
+        final double localOffset2 = cache.localOffset2;
+        final double localScale = cache.localScale;
+        if (isInvertedAxis) {
+            for (int i = 0; i < length; i++) {
+                dst[dstFrom + i] = axisOffset - (localOffset2 + src[srcFrom + i] * localScale);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                dst[dstFrom + i] = localOffset2 + src[srcFrom + i] * localScale;
+            }
+        }
+    }
+
     private double getDisplayPositionImpl(final double value) {
         if (isLogAxis) {
             final double valueLogOffset = axisTransform.forward(value) - cache.lowerBoundLog;
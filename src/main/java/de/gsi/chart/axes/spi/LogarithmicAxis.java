@@ -361,6 +361,27 @@ public class LogarithmicAxis extends AbstractAxis {
         return valueLogOffset * cache.logScaleLengthInv;
     }
 
+    /**
+     * bulk version of {@link #getDisplayPosition(double)} using the cached logarithm base, axis scale and offset in a
+     * tight loop. N.B. 'src' and 'dst' may be the same array.
+     */
+    @Override
+    public void getDisplayPositions(final double[] src, final int srcFrom, final double[] dst, final int dstFrom,
+            final int length) {
+        final double logBase = cache.logBase;
+        final double lowerBoundLog = cache.lowerBoundLog;
+        final double logScaleLengthInv = cache.logScaleLengthInv;
+        final double axisHeight = cache.axisHeight;
+        final boolean isVerticalAxis = cache.isVerticalAxis;
+        for (int i = 0; i < length; i++) {
+            final double value = src[srcFrom + i];
+            // N.B. same as log(value): non-positive values are mapped to NaN
+            final double valueLogOffset = (value <= 0 ? Double.NaN : Math.log10(value) / logBase) - lowerBoundLog;
+            dst[dstFrom + i] = isVerticalAxis ? axisHeight - valueLogOffset * logScaleLengthInv
+                    : valueLogOffset * logScaleLengthInv;
+        }
+    }
+
     /**
      * Get the data value for the given display position on this axis. If the
      * axis is a CategoryAxis this will be the nearest value. -- cached double
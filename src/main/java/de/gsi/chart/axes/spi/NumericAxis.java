@@ -528,6 +528,21 @@ public final class NumericAxis extends AbstractAxis {
         return localOffset + (value - localCurrentLowerBound) * localScale;
     }
 
+    /**
+     * bulk version of {@link #getDisplayPosition(double)} using the cached axis scale and offset in a tight loop. N.B.
+     * 'src' and 'dst' may be the same array.
+     */
+    @Override
+    public void getDisplayPositions(final double[] src, final int srcFrom, final double[] dst, final int dstFrom,
+            final int length) {
+        final double offset = localOffset;
+        final double lowerBound = localCurrentLowerBound;
+        final double scale = localScale;
+        for (int i = 0; i < length; i++) {
+            dst[dstFrom + i] = offset + (src[srcFrom + i] - lowerBound) * scale;
+        }
+    }
+
     /**
      * Get the data value for the given display position on this axis. If the
      * axis is a CategoryAxis this will be the nearest value. -- cached double
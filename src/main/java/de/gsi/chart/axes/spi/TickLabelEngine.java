@@ -0,0 +1,338 @@
+package de.gsi.chart.axes.spi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import de.gsi.chart.data.utils.DoubleLruCache;
+import de.gsi.chart.data.utils.LongDoubleHashMap;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * canvas-native tick label layout of an axis: holds the major tick values, display positions, labels and label sizes
+ * in reused primitive arrays and measures labels via per-font glyph advance widths that are cached once per font (i.e.
+ * no scene-graph text node, CSS pass or bounds computation per tick).
+ * <p>
+ * Labels are cached in a bounded LRU cache keyed by (value, format), whereby the 'format' is a key provided by the
+ * axis via {@link #setLabelFormat(Object, double, long)} that changes whenever the formatter would produce different
+ * labels for the same value.
+ * <p>
+ * N.B. like the axis itself, this class is meant to be used from the JavaFX application thread only.
+ *
+ * @author rstein
+ */
+public class TickLabelEngine {
+    private static final int DEFAULT_LABEL_CACHE_SIZE = 1000;
+    private static final int INITIAL_CAPACITY = 32;
+    private static final Map<Font, GlyphMetrics> GLYPH_METRICS = new WeakHashMap<>();
+    private static Text measurementText;
+    private final DoubleFunction<String> labelFormatter;
+    private final DoubleLruCache<String> labelCache = new DoubleLruCache<>(DEFAULT_LABEL_CACHE_SIZE);
+    private Object formatOwner;
+    private double formatUnitScaling = 1.0;
+    private long formatKey;
+    private int size;
+    private double[] values = new double[INITIAL_CAPACITY];
+    private double[] positions = new double[INITIAL_CAPACITY];
+    private double[] widths = new double[INITIAL_CAPACITY];
+    private double[] heights = new double[INITIAL_CAPACITY];
+    private String[] labels = new String[INITIAL_CAPACITY];
+    private boolean[] visible = new boolean[INITIAL_CAPACITY];
+    private double maxWidth;
+    private double maxHeight;
+
+    /**
+     * @param labelFormatter function converting a tick value into its label (usually
+     *            {@link AbstractAxis#getTickMarkLabel(double)})
+     */
+    public TickLabelEngine(final DoubleFunction<String> labelFormatter) {
+        if (labelFormatter == null) {
+            throw new IllegalArgumentException("labelFormatter must not be null");
+        }
+        this.labelFormatter = labelFormatter;
+    }
+
+    /**
+     * sets the format used for subsequent label look-ups, N.B. the label cache is cleared if the formatter or unit
+     * scaling changes
+     *
+     * @param formatter the object formatting the labels
+     * @param unitScaling the unit scaling applied prior to formatting
+     * @param key key identifying the current format of the formatter (equal keys: equal labels for equal values)
+     */
+    public void setLabelFormat(final Object formatter, final double unitScaling, final long key) {
+        if (formatter != formatOwner || unitScaling != formatUnitScaling) {
+            labelCache.clear();
+            formatOwner = formatter;
+            formatUnitScaling = unitScaling;
+        }
+        formatKey = key;
+    }
+
+    /**
+     * @param value tick value
+     * @return (cached) label for the given value and current format
+     */
+    public String getLabel(final double value) {
+        final String label = labelCache.get(value, formatKey);
+        if (label != null) {
+            return label;
+        }
+        final String newLabel = labelFormatter.apply(value);
+        labelCache.put(value, formatKey, newLabel == null ? "" : newLabel);
+        return newLabel == null ? "" : newLabel;
+    }
+
+    /**
+     * @return the label cache (e.g. for hit-rate statistics)
+     */
+    public DoubleLruCache<String> getLabelCache() {
+        return labelCache;
+    }
+
+    /**
+     * recomputes tick labels, positions and label sizes
+     *
+     * @param tickValues new major tick values
+     * @param displayPosition conversion from tick value to display position
+     * @param font tick label font
+     * @param rotation tick label rotation [deg]
+     * @param labelsVisible {@code true} if labels are visible
+     */
+    public void update(final List<Double> tickValues, final DoubleUnaryOperator displayPosition, final Font font,
+            final double rotation, final boolean labelsVisible) {
+        ensureCapacity(tickValues.size());
+        size = tickValues.size();
+        for (int i = 0; i < size; i++) {
+            final double value = tickValues.get(i);
+            values[i] = value;
+            labels[i] = getLabel(value);
+        }
+        // N.B. release references to labels of previous updates
+        Arrays.fill(labels, size, labels.length, null);
+        updateLayout(displayPosition, font, rotation, labelsVisible);
+    }
+
+    /**
+     * recomputes positions and label sizes (e.g. after an axis length or font change) and resets the label visibility
+     *
+     * @param displayPosition conversion from tick value to display position
+     * @param font tick label font
+     * @param rotation tick label rotation [deg]
+     * @param labelsVisible {@code true} if labels are visible
+     */
+    public void updateLayout(final DoubleUnaryOperator displayPosition, final Font font, final double rotation,
+            final boolean labelsVisible) {
+        final GlyphMetrics metrics = getGlyphMetrics(font);
+        final double angle = Math.toRadians(rotation);
+        final double cos = Math.abs(Math.cos(angle));
+        final double sin = Math.abs(Math.sin(angle));
+        maxWidth = 0.0;
+        maxHeight = 0.0;
+        for (int i = 0; i < size; i++) {
+            positions[i] = displayPosition.applyAsDouble(values[i]);
+            final double textWidth = metrics.getWidth(font, labels[i]);
+            final double textHeight = metrics.getHeight(labels[i]);
+            // bounding box of the rotated label
+            widths[i] = textWidth * cos + textHeight * sin;
+            heights[i] = textWidth * sin + textHeight * cos;
+            visible[i] = labelsVisible;
+            maxWidth = Math.max(maxWidth, widths[i]);
+            maxHeight = Math.max(maxHeight, heights[i]);
+        }
+    }
+
+    /**
+     * @return number of tick labels
+     */
+    public int size() {
+        return size;
+    }
+
+    public double getValue(final int index) {
+        return values[index];
+    }
+
+    public double getPosition(final int index) {
+        return positions[index];
+    }
+
+    public String getLabel(final int index) {
+        return labels[index];
+    }
+
+    /**
+     * @param index tick index
+     * @return width of the label including rotation
+     */
+    public double getWidth(final int index) {
+        return widths[index];
+    }
+
+    /**
+     * @param index tick index
+     * @return height of the label including rotation
+     */
+    public double getHeight(final int index) {
+        return heights[index];
+    }
+
+    public boolean isVisible(final int index) {
+        return visible[index];
+    }
+
+    public void setVisible(final int index, final boolean state) {
+        visible[index] = state;
+    }
+
+    /**
+     * @return maximum label width (including rotation) of the last update
+     */
+    public double getMaxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * @return maximum label height (including rotation) of the last update
+     */
+    public double getMaxHeight() {
+        return maxHeight;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (values.length >= capacity) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, 2 * values.length);
+        values = Arrays.copyOf(values, newCapacity);
+        positions = Arrays.copyOf(positions, newCapacity);
+        widths = Arrays.copyOf(widths, newCapacity);
+        heights = Arrays.copyOf(heights, newCapacity);
+        labels = Arrays.copyOf(labels, newCapacity);
+        visible = Arrays.copyOf(visible, newCapacity);
+    }
+
+    /**
+     * @param font font
+     * @param rotation rotation [deg]
+     * @param text text to be measured
+     * @return width of the text bounding box including rotation
+     */
+    public static double getTextWidth(final Font font, final double rotation, final String text) {
+        final GlyphMetrics metrics = getGlyphMetrics(font);
+        final double angle = Math.toRadians(rotation);
+        return metrics.getWidth(font, text) * Math.abs(Math.cos(angle))
+                + metrics.getHeight(text) * Math.abs(Math.sin(angle));
+    }
+
+    /**
+     * @param font font
+     * @param rotation rotation [deg]
+     * @param text text to be measured
+     * @return height of the text bounding box including rotation
+     */
+    public static double getTextHeight(final Font font, final double rotation, final String text) {
+        final GlyphMetrics metrics = getGlyphMetrics(font);
+        final double angle = Math.toRadians(rotation);
+        return metrics.getWidth(font, text) * Math.abs(Math.sin(angle))
+                + metrics.getHeight(text) * Math.abs(Math.cos(angle));
+    }
+
+    private static GlyphMetrics getGlyphMetrics(final Font font) {
+        return GLYPH_METRICS.computeIfAbsent(font, GlyphMetrics::new);
+    }
+
+    private static Text getMeasurementText() {
+        if (measurementText == null) {
+            measurementText = new Text();
+        }
+        return measurementText;
+    }
+
+    /**
+     * glyph advance widths of one font, measured once per glyph and summed up for whole lines (N.B. neglects kerning
+     * which is a good approximation for the usual numeric labels). Multi-line labels (e.g. date and time) are as wide
+     * as their widest line and as high as their number of lines. N.B. must not reference its font, which is the weak
+     * key of the cache
+     */
+    private static class GlyphMetrics {
+        private static final int N_DIRECT = 256;
+        // Latin-1 advances, NaN: not yet measured
+        private final double[] advances = new double[N_DIRECT];
+        private final LongDoubleHashMap otherAdvances = new LongDoubleHashMap();
+        private final double lineHeight;
+
+        protected GlyphMetrics(final Font font) {
+            Arrays.fill(advances, Double.NaN);
+            final Text text = getMeasurementText();
+            text.setFont(font);
+            text.setText("0");
+            lineHeight = text.getLayoutBounds().getHeight();
+        }
+
+        /**
+         * @param label the label
+         * @return height of the label, i.e. number of lines (separated by '\n', '\r' or "\r\n") times line height
+         */
+        protected double getHeight(final String label) {
+            int nLines = 1;
+            final int length = label.length();
+            for (int i = 0; i < length; i++) {
+                final char c = label.charAt(i);
+                if (c == '\n' || c == '\r' && (i + 1 == length || label.charAt(i + 1) != '\n')) {
+                    nLines++;
+                }
+            }
+            return nLines * lineHeight;
+        }
+
+        /**
+         * @param font the font these metrics belong to
+         * @param label the label
+         * @return width of the widest line of the label
+         */
+        protected double getWidth(final Font font, final String label) {
+            double maxWidth = 0.0;
+            double width = 0.0;
+            final int length = label.length();
+            for (int i = 0; i < length;) {
+                final int codePoint = label.codePointAt(i);
+                if (codePoint == '\n' || codePoint == '\r') {
+                    maxWidth = Math.max(maxWidth, width);
+                    width = 0.0;
+                } else {
+                    width += getAdvance(font, codePoint);
+                }
+                i += Character.charCount(codePoint);
+            }
+            return Math.max(maxWidth, width);
+        }
+
+        private double getAdvance(final Font font, final int codePoint) {
+            if (codePoint < N_DIRECT) {
+                final double advance = advances[codePoint];
+                if (!Double.isNaN(advance)) {
+                    return advance;
+                }
+                return advances[codePoint] = measure(font, codePoint);
+            }
+            if (otherAdvances.containsKey(codePoint)) {
+                return otherAdvances.get(codePoint);
+            }
+            final double advance = measure(font, codePoint);
+            otherAdvances.put(codePoint, advance);
+            return advance;
+        }
+
+        private static double measure(final Font font, final int codePoint) {
+            final Text text = getMeasurementText();
+            text.setFont(font);
+            text.setText(new String(Character.toChars(codePoint)));
+            return text.getLayoutBounds().getWidth();
+        }
+    }
+}
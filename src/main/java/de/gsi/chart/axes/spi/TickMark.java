@@ -1,16 +1,23 @@
 package de.gsi.chart.axes.spi;
 
-import javafx.scene.text.Text;
-
 /**
  * TickMark represents the label text, its associated tick mark value and
  * position along the axis for each tick.
+ * <p>
+ * N.B. this is a light-weight data holder (no scene-graph node). The labels are
+ * measured and drawn directly onto the axis canvas by the axis'
+ * {@link TickLabelEngine} using the axis-wide tick label font, fill and
+ * rotation.
  *
  * @author rstein
  */
-public class TickMark extends Text {
-    private Double tickValue; // tick mark in data units
+public class TickMark {
+    private double tickValue; // tick mark in data units
     private double tickPosition; // tick position along axis in display units
+    private String text;
+    private double width;
+    private double height;
+    private boolean visible = true;
 
     /**
      * Creates and initialises an instance of TickMark.
@@ -52,21 +59,58 @@ public class TickMark extends Text {
         return tickPosition;
     }
 
+    /**
+     * @param label
+     *            tick mark label
+     */
+    public void setText(final String label) {
+        text = label == null ? "" : label;
+    }
+
+    /**
+     * @return tick mark label
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @param visible
+     *            {@code true} if the label is to be drawn
+     */
+    public void setVisible(final boolean visible) {
+        this.visible = visible;
+    }
+
+    /**
+     * @return {@code true} if the label is to be drawn
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * @param width
+     *            measured width of the label including rotation
+     * @param height
+     *            measured height of the label including rotation
+     */
+    public void setSize(final double width, final double height) {
+        this.width = width;
+        this.height = height;
+    }
+
     /**
      * @return the width of the tick mark including rotation etc.
      */
     public double getWidth() {
-        // N.B. important: usage of getBoundsInParent() which also takes into
-        // account text rotations
-        return getBoundsInParent().getWidth();
+        return width;
     }
 
     /**
      * @return the height of the tick mark including rotation etc.
      */
     public double getHeight() {
-        // N.B. important: usage of getBoundsInParent() which also takes into
-        // account text rotations
-        return getBoundsInParent().getHeight();
+        return height;
     }
 }
@@ -23,6 +23,7 @@ public abstract class AbstractFormatter extends StringConverter<Number> implemen
     protected double unitScaling;
     protected double rangeMin;
     protected double rangeMax;
+    private long formatUpdateCount;
 
     protected double localSchmidtTriggerThreshold = 0.01;
     protected DoubleProperty schmittTriggerThreshold = new SimpleDoubleProperty(this, "schmittTriggerThreshold",
@@ -120,11 +121,30 @@ public abstract class AbstractFormatter extends StringConverter<Number> implemen
         this.rangeMin /= unitScaling;
         this.rangeMax /= unitScaling;
 
+        formatUpdateCount++;
         rangeUpdated();
     }
 
+    /**
+     * Key identifying the current label format, i.e. equal keys yield identical labels for identical values. Used by
+     * the axes to cache labels across tick mark updates. N.B. the default changes with every formatter update and
+     * should be overwritten by derived classes that can identify their format more precisely.
+     *
+     * @return key identifying the current label format
+     */
+    public long getFormatKey() {
+        return formatUpdateCount;
+    }
+
     protected abstract void rangeUpdated();
 
+    /**
+     * @return the formatter's label cache (e.g. for hit-rate statistics)
+     */
+    public FormatterLabelCache getLabelCache() {
+        return labelCache;
+    }
+
     public AbstractFormatter() {
         super();
         rangeMin = 0;
@@ -2,7 +2,6 @@ package de.gsi.chart.axes.spi.format;
 
 import java.text.DecimalFormat;
 import java.text.ParseException;
-import java.util.WeakHashMap;
 
 import de.gsi.chart.axes.Axis;
 import de.gsi.chart.axes.TickUnitSupplier;
@@ -28,8 +27,6 @@ public class DefaultFormatter extends AbstractFormatter {
     private String formatterPattern = "%f";
     private boolean isExponentialForm = false;
 
-    private final WeakHashMap<Integer, WeakHashMap<Number, String>> numberFormatCache = new WeakHashMap<>();
-
     protected NumberFormatterImpl myFormatter = new NumberFormatterImpl();
     protected int rangeIndex = 0;
     protected int oldRangeIndex = 0;
@@ -136,6 +133,12 @@ public class DefaultFormatter extends AbstractFormatter {
         }
     }
 
+    @Override
+    public long getFormatKey() {
+        // N.B. odd: exponential form, even: fixed-point pattern
+        return isExponentialForm ? 2L * myFormatter.getPrecision() + 1 : 2L * formatterPattern.hashCode();
+    }
+
     /**
      * Converts the object provided into its string form. Format of the returned string is defined by this converter.
      *
@@ -148,28 +151,19 @@ public class DefaultFormatter extends AbstractFormatter {
         // return labelCache.get(formatter, object.doubleValue());
         // return labelCache.get(formatter, object.doubleValue());
 
+        // N.B. labels of both representations are kept in the same cache, tagged by their format
+        final double value = object.doubleValue();
+        final long formatKey = getFormatKey();
         if (isExponentialForm) {
-            return labelCache.get(myFormatter, object.doubleValue());
+            return labelCache.get(myFormatter, value, formatKey);
         }
-        final WeakHashMap<Number, String> hash = numberFormatCache.get(formatterPattern.hashCode());
-        if (hash != null) {
-            final String label = hash.get(object);
-            if (label != null) {
-                return label;
-            }
+        final String label = labelCache.get(value, formatKey);
+        if (label != null) {
+            return label;
         }
         // couldn't find label in cache
-        final String retVal = String.format(formatterPattern, object.doubleValue());
-        // add retVal to cache
-        if (hash == null) {
-            final WeakHashMap<Number, String> temp = new WeakHashMap<>();
-            temp.put(object, retVal);
-            numberFormatCache.put(Integer.valueOf(formatterPattern.hashCode()), temp);
-            // checkCache = new WeakHashMap<>();
-        } else {
-            hash.put(object, retVal);
-        }
-
+        final String retVal = String.format(formatterPattern, value);
+        labelCache.put(value, formatKey, retVal);
         return retVal;
     }
 
@@ -44,19 +44,9 @@ public class DefaultLogFormatter extends AbstractFormatter {
     @Override
     protected void rangeUpdated() {
         final boolean smallScale = getLogRange() <= DefaultLogFormatter.DEFAULT_SMALL_LOG_AXIS;
-        final DecimalFormat oldFormatter = formatter.getFormatter();
 
-        if (smallScale) {
-            formatter.setFormatter(formatterSmall);
-            if (!formatter.equals(oldFormatter)) {
-                labelCache.clear();
-            }
-            return;
-        }
-        formatter.setFormatter(formatterLarge);
-        if (!formatter.equals(oldFormatter)) {
-            labelCache.clear();
-        }
+        // N.B. labels are tagged by the format key, no need to clear the cache on format changes
+        formatter.setFormatter(smallScale ? formatterSmall : formatterLarge);
     }
 
     @Override
@@ -64,9 +54,14 @@ public class DefaultLogFormatter extends AbstractFormatter {
         return Math.abs(Math.log10(rangeMin)) + Math.abs(Math.log10(rangeMax));
     }
 
+    @Override
+    public long getFormatKey() {
+        return formatter.getFormatter() == formatterSmall ? 0L : 1L;
+    }
+
     @Override
     public String toString(final Number object) {
-        return labelCache.get(formatter, object.doubleValue());
+        return labelCache.get(formatter, object.doubleValue(), getFormatKey());
     }
 
     @Override
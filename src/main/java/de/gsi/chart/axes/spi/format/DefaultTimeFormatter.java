@@ -89,11 +89,9 @@ public class DefaultTimeFormatter extends AbstractFormatter {
     @Override
     protected void rangeUpdated() {
         // set formatter based on range if necessary
+        // N.B. labels are tagged by the format key, no need to clear the cache on format changes
         formatterIndex = DefaultTimeTickUnitSupplier.getTickIndex(getRange());
-        if (oldIndex != formatterIndex) {
-            labelCache.clear();
-            oldIndex = formatterIndex;
-        }
+        oldIndex = formatterIndex;
     }
 
     public String getCurrentLocalDateTimeStamp() {
@@ -111,9 +109,22 @@ public class DefaultTimeFormatter extends AbstractFormatter {
                 .replaceAll(" ", System.lineSeparator());
     }
 
+    @Override
+    public long getFormatKey() {
+        return (long) getTimeZoneOffset().getTotalSeconds() << 16 | formatterIndex;
+    }
+
     @Override
     public String toString(final Number utcValueSeconds) {
-        return labelCache.computeIfAbsent(utcValueSeconds, this::getTimeString);
+        final double value = utcValueSeconds.doubleValue();
+        final long formatKey = getFormatKey();
+        final String label = labelCache.get(value, formatKey);
+        if (label != null) {
+            return label;
+        }
+        final String newLabel = getTimeString(utcValueSeconds);
+        labelCache.put(value, formatKey, newLabel);
+        return newLabel;
     }
 
     private String getTimeString(final Number utcValueSeconds) {
@@ -1,36 +1,47 @@
 package de.gsi.chart.axes.spi.format;
 
-import java.util.WeakHashMap;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
+import de.gsi.chart.data.utils.DoubleLruCache;
 import javafx.util.StringConverter;
 
 /**
  * Simple cache to keep recurring results of String formatters
+ * <p>
+ * N.B. bounded LRU cache keyed by the primitive value (and optionally a tag identifying the format), i.e. no boxing and
+ * no garbage-collector dependent eviction. The hit/miss statistics are accessible via {@link #getHitRate()}.
  *
  * @author rstein
  */
-public class FormatterLabelCache extends WeakHashMap<Number, String> {
-    private static final Logger LOGGER = LoggerFactory.getLogger(FormatterLabelCache.class);
+public class FormatterLabelCache extends DoubleLruCache<String> {
+    public static final int DEFAULT_CAPACITY = 1000;
 
     public FormatterLabelCache() {
-        super();
+        this(DEFAULT_CAPACITY);
     }
 
-    public String get(final StringConverter<Number> formatter, final Number value) {
+    /**
+     * @param capacity maximum number of cached labels
+     */
+    public FormatterLabelCache(final int capacity) {
+        super(capacity);
+    }
+
+    public String get(final StringConverter<Number> formatter, final double value) {
         return computeIfAbsent(value, formatter::toString);
     }
 
-    // @Override
-    // public String get(Object key) {
-    // String ret = super.get(key);
-    // if (ret == null) {
-    // System.out.println("cache missed");
-    // } else {
-    // System.out.println("cache hit");
-    // }
-    // return ret;
-    // }
+    /**
+     * @param formatter formatter used on cache misses
+     * @param value value to be formatted
+     * @param formatTag tag identifying the current format of the formatter
+     * @return cached or newly formatted label
+     */
+    public String get(final StringConverter<Number> formatter, final double value, final long formatTag) {
+        final String label = get(value, formatTag);
+        if (label != null) {
+            return label;
+        }
+        final String newLabel = formatter.toString(value);
+        put(value, formatTag, newLabel);
+        return newLabel;
+    }
 }
@@ -53,6 +53,12 @@ public class SimpleFormatter extends AbstractFormatter {
         // 'simple' implementation
     }
 
+    @Override
+    public long getFormatKey() {
+        // N.B. fixed format
+        return 0L;
+    }
+
     /**
      * Converts the object provided into its string form. Format of the returned string is defined by this converter.
      *
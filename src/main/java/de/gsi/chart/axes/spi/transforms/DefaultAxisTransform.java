@@ -18,6 +18,14 @@ public class DefaultAxisTransform extends AbstractAxisTransform {
         return val;
     }
 
+    @Override
+    public void forward(final double[] src, final int srcFrom, final double[] dst, final int dstFrom,
+            final int length) {
+        if (src != dst || srcFrom != dstFrom) {
+            System.arraycopy(src, srcFrom, dst, dstFrom, length);
+        }
+    }
+
     @Override
     public double backward(final double val) {
         return val;
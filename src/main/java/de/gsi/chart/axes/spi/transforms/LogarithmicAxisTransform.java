@@ -80,6 +80,16 @@ public class LogarithmicAxisTransform extends AbstractAxisTransform {
         return log(val);
     }
 
+    @Override
+    public void forward(final double[] src, final int srcFrom, final double[] dst, final int dstFrom,
+            final int length) {
+        final double logBase = logBaseCache;
+        for (int i = 0; i < length; i++) {
+            final double value = src[srcFrom + i];
+            dst[dstFrom + i] = value <= 0 ? Double.NaN : Math.log10(value) / logBase;
+        }
+    }
+
     @Override
     public double backward(final double val) {
         return pow(val);
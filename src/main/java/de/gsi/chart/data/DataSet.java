@@ -75,6 +75,75 @@ public interface DataSet extends Observable {
      */
     int getDataCount(double xmin, double xmax);
 
+    /**
+     * Indicates whether the x coordinates are sorted in ascending order, which allows binary-search-based range
+     * queries (e.g. for viewport clipping). The default implementation checks all data points.
+     *
+     * @return <code>true</code> if the x coordinates are sorted in ascending order
+     */
+    default boolean isXSorted() {
+        final int dataCount = getDataCount();
+        for (int i = 1; i < dataCount; i++) {
+            if (!(getX(i) >= getX(i - 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the index of the first data point with an x coordinate not less than the given value. Together with
+     * {@link #getXIndexUpperBound(double)} this defines the index range [lower, upper) of the data points within an x
+     * interval. For unsorted data sets the full index range is returned.
+     *
+     * @param x
+     *            the x coordinate
+     * @return the index of the data point ({@link #getDataCount()} if there is none) for sorted data sets,
+     *         <code>0</code> otherwise
+     */
+    default int getXIndexLowerBound(final double x) {
+        if (!isXSorted()) {
+            return 0;
+        }
+        int low = 0;
+        int high = getDataCount();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (getX(mid) < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the index of the first data point with an x coordinate greater than the given value. For unsorted data sets
+     * the full index range is returned.
+     *
+     * @param x
+     *            the x coordinate
+     * @return the index of the data point ({@link #getDataCount()} if there is none) for sorted data sets,
+     *         {@link #getDataCount()} otherwise
+     */
+    default int getXIndexUpperBound(final double x) {
+        int low = 0;
+        int high = getDataCount();
+        if (!isXSorted()) {
+            return high;
+        }
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (getX(mid) <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     /**
      * Gets the x value of the data point with the index i
      *
@@ -101,19 +170,57 @@ public interface DataSet extends Observable {
      * @return the x value
      */
     default double[] getXValues() {
-        final int n = getDataCount();
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = getX(i);
+        return getXValues(0, getDataCount(), null, 0);
+    }
+
+    default double[] getYValues() {
+        return getYValues(0, getDataCount(), null, 0);
+    }
+
+    /**
+     * Copies the x values of the data points within the index range [fromIndex, toIndex) into the given target array.
+     * Implementations backed by primitive arrays should override this with a bulk copy to avoid the per-point
+     * {@link #getX(int)} dispatch.
+     *
+     * @param fromIndex
+     *            index of the first data point to be copied (inclusive)
+     * @param toIndex
+     *            index of the last data point to be copied (exclusive)
+     * @param target
+     *            the array the values are copied into, a new array is allocated if <code>null</code>
+     * @param targetOffset
+     *            index within the target array of the first copied value
+     * @return the target array (fluent design)
+     */
+    default double[] getXValues(final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        for (int i = fromIndex; i < toIndex; i++) {
+            retValues[targetOffset + i - fromIndex] = getX(i);
         }
         return retValues;
     }
 
-    default double[] getYValues() {
-        final int n = getDataCount();
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = getY(i);
+    /**
+     * Copies the y values of the data points within the index range [fromIndex, toIndex) into the given target array.
+     * Implementations backed by primitive arrays should override this with a bulk copy to avoid the per-point
+     * {@link #getY(int)} dispatch.
+     *
+     * @param fromIndex
+     *            index of the first data point to be copied (inclusive)
+     * @param toIndex
+     *            index of the last data point to be copied (exclusive)
+     * @param target
+     *            the array the values are copied into, a new array is allocated if <code>null</code>
+     * @param targetOffset
+     *            index within the target array of the first copied value
+     * @return the target array (fluent design)
+     */
+    default double[] getYValues(final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        for (int i = fromIndex; i < toIndex; i++) {
+            retValues[targetOffset + i - fromIndex] = getY(i);
         }
         return retValues;
     }
@@ -56,10 +56,23 @@ public interface DataSetError extends DataSet {
      * @return array containing negative X error
      */
     default double[] getXErrorsNegative() {
-        final int n = getDataCount();
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = getXErrorNegative(i);
+        return getXErrorsNegative(0, getDataCount(), null, 0);
+    }
+
+    /**
+     * Copies the negative error along the X axis of the data points within the index range [fromIndex, toIndex) into
+     * the given target array. Implementations backed by primitive arrays should override this with a bulk copy.
+     *
+     * @param fromIndex index of the first data point to be copied (inclusive)
+     * @param toIndex index of the last data point to be copied (exclusive)
+     * @param target the array the errors are copied into, a new array is allocated if <code>null</code>
+     * @param targetOffset index within the target array of the first copied value
+     * @return the target array (fluent design)
+     */
+    default double[] getXErrorsNegative(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        for (int i = fromIndex; i < toIndex; i++) {
+            retValues[targetOffset + i - fromIndex] = getXErrorNegative(i);
         }
         return retValues;
     }
@@ -80,10 +93,23 @@ public interface DataSetError extends DataSet {
      * @return array containing positive X error
      */
     default double[] getXErrorsPositive() {
-        final int n = getDataCount();
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = getXErrorPositive(i);
+        return getXErrorsPositive(0, getDataCount(), null, 0);
+    }
+
+    /**
+     * Copies the positive error along the X axis of the data points within the index range [fromIndex, toIndex) into
+     * the given target array. Implementations backed by primitive arrays should override this with a bulk copy.
+     *
+     * @param fromIndex index of the first data point to be copied (inclusive)
+     * @param toIndex index of the last data point to be copied (exclusive)
+     * @param target the array the errors are copied into, a new array is allocated if <code>null</code>
+     * @param targetOffset index within the target array of the first copied value
+     * @return the target array (fluent design)
+     */
+    default double[] getXErrorsPositive(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        for (int i = fromIndex; i < toIndex; i++) {
+            retValues[targetOffset + i - fromIndex] = getXErrorPositive(i);
         }
         return retValues;
     }
@@ -104,10 +130,23 @@ public interface DataSetError extends DataSet {
      * @return array containing negative Y error
      */
     default double[] getYErrorsNegative() {
-        final int n = getDataCount();
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = getYErrorNegative(i);
+        return getYErrorsNegative(0, getDataCount(), null, 0);
+    }
+
+    /**
+     * Copies the negative error along the Y axis of the data points within the index range [fromIndex, toIndex) into
+     * the given target array. Implementations backed by primitive arrays should override this with a bulk copy.
+     *
+     * @param fromIndex index of the first data point to be copied (inclusive)
+     * @param toIndex index of the last data point to be copied (exclusive)
+     * @param target the array the errors are copied into, a new array is allocated if <code>null</code>
+     * @param targetOffset index within the target array of the first copied value
+     * @return the target array (fluent design)
+     */
+    default double[] getYErrorsNegative(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        for (int i = fromIndex; i < toIndex; i++) {
+            retValues[targetOffset + i - fromIndex] = getYErrorNegative(i);
         }
         return retValues;
     }
@@ -128,10 +167,23 @@ public interface DataSetError extends DataSet {
      * @return array containing positive y error
      */
     default double[] getYErrorsPositive() {
-        final int n = getDataCount();
-        final double[] retValues = new double[n];
-        for (int i = 0; i < n; i++) {
-            retValues[i] = getYErrorPositive(i);
+        return getYErrorsPositive(0, getDataCount(), null, 0);
+    }
+
+    /**
+     * Copies the positive error along the Y axis of the data points within the index range [fromIndex, toIndex) into
+     * the given target array. Implementations backed by primitive arrays should override this with a bulk copy.
+     *
+     * @param fromIndex index of the first data point to be copied (inclusive)
+     * @param toIndex index of the last data point to be copied (exclusive)
+     * @param target the array the errors are copied into, a new array is allocated if <code>null</code>
+     * @param targetOffset index within the target array of the first copied value
+     * @return the target array (fluent design)
+     */
+    default double[] getYErrorsPositive(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        for (int i = fromIndex; i < toIndex; i++) {
+            retValues[targetOffset + i - fromIndex] = getYErrorPositive(i);
         }
         return retValues;
     }
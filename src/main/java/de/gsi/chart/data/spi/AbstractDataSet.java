@@ -1,17 +1,17 @@
 package de.gsi.chart.data.spi;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReentrantLock;
 
 import de.gsi.chart.data.DataSet;
 import de.gsi.chart.data.DataSetMetaData;
-import javafx.application.Platform;
+import de.gsi.chart.data.utils.ArraySortUtils;
+import de.gsi.chart.utils.InvalidationCoalescer;
 import javafx.beans.InvalidationListener;
 import javafx.scene.transform.Scale;
 
@@ -33,12 +33,29 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         implements DataSet, DataSetMetaData {
 
     protected String name;
-    protected final List<InvalidationListener> listeners = new LinkedList<>();
+    // N.B. copy-on-write: listeners are rarely modified but notified at high rates (no copy per notification)
+    protected final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final InvalidationCoalescer notificationCoalescer = new InvalidationCoalescer(
+            this::executeFireInvalidated);
     protected final ReentrantLock lock = new ReentrantLock();
     boolean autoNotification = true;
     protected DataRange xRange = new DataRange();
     protected DataRange yRange = new DataRange();
     private final Map<String, String> metaInfoMap = new ConcurrentHashMap<>();
+    // number of data points per block of the sub-range min/max cache
+    private static final int RANGE_CACHE_BLOCK_SIZE = 1024;
+    // [xMin, xMax, yMin, yMax] for each full block of data points
+    private double[] blockRanges;
+    private boolean rangeCacheValid;
+    private static final int X_ORDER_UNKNOWN = 0;
+    private static final int X_ORDER_SORTED = 1;
+    private static final int X_ORDER_UNSORTED = 2;
+    private Boolean xSortedDeclared; // null: x order is tracked/detected
+    private int xOrder = X_ORDER_UNKNOWN;
+    // secondary index for data sets with unsorted x coordinates
+    private double[] xSortedValues;
+    private int[] xSortedIndices;
+    private boolean xSortIndexValid;
 
     public AbstractDataSet(final String name) {
         super();
@@ -173,22 +190,139 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
      */
     protected D computeLimits() {
         lock();
-        // Clear previous ranges
-        xRange.empty();
-        yRange.empty();
+        try {
+            // Clear previous ranges
+            xRange.empty();
+            yRange.empty();
+            invalidateRangeCache();
+
+            computeLimits(0, getDataCount(), xRange, yRange);
+        } finally {
+            unlock();
+        }
+        return getThis();
+    }
 
-        final int dataCount = getDataCount();
+    /**
+     * Adds the data points within the index range [fromIndex, toIndex) to the given ranges. Derived classes may
+     * override this to include errors or to use a faster (e.g. array-based) implementation.
+     *
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @param xr range to be extended by the x values
+     * @param yr range to be extended by the y values
+     */
+    protected void computeLimits(final int fromIndex, final int toIndex, final DataRange xr, final DataRange yr) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            xr.add(getX(i));
+            yr.add(getY(i));
+        }
+    }
 
-        for (int i = 0; i < dataCount; i++) {
-            xRange.add(getX(i));
-            yRange.add(getY(i));
+    /**
+     * Gets the x range of the data points within the index range [fromIndex, toIndex), e.g. the visible window.
+     *
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @return new range of x values (undefined if there are no (finite) data points within the index range)
+     */
+    public DataRange getXRange(final int fromIndex, final int toIndex) {
+        final DataRange xr = new DataRange();
+        computeLimits(fromIndex, toIndex, xr, new DataRange(), true);
+        return xr;
+    }
+
+    /**
+     * Gets the y range of the data points within the index range [fromIndex, toIndex), e.g. the visible window.
+     *
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @return new range of y values (undefined if there are no (finite) data points within the index range)
+     */
+    public DataRange getYRange(final int fromIndex, final int toIndex) {
+        final DataRange yr = new DataRange();
+        computeLimits(fromIndex, toIndex, new DataRange(), yr, true);
+        return yr;
+    }
+
+    /**
+     * Adds the data points within the index range [fromIndex, toIndex) to the given ranges. Ranges spanning more than
+     * a couple of blocks are computed from the cached per-block ranges and only the partially covered head and tail
+     * blocks are scanned. The cache is (re-)built lazily on the first query after the data set has been modified.
+     *
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @param xr range to be extended by the x values
+     * @param yr range to be extended by the y values
+     * @param useCache {@code true}: use block range cache
+     */
+    protected void computeLimits(final int fromIndex, final int toIndex, final DataRange xr, final DataRange yr,
+            final boolean useCache) {
+        lock();
+        try {
+            final int dataCount = getDataCount();
+            final int from = Math.max(0, fromIndex);
+            final int to = Math.min(dataCount, toIndex);
+            if (to <= from) {
+                return;
+            }
+            if (!useCache || to - from < 2 * RANGE_CACHE_BLOCK_SIZE) {
+                computeLimits(from, to, xr, yr);
+                return;
+            }
+            updateRangeCache(dataCount);
+
+            final int firstBlock = (from + RANGE_CACHE_BLOCK_SIZE - 1) / RANGE_CACHE_BLOCK_SIZE;
+            final int lastBlock = to / RANGE_CACHE_BLOCK_SIZE; // exclusive
+            computeLimits(from, firstBlock * RANGE_CACHE_BLOCK_SIZE, xr, yr);
+            for (int block = firstBlock; block < lastBlock; block++) {
+                final int offset = 4 * block;
+                xr.add(blockRanges[offset]);
+                xr.add(blockRanges[offset + 1]);
+                yr.add(blockRanges[offset + 2]);
+                yr.add(blockRanges[offset + 3]);
+            }
+            computeLimits(lastBlock * RANGE_CACHE_BLOCK_SIZE, to, xr, yr);
+        } finally {
+            unlock();
         }
+    }
+
+    /**
+     * invalidates the cached per-block ranges used for index sub-range queries. Needs to be called whenever data points
+     * are modified (this is done implicitly by {@link #computeLimits()} and {@link #fireInvalidated()}).
+     */
+    protected void invalidateRangeCache() {
+        rangeCacheValid = false;
+    }
 
-        return unlock();
+    private void updateRangeCache(final int dataCount) {
+        if (rangeCacheValid) {
+            return;
+        }
+        final int nBlocks = dataCount / RANGE_CACHE_BLOCK_SIZE;
+        if (blockRanges == null || blockRanges.length < 4 * nBlocks) {
+            blockRanges = new double[4 * nBlocks];
+        }
+        final DataRange xr = new DataRange();
+        final DataRange yr = new DataRange();
+        for (int block = 0; block < nBlocks; block++) {
+            xr.empty();
+            yr.empty();
+            computeLimits(block * RANGE_CACHE_BLOCK_SIZE, (block + 1) * RANGE_CACHE_BLOCK_SIZE, xr, yr);
+            // N.B. undefined block ranges are stored as NaN which are ignored by DataRange.add(..)
+            final int offset = 4 * block;
+            blockRanges[offset] = xr.getMin();
+            blockRanges[offset + 1] = xr.getMax();
+            blockRanges[offset + 2] = yr.getMin();
+            blockRanges[offset + 3] = yr.getMax();
+        }
+        rangeCacheValid = true;
     }
 
     /**
-     * Gets the number of data points in the range xmin to xmax.
+     * Gets the number of data points in the range xmin to xmax. The count is based on a binary search for sorted x
+     * coordinates or on a (lazily built) secondary sort index otherwise, i.e. O(log n) rather than a full scan.
      *
      * @param xmin the lower end of the range
      * @param xmax the upper end of the range
@@ -197,20 +331,197 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
     @Override
     public int getDataCount(final double xmin, final double xmax) {
         lock();
-        int count = 0;
-        for (int i = 0; i < getDataCount(); i++) {
+        try {
+            if (isXSorted()) {
+                return Math.max(0, getXIndexUpperBound(xmax) - getXIndexLowerBound(xmin));
+            }
+            updateXSortIndex();
+            final int dataCount = getDataCount();
+            return Math.max(0, ArraySortUtils.upperBound(xSortedValues, 0, dataCount, xmax)
+                    - ArraySortUtils.lowerBound(xSortedValues, 0, dataCount, xmin));
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Indicates whether the x coordinates are sorted in ascending order. Unless declared via
+     * {@link #setXSorted(Boolean)}, the state is detected lazily and (for data sets that track their modifications,
+     * see {@link #isXOrderTracked()}) maintained incrementally on add/set/remove.
+     *
+     * @return {@code true} if the x coordinates are sorted in ascending order
+     */
+    @Override
+    public boolean isXSorted() {
+        if (xSortedDeclared != null) {
+            return xSortedDeclared;
+        }
+        if (xOrder == X_ORDER_UNKNOWN) {
+            lock();
+            try {
+                xOrder = isXSorted(0, getDataCount()) ? X_ORDER_SORTED : X_ORDER_UNSORTED;
+            } finally {
+                unlock();
+            }
+        }
+        return xOrder == X_ORDER_SORTED;
+    }
+
+    /**
+     * declares whether the x coordinates are sorted in ascending order, e.g. for time-series data for which the order
+     * is known a priori and need not be checked.
+     *
+     * @param sorted {@code true}: sorted; {@code false}: unsorted; {@code null}: detected and tracked automatically
+     *            (default)
+     * @return itself (fluent design)
+     */
+    public D setXSorted(final Boolean sorted) {
+        xSortedDeclared = sorted;
+        return getThis();
+    }
+
+    /**
+     * @return {@code true} if the derived class maintains the x order state via {@link #updateXOrder(int, int)} and
+     *         {@link #invalidateXOrder()}, otherwise the state is reset (and re-detected lazily) on each
+     *         {@link #fireInvalidated()}
+     */
+    protected boolean isXOrderTracked() {
+        return false;
+    }
+
+    /**
+     * updates the x order state after the data points within [fromIndex, toIndex) have been added, inserted or
+     * replaced. Only the boundaries to the neighbouring data points need to be checked if the data set was sorted
+     * before. N.B. for removed data points use 'fromIndex == toIndex' (index of the first data point after the removed
+     * range)
+     *
+     * @param fromIndex first modified index (inclusive)
+     * @param toIndex last modified index (exclusive)
+     */
+    protected void updateXOrder(final int fromIndex, final int toIndex) {
+        xSortIndexValid = false;
+        if (xOrder != X_ORDER_SORTED) {
+            // an unsorted data set may have become sorted -> detect lazily
+            xOrder = X_ORDER_UNKNOWN;
+            return;
+        }
+        final int from = Math.max(0, fromIndex - 1);
+        final int to = Math.min(getDataCount(), toIndex + 1);
+        xOrder = isXSorted(from, to) ? X_ORDER_SORTED : X_ORDER_UNSORTED;
+    }
+
+    /**
+     * invalidates the x order state and secondary sort index, to be called after arbitrary modifications of the x
+     * coordinates (the state is re-detected lazily)
+     */
+    protected void invalidateXOrder() {
+        xOrder = X_ORDER_UNKNOWN;
+        xSortIndexValid = false;
+    }
+
+    /**
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @return {@code true} if the x coordinates within [fromIndex, toIndex) are sorted in ascending order
+     */
+    protected boolean isXSorted(final int fromIndex, final int toIndex) {
+        if (toIndex - fromIndex < 2) {
+            return true;
+        }
+        double previous = getX(fromIndex);
+        if (Double.isNaN(previous)) {
+            return false;
+        }
+        for (int i = fromIndex + 1; i < toIndex; i++) {
             final double x = getX(i);
-            if (x >= xmin && x <= xmax) {
-                count++;
+            if (!(x >= previous)) {
+                return false;
+            }
+            previous = x;
+        }
+        return true;
+    }
+
+    /**
+     * @param x the x coordinate
+     * @return index of the first data point with an x coordinate not less than 'x' ({@code getDataCount()} if there is
+     *         none) for sorted data sets, {@code 0} otherwise
+     */
+    @Override
+    public int getXIndexLowerBound(final double x) {
+        if (!isXSorted()) {
+            return 0;
+        }
+        lock();
+        try {
+            int low = 0;
+            int high = getDataCount();
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (getX(mid) < x) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * @param x the x coordinate
+     * @return index of the first data point with an x coordinate greater than 'x' ({@code getDataCount()} if there is
+     *         none) for sorted data sets, {@code getDataCount()} otherwise
+     */
+    @Override
+    public int getXIndexUpperBound(final double x) {
+        lock();
+        try {
+            int low = 0;
+            int high = getDataCount();
+            if (!isXSorted()) {
+                return high;
+            }
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (getX(mid) <= x) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
             }
+            return low;
+        } finally {
+            unlock();
         }
-        unlock();
-        return count;
+    }
+
+    /**
+     * (re-)builds the secondary sort index of the x coordinates if necessary
+     */
+    private void updateXSortIndex() {
+        if (xSortIndexValid) {
+            return;
+        }
+        final int dataCount = getDataCount();
+        if (xSortedValues == null || xSortedValues.length < dataCount) {
+            xSortedValues = new double[dataCount];
+            xSortedIndices = new int[dataCount];
+        }
+        getXValues(0, dataCount, xSortedValues, 0);
+        for (int i = 0; i < dataCount; i++) {
+            xSortedIndices[i] = i;
+        }
+        ArraySortUtils.sortIndexed(xSortedValues, xSortedIndices, dataCount);
+        xSortIndexValid = true;
     }
 
     /**
      * Gets the index of the data point closest to the given x coordinate. The index returned may be less then zero or
      * larger the the number of data points in the data set, if the x coordinate lies outside the range of the data set.
+     * For data sets with unsorted x coordinates, the closest data point is found via a secondary sort index.
      *
      * @param x the x position of the data point
      * @return the index of the data point
@@ -223,11 +534,28 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         final int lastIndex = getDataCount() - 1;
 
         if (!Double.isFinite(x)) {
-            // System.err.println("value is not finite = " + x);
-            // System.exit(0);
             return 0;
         }
 
+        if (!isXSorted()) {
+            lock();
+            try {
+                updateXSortIndex();
+                final int dataCount = getDataCount();
+                final int index = ArraySortUtils.lowerBound(xSortedValues, 0, dataCount, x);
+                if (index == 0) {
+                    return xSortedIndices[0];
+                }
+                if (index >= dataCount || Double.isNaN(xSortedValues[index])) {
+                    return xSortedIndices[index - 1];
+                }
+                return x - xSortedValues[index - 1] <= xSortedValues[index] - x ? xSortedIndices[index - 1]
+                        : xSortedIndices[index];
+            } finally {
+                unlock();
+            }
+        }
+
         if (x < this.getXMin()) {
             return 0;
         }
@@ -236,20 +564,8 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
             return lastIndex;
         }
 
-        // binary closest search -- assumes sorted data set
-        // TODO: should implement either sorting and/or flag that data set is
-        // sorted
+        // binary closest search
         return binarySearchX(x, 0, lastIndex);
-        // alt implementation (less performant than binary search)
-        // System.err.println("AAA - range check: x = " + x + " vs. diff to min
-        // = " + Math.abs(x - getXMin()) + " max =
-        // "
-        // + Math.abs(x - getXMax()));
-        // System.err.println("AAA - " + getName() + " - search A = " +
-        // minNeigbourSearchX(x, 0, lastIndex)
-        // + " vs. search B = " + binarySearchX(x, 0, lastIndex) + " max= " +
-        // this.getDataCount());
-        // return minNeigbourSearchX(x, 0, lastIndex);
     }
 
     /**
@@ -354,10 +670,16 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
 
     /**
      * Notifies listeners that the data has been invalidated. If the data is added to the chart, it triggers repaint.
+     * Notifications from non-JavaFX threads are coalesced, i.e. at most one is pending on the JavaFX application thread
+     * (see {@link #getNotificationCoalescer()}).
      *
      * @return itself (fluent design)
      */
     public D fireInvalidated() {
+        invalidateRangeCache();
+        if (!isXOrderTracked()) {
+            invalidateXOrder();
+        }
         if (!autoNotification || listeners.isEmpty()) {
             return getThis();
         }
@@ -366,21 +688,28 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
             computeLimits();
         }
 
-        if (Platform.isFxApplicationThread()) {
-            executeFireInvalidated();
-        } else {
-            Platform.runLater(this::executeFireInvalidated);
-        }
+        notificationCoalescer.request();
         return getThis();
     }
 
     protected D executeFireInvalidated() {
-        for (final InvalidationListener listener : new ArrayList<>(listeners)) {
+        for (final InvalidationListener listener : listeners) {
             listener.invalidated(this);
         }
         return getThis();
     }
 
+    /**
+     * The coalescer merges notifications fired (e.g. at kHz rates from acquisition threads) while a previous
+     * notification is still pending on the JavaFX application thread. It may be used to limit the notification rate
+     * ({@link InvalidationCoalescer#setMaxRate(double)}) and provides the number of coalesced and dropped events.
+     *
+     * @return the notification coalescer of this data set
+     */
+    public InvalidationCoalescer getNotificationCoalescer() {
+        return notificationCoalescer;
+    }
+
     /**
      * Returns label of a data point specified by the index. The label can be used as a category name if
      * CategoryStepsDefinition is used or for annotations displayed for data points.
@@ -1,7 +1,6 @@
 package de.gsi.chart.data.spi;
 
 import de.gsi.chart.data.DataSet3D;
-import javafx.application.Platform;
 
 /**
  * An abstract implementation of <code>DataSet3D</code> interface.
@@ -28,15 +27,13 @@ public abstract class AbstractDataSet3D<D extends AbstractDataSet3D<D>> extends
      */
     @Override
     public D fireInvalidated() {
+        invalidateRangeCache();
+        invalidateXOrder();
         if (!autoNotification || listeners.isEmpty()) {
             return getThis();
         }
 
-        if (Platform.isFxApplicationThread()) {
-            super.executeFireInvalidated();
-        } else {
-            Platform.runLater(this::executeFireInvalidated);
-        }
+        getNotificationCoalescer().request();
         return getThis();
     }
 
@@ -64,16 +64,10 @@ public abstract class AbstractErrorDataSet<D extends AbstractDataSet<D>> extends
     }
 
     /**
-     * Computes limits (ranges) of this DataSet including data point errors.
+     * Computes limits (ranges) of the data points within [fromIndex, toIndex) including data point errors.
      */
     @Override
-    protected D computeLimits() {
-        lock();
-        // Clear previous ranges
-        xRange.empty();
-        yRange.empty();
-        final int dataCount = getDataCount();
-
+    protected void computeLimits(final int fromIndex, final int toIndex, final DataRange xr, final DataRange yr) {
         // a getUndefValue() is not specified
 
         // following sections implements separate handling
@@ -88,83 +82,74 @@ public abstract class AbstractErrorDataSet<D extends AbstractDataSet<D>> extends
         double yDataError;
         switch (getErrorType()) {
         case NO_ERROR:
-            for (int i = 0; i < dataCount; i++) {
+            for (int i = fromIndex; i < toIndex; i++) {
                 xData = getX(i);
                 yData = getY(i);
-                xRange.add(xData);
-                yRange.add(yData);
+                xr.add(xData);
+                yr.add(yData);
             }
             break;
         case X:
-            for (int i = 0; i < dataCount; i++) {
+            for (int i = fromIndex; i < toIndex; i++) {
                 xData = getX(i);
                 yData = getY(i);
                 xDataError = getXErrorPositive(i);
-                xRange.add(xData - xDataError);
-                xRange.add(xData + xDataError);
-                yRange.add(yData);
+                xr.add(xData - xDataError);
+                xr.add(xData + xDataError);
+                yr.add(yData);
             }
             break;
         case Y:
-            for (int i = 0; i < dataCount; i++) {
+            for (int i = fromIndex; i < toIndex; i++) {
                 xData = getX(i);
                 yData = getY(i);
                 yDataError = getYErrorPositive(i);
-                xRange.add(xData);
-                yRange.add(yData - yDataError);
-                yRange.add(yData + yDataError);
+                xr.add(xData);
+                yr.add(yData - yDataError);
+                yr.add(yData + yDataError);
             }
             break;
         case XY:
-            for (int i = 0; i < dataCount; i++) {
+            for (int i = fromIndex; i < toIndex; i++) {
                 xData = getX(i);
                 yData = getY(i);
                 xDataError = getXErrorPositive(i);
                 yDataError = getYErrorPositive(i);
-                xRange.add(xData - xDataError);
-                xRange.add(xData + xDataError);
-                yRange.add(yData - yDataError);
-                yRange.add(yData + yDataError);
+                xr.add(xData - xDataError);
+                xr.add(xData + xDataError);
+                yr.add(yData - yDataError);
+                yr.add(yData + yDataError);
             }
             break;
         case X_ASYMMETRIC:
-            for (int i = 0; i < dataCount; i++) {
+            for (int i = fromIndex; i < toIndex; i++) {
                 xData = getX(i);
                 yData = getY(i);
-                xRange.add(xData - getXErrorNegative(i));
-                xRange.add(xData + getXErrorPositive(i));
-                yRange.add(yData);
+                xr.add(xData - getXErrorNegative(i));
+                xr.add(xData + getXErrorPositive(i));
+                yr.add(yData);
             }
             break;
         case Y_ASYMMETRIC:
-            for (int i = 0; i < dataCount; i++) {
+            for (int i = fromIndex; i < toIndex; i++) {
                 xData = getX(i);
                 yData = getY(i);
-                xRange.add(xData);
-                yRange.add(yData - getYErrorNegative(i));
-                yRange.add(yData + getYErrorPositive(i));
+                xr.add(xData);
+                yr.add(yData - getYErrorNegative(i));
+                yr.add(yData + getYErrorPositive(i));
             }
             break;
         case XY_ASYMMETRIC:
         default:
-            for (int i = 0; i < dataCount; i++) {
+            for (int i = fromIndex; i < toIndex; i++) {
                 xData = getX(i);
                 yData = getY(i);
-                xRange.add(xData - getXErrorNegative(i));
-                xRange.add(xData + getXErrorPositive(i));
-                yRange.add(yData - getYErrorNegative(i));
-                yRange.add(yData + getYErrorPositive(i));
+                xr.add(xData - getXErrorNegative(i));
+                xr.add(xData + getXErrorPositive(i));
+                yr.add(yData - getYErrorNegative(i));
+                yr.add(yData + getYErrorPositive(i));
             }
         }
-
-        // final double min = yRange.getMin();
-        // final double max = yRange.getMax();
-        // add a bit of margin in the vertical plane (beautifies the plots.. ;-)
-        // yRange.set(min < 0 ? min * 1.05 : min * 0.95, max < 0 ? max * 0.95 :
-        // max * 1.05);
-        unlock();
-
-        return getThis();
     }
 
 }
@@ -216,13 +216,21 @@ public abstract class AbstractHistogram extends AbstractDataSet3D<AbstractHistog
 		return valueRange.getMax();
 	}
 
+	/**
+	 * @param bin sorted bin edges
+	 * @param value the value to be searched
+	 * @return index of the last bin edge less or equal than the value (N.B. branch-free binary search, i.e. the loop
+	 *         body compiles to conditional moves)
+	 */
 	protected int findNextLargerIndex(double[] bin, double value) {
-		for (int i = 1; i < bin.length; i++) {
-			if (value < bin[i]) {
-				return i - 1;
-			}
+		int base = 0;
+		int length = bin.length;
+		while (length > 1) {
+			final int half = length >>> 1;
+			base = bin[base + half] <= value ? base + half : base;
+			length -= half;
 		}
-		return bin.length - 1;
+		return base;
 	}
 
 	@Override
@@ -239,7 +247,8 @@ public abstract class AbstractHistogram extends AbstractDataSet3D<AbstractHistog
 		if (isEquiDistant()) {
 			final double diff = x - xBinRange.getMin();
 			final double delta = xBinRange.getLength() / (getNBinsX() - 2);
-			return (int) Math.round(diff / delta);
+			// N.B. regular bins are [1, nBins], the upper range limit belongs to the last regular bin
+			return Math.min(getNBinsX() - 2, 1 + (int) (diff / delta));
 		}
 
 		return findNextLargerIndex(xBins, x);
@@ -263,7 +272,8 @@ public abstract class AbstractHistogram extends AbstractDataSet3D<AbstractHistog
 		if (isEquiDistant()) {
 			final double diff = y - yBinRange.getMin();
 			final double delta = yBinRange.getLength() / (getNBinsY() - 2);
-			return (int) Math.round(diff / delta);
+			// N.B. regular bins are [1, nBins], the upper range limit belongs to the last regular bin
+			return Math.min(getNBinsY() - 2, 1 + (int) (diff / delta));
 		}
 
 		return findNextLargerIndex(yBins, y);
@@ -277,13 +287,14 @@ public abstract class AbstractHistogram extends AbstractDataSet3D<AbstractHistog
 			if (z < zBinRange.getMin()) {
 				return 0; // underflow bin
 			}
-			return getNBinsY() - 1; // overflow bin
+			return getNBinsZ() - 1; // overflow bin
 		}
 
 		if (isEquiDistant()) {
 			final double diff = z - zBinRange.getMin();
 			final double delta = zBinRange.getLength() / (getNBinsZ() - 2);
-			return (int) Math.round(diff / delta);
+			// N.B. regular bins are [1, nBins], the upper range limit belongs to the last regular bin
+			return Math.min(getNBinsZ() - 2, 1 + (int) (diff / delta));
 		}
 
 		return findNextLargerIndex(zBins, z);
@@ -318,7 +329,7 @@ public abstract class AbstractHistogram extends AbstractDataSet3D<AbstractHistog
 
 		if (isEquiDistant()) {
 			final double delta = xBinRange.getLength() / (getNBinsX() - 2);
-			return xBinRange.getMin() + (binX - 1) * delta;
+			return xBinRange.getMin() + (binX - 0.5) * delta;
 		}
 
 		return xBins[binX] + 0.5 * (xBins[binX + 1] - xBins[binX]);
@@ -336,7 +347,7 @@ public abstract class AbstractHistogram extends AbstractDataSet3D<AbstractHistog
 			return yBinRange.getMin();
 		}
 		final double delta = yBinRange.getLength() / (getNBinsY() - 2);
-		return yBinRange.getMin() + (binY - 1) * delta;
+		return yBinRange.getMin() + (binY - 0.5) * delta;
 	}
 
 	/**
@@ -351,7 +362,7 @@ public abstract class AbstractHistogram extends AbstractDataSet3D<AbstractHistog
 			return zBinRange.getMin();
 		}
 		final double delta = zBinRange.getLength() / (getNBinsZ() - 2);
-		return zBinRange.getMin() + (binZ - 1) * delta;
+		return zBinRange.getMin() + (binZ - 0.5) * delta;
 	}
 
 	@Override
@@ -4,22 +4,55 @@
  */
 package de.gsi.chart.data.spi;
 
-import java.util.ArrayDeque;
 import java.util.Arrays;
 
 import de.gsi.chart.data.DataSet;
 
 /**
- * TODO: Change to ErrorDataSet and calculate standard deviation.
- * 
+ * data set holding the (running) average of the last {@link #getAverageSize()} data sets added via
+ * {@link #add(DataSet)}.
+ * <p>
+ * The y values of the averaged data sets are kept in a ring of preallocated primitive slots together with their running
+ * sum (and sum-of-squares), i.e. each update is a single fused O(n) pass independent of the number of averages and
+ * does not allocate after the warm-up. Alternatively, the data sets may be averaged exponentially (IIR filter with the
+ * time constant {@link #getAverageSize()}) which does not need to keep the previous data sets at all.
+ * <p>
+ * If the error type is set to {@link de.gsi.chart.data.DataSetError.ErrorType#Y} (or Y_ASYMMETRIC), the y errors are
+ * the standard deviation of the averaged samples. N.B. the running sums are recomputed from the ring once in a while to
+ * limit the accumulation of round-off errors.
+ *
  * @author braeun
  */
-public class AveragingDataSet extends AbstractDataSet<AveragingDataSet> {
-
+public class AveragingDataSet extends AbstractErrorDataSet<AveragingDataSet> {
+    // number of complete ring cycles after which the running sums are recomputed
+    private static final int RESUM_CYCLES = 64;
     private int averageSize = 1;
     private int fuzzyCount = 0;
-    private InternalDataSet dataset;
-    private final ArrayDeque<DataSet> deque = new ArrayDeque<>();
+    private AverageMode averageMode = AverageMode.SLIDING_WINDOW;
+    private int dataCount;
+    private double[] xValues = new double[0];
+    private double[] yValues = new double[0];
+    private double[] yErrors = new double[0];
+    // running sums of the sliding window (resp. exponential variance)
+    private double[] sum = new double[0];
+    private double[] sumSquares = new double[0];
+    // ring of y value slots, one spare slot the new data is read into
+    private double[][] ring = new double[2][];
+    private int[] ringCounts = new int[2]; // data count of the data set held by each slot
+    private int ringHead; // index of the oldest slot
+    private int ringSize; // number of valid slots
+    private long nUpdates;
+
+    public enum AverageMode {
+        /**
+         * arithmetic mean of the last 'averageSize' data sets
+         */
+        SLIDING_WINDOW,
+        /**
+         * exponentially weighted (IIR) mean with the time constant 'averageSize'
+         */
+        EXPONENTIAL
+    }
 
     public AveragingDataSet(String name) {
         super(name);
@@ -32,7 +65,7 @@ public class AveragingDataSet extends AbstractDataSet<AveragingDataSet> {
 
     /**
      * Gets the fuzzy count.
-     * 
+     *
      * @return fuzzy count
      */
     public int getFuzzyCount() {
@@ -43,7 +76,7 @@ public class AveragingDataSet extends AbstractDataSet<AveragingDataSet> {
      * Sets the fuzzy count. The fuzzy count allows for a mismatch in the data count of the datasets added to the
      * average. Datasets will be added if the size difference is less or equal to the fuzzy count. In case of a mismatch
      * in size, the longer dataset will be truncated to the shorter one.
-     * 
+     *
      * @param fuzzyCount
      */
     public void setFuzzyCount(int fuzzyCount) {
@@ -59,183 +92,303 @@ public class AveragingDataSet extends AbstractDataSet<AveragingDataSet> {
             return;
         }
         if (averageSize != avgCount) {
-            deque.clear();
-            dataset = null;
+            averageSize = avgCount;
+            clear();
+        }
+    }
+
+    /**
+     * @return the averaging mode (sliding window by default)
+     */
+    public AverageMode getAverageMode() {
+        return averageMode;
+    }
+
+    /**
+     * N.B. changing the mode resets the average
+     *
+     * @param mode the averaging mode
+     */
+    public void setAverageMode(final AverageMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode must not be null");
+        }
+        if (averageMode != mode) {
+            averageMode = mode;
+            clear();
         }
-        averageSize = avgCount;
+    }
+
+    /**
+     * N.B. enabling or disabling the errors resets the average
+     */
+    @Override
+    public AveragingDataSet setErrorType(final ErrorType errorType) {
+        final boolean changed = (errorType == ErrorType.NO_ERROR) != (getErrorType() == ErrorType.NO_ERROR);
+        super.setErrorType(errorType);
+        if (changed) {
+            clear();
+        }
+        return getThis();
     }
 
     public int getAverageCount() {
-        if (averageSize == 1) {
-            return dataset == null ? 0 : 1;
+        if (averageMode == AverageMode.EXPONENTIAL) {
+            return (int) Math.min(nUpdates, averageSize);
         }
-        return deque.size();
+        return ringSize;
     }
 
     public void clear() {
-        deque.clear();
-        dataset = null;
+        lock();
+        try {
+            dataCount = 0;
+            ringHead = 0;
+            ringSize = 0;
+            nUpdates = 0;
+            xRange.empty();
+            yRange.empty();
+        } finally {
+            unlock();
+        }
     }
 
     public void add(DataSet ds) {
-        if (averageSize == 1) {
-            dataset = new InternalDataSet(ds);
-        } else if (dataset == null || deque.isEmpty()) {
-            dataset = new InternalDataSet(ds);
-            deque.clear();
-            deque.add(new InternalDataSet(ds));
-        } else if (deque.size() < averageSize) {
-            dataset.opScale(deque.size());
-            dataset.opAdd(ds);
-            deque.add(new InternalDataSet(ds));
-            dataset.opScale(1.0 / deque.size());
-        } else {
-            dataset.opScale(deque.size());
-            dataset.opSub(deque.pop());
-            dataset.opAdd(ds);
-            deque.add(new InternalDataSet(ds));
-            dataset.opScale(1.0 / deque.size());
+        ds.lock();
+        lock();
+        try {
+            final int n = ds.getDataCount();
+            // N.B. nothing to average with: (re-)start the average with the new data set
+            final boolean restart = averageSize == 1 || getAverageCount() == 0;
+            if (restart) {
+                ringHead = 0;
+                ringSize = 0;
+                nUpdates = 0;
+            } else if (Math.abs(dataCount - n) > fuzzyCount) {
+                throw new IllegalArgumentException("Datasets do not match");
+            }
+            final int previousCount = restart ? 0 : dataCount;
+            ensureCapacity(n);
+            final int spareSlot = spareSlot();
+            ringCounts[spareSlot] = n;
+            dataCount = averageMode == AverageMode.EXPONENTIAL ? n : getWindowCount(n);
+            final double[] incoming = ring[spareSlot];
+            xValues = ds.getXValues(0, dataCount, xValues, 0);
+            // N.B. keep all samples, they become part of the average once the shorter data sets left the window
+            ds.getYValues(0, n, incoming, 0);
+            nUpdates++;
+
+            if (averageMode == AverageMode.EXPONENTIAL) {
+                updateExponential(incoming, previousCount);
+            } else {
+                updateSlidingWindow(incoming, dataCount > previousCount);
+            }
+            xRange.empty();
+            for (int i = 0; i < dataCount; i++) {
+                xRange.add(xValues[i]);
+            }
+        } finally {
+            unlock();
+            ds.unlock();
         }
-        dataset.computeLimits();
         fireInvalidated();
     }
 
-    @Override
-    public int getDataCount() {
-        if (dataset == null) {
-            return 0;
-        }
-        return dataset.getDataCount();
+    private int spareSlot() {
+        // N.B. the ring has 'averageSize + 1' slots in sliding window mode, the exponential mode uses only one
+        return averageMode == AverageMode.EXPONENTIAL ? 0 : (ringHead + ringSize) % ring.length;
     }
 
-    @Override
-    public int getDataCount(double xmin, double xmax) {
-        if (dataset == null) {
-            return 0;
+    /**
+     * @param n data count of the new data set
+     * @return data count of the shortest data set within the sliding window after the new data set has been added,
+     *         i.e. longer data sets are truncated to the shorter ones while these are part of the average
+     */
+    private int getWindowCount(final int n) {
+        int count = n;
+        // N.B. the oldest slot is evicted if the ring is full
+        for (int slot = ringSize == averageSize ? 1 : 0; slot < ringSize; slot++) {
+            count = Math.min(count, ringCounts[(ringHead + slot) % ring.length]);
         }
-        return dataset.getDataCount(xmin, xmax);
+        return count;
     }
 
-    @Override
-    public double[] getYValues() {
-        if (dataset == null) {
-            return new double[0];
+    private void ensureCapacity(final int n) {
+        final int nSlots = averageMode == AverageMode.EXPONENTIAL ? 1 : averageSize + 1;
+        if (ring.length != nSlots) {
+            ring = new double[nSlots][];
+            ringCounts = new int[nSlots];
+        }
+        for (int i = 0; i < nSlots; i++) {
+            if (ring[i] == null || ring[i].length < n) {
+                ring[i] = Arrays.copyOf(ring[i] == null ? new double[0] : ring[i], n);
+            }
+        }
+        if (yValues.length < n) {
+            xValues = Arrays.copyOf(xValues, n);
+            yValues = Arrays.copyOf(yValues, n);
+            yErrors = Arrays.copyOf(yErrors, n);
+            sum = Arrays.copyOf(sum, n);
+            sumSquares = Arrays.copyOf(sumSquares, n);
         }
-        return dataset.getYValues();
     }
 
-    @Override
-    public double getX(int i) {
-        if (dataset == null) {
-            return 0;
+    /**
+     * @param incoming the new y values
+     * @param grown {@code true} if the data count increased, i.e. the running sums of the new samples are not valid
+     */
+    private void updateSlidingWindow(final double[] incoming, final boolean grown) {
+        final boolean withErrors = getErrorType() != ErrorType.NO_ERROR;
+        final int n = dataCount;
+        if (ringSize == averageSize) {
+            // ring is full: the oldest slot becomes the spare slot for the next update
+            final double[] oldest = ring[ringHead];
+            ringHead = (ringHead + 1) % ring.length;
+            if (grown || nUpdates % ((long) RESUM_CYCLES * averageSize) == 0) {
+                resum(withErrors);
+            } else if (withErrors) {
+                for (int i = 0; i < n; i++) {
+                    final double oldValue = oldest[i];
+                    final double newValue = incoming[i];
+                    sum[i] += newValue - oldValue;
+                    sumSquares[i] += newValue * newValue - oldValue * oldValue;
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    sum[i] += incoming[i] - oldest[i];
+                }
+            }
+        } else {
+            ringSize++;
+            if (ringSize == 1 || grown) {
+                resum(withErrors);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    final double newValue = incoming[i];
+                    sum[i] += newValue;
+                    sumSquares[i] += newValue * newValue;
+                }
+            }
         }
-        return dataset.getX(i);
-    }
 
-    @Override
-    public double getY(int i) {
-        if (dataset == null) {
-            return 0;
+        // N.B. mean, standard deviation and y range in one pass
+        final double norm = 1.0 / ringSize;
+        yRange.empty();
+        for (int i = 0; i < n; i++) {
+            final double mean = sum[i] * norm;
+            yValues[i] = mean;
+            if (withErrors) {
+                final double error = Math.sqrt(Math.max(0.0, sumSquares[i] * norm - mean * mean));
+                yErrors[i] = error;
+                yRange.add(mean - error);
+                yRange.add(mean + error);
+            } else {
+                yRange.add(mean);
+            }
         }
-        return dataset.getY(i);
     }
 
-    @Override
-    public int getXIndex(double x) {
-        if (dataset == null) {
-            return 0;
+    private void resum(final boolean withErrors) {
+        final int n = dataCount;
+        Arrays.fill(sum, 0, n, 0.0);
+        Arrays.fill(sumSquares, 0, n, 0.0);
+        for (int slot = 0; slot < ringSize; slot++) {
+            final double[] values = ring[(ringHead + slot) % ring.length];
+            for (int i = 0; i < n; i++) {
+                sum[i] += values[i];
+            }
+            if (withErrors) {
+                for (int i = 0; i < n; i++) {
+                    sumSquares[i] += values[i] * values[i];
+                }
+            }
         }
-        return dataset.getXIndex(x);
     }
 
-    @Override
-    public double getXMin() {
-        if (dataset == null) {
-            return 0;
+    /**
+     * @param incoming the new y values
+     * @param previousCount the previous data count, samples beyond are started with the new values
+     */
+    private void updateExponential(final double[] incoming, final int previousCount) {
+        final boolean withErrors = getErrorType() != ErrorType.NO_ERROR;
+        final int n = dataCount;
+        for (int i = previousCount; i < n; i++) {
+            yValues[i] = incoming[i];
+            sumSquares[i] = 0.0;
+        }
+        // N.B. arithmetic mean during warm-up, i.e. the first samples are not biased towards zero
+        final double alpha = 1.0 / Math.min(nUpdates, averageSize);
+        yRange.empty();
+        for (int i = 0; i < n; i++) {
+            final double newValue = incoming[i];
+            final double delta = newValue - yValues[i];
+            final double mean = alpha == 1.0 ? newValue : yValues[i] + alpha * delta;
+            yValues[i] = mean;
+            if (withErrors) {
+                // exponentially weighted variance (stored in 'sumSquares')
+                final double variance = alpha == 1.0 ? 0.0 : (1.0 - alpha) * (sumSquares[i] + alpha * delta * delta);
+                sumSquares[i] = variance;
+                final double error = Math.sqrt(variance);
+                yErrors[i] = error;
+                yRange.add(mean - error);
+                yRange.add(mean + error);
+            } else {
+                yRange.add(mean);
+            }
         }
-        return dataset.getXMin();
     }
 
     @Override
-    public double getXMax() {
-        if (dataset == null) {
-            return 0;
-        }
-        return dataset.getXMax();
+    public int getDataCount() {
+        return dataCount;
     }
 
     @Override
-    public double getYMin() {
-        if (dataset == null) {
-            return 0;
-        }
-        return dataset.getYMin();
+    public double[] getXValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(xValues, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
     }
 
     @Override
-    public double getYMax() {
-        if (dataset == null) {
-            return 0;
-        }
-        return dataset.getYMax();
+    public double[] getYValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(yValues, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
     }
 
     @Override
-    public String getStyle(int index) {
-        if (dataset == null) {
-            return "";
-        }
-        return dataset.getStyle(index);
+    public double getX(int i) {
+        return xValues[i];
     }
 
-    private class InternalDataSet extends DoubleDataSet {
-
-        public InternalDataSet(DataSet ds) {
-            super(ds.getName(), ds.getXValues(), ds.getYValues(), true);
-            //      xValues = new double[ds.getDataCount()];
-            //      yValues = new double[ds.getDataCount()];
-            //      for (int i=0;i<yValues.length;i++)
-            //      {
-            //        xValues[i] = ds.getX(i);
-            //        yValues[i] = ds.getY(i);
-            //      }
-            //      dataMaxIndex = ds.getDataCount();
-        }
-
-        public boolean isCompatible(DataSet d) {
-            return !(Math.abs(getDataCount() - d.getDataCount()) > fuzzyCount);
-        }
+    @Override
+    public double getY(int i) {
+        return yValues[i];
+    }
 
-        public void opAdd(DataSet d) {
-            if (!isCompatible(d)) {
-                throw new IllegalArgumentException("Datasets do not match");
-            }
-            if (yValues.length > d.getDataCount()) {
-                yValues = Arrays.copyOf(yValues, d.getDataCount());
-            }
-            for (int i = 0; i < yValues.length; i++) {
-                yValues[i] += d.getY(i);
-            }
-        }
+    @Override
+    public double getXErrorNegative(final int index) {
+        return 0.0;
+    }
 
-        public void opSub(DataSet d) {
-            if (!isCompatible(d)) {
-                throw new IllegalArgumentException("Datasets do not match");
-            }
-            if (yValues.length > d.getDataCount()) {
-                yValues = Arrays.copyOf(yValues, d.getDataCount());
-            }
-            for (int i = 0; i < yValues.length; i++) {
-                yValues[i] -= d.getY(i);
-            }
-        }
+    @Override
+    public double getXErrorPositive(final int index) {
+        return 0.0;
+    }
 
-        public void opScale(double f) {
-            for (int i = 0; i < yValues.length; i++) {
-                yValues[i] *= f;
-            }
-        }
+    @Override
+    public double getYErrorNegative(final int index) {
+        return getErrorType() == ErrorType.NO_ERROR ? 0.0 : yErrors[index];
+    }
 
+    @Override
+    public double getYErrorPositive(final int index) {
+        return getErrorType() == ErrorType.NO_ERROR ? 0.0 : yErrors[index];
     }
 
+    @Override
+    public String getStyle(int index) {
+        return "";
+    }
 }
@@ -1,16 +1,19 @@
 package de.gsi.chart.data.spi;
 
+import java.util.Arrays;
+
 import de.gsi.chart.data.DataSet;
 import de.gsi.chart.data.DataSetError;
 import de.gsi.chart.data.utils.CircularBuffer;
 import de.gsi.chart.data.utils.DoubleCircularBuffer;
+import de.gsi.chart.data.utils.MonotonicMinMaxQueue;
 import de.gsi.chart.utils.AssertUtils;
 import javafx.scene.transform.Scale;
 
 /**
  * @author rstein
  */
-public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet> implements DataSetError {
+public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDoubleErrorDataSet> implements DataSetError {
 
     protected DoubleCircularBuffer xValues;
     protected DoubleCircularBuffer yValues;
@@ -18,6 +21,9 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<DoubleError
     protected DoubleCircularBuffer yErrorsNeg;
     protected CircularBuffer<String> dataTag;
     protected CircularBuffer<String> dataStyles;
+    // sliding-window limits of the circular buffer -> O(1) instead of O(n) range updates
+    private final MonotonicMinMaxQueue xLimits;
+    private final MonotonicMinMaxQueue yLimits;
 
     /**
      * Creates a new instance of <code>CircularDoubleErrorDataSet</code>.
@@ -35,6 +41,8 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<DoubleError
         yErrorsNeg = new DoubleCircularBuffer(initalSize);
         dataTag = new CircularBuffer<>(initalSize);
         dataStyles = new CircularBuffer<>(initalSize);
+        xLimits = new MonotonicMinMaxQueue(Math.max(1, initalSize));
+        yLimits = new MonotonicMinMaxQueue(Math.max(1, initalSize));
         setErrorType(ErrorType.Y_ASYMMETRIC);
     }
 
@@ -116,6 +124,40 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<DoubleError
         return yErrorsPos.get(index);
     }
 
+    @Override
+    public double[] getXValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        return xValues.get(fromIndex, target, targetOffset, toIndex - fromIndex);
+    }
+
+    @Override
+    public double[] getYValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        return yValues.get(fromIndex, target, targetOffset, toIndex - fromIndex);
+    }
+
+    @Override
+    public double[] getXErrorsNegative(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        Arrays.fill(retValues, targetOffset, targetOffset + toIndex - fromIndex, 0.0);
+        return retValues;
+    }
+
+    @Override
+    public double[] getXErrorsPositive(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        Arrays.fill(retValues, targetOffset, targetOffset + toIndex - fromIndex, 0.0);
+        return retValues;
+    }
+
+    @Override
+    public double[] getYErrorsNegative(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        return yErrorsNeg.get(fromIndex, target, targetOffset, toIndex - fromIndex);
+    }
+
+    @Override
+    public double[] getYErrorsPositive(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        return yErrorsPos.get(fromIndex, target, targetOffset, toIndex - fromIndex);
+    }
+
     /**
      * Add point to the DoublePoints object
      *
@@ -137,6 +179,9 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<DoubleError
         yErrorsNeg.put(yErrorNeg);
         dataTag.put(tag);
         dataStyles.put(style);
+        xLimits.add(x);
+        yLimits.add(y - yErrorNeg, y + yErrorPos);
+        updateXOrder(getDataCount() - 1, getDataCount());
 
         computeLimits();
         unlock();
@@ -203,6 +248,12 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<DoubleError
         this.yErrorsPos.put(yErrorsPos, yErrorsPos.length);
         dataTag.put(new String[yErrorsPos.length], yErrorsPos.length);
         dataStyles.put(new String[yErrorsPos.length], yErrorsPos.length);
+        // N.B. only the last 'capacity' samples are retained by the buffers
+        for (int i = Math.max(0, xValues.length - xLimits.getCapacity()); i < xValues.length; i++) {
+            xLimits.add(xValues[i]);
+            yLimits.add(yValues[i] - yErrorsNeg[i], yValues[i] + yErrorsPos[i]);
+        }
+        updateXOrder(Math.max(0, getDataCount() - xValues.length), getDataCount());
 
         computeLimits();
         unlock();
@@ -218,12 +269,45 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<DoubleError
         yErrorsPos.reset();
         dataTag.reset();
         dataStyles.reset();
+        xLimits.reset();
+        yLimits.reset();
+        invalidateXOrder();
         xRange.empty();
         yRange.empty();
 
         return this;
     }
 
+    @Override
+    protected boolean isXOrderTracked() {
+        return true;
+    }
+
+    /**
+     * Updates the limits (ranges) of this DataSet from the sliding-window min/max trackers, i.e. in O(1) rather than by
+     * a full rescan of the circular buffers.
+     */
+    @Override
+    protected CircularDoubleErrorDataSet computeLimits() {
+        if (getErrorType() != ErrorType.Y_ASYMMETRIC) {
+            // trackers cover only the default error type
+            return super.computeLimits();
+        }
+        lock();
+        try {
+            invalidateRangeCache();
+            xRange.empty();
+            xRange.add(xLimits.getMin());
+            xRange.add(xLimits.getMax());
+            yRange.empty();
+            yRange.add(yLimits.getMin());
+            yRange.add(yLimits.getMax());
+        } finally {
+            unlock();
+        }
+        return getThis();
+    }
+
     /**
      * Returns label of a data point specified by the index. The label can be used as a category name if
      * CategoryStepsDefinition is used or for annotations displayed for data points.
@@ -0,0 +1,260 @@
+package de.gsi.chart.data.spi;
+
+import java.util.Arrays;
+
+import de.gsi.chart.data.utils.StripedDoubleArray;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
+import de.gsi.chart.utils.AssertUtils;
+
+/**
+ * thread-safe histogram that may be filled concurrently by many (e.g. event builder) threads at high rates.
+ * <p>
+ * The bin contents are accumulated in per-thread striped shards ({@link StripedDoubleArray}) that are merged by the
+ * outermost {@link #lock()} (e.g. by the renderer), i.e. the bin contents do not change until the matching
+ * {@link #unlock()}, nested (re-)locks do not merge again. N.B. read accesses require {@link #lock()}: outside a
+ * lock()/unlock() block, {@link #getBinContent(int)} returns the state of the last merge (zero if there was none).
+ * The range getters ({@link #getYRange()}, {@link #getMinimum()}, {@link #getMaximum()}) merge pending fills
+ * themselves, i.e. e.g. the axis auto-ranging is up to date without a preceding lock(). Equidistant bins are found in
+ * O(1), variable bins by a branch-free binary search.
+ * <p>
+ * N.B. single {@link #fill(double, double)} calls do not notify the listeners (this would serialise the filling
+ * threads), use the bulk {@link #fill(double[], double[], int, int)} or call {@link #fireInvalidated()} explicitly.
+ *
+ * @author rstein
+ */
+public class ConcurrentHistogram extends Histogram {
+    private static final int CHUNK_SIZE = 4096;
+    private final StripedDoubleArray content;
+    private final double[] merged;
+    private final int nBins;
+    private final double minX;
+    private final double maxX;
+    private final double binScale;
+    // set by the filling threads after adding to the shards, cleared by the merge
+    private volatile boolean modified;
+
+    public ConcurrentHistogram(final String name, final int nBins, final double minX, final double maxX,
+            final boolean horizontal) {
+        super(name, nBins, minX, maxX, horizontal);
+        AssertUtils.gtThanZero("nBins", nBins);
+        this.nBins = nBins;
+        this.minX = minX;
+        this.maxX = maxX;
+        binScale = nBins / (maxX - minX);
+        content = new StripedDoubleArray(getNBinsX());
+        merged = new double[getNBinsX()];
+    }
+
+    public ConcurrentHistogram(final String name, final int nBins, final double minX, final double maxX) {
+        this(name, nBins, minX, maxX, true);
+    }
+
+    public ConcurrentHistogram(final String name, final double[] xBins, final boolean horizontal) {
+        super(name, xBins, horizontal);
+        nBins = getNBinsX() - 2;
+        minX = Double.NaN;
+        maxX = Double.NaN;
+        binScale = Double.NaN;
+        content = new StripedDoubleArray(getNBinsX());
+        merged = new double[getNBinsX()];
+    }
+
+    public ConcurrentHistogram(final String name, final double[] xBins) {
+        this(name, xBins, true);
+    }
+
+    /**
+     * O(1) bin index of equidistant histograms
+     *
+     * @param x value
+     * @param min lower range limit
+     * @param max upper range limit (belongs to the last regular bin)
+     * @param binScale number of bins per unit
+     * @param nBins number of regular bins
+     * @return bin index: '0' underflow, [1, nBins] regular bins, 'nBins + 1' overflow (and NaN)
+     */
+    protected static int findEquidistantBin(final double x, final double min, final double max,
+            final double binScale, final int nBins) {
+        if (x < min) {
+            return 0;
+        }
+        if (!(x <= max)) {
+            return nBins + 1;
+        }
+        return Math.min(nBins, 1 + (int) ((x - min) * binScale));
+    }
+
+    @Override
+    public int findBin(final double x) {
+        if (isEquiDistant() && binScale > 0 && Double.isFinite(binScale)) {
+            return findEquidistantBin(x, minX, maxX, binScale, nBins);
+        }
+        return super.findBin(x);
+    }
+
+    @Override
+    public int fill(final double x, final double w) {
+        final int bin = findBinX(x);
+        content.add(bin, w);
+        markModified();
+        return bin;
+    }
+
+    /**
+     * fills the values [from, to) and notifies the listeners once
+     *
+     * @param x values
+     * @param w weights, {@code null}: '1' for all values
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     */
+    public void fill(final double[] x, final double[] w, final int from, final int to) {
+        fill(x, w, from, to, 1);
+    }
+
+    /**
+     * fills every 'stepSize'-th value (and weight) and notifies the listeners once
+     *
+     * @param x values
+     * @param w weights, {@code null}: '1' for all values
+     * @param stepSize step size through the arrays x and w (values &lt; 1 are treated as 1)
+     */
+    @Override
+    public void fillN(final double[] x, final double[] w, final int stepSize) {
+        AssertUtils.notNull("x", x);
+        fill(x, w, 0, x.length, Math.max(1, stepSize));
+    }
+
+    private void fill(final double[] x, final double[] w, final int from, final int to, final int stepSize) {
+        AssertUtils.notNull("x", x);
+        AssertUtils.indexOrder(from, "from", to, "to");
+        if (w != null) {
+            AssertUtils.checkArrayDimension("w", w, to);
+        }
+        final boolean fast = isEquiDistant() && binScale > 0 && Double.isFinite(binScale);
+        final int chunkLength = Math.min(CHUNK_SIZE, (to - from + stepSize - 1) / stepSize);
+        final int[] bins = ArrayPool.getDefault().getIntArray(chunkLength);
+        // N.B. strided weights are gathered into a contiguous buffer
+        final double[] weights = w == null || stepSize == 1 ? null : ArrayPool.getDefault().getDoubleArray(chunkLength);
+        try {
+            for (int start = from; start < to; start += CHUNK_SIZE * stepSize) {
+                final int end = (int) Math.min(to, start + (long) CHUNK_SIZE * stepSize);
+                // N.B. bin indices first (independent iterations), then the scatter-add under one shard lock
+                int count = 0;
+                if (fast) {
+                    for (int i = start; i < end; i += stepSize) {
+                        bins[count++] = findEquidistantBin(x[i], minX, maxX, binScale, nBins);
+                    }
+                } else {
+                    for (int i = start; i < end; i += stepSize) {
+                        bins[count++] = findBinX(x[i]);
+                    }
+                }
+                if (weights == null) {
+                    content.addAll(bins, w, start, count);
+                } else {
+                    for (int i = start, j = 0; i < end; i += stepSize, j++) {
+                        weights[j] = w[i];
+                    }
+                    content.addAll(bins, weights, 0, count);
+                }
+            }
+        } finally {
+            ArrayPool.getDefault().release(bins);
+            if (weights != null) {
+                ArrayPool.getDefault().release(weights);
+            }
+        }
+        markModified();
+        fireInvalidated();
+    }
+
+    @Override
+    public void addBinContent(final int bin) {
+        content.add(bin, 1.0);
+        markModified();
+    }
+
+    @Override
+    public void addBinContent(final int bin, final double w) {
+        content.add(bin, w);
+        markModified();
+    }
+
+    private void markModified() {
+        // N.B. read before write to keep the flag's cache line shared among the filling threads
+        if (!modified) {
+            modified = true;
+        }
+    }
+
+    /**
+     * merges the pending fills (if any) outside of a lock()/unlock() block
+     */
+    private void mergeModified() {
+        if (modified && !lock.isHeldByCurrentThread()) {
+            lock();
+            unlock();
+        }
+    }
+
+    @Override
+    public DataRange getYRange() {
+        mergeModified();
+        return super.getYRange();
+    }
+
+    @Override
+    public double getMinimum() {
+        mergeModified();
+        return super.getMinimum();
+    }
+
+    @Override
+    public double getMaximum() {
+        mergeModified();
+        return super.getMaximum();
+    }
+
+    /**
+     * @param bin bin index
+     * @return the bin content merged by the last outermost {@link #lock()}
+     */
+    @Override
+    public double getBinContent(final int bin) {
+        return merged[bin];
+    }
+
+    /**
+     * locks the histogram and -- if not yet locked by the calling thread -- merges the concurrently filled bin contents
+     */
+    @Override
+    public AbstractHistogram lock() {
+        super.lock();
+        if (lock.getHoldCount() > 1) {
+            return getThis();
+        }
+        // N.B. cleared prior to the merge, fills that are missed set it again
+        modified = false;
+        content.sum(merged);
+        final DataRange valueRange = getValueRange();
+        valueRange.empty();
+        for (final double value : merged) {
+            valueRange.add(value);
+        }
+        return getThis();
+    }
+
+    @Override
+    public void reset() {
+        lock();
+        try {
+            super.reset();
+            content.reset();
+            Arrays.fill(merged, 0.0);
+            modified = false;
+        } finally {
+            unlock();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package de.gsi.chart.data.spi;
+
+import java.util.Arrays;
+
+import de.gsi.chart.data.Histogram1D;
+import de.gsi.chart.data.utils.StripedDoubleArray;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
+import de.gsi.chart.utils.AssertUtils;
+
+/**
+ * thread-safe two-dimensional histogram that may be filled concurrently by many (e.g. event builder) threads at high
+ * rates.
+ * <p>
+ * The bin contents are accumulated in per-thread striped shards ({@link StripedDoubleArray}) that are merged -- and
+ * the x- and y-projections recomputed -- by the outermost {@link #lock()} (e.g. by the renderer), i.e. the bin
+ * contents do not change until the matching {@link #unlock()}, nested (re-)locks do not merge again. N.B. read
+ * accesses require {@link #lock()}: outside a lock()/unlock() block, {@link #getZ(int, int)} returns the state of the
+ * last merge (zero if there was none). The range getters ({@link #getMinimum()}, {@link #getMaximum()}) and the
+ * projections merge pending fills themselves. The number of shards is limited for large histograms (see
+ * {@link StripedDoubleArray#DEFAULT_MAX_SHARD_BYTES}).
+ * <p>
+ * N.B. single {@link #fill(double, double, double)} calls do not notify the listeners (this would serialise the
+ * filling threads), use the bulk {@link #fill(double[], double[], double[], int, int)} or call
+ * {@link #fireInvalidated()} explicitly.
+ *
+ * @author rstein
+ */
+public class ConcurrentHistogram2 extends Histogram2 {
+    private static final int CHUNK_SIZE = 4096;
+    private final StripedDoubleArray content;
+    private final double[] merged;
+    private final int nBinsX;
+    private final double minX;
+    private final double maxX;
+    private final double binScaleX;
+    private final int nBinsY;
+    private final double minY;
+    private final double maxY;
+    private final double binScaleY;
+    // set by the filling threads after adding to the shards, cleared by the merge
+    private volatile boolean modified;
+
+    public ConcurrentHistogram2(final String name, final int nBinsX, final double minX, final double maxX,
+            final int nBinsY, final double minY, final double maxY) {
+        super(name, nBinsX, minX, maxX, nBinsY, minY, maxY);
+        AssertUtils.gtThanZero("nBinsX", nBinsX);
+        AssertUtils.gtThanZero("nBinsY", nBinsY);
+        this.nBinsX = nBinsX;
+        this.minX = minX;
+        this.maxX = maxX;
+        binScaleX = nBinsX / (maxX - minX);
+        this.nBinsY = nBinsY;
+        this.minY = minY;
+        this.maxY = maxY;
+        binScaleY = nBinsY / (maxY - minY);
+        content = new StripedDoubleArray(getNBinsX() * getNBinsY());
+        merged = new double[getNBinsX() * getNBinsY()];
+    }
+
+    @Override
+    public int findBin(final double x, final double y) {
+        final int indexX = ConcurrentHistogram.findEquidistantBin(x, minX, maxX, binScaleX, nBinsX);
+        final int indexY = ConcurrentHistogram.findEquidistantBin(y, minY, maxY, binScaleY, nBinsY);
+        return getNBinsX() * indexY + indexX;
+    }
+
+    @Override
+    public int fill(final double x, final double y) {
+        return fill(x, y, 1.0);
+    }
+
+    @Override
+    public int fill(final double x, final double y, final double w) {
+        final int bin = findBin(x, y);
+        content.add(bin, w);
+        markModified();
+        return bin;
+    }
+
+    /**
+     * fills the values [from, to) and notifies the listeners once
+     *
+     * @param x x values
+     * @param y y values
+     * @param w weights, {@code null}: '1' for all values
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     */
+    public void fill(final double[] x, final double[] y, final double[] w, final int from, final int to) {
+        AssertUtils.notNull("x", x);
+        AssertUtils.checkArrayDimension("y", y, to);
+        AssertUtils.indexOrder(from, "from", to, "to");
+        if (w != null) {
+            AssertUtils.checkArrayDimension("w", w, to);
+        }
+        final int[] bins = ArrayPool.getDefault().getIntArray(Math.min(CHUNK_SIZE, to - from));
+        try {
+            for (int start = from; start < to; start += CHUNK_SIZE) {
+                final int end = Math.min(to, start + CHUNK_SIZE);
+                for (int i = start; i < end; i++) {
+                    bins[i - start] = findBin(x[i], y[i]);
+                }
+                content.addAll(bins, w, start, end - start);
+            }
+        } finally {
+            ArrayPool.getDefault().release(bins);
+        }
+        markModified();
+        fireInvalidated();
+    }
+
+    @Override
+    public void addBinContent(final int bin) {
+        content.add(bin, 1.0);
+        markModified();
+    }
+
+    @Override
+    public void addBinContent(final int bin, final double w) {
+        content.add(bin, w);
+        markModified();
+    }
+
+    private void markModified() {
+        // N.B. read before write to keep the flag's cache line shared among the filling threads
+        if (!modified) {
+            modified = true;
+        }
+    }
+
+    /**
+     * merges the pending fills (if any) outside of a lock()/unlock() block
+     */
+    private void mergeModified() {
+        if (modified && !lock.isHeldByCurrentThread()) {
+            lock();
+            unlock();
+        }
+    }
+
+    @Override
+    public double getMinimum() {
+        mergeModified();
+        return super.getMinimum();
+    }
+
+    @Override
+    public double getMaximum() {
+        mergeModified();
+        return super.getMaximum();
+    }
+
+    @Override
+    public Histogram1D getProjectionX() {
+        mergeModified();
+        return super.getProjectionX();
+    }
+
+    @Override
+    public Histogram1D getProjectionY() {
+        mergeModified();
+        return super.getProjectionY();
+    }
+
+    /**
+     * @param bin bin index
+     * @return the bin content merged by the last outermost {@link #lock()}
+     */
+    @Override
+    public double getBinContent(final int bin) {
+        return merged[bin];
+    }
+
+    @Override
+    public double getZ(final int xIndex, final int yIndex) {
+        return merged[(yIndex + 1) * getNBinsX() + xIndex + 1];
+    }
+
+    /**
+     * locks the histogram and -- if not yet locked by the calling thread -- merges the concurrently filled bin contents
+     * and updates the projections
+     */
+    @Override
+    public AbstractHistogram lock() {
+        super.lock();
+        if (lock.getHoldCount() > 1) {
+            return getThis();
+        }
+        // N.B. cleared prior to the merge, fills that are missed set it again
+        modified = false;
+        content.sum(merged);
+        final DataRange valueRange = getValueRange();
+        valueRange.empty();
+        xProjection.reset();
+        yProjection.reset();
+        final int nx = getNBinsX();
+        for (int iy = 0; iy < getNBinsY(); iy++) {
+            double rowSum = 0.0;
+            for (int ix = 0; ix < nx; ix++) {
+                final double value = merged[iy * nx + ix];
+                valueRange.add(value);
+                rowSum += value;
+                xProjection.addBinContent(ix, value);
+            }
+            yProjection.addBinContent(iy, rowSum);
+        }
+        return getThis();
+    }
+
+    @Override
+    public void reset() {
+        lock();
+        try {
+            super.reset();
+            content.reset();
+            Arrays.fill(merged, 0.0);
+            modified = false;
+        } finally {
+            unlock();
+        }
+    }
+}
@@ -167,6 +167,21 @@ public class DataRange implements Cloneable {
         return retVal;
     }
 
+    /**
+     * Adds value to this range only if the range is already defined. To be
+     * used for incremental updates: an undefined (e.g. invalidated) range is
+     * recomputed lazily from the complete underlying data instead and must not
+     * be defined by the new value alone.
+     *
+     * @param value
+     *            value to be added
+     * @return <code>true</code> if the value becomes <code>min</code> or
+     *         <code>max</code>.
+     */
+    public boolean addIfDefined(final double value) {
+        return isDefined() && add(value);
+    }
+
     /**
      * Add the specified data range to this range.
      */
@@ -210,6 +225,47 @@ public class DataRange implements Cloneable {
         set(DataRange.MAX_VALUE, DataRange.MIN_VALUE);
     }
 
+    /**
+     * Examines if the specified value defines the <code>min</code> or
+     * <code>max</code> of this range, i.e. if the range needs to be
+     * recomputed once the value is removed or replaced in the underlying data.
+     *
+     * @param value
+     *            value to be checked
+     * @return <code>true</code> if the value equals <code>min</code> or
+     *         <code>max</code>.
+     */
+    public boolean isLimit(final double value) {
+        return value == min || value == max;
+    }
+
+    /**
+     * Empties this DataRange if any of the specified values defines the
+     * <code>min</code> or <code>max</code> of this range. To be used when
+     * values are removed from the underlying data: the range is only recomputed
+     * (lazily) if one of its limits has actually been removed.
+     *
+     * @param values
+     *            the values to be checked
+     * @param fromIndex
+     *            first index (inclusive)
+     * @param toIndex
+     *            last index (exclusive)
+     * @return <code>true</code> if this range has been emptied.
+     */
+    public boolean emptyIfLimit(final double[] values, final int fromIndex, final int toIndex) {
+        if (!isDefined()) {
+            return false;
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (isLimit(values[i])) {
+                empty();
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Examines if this range contains the specified value.
      */
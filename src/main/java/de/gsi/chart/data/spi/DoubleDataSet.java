@@ -5,6 +5,7 @@ import java.util.Arrays;
 import de.gsi.chart.data.DataSet;
 import de.gsi.chart.data.EditConstraints;
 import de.gsi.chart.data.EditableDataSet;
+import de.gsi.chart.data.utils.GrowingArrayUtils;
 import de.gsi.chart.utils.AssertUtils;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableMap;
@@ -174,14 +175,40 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return dataStyles;
     }
 
+    /**
+     * N.B. returns the internal array without copying if the data set is trimmed to size (see {@link #trimToSize()}),
+     * otherwise a copy of the valid data range is returned.
+     *
+     * @return the x coordinates
+     */
     @Override
     public double[] getXValues() {
-        return xValues;
+        return GrowingArrayUtils.trimToSize(xValues, getDataCount());
     }
 
+    /**
+     * N.B. returns the internal array without copying if the data set is trimmed to size (see {@link #trimToSize()}),
+     * otherwise a copy of the valid data range is returned.
+     *
+     * @return the y coordinates
+     */
     @Override
     public double[] getYValues() {
-        return yValues;
+        return GrowingArrayUtils.trimToSize(yValues, getDataCount());
+    }
+
+    @Override
+    public double[] getXValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(xValues, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
+    }
+
+    @Override
+    public double[] getYValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(yValues, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
     }
 
     @Override
@@ -189,6 +216,47 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return Math.min(dataMaxIndex, xValues.length);
     }
 
+    /**
+     * @return the number of data points that can be stored without re-allocating the internal arrays
+     */
+    public int getCapacity() {
+        return Math.min(xValues.length, yValues.length);
+    }
+
+    /**
+     * Ensures that the data set can hold at least the given number of data points without re-allocating the internal
+     * arrays.
+     *
+     * @param minCapacity the minimum required capacity
+     * @return itself (fluent design)
+     */
+    public DoubleDataSet ensureCapacity(final int minCapacity) {
+        lock();
+        try {
+            xValues = GrowingArrayUtils.ensureCapacity(xValues, getDataCount(), minCapacity);
+            yValues = GrowingArrayUtils.ensureCapacity(yValues, getDataCount(), minCapacity);
+        } finally {
+            unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Trims the capacity of the internal arrays to the actual number of data points.
+     *
+     * @return itself (fluent design)
+     */
+    public DoubleDataSet trimToSize() {
+        lock();
+        try {
+            xValues = GrowingArrayUtils.trimToSize(xValues, getDataCount());
+            yValues = GrowingArrayUtils.trimToSize(yValues, getDataCount());
+        } finally {
+            unlock();
+        }
+        return this;
+    }
+
     public DoubleDataSet clearData() {
         lock();
 
@@ -200,6 +268,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
 
         xRange.empty();
         yRange.empty();
+        invalidateXOrder();
 
         unlock();
         fireInvalidated();
@@ -216,16 +285,34 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         return yValues[index];
     }
 
+    @Override
+    protected boolean isXOrderTracked() {
+        return true;
+    }
+
+    @Override
+    protected void computeLimits(final int fromIndex, final int toIndex, final DataRange xr, final DataRange yr) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            xr.add(xValues[i]);
+            yr.add(yValues[i]);
+        }
+    }
+
     @Override
     public DoubleDataSet set(final int index, final double x, final double y) {
         lock();
         try {
+            // N.B. the ranges are only recomputed (lazily) if the overwritten
+            // value defined one of the limits
+            xRange.emptyIfLimit(xValues, index, index + 1);
+            yRange.emptyIfLimit(yValues, index, index + 1);
             xValues[index] = x;
             yValues[index] = y;
             dataMaxIndex = Math.max(index, dataMaxIndex);
+            updateXOrder(index, index + 1);
 
-            xRange.add(x);
-            yRange.add(y);
+            xRange.addIfDefined(x);
+            yRange.addIfDefined(y);
         } finally {
             unlock();
         }
@@ -291,97 +378,86 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
      */
     public DoubleDataSet add(final int index, final double x, final double y, final String label) {
         lock();
-        final int indexAt = Math.max(0, Math.min(index, getDataCount() + 1));
-
-        // enlarge array if necessary
-        final int minArraySize = Math.min(xValues.length - 1, yValues.length - 1);
-        if (dataMaxIndex > minArraySize) {
-            final double[] xValuesNew = new double[dataMaxIndex + 1];
-            final double[] yValuesNew = new double[dataMaxIndex + 1];
-
-            // copy old data before required index
-            System.arraycopy(xValues, 0, xValuesNew, 0, indexAt);
-            System.arraycopy(yValues, 0, yValuesNew, 0, indexAt);
+        try {
+            final int dataCount = getDataCount();
+            final int indexAt = Math.max(0, Math.min(index, dataCount));
 
-            // copy old data after required index
-            System.arraycopy(xValues, indexAt, xValuesNew, indexAt + 1, xValues.length - indexAt);
-            System.arraycopy(yValues, indexAt, yValuesNew, indexAt + 1, yValues.length - indexAt);
+            // enlarge array if necessary (geometric growth -> amortised O(1)
+            // for appends) and shift the data after the insertion point
+            xValues = GrowingArrayUtils.insertGap(xValues, dataCount, indexAt, 1);
+            yValues = GrowingArrayUtils.insertGap(yValues, dataCount, indexAt, 1);
 
             // shift old label and style keys
-            for (int i = xValues.length; i > indexAt; i--) {
-                final String oldLabelData = dataLabels.get(i);
-                if (oldLabelData != null) {
-                    dataLabels.put(i + 1, oldLabelData);
-                    dataLabels.remove(i);
-                }
-
-                final String oldStyleData = dataStyles.get(i);
-                if (oldStyleData != null) {
-                    dataStyles.put(i + 1, oldStyleData);
-                    dataStyles.remove(i);
+            if (indexAt < dataCount && (!dataLabels.isEmpty() || !dataStyles.isEmpty())) {
+                for (int i = dataCount - 1; i >= indexAt; i--) {
+                    final String oldLabelData = dataLabels.remove(i);
+                    if (oldLabelData != null) {
+                        dataLabels.put(i + 1, oldLabelData);
+                    }
+
+                    final String oldStyleData = dataStyles.remove(i);
+                    if (oldStyleData != null) {
+                        dataStyles.put(i + 1, oldStyleData);
+                    }
                 }
             }
 
-            // System.arraycopy(xValues, 0, xValuesNew, 0, xValues.length);
-            // System.arraycopy(yValues, 0, yValuesNew, 0, yValues.length);
-
-            xValues = xValuesNew;
-            yValues = yValuesNew;
-        }
+            xValues[indexAt] = x;
+            yValues[indexAt] = y;
+            if (label != null && !label.isEmpty()) {
+                addDataLabel(indexAt, label);
+            }
+            dataMaxIndex = dataCount + 1;
+            updateXOrder(indexAt, indexAt + 1);
 
-        xValues[indexAt] = x;
-        yValues[indexAt] = y;
-        if (label != null && !label.isEmpty()) {
-            addDataLabel(indexAt, label);
+            xRange.addIfDefined(x);
+            yRange.addIfDefined(y);
+        } finally {
+            unlock();
         }
-        dataMaxIndex++;
-
-        xRange.add(x);
-        yRange.add(y);
-
-        unlock();
         fireInvalidated();
         return this;
     }
 
     public DoubleDataSet remove(final int fromIndex, final int toIndex) {
         lock();
-        AssertUtils.indexInBounds(fromIndex, getDataCount(), "fromIndex");
-        AssertUtils.indexInBounds(toIndex, getDataCount(), "toIndex");
-        AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
-        final int diffLength = toIndex - fromIndex;
-        final int newLength = xValues.length - diffLength;
-        final double[] xValuesNew = new double[newLength];
-        final double[] yValuesNew = new double[newLength];
-
-        System.arraycopy(xValues, 0, xValuesNew, 0, fromIndex);
-        System.arraycopy(yValues, 0, yValuesNew, 0, fromIndex);
-        System.arraycopy(xValues, toIndex, xValuesNew, fromIndex, newLength - fromIndex);
-        System.arraycopy(yValues, toIndex, yValuesNew, fromIndex, newLength - fromIndex);
-        xValues = xValuesNew;
-        yValues = yValuesNew;
-
-        // remove old label and style keys
-        for (int i = 0; i < diffLength; i++) {
-            final String oldLabelData = dataLabels.get(toIndex + i);
-            if (oldLabelData != null) {
-                dataLabels.put(fromIndex + i, oldLabelData);
-                dataLabels.remove(toIndex + i);
+        try {
+            final int dataCount = getDataCount();
+            AssertUtils.indexInBounds(fromIndex, dataCount, "fromIndex");
+            AssertUtils.indexInBounds(toIndex, dataCount + 1, "toIndex");
+            AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+            final int diffLength = toIndex - fromIndex;
+
+            // N.B. the ranges are only recomputed (lazily) if one of the removed
+            // values defined one of the limits
+            xRange.emptyIfLimit(xValues, fromIndex, toIndex);
+            yRange.emptyIfLimit(yValues, fromIndex, toIndex);
+
+            // N.B. shift in place and keep the capacity (use trimToSize() to
+            // release memory)
+            GrowingArrayUtils.remove(xValues, dataCount, fromIndex, toIndex);
+            GrowingArrayUtils.remove(yValues, dataCount, fromIndex, toIndex);
+
+            // remove old label and style keys
+            if (!dataLabels.isEmpty() || !dataStyles.isEmpty()) {
+                for (int i = fromIndex; i < dataCount; i++) {
+                    final String oldLabelData = dataLabels.remove(i);
+                    if (oldLabelData != null && i >= toIndex) {
+                        dataLabels.put(i - diffLength, oldLabelData);
+                    }
+
+                    final String oldStyleData = dataStyles.remove(i);
+                    if (oldStyleData != null && i >= toIndex) {
+                        dataStyles.put(i - diffLength, oldStyleData);
+                    }
+                }
             }
 
-            final String oldStyleData = dataStyles.get(toIndex + i);
-            if (oldStyleData != null) {
-                dataStyles.put(fromIndex + i, oldStyleData);
-                dataStyles.remove(toIndex + i);
-            }
+            dataMaxIndex = Math.max(0, dataCount - diffLength);
+            updateXOrder(fromIndex, fromIndex);
+        } finally {
+            unlock();
         }
-
-        dataMaxIndex = Math.max(0, dataMaxIndex - diffLength);
-
-        xRange.empty();
-        yRange.empty();
-
-        unlock();
         fireInvalidated();
         return this;
     }
@@ -412,32 +488,53 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
      * @return itself
      */
     public DoubleDataSet add(final double[] xValuesNew, final double[] yValuesNew) {
-        lock();
         AssertUtils.notNull("X coordinates", xValuesNew);
         AssertUtils.notNull("Y coordinates", yValuesNew);
         AssertUtils.equalDoubleArrays(xValuesNew, yValuesNew);
+        return add(xValuesNew, yValuesNew, xValuesNew.length);
+    }
 
-        final int newLength = this.getDataCount() + xValuesNew.length;
-        // need to allocate new memory
-        if (newLength > xValues.length) {
-            final double[] xValuesNewAlloc = new double[newLength];
-            final double[] yValuesNewAlloc = new double[newLength];
-
-            // copy old data
-            System.arraycopy(xValues, 0, xValuesNewAlloc, 0, getDataCount());
-            System.arraycopy(yValues, 0, yValuesNewAlloc, 0, getDataCount());
-
-            xValues = xValuesNewAlloc;
-            yValues = yValuesNewAlloc;
+    /**
+     * <p>
+     * Appends the first 'length' values of the specified arrays to the end of the data set.
+     * </p>
+     * Note: The method copies values from specified double arrays without intermediate copies, the internal storage is
+     * grown geometrically if necessary.
+     *
+     * @param xValuesNew
+     *            X coordinates
+     * @param yValuesNew
+     *            Y coordinates
+     * @param length
+     *            number of data points to be appended
+     * @return itself
+     */
+    public DoubleDataSet add(final double[] xValuesNew, final double[] yValuesNew, final int length) {
+        AssertUtils.notNull("X coordinates", xValuesNew);
+        AssertUtils.notNull("Y coordinates", yValuesNew);
+        AssertUtils.gtEqThanZero("length", length);
+        AssertUtils.equalDoubleArrays(xValuesNew, yValuesNew, length);
+        lock();
+        try {
+            final int dataCount = getDataCount();
+            final int newLength = dataCount + length;
+            xValues = GrowingArrayUtils.ensureCapacity(xValues, dataCount, newLength);
+            yValues = GrowingArrayUtils.ensureCapacity(yValues, dataCount, newLength);
+
+            System.arraycopy(xValuesNew, 0, xValues, dataCount, length);
+            System.arraycopy(yValuesNew, 0, yValues, dataCount, length);
+
+            // incremental update of the limits
+            for (int i = dataCount; i < newLength; i++) {
+                xRange.addIfDefined(xValues[i]);
+                yRange.addIfDefined(yValues[i]);
+            }
+            dataMaxIndex = newLength;
+            updateXOrder(dataCount, newLength);
+        } finally {
+            unlock();
         }
 
-        // N.B. getDataCount() should equal dataMaxIndex here
-        System.arraycopy(xValuesNew, 0, xValues, getDataCount(), xValuesNew.length);
-        System.arraycopy(yValuesNew, 0, yValues, getDataCount(), xValuesNew.length);
-
-        dataMaxIndex = Math.max(0, dataMaxIndex + xValuesNew.length);
-        computeLimits();
-
         fireInvalidated();
         return this;
     }
@@ -467,6 +564,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             this.xValues = xValues;
             this.yValues = yValues;
             dataMaxIndex = xValues.length;
+            invalidateXOrder();
             unlock();
             computeLimits();
             fireInvalidated();
@@ -474,8 +572,8 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
         }
 
         if (xValues.length == this.xValues.length) {
-            System.arraycopy(xValues, 0, this.xValues, 0, getDataCount());
-            System.arraycopy(yValues, 0, this.yValues, 0, getDataCount());
+            System.arraycopy(xValues, 0, this.xValues, 0, xValues.length);
+            System.arraycopy(yValues, 0, this.yValues, 0, xValues.length);
         } else {
             /*
              * copy into new arrays, forcing array length equal to the xValues
@@ -485,6 +583,7 @@ public class DoubleDataSet extends AbstractDataSet<DoubleDataSet> implements Edi
             this.yValues = Arrays.copyOf(yValues, xValues.length);
         }
         dataMaxIndex = xValues.length;
+        invalidateXOrder();
 
         unlock();
         computeLimits();
@@ -4,6 +4,7 @@ import java.util.Arrays;
 
 import de.gsi.chart.data.DataSet;
 import de.gsi.chart.data.DataSetError;
+import de.gsi.chart.data.utils.GrowingArrayUtils;
 import de.gsi.chart.utils.AssertUtils;
 import de.gsi.math.ArrayUtils;
 import javafx.collections.FXCollections;
@@ -164,24 +165,90 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return dataStyles;
     }
 
+    /**
+     * N.B. returns the internal array without copying if the data set is trimmed to size (see {@link #trimToSize()}),
+     * otherwise a copy of the valid data range is returned.
+     *
+     * @return the x coordinates
+     */
     @Override
     public double[] getXValues() {
-        return xValues;
+        return GrowingArrayUtils.trimToSize(xValues, getDataCount());
     }
 
+    /**
+     * N.B. returns the internal array without copying if the data set is trimmed to size (see {@link #trimToSize()}),
+     * otherwise a copy of the valid data range is returned.
+     *
+     * @return the y coordinates
+     */
     @Override
     public double[] getYValues() {
-        return yValues;
+        return GrowingArrayUtils.trimToSize(yValues, getDataCount());
     }
 
+    /**
+     * N.B. returns the internal array without copying if the data set is trimmed to size (see {@link #trimToSize()}),
+     * otherwise a copy of the valid data range is returned.
+     *
+     * @return the positive y errors
+     */
     @Override
     public double[] getYErrorsPositive() {
-        return yErrorsPos;
+        return GrowingArrayUtils.trimToSize(yErrorsPos, getDataCount());
     }
 
+    /**
+     * N.B. returns the internal array without copying if the data set is trimmed to size (see {@link #trimToSize()}),
+     * otherwise a copy of the valid data range is returned.
+     *
+     * @return the negative y errors
+     */
     @Override
     public double[] getYErrorsNegative() {
-        return yErrorsNeg;
+        return GrowingArrayUtils.trimToSize(yErrorsNeg, getDataCount());
+    }
+
+    @Override
+    public double[] getXValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(xValues, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
+    }
+
+    @Override
+    public double[] getYValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(yValues, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
+    }
+
+    @Override
+    public double[] getXErrorsNegative(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        Arrays.fill(retValues, targetOffset, targetOffset + toIndex - fromIndex, 0.0);
+        return retValues;
+    }
+
+    @Override
+    public double[] getXErrorsPositive(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        Arrays.fill(retValues, targetOffset, targetOffset + toIndex - fromIndex, 0.0);
+        return retValues;
+    }
+
+    @Override
+    public double[] getYErrorsNegative(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(yErrorsNeg, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
+    }
+
+    @Override
+    public double[] getYErrorsPositive(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(yErrorsPos, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
     }
 
     @Override
@@ -189,6 +256,53 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return Math.min(dataMaxIndex, xValues.length);
     }
 
+    /**
+     * @return the number of data points that can be stored without re-allocating the internal arrays
+     */
+    public int getCapacity() {
+        return Math.min(Math.min(xValues.length, yValues.length), Math.min(yErrorsNeg.length, yErrorsPos.length));
+    }
+
+    /**
+     * Ensures that the data set can hold at least the given number of data points without re-allocating the internal
+     * arrays.
+     *
+     * @param minCapacity the minimum required capacity
+     * @return itself (fluent design)
+     */
+    public DoubleErrorDataSet ensureCapacity(final int minCapacity) {
+        lock();
+        try {
+            final int dataCount = getDataCount();
+            xValues = GrowingArrayUtils.ensureCapacity(xValues, dataCount, minCapacity);
+            yValues = GrowingArrayUtils.ensureCapacity(yValues, dataCount, minCapacity);
+            yErrorsNeg = GrowingArrayUtils.ensureCapacity(yErrorsNeg, dataCount, minCapacity);
+            yErrorsPos = GrowingArrayUtils.ensureCapacity(yErrorsPos, dataCount, minCapacity);
+        } finally {
+            unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Trims the capacity of the internal arrays to the actual number of data points.
+     *
+     * @return itself (fluent design)
+     */
+    public DoubleErrorDataSet trimToSize() {
+        lock();
+        try {
+            final int dataCount = getDataCount();
+            xValues = GrowingArrayUtils.trimToSize(xValues, dataCount);
+            yValues = GrowingArrayUtils.trimToSize(yValues, dataCount);
+            yErrorsNeg = GrowingArrayUtils.trimToSize(yErrorsNeg, dataCount);
+            yErrorsPos = GrowingArrayUtils.trimToSize(yErrorsPos, dataCount);
+        } finally {
+            unlock();
+        }
+        return this;
+    }
+
     public DoubleErrorDataSet clearData() {
         lock();
 
@@ -202,6 +316,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
 
         xRange.empty();
         yRange.empty();
+        invalidateXOrder();
 
         unlock();
         fireInvalidated();
@@ -238,24 +353,64 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         return yErrorsPos[index];
     }
 
+    @Override
+    protected boolean isXOrderTracked() {
+        return true;
+    }
+
+    @Override
+    protected void computeLimits(final int fromIndex, final int toIndex, final DataRange xr, final DataRange yr) {
+        if (getErrorType() != ErrorType.Y_ASYMMETRIC) {
+            super.computeLimits(fromIndex, toIndex, xr, yr);
+            return;
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            xr.add(xValues[i]);
+            yr.add(yValues[i] - yErrorsNeg[i]);
+            yr.add(yValues[i] + yErrorsPos[i]);
+        }
+    }
+
+    /**
+     * empties the x and/or y range if any of the data points within [fromIndex, toIndex) defines one of their limits,
+     * i.e. the ranges are only recomputed (lazily) if they are affected by removing or overwriting these data points
+     *
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     */
+    private void emptyRangesIfLimit(final int fromIndex, final int toIndex) {
+        xRange.emptyIfLimit(xValues, fromIndex, toIndex);
+        if (!yRange.isDefined()) {
+            return;
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (yRange.isLimit(yValues[i] - yErrorsNeg[i]) || yRange.isLimit(yValues[i] + yErrorsPos[i])) {
+                yRange.empty();
+                return;
+            }
+        }
+    }
+
     public DoubleErrorDataSet set(final int index, final double x, final double y, final double yErrorNeg,
             final double yErrorPos) {
         lock();
 
         try {
             if (index < dataMaxIndex) {
+                emptyRangesIfLimit(index, index + 1);
                 xValues[index] = x;
                 yValues[index] = y;
                 yErrorsPos[index] = yErrorPos;
                 yErrorsNeg[index] = yErrorNeg;
                 // dataMaxIndex = Math.max(index, dataMaxIndex);
+                updateXOrder(index, index + 1);
             } else {
                 this.add(x, y, yErrorNeg, yErrorPos);
             }
 
-            xRange.add(x);
-            yRange.add(y - yErrorNeg);
-            yRange.add(y + yErrorPos);
+            xRange.addIfDefined(x);
+            yRange.addIfDefined(y - yErrorNeg);
+            yRange.addIfDefined(y + yErrorPos);
         } finally {
             unlock();
         }
@@ -274,73 +429,50 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
      */
     public DoubleErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos) {
         lock();
+        try {
+            // enlarge array if necessary (geometric growth -> amortised O(1))
+            final int dataCount = getDataCount();
+            if (dataCount >= getCapacity()) {
+                ensureCapacity(dataCount + 1);
+            }
 
-        // enlarge array if necessary
-        if (dataMaxIndex > xValues.length - 1) {
-            final double[] xValuesNew = new double[xValues.length + 1];
-            final double[] yValuesNew = new double[yValues.length + 1];
-            final double[] yErrorsNegNew = new double[yValues.length + 1];
-            final double[] yErrorsPosNew = new double[yValues.length + 1];
-
-            System.arraycopy(xValues, 0, xValuesNew, 0, xValues.length);
-            System.arraycopy(yValues, 0, yValuesNew, 0, yValues.length);
-            System.arraycopy(yErrorsNeg, 0, yErrorsNegNew, 0, yValues.length);
-            System.arraycopy(yErrorsPos, 0, yErrorsPosNew, 0, yValues.length);
-
-            xValues = xValuesNew;
-            yValues = yValuesNew;
-            yErrorsPos = yErrorsPosNew;
-            yErrorsNeg = yErrorsNegNew;
-        }
-
-        xValues[dataMaxIndex] = x;
-        yValues[dataMaxIndex] = y;
-        yErrorsPos[dataMaxIndex] = yErrorNeg;
-        yErrorsNeg[dataMaxIndex] = yErrorPos;
-        dataMaxIndex++;
-
-        xRange.add(x);
-        yRange.add(y - yErrorNeg);
-        yRange.add(y + yErrorPos);
+            xValues[dataCount] = x;
+            yValues[dataCount] = y;
+            yErrorsNeg[dataCount] = yErrorNeg;
+            yErrorsPos[dataCount] = yErrorPos;
+            dataMaxIndex = dataCount + 1;
+            updateXOrder(dataCount, dataCount + 1);
 
-        unlock();
+            xRange.addIfDefined(x);
+            yRange.addIfDefined(y - yErrorNeg);
+            yRange.addIfDefined(y + yErrorPos);
+        } finally {
+            unlock();
+        }
         fireInvalidated();
         return this;
     }
 
     public DoubleErrorDataSet remove(final int fromIndex, final int toIndex) {
         lock();
-        AssertUtils.indexInBounds(fromIndex, getDataCount(), "fromIndex");
-        AssertUtils.indexInBounds(toIndex, getDataCount(), "toIndex");
-        AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
-        final int diffLength = toIndex - fromIndex;
-
-        // TODO: performance-critical memory/cpu tradeoff
-        // check whether this really needed (keeping the data and reducing just
-        // the dataMaxIndex costs some memory but saves new allocation
-        final int newLength = xValues.length - diffLength;
-        final double[] xValuesNew = new double[newLength];
-        final double[] yValuesNew = new double[newLength];
-        final double[] yErrorsNegNew = new double[newLength];
-        final double[] yErrorsPosNew = new double[newLength];
-        System.arraycopy(xValues, 0, xValuesNew, 0, fromIndex);
-        System.arraycopy(yValues, 0, yValuesNew, 0, fromIndex);
-        System.arraycopy(yErrorsNeg, 0, yErrorsNegNew, 0, fromIndex);
-        System.arraycopy(yErrorsPos, 0, yErrorsPosNew, 0, fromIndex);
-        System.arraycopy(xValues, toIndex, xValuesNew, fromIndex, newLength - fromIndex);
-        System.arraycopy(yValues, toIndex, yValuesNew, fromIndex, newLength - fromIndex);
-        System.arraycopy(yErrorsNeg, toIndex, yErrorsNegNew, fromIndex, newLength - fromIndex);
-        System.arraycopy(yErrorsPos, toIndex, yErrorsPosNew, fromIndex, newLength - fromIndex);
-        xValues = xValuesNew;
-        yValues = yValuesNew;
-        yErrorsPos = yErrorsPosNew;
-        yErrorsNeg = yErrorsNegNew;
-        dataMaxIndex = Math.max(0, dataMaxIndex - diffLength);
-
-        xRange.empty();
-        yRange.empty();
-
-        unlock();
+        try {
+            final int dataCount = getDataCount();
+            AssertUtils.indexInBounds(fromIndex, dataCount, "fromIndex");
+            AssertUtils.indexInBounds(toIndex, dataCount + 1, "toIndex");
+            AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+            emptyRangesIfLimit(fromIndex, toIndex);
+
+            // N.B. shift in place and keep the capacity (use trimToSize() to
+            // release memory)
+            GrowingArrayUtils.remove(xValues, dataCount, fromIndex, toIndex);
+            GrowingArrayUtils.remove(yValues, dataCount, fromIndex, toIndex);
+            GrowingArrayUtils.remove(yErrorsNeg, dataCount, fromIndex, toIndex);
+            GrowingArrayUtils.remove(yErrorsPos, dataCount, fromIndex, toIndex);
+            dataMaxIndex = Math.max(0, dataCount - (toIndex - fromIndex));
+            updateXOrder(fromIndex, fromIndex);
+        } finally {
+            unlock();
+        }
         fireInvalidated();
         return this;
     }
@@ -353,49 +485,62 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
      *
      * @param xValues X coordinates
      * @param yValues Y coordinates
+     * @param yErrorsNeg Y negative coordinate error
+     * @param yErrorsPos Y positive coordinate error
+     * @return itself
      */
     public DoubleErrorDataSet add(final double[] xValues, final double[] yValues, final double[] yErrorsNeg,
             final double[] yErrorsPos) {
-        lock();
-
         AssertUtils.notNull("X coordinates", xValues);
-        AssertUtils.notNull("Y coordinates", yValues);
-        AssertUtils.notNull("Y error neg", yErrorsNeg);
-        AssertUtils.notNull("Y error pos", yErrorsPos);
         AssertUtils.equalDoubleArrays(xValues, yValues);
         AssertUtils.equalDoubleArrays(xValues, yErrorsNeg);
         AssertUtils.equalDoubleArrays(xValues, yErrorsPos);
+        return add(xValues, yValues, yErrorsNeg, yErrorsPos, xValues.length);
+    }
 
-        final int newLength = this.getDataCount() + xValues.length;
-        // need to allocate new memory
-        if (newLength > this.xValues.length) {
-            final double[] xValuesNew = new double[newLength];
-            final double[] yValuesNew = new double[newLength];
-            final double[] yErrorsNegNew = new double[newLength];
-            final double[] yErrorsPosNew = new double[newLength];
-
-            // copy old data
-            System.arraycopy(this.xValues, 0, xValuesNew, 0, getDataCount());
-            System.arraycopy(this.yValues, 0, yValuesNew, 0, getDataCount());
-            System.arraycopy(yErrorsNeg, 0, yErrorsNegNew, 0, getDataCount());
-            System.arraycopy(yErrorsPos, 0, yErrorsPosNew, 0, getDataCount());
-
-            this.xValues = xValuesNew;
-            this.yValues = yValuesNew;
-            this.yErrorsNeg = yErrorsNegNew;
-            this.yErrorsPos = yErrorsPosNew;
+    /**
+     * Appends the first 'length' values of the specified arrays to the end of the data set. N.B. the values are copied
+     * without intermediate copies, the internal storage is grown geometrically if necessary.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param yErrorsNeg Y negative coordinate error
+     * @param yErrorsPos Y positive coordinate error
+     * @param length number of data points to be appended
+     * @return itself
+     */
+    public DoubleErrorDataSet add(final double[] xValues, final double[] yValues, final double[] yErrorsNeg,
+            final double[] yErrorsPos, final int length) {
+        AssertUtils.notNull("X coordinates", xValues);
+        AssertUtils.notNull("Y coordinates", yValues);
+        AssertUtils.notNull("Y error neg", yErrorsNeg);
+        AssertUtils.notNull("Y error pos", yErrorsPos);
+        AssertUtils.gtEqThanZero("length", length);
+        AssertUtils.equalDoubleArrays(xValues, yValues, length);
+        AssertUtils.equalDoubleArrays(xValues, yErrorsNeg, length);
+        AssertUtils.equalDoubleArrays(xValues, yErrorsPos, length);
+        lock();
+        try {
+            final int dataCount = getDataCount();
+            final int newLength = dataCount + length;
+            ensureCapacity(newLength);
+
+            System.arraycopy(xValues, 0, this.xValues, dataCount, length);
+            System.arraycopy(yValues, 0, this.yValues, dataCount, length);
+            System.arraycopy(yErrorsNeg, 0, this.yErrorsNeg, dataCount, length);
+            System.arraycopy(yErrorsPos, 0, this.yErrorsPos, dataCount, length);
+
+            // incremental update of the limits
+            for (int i = dataCount; i < newLength; i++) {
+                xRange.addIfDefined(this.xValues[i]);
+                yRange.addIfDefined(this.yValues[i] - this.yErrorsNeg[i]);
+                yRange.addIfDefined(this.yValues[i] + this.yErrorsPos[i]);
+            }
+            dataMaxIndex = newLength;
+            updateXOrder(dataCount, newLength);
+        } finally {
+            unlock();
         }
-
-        // N.B. getDataCount() should equal dataMaxIndex here
-        System.arraycopy(xValues, 0, this.xValues, getDataCount(), newLength - getDataCount());
-        System.arraycopy(yValues, 0, this.yValues, getDataCount(), newLength - getDataCount());
-        System.arraycopy(yErrorsNeg, 0, this.yErrorsNeg, getDataCount(), newLength - getDataCount());
-        System.arraycopy(yErrorsPos, 0, this.yErrorsPos, getDataCount(), newLength - getDataCount());
-
-        dataMaxIndex = Math.max(0, dataMaxIndex + xValues.length);
-        computeLimits();
-
-        unlock();
         fireInvalidated();
         return this;
     }
@@ -429,6 +574,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             this.yErrorsNeg = yErrorsNeg;
             this.yErrorsPos = yErrorsPos;
             // dataMaxIndex = xValues.length;
+            invalidateXOrder();
             computeLimits();
             unlock();
             fireInvalidated();
@@ -436,10 +582,10 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
         }
 
         if (xValues.length == this.xValues.length) {
-            System.arraycopy(xValues, 0, this.xValues, 0, getDataCount());
-            System.arraycopy(yValues, 0, this.yValues, 0, getDataCount());
-            System.arraycopy(yErrorsNeg, 0, this.yErrorsNeg, 0, getDataCount());
-            System.arraycopy(yErrorsPos, 0, this.yErrorsPos, 0, getDataCount());
+            System.arraycopy(xValues, 0, this.xValues, 0, xValues.length);
+            System.arraycopy(yValues, 0, this.yValues, 0, xValues.length);
+            System.arraycopy(yErrorsNeg, 0, this.yErrorsNeg, 0, xValues.length);
+            System.arraycopy(yErrorsPos, 0, this.yErrorsPos, 0, xValues.length);
         } else {
             /*
              * copy into new arrays, forcing array length to be equal to the
@@ -451,6 +597,7 @@ public class DoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet>
             this.yErrorsPos = Arrays.copyOf(yErrorsPos, xValues.length);
         }
         // dataMaxIndex = xValues.length;
+        invalidateXOrder();
         computeLimits();
 
         unlock();
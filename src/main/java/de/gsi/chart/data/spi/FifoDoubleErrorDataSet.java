@@ -1,7 +1,6 @@
 package de.gsi.chart.data.spi;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -9,16 +8,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.gsi.chart.data.DataSetError;
+import de.gsi.chart.data.utils.MonotonicMinMaxQueue;
 import de.gsi.chart.utils.ProcessingProfiler;
 
 /**
  * @author rstein
  */
-public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet> implements DataSetError {
+public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<FifoDoubleErrorDataSet> implements DataSetError {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FifoDoubleErrorDataSet.class);
     protected LimitedQueue<DataBlob> data;
     protected double maxDistance = Double.MAX_VALUE;
+    // sliding-window limits of the FIFO queue -> O(1) instead of O(n) range updates
+    private final MonotonicMinMaxQueue xLimits;
+    private final MonotonicMinMaxQueue yLimits;
 
     public class LimitedQueue<E> extends ArrayList<E> {
 
@@ -97,6 +100,8 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         }
         this.maxDistance = maxDistance;
         data = new LimitedQueue<>(initalSize);
+        xLimits = new MonotonicMinMaxQueue(initalSize);
+        yLimits = new MonotonicMinMaxQueue(initalSize);
     }
 
     public double getMaxDistance() {
@@ -181,7 +186,7 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
     }
 
     /**
-     * Add point to the DoublePoints object
+     * Add point to the DoublePoints object. Non-finite data points are ignored.
      *
      * @param x the new x coordinate
      * @param y the new y coordinate
@@ -193,17 +198,26 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      */
     public FifoDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos,
             final String tag, final String style) {
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            return this;
+        }
         lock();
         final boolean notifyState = isAutoNotification();
-
-        setAutoNotifaction(false);
-        data.add(new DataBlob(x, y, yErrorNeg, yErrorPos, tag, style));
-        // remove old fields
-        expire(x);
-
-        setAutoNotifaction(notifyState);
-        computeLimits();
-        unlock();
+        try {
+            setAutoNotifaction(false);
+            // N.B. the queue and the limit trackers share the same capacity,
+            // i.e. both drop their oldest entry at the same time
+            data.add(new DataBlob(x, y, yErrorNeg, yErrorPos, tag, style));
+            xLimits.add(x);
+            yLimits.add(y);
+            updateXOrder(data.size() - 1, data.size());
+            // remove old fields
+            expire(x);
+            computeLimits();
+        } finally {
+            setAutoNotifaction(notifyState);
+            unlock();
+        }
         fireInvalidated();
         return this;
     }
@@ -225,7 +239,7 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         lock();
         final boolean notifyState = isAutoNotification();
 
-        setAutoNotifaction(!notifyState);
+        setAutoNotifaction(false);
         for (int i = 0; i < xValues.length; i++) {
             this.add(xValues[i], yValues[i], yErrorsNeg[i], yErrorsPos[i]);
         }
@@ -237,51 +251,80 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
 
     /**
      * expire data points that are older than now minus length of the buffer, notifies a 'fireInvalidated()' in case
-     * data has been removed
+     * data has been removed. N.B. data points are expected to be added in time order, i.e. the expiration starts with
+     * the oldest data point and stops at the first data point that is still within 'maxDistance'.
      *
      * @param now the newest time-stamp
      * @return number of items that have been removed
      */
     public int expire(final double now) {
         lock();
-        xRange.empty();
-        yRange.empty();
-        final List<DataBlob> toRemoveList = new ArrayList<>();
-        // for (final DataBlob blob : (LimitedQueue<DataBlob>) data.clone()) {
-        for (final DataBlob blob : data) {
-            final double x = blob.getX();
-            final double y = blob.getX();
-
-            if (Double.isFinite(x) && Double.isFinite(y)) {
-                if (Math.abs(now - x) > maxDistance) {
-                    // data.remove(blob);
-                    toRemoveList.add(blob);
-                } else {
-
-                    xRange.add(x + blob.getErrorX());
-                    xRange.add(x - blob.getErrorX());
-                    xRange.add(y + blob.getErrorY());
-                    xRange.add(y - blob.getErrorY());
-                }
-            } else {
-                // data.remove(blob);
-                toRemoveList.add(blob);
+        int dataPointsToRemove = 0;
+        try {
+            final int dataCount = data.size();
+            while (dataPointsToRemove < dataCount
+                    && Math.abs(now - data.get(dataPointsToRemove).getX()) > maxDistance) {
+                dataPointsToRemove++;
             }
-        }
 
-        data.removeAll(toRemoveList);
-        computeLimits();
-        // computeLimits(); // N.B. already computed above
-        final int dataPointsToRemove = toRemoveList.size();
-        unlock();
+            if (dataPointsToRemove != 0) {
+                data.subList(0, dataPointsToRemove).clear();
+                xLimits.removeOldest(dataPointsToRemove);
+                yLimits.removeOldest(dataPointsToRemove);
+                updateXOrder(0, 0);
+                computeLimits();
+            }
+        } finally {
+            unlock();
+        }
         if (dataPointsToRemove != 0) {
             fireInvalidated();
         }
         return dataPointsToRemove;
     }
 
+    @Override
+    protected boolean isXOrderTracked() {
+        return true;
+    }
+
+    /**
+     * Updates the limits (ranges) of this DataSet from the sliding-window min/max trackers, i.e. in O(1) rather than by
+     * a full rescan of the queue.
+     */
+    @Override
+    protected FifoDoubleErrorDataSet computeLimits() {
+        if (getErrorType() != ErrorType.NO_ERROR) {
+            // trackers cover only the data points without errors
+            return super.computeLimits();
+        }
+        lock();
+        try {
+            invalidateRangeCache();
+            xRange.empty();
+            xRange.add(xLimits.getMin());
+            xRange.add(xLimits.getMax());
+            yRange.empty();
+            yRange.add(yLimits.getMin());
+            yRange.add(yLimits.getMax());
+        } finally {
+            unlock();
+        }
+        return getThis();
+    }
+
     public void reset() {
-        data.clear();
+        lock();
+        try {
+            data.clear();
+            xLimits.reset();
+            yLimits.reset();
+            invalidateXOrder();
+            xRange.empty();
+            yRange.empty();
+        } finally {
+            unlock();
+        }
         fireInvalidated();
     }
 
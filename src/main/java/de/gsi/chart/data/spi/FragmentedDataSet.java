@@ -88,14 +88,7 @@ public class FragmentedDataSet extends AbstractDataSet<FragmentedDataSet> {
     public double[] getYValues() {
         lock();
         try {
-            final double[] tmp = new double[dataCount];
-            int index = 0;
-            for (final DataSet dataset : list) {
-                for (int i = 0; i < dataset.getDataCount(); i++) {
-                    tmp[index++] = dataset.getY(i);
-                }
-            }
-            return tmp;
+            return getYValues(0, dataCount, null, 0);
         } finally {
             unlock();
         }
@@ -105,19 +98,52 @@ public class FragmentedDataSet extends AbstractDataSet<FragmentedDataSet> {
     public double[] getXValues() {
         lock();
         try {
-            final double[] tmp = new double[dataCount];
-            int index = 0;
-            for (final DataSet dataset : list) {
-                for (int i = 0; i < dataset.getDataCount(); i++) {
-                    tmp[index++] = dataset.getX(i);
-                }
-            }
-            return tmp;
+            return getXValues(0, dataCount, null, 0);
         } finally {
             unlock();
         }
     }
 
+    @Override
+    public double[] getXValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        int offset = 0;
+        for (final DataSet dataset : list) {
+            final int count = dataset.getDataCount();
+            final int localFrom = Math.max(fromIndex - offset, 0);
+            final int localTo = Math.min(toIndex - offset, count);
+            if (localFrom < localTo) {
+                // delegate to the (possibly native) bulk accessor of the fragment
+                dataset.getXValues(localFrom, localTo, retValues, targetOffset + offset + localFrom - fromIndex);
+            }
+            offset += count;
+            if (offset >= toIndex) {
+                break;
+            }
+        }
+        return retValues;
+    }
+
+    @Override
+    public double[] getYValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        int offset = 0;
+        for (final DataSet dataset : list) {
+            final int count = dataset.getDataCount();
+            final int localFrom = Math.max(fromIndex - offset, 0);
+            final int localTo = Math.min(toIndex - offset, count);
+            if (localFrom < localTo) {
+                // delegate to the (possibly native) bulk accessor of the fragment
+                dataset.getYValues(localFrom, localTo, retValues, targetOffset + offset + localFrom - fromIndex);
+            }
+            offset += count;
+            if (offset >= toIndex) {
+                break;
+            }
+        }
+        return retValues;
+    }
+
     @Override
     public int getDataCount() {
         return dataCount;
@@ -197,24 +197,13 @@ public class LabelledMarkerDataSet extends AbstractDataSet<LabelledMarkerDataSet
 
     
     /**
-     * Computes limits (ranges) of this DataSet.
-   * @return 
+     * Computes limits (ranges) of the data points within [fromIndex, toIndex) -- only the x range is considered
      */
-  @Override
-    protected LabelledMarkerDataSet computeLimits() {
-        lock();
-        // Clear previous ranges
-        xRange.empty();
-        yRange.empty();
-
-        final int dataCount = getDataCount();
-
-        for (int i = 0; i < dataCount; i++) {
-            xRange.add(getX(i));
-//            yRange.add(getY(i));
+    @Override
+    protected void computeLimits(final int fromIndex, final int toIndex, final DataRange xr, final DataRange yr) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            xr.add(getX(i));
         }
-
-        return unlock();
     }
 
     
@@ -0,0 +1,570 @@
+package de.gsi.chart.data.spi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.gsi.chart.data.DataSet;
+import de.gsi.chart.data.DataSetError;
+import de.gsi.chart.data.utils.GrowingArrayUtils;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
+import de.gsi.chart.utils.AssertUtils;
+import javafx.beans.InvalidationListener;
+
+/**
+ * data set decorator that maintains a multi-resolution min/max pyramid (level-of-detail index) of the wrapped
+ * (x-sorted) data set, e.g. for traces with 10^8 samples that are drawn zoomed-out.
+ * <p>
+ * Level 'k' of the pyramid aggregates 2^k consecutive samples per bucket (minimum, maximum, mean and the y-error
+ * envelope). Each level is exposed as a data set with two points per bucket -- the minimum and maximum in the order of
+ * their occurrence -- whose y-errors span the bucket envelope. The {@link de.gsi.chart.renderer.spi.ErrorDataSetRenderer
+ * ErrorDataSetRenderer} picks the coarsest level that still provides at least one bucket per pixel, i.e. the frame
+ * cost becomes O(pixels) irrespective of the number of samples.
+ * <p>
+ * The pyramid is updated lazily (while the data set is locked) and incrementally for appended samples: only the last
+ * (partial) bucket and the new buckets are (re-)computed. Modifications that shrink the data set or change its first
+ * x coordinate (e.g. circular buffers) trigger a full rebuild. Other in-place modifications of existing samples need to
+ * be signalled via {@link #invalidateLevelOfDetail()}.
+ *
+ * @author rstein
+ */
+public class LevelOfDetailDataSet extends AbstractErrorDataSet<LevelOfDetailDataSet> {
+    /**
+     * default number of samples aggregated by the finest level (2^6 = 64)
+     */
+    public static final int DEFAULT_MIN_LEVEL = 6;
+    private static final int CHUNK_SIZE = 8192;
+    private final DataSet source;
+    private final int minLevel;
+    private final InvalidationListener listener = obs -> sourceInvalidated();
+    private final List<Level> levels = new ArrayList<>();
+    // number of source samples covered by the pyramid
+    private int processedCount;
+    private double processedFirstX = Double.NaN;
+    private volatile boolean pyramidValid;
+
+    /**
+     * @param source the wrapped data set (x coordinates need to be sorted)
+     */
+    public LevelOfDetailDataSet(final DataSet source) {
+        this(source, DEFAULT_MIN_LEVEL);
+    }
+
+    /**
+     * @param source the wrapped data set (x coordinates need to be sorted)
+     * @param minLevel the finest pyramid level, i.e. 2^minLevel samples per bucket
+     */
+    public LevelOfDetailDataSet(final DataSet source, final int minLevel) {
+        super(source == null ? null : source.getName());
+        AssertUtils.notNull("source", source);
+        AssertUtils.gtThanZero("minLevel", minLevel);
+        if (minLevel > 30) {
+            throw new IllegalArgumentException("minLevel must be <= 30, value = " + minLevel);
+        }
+        this.source = source;
+        this.minLevel = minLevel;
+        setXSorted(Boolean.TRUE);
+        setErrorType(source instanceof DataSetError ? ((DataSetError) source).getErrorType() : ErrorType.NO_ERROR);
+        source.addListener(listener);
+    }
+
+    /**
+     * @return the wrapped data set
+     */
+    public DataSet getSource() {
+        return source;
+    }
+
+    /**
+     * @return the finest pyramid level, i.e. 2^minLevel samples per bucket
+     */
+    public int getMinLevel() {
+        return minLevel;
+    }
+
+    /**
+     * forces a full rebuild of the pyramid with the next access, to be called after in-place modifications of the
+     * source data set that neither shrink it nor change its first x coordinate
+     *
+     * @return itself (fluent design)
+     */
+    public LevelOfDetailDataSet invalidateLevelOfDetail() {
+        pyramidValid = false;
+        return getThis();
+    }
+
+    /**
+     * Returns the coarsest pyramid level that still provides at least one bucket per pixel for the visible source index
+     * range. N.B. the data set needs to be locked.
+     *
+     * @param indexMin first visible source index (inclusive)
+     * @param indexMax last visible source index (exclusive)
+     * @param nPixels number of pixels the index range is drawn on
+     * @return the level or {@code null} if the raw samples should be drawn
+     */
+    public Level getLevelOfDetail(final int indexMin, final int indexMax, final double nPixels) {
+        final double samplesPerPixel = (indexMax - indexMin) / Math.max(1.0, nPixels);
+        if (samplesPerPixel < 1 << minLevel || !source.isXSorted()) {
+            return null;
+        }
+        updatePyramid();
+        final int level = Math.min(31 - Integer.numberOfLeadingZeros((int) Math.min(samplesPerPixel, 1 << 30)),
+                minLevel + levels.size() - 1);
+        return level < minLevel ? null : levels.get(level - minLevel);
+    }
+
+    /**
+     * N.B. the data set needs to be locked.
+     *
+     * @return number of pyramid levels
+     */
+    public int getLevelCount() {
+        updatePyramid();
+        return levels.size();
+    }
+
+    /**
+     * N.B. the data set needs to be locked.
+     *
+     * @param index level index [0, getLevelCount()), i.e. level 'getMinLevel() + index'
+     * @return the given pyramid level
+     */
+    public Level getLevel(final int index) {
+        updatePyramid();
+        return levels.get(index);
+    }
+
+    @Override
+    public LevelOfDetailDataSet lock() {
+        source.lock();
+        return super.lock();
+    }
+
+    @Override
+    public LevelOfDetailDataSet unlock() {
+        super.unlock();
+        source.unlock();
+        return getThis();
+    }
+
+    @Override
+    public int getDataCount() {
+        return source.getDataCount();
+    }
+
+    @Override
+    public int getDataCount(final double xmin, final double xmax) {
+        return source.getDataCount(xmin, xmax);
+    }
+
+    @Override
+    public double getX(final int i) {
+        return source.getX(i);
+    }
+
+    @Override
+    public double getY(final int i) {
+        return source.getY(i);
+    }
+
+    @Override
+    public double[] getXValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        return source.getXValues(fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public double[] getYValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        return source.getYValues(fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public double getXErrorNegative(final int index) {
+        return source instanceof DataSetError ? ((DataSetError) source).getXErrorNegative(index) : 0.0;
+    }
+
+    @Override
+    public double getXErrorPositive(final int index) {
+        return source instanceof DataSetError ? ((DataSetError) source).getXErrorPositive(index) : 0.0;
+    }
+
+    @Override
+    public double getYErrorNegative(final int index) {
+        return source instanceof DataSetError ? ((DataSetError) source).getYErrorNegative(index) : 0.0;
+    }
+
+    @Override
+    public double getYErrorPositive(final int index) {
+        return source instanceof DataSetError ? ((DataSetError) source).getYErrorPositive(index) : 0.0;
+    }
+
+    @Override
+    public double[] getXErrorsNegative(final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        if (source instanceof DataSetError) {
+            return ((DataSetError) source).getXErrorsNegative(fromIndex, toIndex, target, targetOffset);
+        }
+        return super.getXErrorsNegative(fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public double[] getXErrorsPositive(final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        if (source instanceof DataSetError) {
+            return ((DataSetError) source).getXErrorsPositive(fromIndex, toIndex, target, targetOffset);
+        }
+        return super.getXErrorsPositive(fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public double[] getYErrorsNegative(final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        if (source instanceof DataSetError) {
+            return ((DataSetError) source).getYErrorsNegative(fromIndex, toIndex, target, targetOffset);
+        }
+        return super.getYErrorsNegative(fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public double[] getYErrorsPositive(final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        if (source instanceof DataSetError) {
+            return ((DataSetError) source).getYErrorsPositive(fromIndex, toIndex, target, targetOffset);
+        }
+        return super.getYErrorsPositive(fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public boolean isXSorted() {
+        return source.isXSorted();
+    }
+
+    @Override
+    public int getXIndexLowerBound(final double x) {
+        return source.getXIndexLowerBound(x);
+    }
+
+    @Override
+    public int getXIndexUpperBound(final double x) {
+        return source.getXIndexUpperBound(x);
+    }
+
+    @Override
+    public double getXMin() {
+        return source.getXMin();
+    }
+
+    @Override
+    public double getXMax() {
+        return source.getXMax();
+    }
+
+    @Override
+    public double getYMin() {
+        return source.getYMin();
+    }
+
+    @Override
+    public double getYMax() {
+        return source.getYMax();
+    }
+
+    @Override
+    public String getStyle(final int index) {
+        return source.getStyle(index);
+    }
+
+    private void sourceInvalidated() {
+        if (source instanceof DataSetError) {
+            setErrorType(((DataSetError) source).getErrorType());
+        }
+        fireInvalidated();
+    }
+
+    /**
+     * brings the pyramid up to date with the source data set (N.B. to be called while the data set is locked)
+     */
+    private void updatePyramid() {
+        final int dataCount = source.getDataCount();
+        final boolean rebuild = !pyramidValid || dataCount < processedCount
+                || processedCount > 0 && Double.compare(source.getX(0), processedFirstX) != 0;
+        if (!rebuild && dataCount == processedCount) {
+            return;
+        }
+        if (rebuild) {
+            levels.clear();
+            processedCount = 0;
+        }
+        processedFirstX = dataCount > 0 ? source.getX(0) : Double.NaN;
+        pyramidValid = true;
+        if (dataCount == 0) {
+            return;
+        }
+
+        // finest level: (re-)compute the last partial and all new buckets from the source samples
+        if (levels.isEmpty()) {
+            levels.add(new Level(minLevel));
+        }
+        final int firstBucket = processedCount >> minLevel;
+        updateFinestLevel(levels.get(0), firstBucket, dataCount);
+        processedCount = dataCount;
+
+        // coarser levels: merge pairs of the modified buckets of the next finer level
+        int changedBucket = firstBucket;
+        for (int index = 1; levels.get(index - 1).nBuckets > 1; index++) {
+            if (levels.size() <= index) {
+                levels.add(new Level(minLevel + index));
+            }
+            changedBucket >>= 1;
+            levels.get(index).merge(levels.get(index - 1), changedBucket);
+        }
+    }
+
+    private void updateFinestLevel(final Level level, final int firstBucket, final int dataCount) {
+        final boolean hasErrors = source instanceof DataSetError
+                && ((DataSetError) source).getErrorType() != ErrorType.NO_ERROR;
+        final int bucketSize = 1 << minLevel;
+        final int chunk = Math.max(CHUNK_SIZE, bucketSize);
+        final ArrayPool pool = ArrayPool.getDefault();
+        final double[] x = pool.getDoubleArray(chunk);
+        final double[] y = pool.getDoubleArray(chunk);
+        final double[] eyn = hasErrors ? pool.getDoubleArray(chunk) : null;
+        final double[] eyp = hasErrors ? pool.getDoubleArray(chunk) : null;
+        try {
+            level.setBucketCount(((dataCount - 1) >> minLevel) + 1);
+            // N.B. chunks are aligned to the bucket boundaries
+            for (int from = firstBucket << minLevel; from < dataCount; from += chunk) {
+                final int to = Math.min(dataCount, from + chunk);
+                source.getXValues(from, to, x, 0);
+                source.getYValues(from, to, y, 0);
+                if (hasErrors) {
+                    ((DataSetError) source).getYErrorsNegative(from, to, eyn, 0);
+                    ((DataSetError) source).getYErrorsPositive(from, to, eyp, 0);
+                }
+                for (int start = 0; start < to - from; start += bucketSize) {
+                    level.aggregate((from + start) >> minLevel, x, y, eyn, eyp, start,
+                            Math.min(to - from, start + bucketSize));
+                }
+            }
+        } finally {
+            pool.release(x);
+            pool.release(y);
+            pool.release(eyn);
+            pool.release(eyp);
+        }
+    }
+
+    /**
+     * one level of the min/max pyramid: exposes two data points per bucket (minimum and maximum in the order of their
+     * occurrence) whose y-errors span the envelope of the bucket including the y-errors of the source samples.
+     */
+    public final class Level extends AbstractErrorDataSet<Level> {
+        private final int level;
+        private int nBuckets;
+        private double[] xAtMin = new double[0];
+        private double[] yMin = new double[0];
+        private double[] xAtMax = new double[0];
+        private double[] yMax = new double[0];
+        private double[] yLow = new double[0];
+        private double[] yHigh = new double[0];
+        private double[] ySum = new double[0];
+
+        private Level(final int level) {
+            super(LevelOfDetailDataSet.this.getName());
+            this.level = level;
+            setXSorted(Boolean.TRUE);
+            setErrorType(ErrorType.Y_ASYMMETRIC);
+        }
+
+        /**
+         * @return pyramid level, i.e. each bucket aggregates 2^level source samples
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * @return number of buckets (the last bucket may be partial)
+         */
+        public int getBucketCount() {
+            return nBuckets;
+        }
+
+        /**
+         * @param sourceIndex index of the source data set
+         * @return index of the first data point of the bucket containing the source sample
+         */
+        public int getIndex(final int sourceIndex) {
+            return Math.min(2 * (sourceIndex >> level), getDataCount());
+        }
+
+        /**
+         * @param bucket bucket index
+         * @return mean y value of the samples within the bucket (N.B. non-finite samples contribute zero)
+         */
+        public double getMean(final int bucket) {
+            final int size = Math.min(1 << level, processedCount - (bucket << level));
+            return ySum[bucket] / size;
+        }
+
+        @Override
+        public String getStyle() {
+            return LevelOfDetailDataSet.this.getStyle();
+        }
+
+        @Override
+        public String getStyle(final int index) {
+            return null;
+        }
+
+        @Override
+        public Level lock() {
+            LevelOfDetailDataSet.this.lock();
+            return getThis();
+        }
+
+        @Override
+        public Level unlock() {
+            LevelOfDetailDataSet.this.unlock();
+            return getThis();
+        }
+
+        @Override
+        public int getDataCount() {
+            return 2 * nBuckets;
+        }
+
+        @Override
+        public double getX(final int i) {
+            final int bucket = i >> 1;
+            return isMinFirst(bucket) == ((i & 1) == 0) ? xAtMin[bucket] : xAtMax[bucket];
+        }
+
+        @Override
+        public double getY(final int i) {
+            final int bucket = i >> 1;
+            return isMinFirst(bucket) == ((i & 1) == 0) ? yMin[bucket] : yMax[bucket];
+        }
+
+        @Override
+        public double getXErrorNegative(final int index) {
+            return 0.0;
+        }
+
+        @Override
+        public double getXErrorPositive(final int index) {
+            return 0.0;
+        }
+
+        @Override
+        public double getYErrorNegative(final int index) {
+            return getY(index) - yLow[index >> 1];
+        }
+
+        @Override
+        public double getYErrorPositive(final int index) {
+            return yHigh[index >> 1] - getY(index);
+        }
+
+        private boolean isMinFirst(final int bucket) {
+            return xAtMin[bucket] <= xAtMax[bucket];
+        }
+
+        private void setBucketCount(final int count) {
+            if (count > xAtMin.length) {
+                final int capacity = GrowingArrayUtils.newCapacity(xAtMin.length, count);
+                xAtMin = Arrays.copyOf(xAtMin, capacity);
+                yMin = Arrays.copyOf(yMin, capacity);
+                xAtMax = Arrays.copyOf(xAtMax, capacity);
+                yMax = Arrays.copyOf(yMax, capacity);
+                yLow = Arrays.copyOf(yLow, capacity);
+                yHigh = Arrays.copyOf(yHigh, capacity);
+                ySum = Arrays.copyOf(ySum, capacity);
+            }
+            nBuckets = count;
+        }
+
+        /**
+         * aggregates the source samples [from, to) of the given buffers into the bucket
+         */
+        private void aggregate(final int bucket, final double[] x, final double[] y, final double[] eyn,
+                final double[] eyp, final int from, final int to) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            double high = Double.NEGATIVE_INFINITY;
+            double sum = 0.0;
+            double xMin = x[from];
+            double xMax = x[from];
+            for (int i = from; i < to; i++) {
+                final double value = y[i];
+                if (!Double.isFinite(value)) {
+                    continue;
+                }
+                sum += value;
+                if (value < min) {
+                    min = value;
+                    xMin = x[i];
+                }
+                if (value > max) {
+                    max = value;
+                    xMax = x[i];
+                }
+                if (eyn != null) {
+                    low = Math.min(low, value - eyn[i]);
+                    high = Math.max(high, value + eyp[i]);
+                }
+            }
+            if (min > max) {
+                // no finite samples
+                min = max = Double.NaN;
+            }
+            xAtMin[bucket] = xMin;
+            yMin[bucket] = min;
+            xAtMax[bucket] = xMax;
+            yMax[bucket] = max;
+            yLow[bucket] = eyn == null ? min : low;
+            yHigh[bucket] = eyn == null ? max : high;
+            ySum[bucket] = sum;
+        }
+
+        /**
+         * (re-)computes the buckets from 'firstBucket' onwards by merging pairs of buckets of the next finer level
+         */
+        private void merge(final Level finer, final int firstBucket) {
+            setBucketCount((finer.nBuckets + 1) >> 1);
+            for (int bucket = firstBucket; bucket < nBuckets; bucket++) {
+                final int a = 2 * bucket;
+                final int b = a + 1;
+                if (b >= finer.nBuckets || Double.isNaN(finer.yMin[b])) {
+                    copy(finer, a, bucket);
+                    ySum[bucket] = finer.ySum[a] + (b < finer.nBuckets ? finer.ySum[b] : 0.0);
+                    continue;
+                }
+                if (Double.isNaN(finer.yMin[a])) {
+                    copy(finer, b, bucket);
+                    ySum[bucket] = finer.ySum[a] + finer.ySum[b];
+                    continue;
+                }
+                // N.B. ties resolve to the earlier bucket
+                final int minBucket = finer.yMin[b] < finer.yMin[a] ? b : a;
+                final int maxBucket = finer.yMax[b] > finer.yMax[a] ? b : a;
+                xAtMin[bucket] = finer.xAtMin[minBucket];
+                yMin[bucket] = finer.yMin[minBucket];
+                xAtMax[bucket] = finer.xAtMax[maxBucket];
+                yMax[bucket] = finer.yMax[maxBucket];
+                yLow[bucket] = Math.min(finer.yLow[a], finer.yLow[b]);
+                yHigh[bucket] = Math.max(finer.yHigh[a], finer.yHigh[b]);
+                ySum[bucket] = finer.ySum[a] + finer.ySum[b];
+            }
+        }
+
+        private void copy(final Level finer, final int from, final int to) {
+            xAtMin[to] = finer.xAtMin[from];
+            yMin[to] = finer.yMin[from];
+            xAtMax[to] = finer.xAtMax[from];
+            yMax[to] = finer.yMax[from];
+            yLow[to] = finer.yLow[from];
+            yHigh[to] = finer.yHigh[from];
+        }
+    }
+}
@@ -0,0 +1,591 @@
+package de.gsi.chart.data.spi;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.gsi.chart.data.DataSetError;
+import de.gsi.chart.data.utils.ArraySortUtils;
+import de.gsi.chart.data.utils.LockFreeDoubleRingBuffer;
+import de.gsi.chart.data.utils.MonotonicMinMaxQueue;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
+import de.gsi.chart.utils.AssertUtils;
+
+/**
+ * circular buffer data set for a single producer (e.g. acquisition) thread that is never blocked by readers, as
+ * opposed to {@link CircularDoubleErrorDataSet} for which the writer stalls as long as e.g. the renderer holds the
+ * data set lock.
+ * <p>
+ * The data is stored in a {@link LockFreeDoubleRingBuffer}. {@link #lock()} does not acquire a lock but takes a
+ * consistent, thread-local snapshot of the buffer (retrying on torn reads) that is used by all subsequent read
+ * accesses of the same thread until the matching {@link #unlock()}, i.e. indices do not shift and values do not change
+ * while e.g. a frame is being drawn. The snapshot arrays are borrowed from the {@link ArrayPool} and returned with the
+ * outermost {@link #unlock()}. Read accesses outside a lock()/unlock() block (including the index look-ups, e.g.
+ * {@link #getXIndex(double)}) access the live buffer on a best-effort basis rather than taking a snapshot.
+ * <p>
+ * The data limits and the x order are maintained by the writer, i.e. are available to readers in O(1).
+ * <p>
+ * N.B. the add(..) and {@link #reset()} methods must be called by one (the same) writer thread only.
+ *
+ * @author rstein
+ */
+public class LockFreeCircularDoubleErrorDataSet extends AbstractErrorDataSet<LockFreeCircularDoubleErrorDataSet>
+        implements DataSetError {
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int EYN = 2;
+    private static final int EYP = 3;
+    private static final int MAX_SNAPSHOT_RETRIES = 3;
+    protected final LockFreeDoubleRingBuffer buffer;
+    private final ThreadLocal<Snapshot> snapshots = ThreadLocal.withInitial(Snapshot::new);
+    private final AtomicLong nTornReads = new AtomicLong();
+    private Boolean xSortedDeclared;
+    // writer-side sliding-window limits
+    private final MonotonicMinMaxQueue xLimits;
+    private final MonotonicMinMaxQueue yLimits;
+    private volatile double xMin = Double.NaN;
+    private volatile double xMax = Double.NaN;
+    private volatile double yMin = Double.NaN;
+    private volatile double yMax = Double.NaN;
+    // writer-side x order: sequence number of the latest sample that is not >= its predecessor
+    private double lastX = Double.NaN;
+    private volatile long lastXInversion;
+
+    /**
+     * Creates a new instance of <code>LockFreeCircularDoubleErrorDataSet</code>.
+     *
+     * @param name name of this DataSet.
+     * @param initalSize maximum circular buffer capacity
+     * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
+     */
+    public LockFreeCircularDoubleErrorDataSet(final String name, final int initalSize) {
+        super(name);
+        AssertUtils.gtThanZero("initalSize", initalSize);
+        buffer = new LockFreeDoubleRingBuffer(initalSize, 4);
+        xLimits = new MonotonicMinMaxQueue(initalSize);
+        yLimits = new MonotonicMinMaxQueue(initalSize);
+        setErrorType(ErrorType.Y_ASYMMETRIC);
+    }
+
+    /**
+     * Takes a consistent snapshot of the data that is used by the calling thread until the matching {@link #unlock()}.
+     * Never blocks the writer (nor other readers).
+     *
+     * @return itself (fluent design)
+     */
+    @Override
+    public LockFreeCircularDoubleErrorDataSet lock() {
+        final Snapshot snapshot = snapshots.get();
+        if (snapshot.depth++ == 0) {
+            takeSnapshot(snapshot);
+        }
+        return getThis();
+    }
+
+    @Override
+    public LockFreeCircularDoubleErrorDataSet unlock() {
+        final Snapshot snapshot = snapshots.get();
+        if (snapshot.depth > 0 && --snapshot.depth == 0) {
+            snapshot.release();
+        }
+        return getThis();
+    }
+
+    /**
+     * @return number of snapshots that had to be repeated since the writer overwrote the data being copied
+     */
+    public long getTornReadCount() {
+        return nTornReads.get();
+    }
+
+    private void takeSnapshot(final Snapshot snapshot) {
+        for (int attempt = 0;; attempt++) {
+            final long end = buffer.getPublished();
+            final long start = buffer.getOldestAvailable(end);
+            final int count = (int) (end - start);
+            snapshot.ensureCapacity(count);
+            buffer.get(X, start, end, snapshot.xValues, 0);
+            buffer.get(Y, start, end, snapshot.yValues, 0);
+            buffer.get(EYN, start, end, snapshot.yErrorsNeg, 0);
+            buffer.get(EYP, start, end, snapshot.yErrorsPos, 0);
+
+            final long oldestValid = buffer.getOldestValid();
+            if (start >= oldestValid) {
+                snapshot.count = count;
+                snapshot.xSorted = isXSorted(start);
+                break;
+            }
+            nTornReads.incrementAndGet();
+            if (attempt >= MAX_SNAPSHOT_RETRIES) {
+                // writer is too fast: discard the oldest (overwritten) samples
+                final int nInvalid = (int) Math.min(count, oldestValid - start);
+                snapshot.count = count - nInvalid;
+                System.arraycopy(snapshot.xValues, nInvalid, snapshot.xValues, 0, snapshot.count);
+                System.arraycopy(snapshot.yValues, nInvalid, snapshot.yValues, 0, snapshot.count);
+                System.arraycopy(snapshot.yErrorsNeg, nInvalid, snapshot.yErrorsNeg, 0, snapshot.count);
+                System.arraycopy(snapshot.yErrorsPos, nInvalid, snapshot.yErrorsPos, 0, snapshot.count);
+                snapshot.xSorted = ArraySortUtils.isSorted(snapshot.xValues, 0, snapshot.count);
+                break;
+            }
+        }
+    }
+
+    /**
+     * @param start sequence number of the first sample of the (snapshot or live) window
+     * @return {@code true} if the x coordinates of the window are sorted, N.B. conservative, i.e. may return
+     *         {@code false} for a sorted window while the writer concurrently adds unsorted samples
+     */
+    private boolean isXSorted(final long start) {
+        return lastXInversion <= start;
+    }
+
+    /**
+     * @return the snapshot of the calling thread if it is within a lock()/unlock() block, {@code null} otherwise
+     */
+    private Snapshot getActiveSnapshot() {
+        final Snapshot snapshot = snapshots.get();
+        return snapshot.depth > 0 ? snapshot : null;
+    }
+
+    private double getLive(final int channel, final int index) {
+        final long end = buffer.getPublished();
+        return buffer.get(channel, buffer.getOldestAvailable(end) + index);
+    }
+
+    /**
+     * @param snapshot the active snapshot or {@code null} for the live buffer
+     * @param start sequence number of the first sample of the live window (ignored for snapshots)
+     * @param index sample index within the window
+     * @return x coordinate
+     */
+    private double getX(final Snapshot snapshot, final long start, final int index) {
+        return snapshot == null ? buffer.get(X, start + index) : snapshot.xValues[index];
+    }
+
+    /**
+     * binary search within the sorted (snapshot or live) window [start, start + count)
+     *
+     * @param snapshot the active snapshot or {@code null} for the live buffer
+     * @param start sequence number of the first sample of the live window (ignored for snapshots)
+     * @param count number of samples of the window
+     * @param x the x coordinate
+     * @param upper {@code true}: first index with an x coordinate greater than 'x', {@code false}: not less than 'x'
+     * @return the index
+     */
+    private int bound(final Snapshot snapshot, final long start, final int count, final double x,
+            final boolean upper) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final double value = getX(snapshot, start, mid);
+            if (upper ? value <= x : value < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int getDataCount() {
+        final Snapshot snapshot = getActiveSnapshot();
+        if (snapshot != null) {
+            return snapshot.count;
+        }
+        final long end = buffer.getPublished();
+        return (int) (end - buffer.getOldestAvailable(end));
+    }
+
+    @Override
+    public double getX(final int index) {
+        final Snapshot snapshot = getActiveSnapshot();
+        return snapshot == null ? getLive(X, index) : snapshot.xValues[index];
+    }
+
+    @Override
+    public double getY(final int index) {
+        final Snapshot snapshot = getActiveSnapshot();
+        return snapshot == null ? getLive(Y, index) : snapshot.yValues[index];
+    }
+
+    @Override
+    public double getXErrorNegative(final int index) {
+        return 0;
+    }
+
+    @Override
+    public double getXErrorPositive(final int index) {
+        return 0;
+    }
+
+    @Override
+    public double getYErrorNegative(final int index) {
+        final Snapshot snapshot = getActiveSnapshot();
+        return snapshot == null ? getLive(EYN, index) : snapshot.yErrorsNeg[index];
+    }
+
+    @Override
+    public double getYErrorPositive(final int index) {
+        final Snapshot snapshot = getActiveSnapshot();
+        return snapshot == null ? getLive(EYP, index) : snapshot.yErrorsPos[index];
+    }
+
+    @Override
+    public double[] getXValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final Snapshot snapshot = getActiveSnapshot();
+        if (snapshot == null) {
+            return copyLive(X, fromIndex, toIndex, target, targetOffset);
+        }
+        return copy(snapshot.xValues, fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public double[] getYValues(final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        final Snapshot snapshot = getActiveSnapshot();
+        if (snapshot == null) {
+            return copyLive(Y, fromIndex, toIndex, target, targetOffset);
+        }
+        return copy(snapshot.yValues, fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public double[] getYErrorsNegative(final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        final Snapshot snapshot = getActiveSnapshot();
+        if (snapshot == null) {
+            return copyLive(EYN, fromIndex, toIndex, target, targetOffset);
+        }
+        return copy(snapshot.yErrorsNeg, fromIndex, toIndex, target, targetOffset);
+    }
+
+    @Override
+    public double[] getYErrorsPositive(final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        final Snapshot snapshot = getActiveSnapshot();
+        if (snapshot == null) {
+            return copyLive(EYP, fromIndex, toIndex, target, targetOffset);
+        }
+        return copy(snapshot.yErrorsPos, fromIndex, toIndex, target, targetOffset);
+    }
+
+    private double[] copyLive(final int channel, final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        final long start = buffer.getOldestAvailable(buffer.getPublished());
+        return buffer.get(channel, start + fromIndex, start + toIndex, retValues, targetOffset);
+    }
+
+    private static double[] copy(final double[] source, final int fromIndex, final int toIndex, final double[] target,
+            final int targetOffset) {
+        final double[] retValues = target == null ? new double[targetOffset + toIndex - fromIndex] : target;
+        System.arraycopy(source, fromIndex, retValues, targetOffset, toIndex - fromIndex);
+        return retValues;
+    }
+
+    @Override
+    public String getStyle(final int index) {
+        return null;
+    }
+
+    /**
+     * Add point to the data set -- never blocks, to be called by the (single) writer thread only
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
+     * @return itself
+     */
+    public LockFreeCircularDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg,
+            final double yErrorPos) {
+        // N.B. x order needs to be updated prior to publishing the sample
+        updateXOrder(buffer.getPublished(), x);
+        buffer.beginWrite(1);
+        buffer.put(X, 0, x);
+        buffer.put(Y, 0, y);
+        buffer.put(EYN, 0, yErrorNeg);
+        buffer.put(EYP, 0, yErrorPos);
+        buffer.endWrite();
+
+        xLimits.add(x);
+        yLimits.add(y - yErrorNeg, y + yErrorPos);
+        publishLimits();
+
+        fireInvalidated();
+        return getThis();
+    }
+
+    /**
+     * Add points to the data set -- never blocks, to be called by the (single) writer thread only
+     *
+     * @param xValues the new x coordinates
+     * @param yValues the new y coordinates
+     * @param yErrorsNeg the -dy errors
+     * @param yErrorsPos the +dy errors
+     * @return itself
+     */
+    public LockFreeCircularDoubleErrorDataSet add(final double[] xValues, final double[] yValues,
+            final double[] yErrorsNeg, final double[] yErrorsPos) {
+        AssertUtils.notNull("X coordinates", xValues);
+        AssertUtils.notNull("Y coordinates", yValues);
+        AssertUtils.notNull("Y error neg", yErrorsNeg);
+        AssertUtils.notNull("Y error pos", yErrorsPos);
+        AssertUtils.equalDoubleArrays(xValues, yValues);
+        AssertUtils.equalDoubleArrays(xValues, yErrorsNeg);
+        AssertUtils.equalDoubleArrays(xValues, yErrorsPos);
+
+        // N.B. only the last 'capacity' samples are retained
+        final int capacity = buffer.capacity();
+        int offset = Math.max(0, xValues.length - capacity);
+        while (offset < xValues.length) {
+            final int length = Math.min(capacity, xValues.length - offset);
+            final long first = buffer.getPublished();
+            for (int i = 0; i < length; i++) {
+                updateXOrder(first + i, xValues[offset + i]);
+            }
+            buffer.beginWrite(length);
+            for (int i = 0; i < length; i++) {
+                buffer.put(X, i, xValues[offset + i]);
+                buffer.put(Y, i, yValues[offset + i]);
+                buffer.put(EYN, i, yErrorsNeg[offset + i]);
+                buffer.put(EYP, i, yErrorsPos[offset + i]);
+            }
+            buffer.endWrite();
+
+            for (int i = offset; i < offset + length; i++) {
+                xLimits.add(xValues[i]);
+                yLimits.add(yValues[i] - yErrorsNeg[i], yValues[i] + yErrorsPos[i]);
+            }
+            offset += length;
+        }
+        publishLimits();
+
+        fireInvalidated();
+        return getThis();
+    }
+
+    /**
+     * clears the data set -- to be called by the (single) writer thread only
+     *
+     * @return itself
+     */
+    public LockFreeCircularDoubleErrorDataSet reset() {
+        buffer.reset();
+        xLimits.reset();
+        yLimits.reset();
+        publishLimits();
+
+        fireInvalidated();
+        return getThis();
+    }
+
+    private void updateXOrder(final long sample, final double x) {
+        if (!(x >= lastX)) {
+            lastXInversion = sample;
+        }
+        if (Double.isNaN(x)) {
+            // N.B. a NaN is unsorted also as first sample of the window
+            lastXInversion = sample + 1;
+        }
+        lastX = x;
+    }
+
+    private void publishLimits() {
+        xMin = xLimits.getMin();
+        xMax = xLimits.getMax();
+        yMin = yLimits.getMin();
+        yMax = yLimits.getMax();
+    }
+
+    @Override
+    public double getXMin() {
+        return xMin;
+    }
+
+    @Override
+    public double getXMax() {
+        return xMax;
+    }
+
+    @Override
+    public double getYMin() {
+        return yMin;
+    }
+
+    @Override
+    public double getYMax() {
+        return yMax;
+    }
+
+    /**
+     * @return new x range built from the limits maintained by the writer (N.B. not the shared {@code xRange} that is
+     *         not thread-safe)
+     */
+    @Override
+    public DataRange getXRange() {
+        return newRange(xMin, xMax);
+    }
+
+    /**
+     * @return new y range built from the limits maintained by the writer (N.B. not the shared {@code yRange} that is
+     *         not thread-safe)
+     */
+    @Override
+    public DataRange getYRange() {
+        return newRange(yMin, yMax);
+    }
+
+    private static DataRange newRange(final double min, final double max) {
+        final DataRange range = new DataRange();
+        range.add(min);
+        range.add(max);
+        return range;
+    }
+
+    /**
+     * N.B. the limits are maintained by the writer, the shared ranges are not updated (see {@link #getXRange()})
+     */
+    @Override
+    protected LockFreeCircularDoubleErrorDataSet computeLimits() {
+        return getThis();
+    }
+
+    @Override
+    protected void computeLimits(final int fromIndex, final int toIndex, final DataRange xr, final DataRange yr,
+            final boolean useCache) {
+        // N.B. neither the shared block range cache (not maintained by the writer) nor a (new) snapshot
+        computeLimits(fromIndex, toIndex, xr, yr);
+    }
+
+    @Override
+    protected boolean isXOrderTracked() {
+        // N.B. the x order is determined per snapshot
+        return true;
+    }
+
+    @Override
+    public LockFreeCircularDoubleErrorDataSet setXSorted(final Boolean sorted) {
+        xSortedDeclared = sorted;
+        return super.setXSorted(sorted);
+    }
+
+    @Override
+    public boolean isXSorted() {
+        if (xSortedDeclared != null) {
+            return xSortedDeclared;
+        }
+        final Snapshot snapshot = getActiveSnapshot();
+        if (snapshot != null) {
+            return snapshot.xSorted;
+        }
+        return isXSorted(buffer.getOldestAvailable(buffer.getPublished()));
+    }
+
+    @Override
+    public int getXIndexLowerBound(final double x) {
+        final Snapshot snapshot = getActiveSnapshot();
+        final long end = buffer.getPublished();
+        final long start = buffer.getOldestAvailable(end);
+        if (!isXSorted()) {
+            return 0;
+        }
+        return bound(snapshot, start, snapshot == null ? (int) (end - start) : snapshot.count, x, false);
+    }
+
+    @Override
+    public int getXIndexUpperBound(final double x) {
+        final Snapshot snapshot = getActiveSnapshot();
+        final long end = buffer.getPublished();
+        final long start = buffer.getOldestAvailable(end);
+        final int count = snapshot == null ? (int) (end - start) : snapshot.count;
+        if (!isXSorted()) {
+            return count;
+        }
+        return bound(snapshot, start, count, x, true);
+    }
+
+    @Override
+    public int getDataCount(final double xmin, final double xmax) {
+        final Snapshot snapshot = getActiveSnapshot();
+        final long end = buffer.getPublished();
+        final long start = buffer.getOldestAvailable(end);
+        final int count = snapshot == null ? (int) (end - start) : snapshot.count;
+        if (isXSorted()) {
+            return Math.max(0, bound(snapshot, start, count, xmax, true) - bound(snapshot, start, count, xmin, false));
+        }
+        // N.B. linear scan rather than the shared secondary sort index
+        int nInRange = 0;
+        for (int i = 0; i < count; i++) {
+            final double x = getX(snapshot, start, i);
+            if (x >= xmin && x <= xmax) {
+                nInRange++;
+            }
+        }
+        return nInRange;
+    }
+
+    @Override
+    public int getXIndex(final double x) {
+        if (isXSorted()) {
+            // N.B. binary search via getX(int), i.e. on the active snapshot or live buffer
+            return super.getXIndex(x);
+        }
+        final Snapshot snapshot = getActiveSnapshot();
+        final long end = buffer.getPublished();
+        final long start = buffer.getOldestAvailable(end);
+        final int count = snapshot == null ? (int) (end - start) : snapshot.count;
+        // N.B. linear scan rather than the shared secondary sort index
+        int index = 0;
+        double minDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            final double distance = Math.abs(getX(snapshot, start, i) - x);
+            if (distance < minDistance) {
+                minDistance = distance;
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * thread-local copy of the buffer, N.B. the arrays are borrowed from the {@link ArrayPool} while the snapshot is
+     * active only
+     */
+    private static class Snapshot {
+        private static final double[] EMPTY = new double[0];
+        private int depth;
+        private int count;
+        private boolean xSorted = true;
+        private double[] xValues = EMPTY;
+        private double[] yValues = EMPTY;
+        private double[] yErrorsNeg = EMPTY;
+        private double[] yErrorsPos = EMPTY;
+
+        private void ensureCapacity(final int capacity) {
+            if (xValues.length < capacity) {
+                release();
+                final ArrayPool pool = ArrayPool.getDefault();
+                xValues = pool.getDoubleArray(capacity);
+                yValues = pool.getDoubleArray(capacity);
+                yErrorsNeg = pool.getDoubleArray(capacity);
+                yErrorsPos = pool.getDoubleArray(capacity);
+            }
+        }
+
+        private void release() {
+            if (xValues == EMPTY) {
+                return;
+            }
+            final ArrayPool pool = ArrayPool.getDefault();
+            pool.release(xValues);
+            pool.release(yValues);
+            pool.release(yErrorsNeg);
+            pool.release(yErrorsPos);
+            xValues = EMPTY;
+            yValues = EMPTY;
+            yErrorsNeg = EMPTY;
+            yErrorsPos = EMPTY;
+            count = 0;
+        }
+    }
+}
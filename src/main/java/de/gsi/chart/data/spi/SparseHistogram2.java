@@ -0,0 +1,447 @@
+package de.gsi.chart.data.spi;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import de.gsi.chart.data.DataSetMetaData;
+import de.gsi.chart.data.Histogram1D;
+import de.gsi.chart.data.Histogram2D;
+import de.gsi.chart.data.utils.LongDoubleHashMap;
+import de.gsi.chart.utils.AssertUtils;
+
+/**
+ * two-dimensional histogram with sparse bin storage, e.g. for large and mostly empty (detector occupancy) maps.
+ * <p>
+ * Only the non-empty bins are stored in a primitive open-addressing map ({@link LongDoubleHashMap}), i.e. memory scales
+ * with the number of filled bins rather than with nBinsX * nBinsY. As opposed to {@link Histogram2}, the x- and
+ * y-projections are not filled for each event but computed lazily from the non-empty bins and cached until the next
+ * modification. The histogram may be cheaply rebinned ({@link #rebin(int, int)}, e.g. for coarser zoom levels) and
+ * merged ({@link #add(SparseHistogram2)}) -- both O(number of non-empty bins). It may be drawn directly by the
+ * {@link de.gsi.chart.renderer.spi.ContourDataSetRenderer} (via {@link #getZ(int, int)}) without being densified.
+ * <p>
+ * N.B. the modifications take the data set lock, concurrent read accesses (e.g. {@link #getZ(int, int)}) need to be
+ * enclosed by {@link #lock()}/{@link #unlock()} (as done by the renderers).
+ *
+ * @author rstein
+ */
+public class SparseHistogram2 extends AbstractDataSet3D<SparseHistogram2>
+        implements de.gsi.chart.data.Histogram, Histogram2D {
+    private final int nBinsX; // N.B. including under- and overflow bins
+    private final int nBinsY; // N.B. including under- and overflow bins
+    private final double minX;
+    private final double maxX;
+    private final double minY;
+    private final double maxY;
+    private final double binScaleX;
+    private final double binScaleY;
+    private final LongDoubleHashMap content;
+    private final DataRange valueRange = new DataRange();
+    private Histogram xProjection;
+    private Histogram yProjection;
+    private boolean projectionsValid;
+
+    /**
+     * @param name name of the data set
+     * @param nBinsX number of bins in x
+     * @param minX lower x range limit
+     * @param maxX upper x range limit
+     * @param nBinsY number of bins in y
+     * @param minY lower y range limit
+     * @param maxY upper y range limit
+     */
+    public SparseHistogram2(final String name, final int nBinsX, final double minX, final double maxX,
+            final int nBinsY, final double minY, final double maxY) {
+        super(name);
+        AssertUtils.gtThanZero("nBinsX", nBinsX);
+        AssertUtils.gtThanZero("nBinsY", nBinsY);
+        if (!(maxX > minX) || !(maxY > minY)) {
+            throw new IllegalArgumentException("empty range x = [" + minX + ", " + maxX + "], y = [" + minY + ", "
+                    + maxY + "]");
+        }
+        if ((long) (nBinsX + 2) * (nBinsY + 2) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many bins " + nBinsX + " x " + nBinsY);
+        }
+        this.nBinsX = nBinsX + 2;
+        this.nBinsY = nBinsY + 2;
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+        binScaleX = nBinsX / (maxX - minX);
+        binScaleY = nBinsY / (maxY - minY);
+        content = new LongDoubleHashMap();
+        xRange.set(getBinCenterX(1), getBinCenterX(nBinsX));
+        yRange.set(getBinCenterY(1), getBinCenterY(nBinsY));
+    }
+
+    /**
+     * @return number of non-empty bins
+     */
+    public int getNonEmptyBinCount() {
+        return content.size();
+    }
+
+    @Override
+    public int fill(final double x, final double y) {
+        return fill(x, y, 1.0);
+    }
+
+    @Override
+    public int fill(final double x, final double y, final double w) {
+        final int bin = findBin(x, y);
+        addBinContent(bin, w);
+        return bin;
+    }
+
+    @Override
+    public void addBinContent(final int bin) {
+        addBinContent(bin, 1.0);
+    }
+
+    @Override
+    public void addBinContent(final int bin, final double w) {
+        // N.B. the map may be resized, i.e. must not be modified while being read (e.g. by the renderer)
+        lock();
+        try {
+            valueRange.add(content.add(bin, w));
+            projectionsValid = false;
+            zRange.empty();
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public double getBinContent(final int bin) {
+        return content.get(bin);
+    }
+
+    /**
+     * adds the bin contents of another histogram with identical binning
+     *
+     * @param other histogram to be merged
+     * @return itself (fluent design)
+     */
+    public SparseHistogram2 add(final SparseHistogram2 other) {
+        AssertUtils.notNull("other", other);
+        if (other.nBinsX != nBinsX || other.nBinsY != nBinsY || other.minX != minX || other.maxX != maxX
+                || other.minY != minY || other.maxY != maxY) {
+            throw new IllegalArgumentException("incompatible binning of histogram '" + other.getName() + "'");
+        }
+        other.lock();
+        lock();
+        try {
+            final LongDoubleHashMap src = other.content;
+            for (int slot = 0; slot < src.capacity(); slot++) {
+                if (src.isUsed(slot)) {
+                    valueRange.add(content.add(src.getKeyAt(slot), src.getValueAt(slot)));
+                }
+            }
+            projectionsValid = false;
+            zRange.empty();
+        } finally {
+            unlock();
+            other.unlock();
+        }
+        return fireInvalidated();
+    }
+
+    /**
+     * merges neighbouring bins, e.g. for coarser zoom levels. N.B. the number of bins is rounded up, i.e. the upper
+     * range limit may be extended if the number of bins is not a multiple of the rebin factor.
+     *
+     * @param factorX number of x bins to be merged
+     * @param factorY number of y bins to be merged
+     * @return new histogram with the merged bins
+     */
+    public SparseHistogram2 rebin(final int factorX, final int factorY) {
+        AssertUtils.gtThanZero("factorX", factorX);
+        AssertUtils.gtThanZero("factorY", factorY);
+        lock();
+        try {
+            final int nX = nBinsX - 2;
+            final int nY = nBinsY - 2;
+            final int newNX = (nX + factorX - 1) / factorX;
+            final int newNY = (nY + factorY - 1) / factorY;
+            final double newMaxX = minX + newNX * factorX * (maxX - minX) / nX;
+            final double newMaxY = minY + newNY * factorY * (maxY - minY) / nY;
+            final SparseHistogram2 retVal = new SparseHistogram2(getName(), newNX, minX, newMaxX, newNY, minY,
+                    newMaxY);
+            final long newStride = newNX + 2L;
+            for (int slot = 0; slot < content.capacity(); slot++) {
+                if (!content.isUsed(slot)) {
+                    continue;
+                }
+                final long key = content.getKeyAt(slot);
+                final int binX = (int) (key % nBinsX);
+                final int binY = (int) (key / nBinsX);
+                final long newKey = rebinIndex(binY, nY, newNY, factorY) * newStride
+                        + rebinIndex(binX, nX, newNX, factorX);
+                retVal.valueRange.add(retVal.content.add(newKey, content.getValueAt(slot)));
+            }
+            return retVal;
+        } finally {
+            unlock();
+        }
+    }
+
+    private static int rebinIndex(final int bin, final int nBins, final int newNBins, final int factor) {
+        if (bin == 0) {
+            return 0;
+        }
+        if (bin == nBins + 1) {
+            return newNBins + 1;
+        }
+        return 1 + (bin - 1) / factor;
+    }
+
+    /**
+     * @return x-projection (computed lazily from the non-empty bins and cached until the next modification)
+     */
+    public Histogram1D getProjectionX() {
+        updateProjections();
+        return xProjection;
+    }
+
+    /**
+     * @return y-projection (computed lazily from the non-empty bins and cached until the next modification)
+     */
+    public Histogram1D getProjectionY() {
+        updateProjections();
+        return yProjection;
+    }
+
+    private void updateProjections() {
+        lock();
+        try {
+            if (projectionsValid && xProjection != null) {
+                return;
+            }
+            if (xProjection == null) {
+                xProjection = new Histogram(getName() + "-Proj-X", nBinsX - 2, minX, maxX, true);
+                yProjection = new Histogram(getName() + "-Proj-Y", nBinsY - 2, minY, maxY, false);
+                xProjection.setAutoNotifaction(false);
+                yProjection.setAutoNotifaction(false);
+            }
+            xProjection.reset();
+            yProjection.reset();
+            for (int slot = 0; slot < content.capacity(); slot++) {
+                if (!content.isUsed(slot)) {
+                    continue;
+                }
+                final long key = content.getKeyAt(slot);
+                final double value = content.getValueAt(slot);
+                xProjection.addBinContent((int) (key % nBinsX), value);
+                yProjection.addBinContent((int) (key / nBinsX), value);
+            }
+            projectionsValid = true;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public void reset() {
+        lock();
+        try {
+            content.clear();
+            valueRange.empty();
+            zRange.empty();
+            projectionsValid = false;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public boolean isEquiDistant() {
+        return true;
+    }
+
+    @Override
+    public double getMinimum() {
+        return valueRange.getMin();
+    }
+
+    @Override
+    public double getMaximum() {
+        return valueRange.getMax();
+    }
+
+    @Override
+    public int findBin(final double x) {
+        return findBinX(x);
+    }
+
+    @Override
+    public int findBin(final double x, final double y) {
+        return nBinsX * findBinY(y) + findBinX(x);
+    }
+
+    @Override
+    public int findBin(final double x, final double y, final double z) {
+        return findBin(x, y);
+    }
+
+    @Override
+    public int findFirstBinAbove(final double x, final double y) {
+        return findBin(x, y);
+    }
+
+    protected int findBinX(final double x) {
+        return ConcurrentHistogram.findEquidistantBin(x, minX, maxX, binScaleX, nBinsX - 2);
+    }
+
+    protected int findBinY(final double y) {
+        return ConcurrentHistogram.findEquidistantBin(y, minY, maxY, binScaleY, nBinsY - 2);
+    }
+
+    @Override
+    public double getBinCenterX(final int binX) {
+        return minX + (binX - 0.5) / binScaleX;
+    }
+
+    @Override
+    public double getBinCenterY(final int binY) {
+        return minY + (binY - 0.5) / binScaleY;
+    }
+
+    @Override
+    public double getBinCenterZ(final int binZ) {
+        return 0.0;
+    }
+
+    @Override
+    public int getDimension() {
+        return 2;
+    }
+
+    @Override
+    public int getNBinsX() {
+        return nBinsX;
+    }
+
+    @Override
+    public int getNBinsY() {
+        return nBinsY;
+    }
+
+    @Override
+    public int getNBinsZ() {
+        return 0;
+    }
+
+    /*
+     * DataSet and DataSet3D specific functions
+     */
+
+    @Override
+    public double getZ(final int xIndex, final int yIndex) {
+        return content.get((long) (yIndex + 1) * nBinsX + xIndex + 1);
+    }
+
+    @Override
+    public int getXDataCount() {
+        return nBinsX - 2;
+    }
+
+    @Override
+    public int getYDataCount() {
+        return nBinsY - 2;
+    }
+
+    @Override
+    public double getX(final int i) {
+        return getBinCenterX(i + 1);
+    }
+
+    @Override
+    public double getY(final int i) {
+        return getBinCenterY(i + 1);
+    }
+
+    @Override
+    public int getXIndex(final double x) {
+        // N.B. O(1) rather than the binary search
+        return Math.max(0, Math.min(nBinsX - 3, (int) Math.floor((x - minX) * binScaleX)));
+    }
+
+    @Override
+    public int getYIndex(final double y) {
+        return Math.max(0, Math.min(nBinsY - 3, (int) Math.floor((y - minY) * binScaleY)));
+    }
+
+    @Override
+    public void set(final int xIndex, final int yIndex, final double x, final double y, final double z) {
+        // null implementation
+    }
+
+    @Override
+    public String getStyle(final int index) {
+        return null;
+    }
+
+    /**
+     * computes the z range from the non-empty bins only, i.e. O(number of non-empty bins) rather than O(nx * ny)
+     */
+    @Override
+    protected SparseHistogram2 computeLimits() {
+        lock();
+        try {
+            zRange.empty();
+            long nRegular = 0;
+            for (int slot = 0; slot < content.capacity(); slot++) {
+                if (!content.isUsed(slot)) {
+                    continue;
+                }
+                final long key = content.getKeyAt(slot);
+                final long binX = key % nBinsX;
+                final long binY = key / nBinsX;
+                if (binX == 0 || binX == nBinsX - 1 || binY == 0 || binY == nBinsY - 1) {
+                    // under- or overflow bin
+                    continue;
+                }
+                zRange.add(content.getValueAt(slot));
+                nRegular++;
+            }
+            if (nRegular < (long) getXDataCount() * getYDataCount()) {
+                // empty bins
+                zRange.add(0.0);
+            }
+        } finally {
+            unlock();
+        }
+        return getThis();
+    }
+
+    @Override
+    public List<String> getInfoList() {
+        return Collections.<String>emptyList();
+    }
+
+    @Override
+    public List<String> getWarningList() {
+        final List<String> retVal = new LinkedList<>();
+        final Histogram1D projX = getProjectionX();
+        final Histogram1D projY = getProjectionY();
+        if (projX.getBinContent(0) > 0) {
+            retVal.add(DataSetMetaData.TAG_UNDERSHOOT + "-x");
+        }
+        if (projX.getBinContent(nBinsX - 1) > 0) {
+            retVal.add(DataSetMetaData.TAG_OVERSHOOT + "-x");
+        }
+        if (projY.getBinContent(0) > 0) {
+            retVal.add(DataSetMetaData.TAG_UNDERSHOOT + "-y");
+        }
+        if (projY.getBinContent(nBinsY - 1) > 0) {
+            retVal.add(DataSetMetaData.TAG_OVERSHOOT + "-y");
+        }
+        return retVal;
+    }
+
+    @Override
+    public List<String> getErrorList() {
+        return Collections.<String>emptyList();
+    }
+}
@@ -79,6 +79,21 @@ public class WrappedDataSet extends AbstractDataSet<WrappedDataSet> {
         return dataset == null ? 0 : dataset.getXIndex(x);
     }
 
+    @Override
+    public boolean isXSorted() {
+        return dataset == null || dataset.isXSorted();
+    }
+
+    @Override
+    public int getXIndexLowerBound(final double x) {
+        return dataset == null ? 0 : dataset.getXIndexLowerBound(x);
+    }
+
+    @Override
+    public int getXIndexUpperBound(final double x) {
+        return dataset == null ? 0 : dataset.getXIndexUpperBound(x);
+    }
+
     @Override
     public double getXMin() {
         return dataset == null ? 0 : dataset.getXMin();
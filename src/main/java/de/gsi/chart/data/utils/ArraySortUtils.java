@@ -0,0 +1,118 @@
+package de.gsi.chart.data.utils;
+
+/**
+ * primitive array search and (index) sort helper functions, e.g. for searching and indexing the x coordinates of data
+ * sets without boxing them into {@code Double}/{@code Integer} objects.
+ *
+ * @author rstein
+ */
+public final class ArraySortUtils {
+
+    private ArraySortUtils() {
+        // utility class
+    }
+
+    /**
+     * @param values the array to be checked
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @return {@code true} if the values are sorted in ascending order (N.B. NaN values are considered as unsorted)
+     */
+    public static boolean isSorted(final double[] values, final int fromIndex, final int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            if (!(values[i] >= values[i - 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param sortedValues array sorted in ascending order
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @param key the value to be searched for
+     * @return index of the first element that is not less than 'key' or 'toIndex' if there is none
+     */
+    public static int lowerBound(final double[] sortedValues, final int fromIndex, final int toIndex,
+            final double key) {
+        int low = fromIndex;
+        int high = toIndex;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedValues[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param sortedValues array sorted in ascending order
+     * @param fromIndex first index (inclusive)
+     * @param toIndex last index (exclusive)
+     * @param key the value to be searched for
+     * @return index of the first element that is greater than 'key' or 'toIndex' if there is none
+     */
+    public static int upperBound(final double[] sortedValues, final int fromIndex, final int toIndex,
+            final double key) {
+        int low = fromIndex;
+        int high = toIndex;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedValues[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * sorts the first 'length' keys in ascending order and applies the same permutation to the indices (stable,
+     * iterative bottom-up merge sort, O(n log n)). NaN keys are sorted to the end.
+     *
+     * @param keys the keys to be sorted (modified in place)
+     * @param indices the indices permuted alongside the keys (modified in place)
+     * @param length number of elements to be sorted
+     */
+    public static void sortIndexed(final double[] keys, final int[] indices, final int length) {
+        double[] srcKeys = keys;
+        int[] srcIndices = indices;
+        double[] dstKeys = new double[length];
+        int[] dstIndices = new int[length];
+
+        for (int width = 1; width < length; width <<= 1) {
+            for (int left = 0; left < length; left += width << 1) {
+                final int mid = Math.min(left + width, length);
+                final int right = Math.min(left + (width << 1), length);
+                int i = left;
+                int j = mid;
+                for (int k = left; k < right; k++) {
+                    // N.B. '<= 0' keeps the merge stable, Double.compare(..) orders NaN last
+                    if (j >= right || i < mid && Double.compare(srcKeys[i], srcKeys[j]) <= 0) {
+                        dstKeys[k] = srcKeys[i];
+                        dstIndices[k] = srcIndices[i++];
+                    } else {
+                        dstKeys[k] = srcKeys[j];
+                        dstIndices[k] = srcIndices[j++];
+                    }
+                }
+            }
+            final double[] tmpKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tmpKeys;
+            final int[] tmpIndices = srcIndices;
+            srcIndices = dstIndices;
+            dstIndices = tmpIndices;
+        }
+
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, length);
+            System.arraycopy(srcIndices, 0, indices, 0, length);
+        }
+    }
+}
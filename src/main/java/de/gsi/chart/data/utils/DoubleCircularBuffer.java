@@ -107,13 +107,34 @@ public class DoubleCircularBuffer {
     }
 
     public double[] get(final double[] into, final int readPos, final int length) {
-        final double[] retVal = into == null ? new double[length] : into;
-        // N.B. actually there seem to be no numerically more efficient
-        // implementation
-        // since the order of the indices for 'into' need to be reverse order
-        // w.r.t. 'elements'
-        for (int i = 0; i < length; i++) {
-            retVal[i] = get(i + readPos);
+        return get(readPos, into, 0, length);
+    }
+
+    /**
+     * bulk copy of buffer elements into a linear array
+     *
+     * @param readPos
+     *            logical index of the first element to be copied (0: oldest element)
+     * @param into
+     *            target array, a new array is allocated if <code>null</code>
+     * @param intoOffset
+     *            index within the target array of the first copied element
+     * @param length
+     *            number of elements to be copied
+     * @return the target array
+     */
+    public double[] get(final int readPos, final double[] into, final int intoOffset, final int length) {
+        final double[] retVal = into == null ? new double[intoOffset + length] : into;
+        if (length <= 0) {
+            return retVal;
+        }
+        // N.B. the logical sequence is at most split into two contiguous
+        // segments: [start, capacity) and [0, remainder)
+        final int start = (flipped ? writePos + readPos : readPos) % capacity;
+        final int lengthUpperHalf = Math.min(length, capacity - start);
+        System.arraycopy(elements, start, retVal, intoOffset, lengthUpperHalf);
+        if (lengthUpperHalf < length) {
+            System.arraycopy(elements, 0, retVal, intoOffset + lengthUpperHalf, length - lengthUpperHalf);
         }
 
         return retVal;
@@ -0,0 +1,282 @@
+package de.gsi.chart.data.utils;
+
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+
+/**
+ * bounded least-recently-used cache with primitive {@code double} keys (compared by their bit pattern) and an optional
+ * {@code long} tag (e.g. identifying the format the cached label has been created with), e.g. to cache axis labels.
+ * <p>
+ * As opposed to a {@code WeakHashMap<Number, V>}: no boxing, hits on equal values rather than identical boxes, a
+ * deterministic size bound rather than garbage-collector dependent clean-up, and hit/miss statistics. Look-ups and
+ * insertions are O(1) and allocation free (open-addressing index table with backward-shift deletion and an
+ * array-based doubly-linked recency list).
+ * <p>
+ * N.B. not thread-safe.
+ *
+ * @author rstein
+ * @param <V> cached value type
+ */
+public class DoubleLruCache<V> {
+    private static final int NIL = -1;
+    private final int capacity;
+    private final long[] keys;
+    private final long[] tags;
+    private final Object[] values;
+    // recency list: head = most, tail = least recently used
+    private final int[] previous;
+    private final int[] next;
+    // open addressing index table: entry index + 1 (0 = free)
+    private final int[] table;
+    private final int mask;
+    private int size;
+    private int head = NIL;
+    private int tail = NIL;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @param capacity maximum number of cached entries
+     */
+    public DoubleLruCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        keys = new long[capacity];
+        tags = new long[capacity];
+        values = new Object[capacity];
+        previous = new int[capacity];
+        next = new int[capacity];
+        final int tableSize = Integer.highestOneBit(2 * capacity - 1) << 1;
+        table = new int[tableSize];
+        mask = tableSize - 1;
+    }
+
+    /**
+     * @return maximum number of cached entries
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of cached entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key key
+     * @return cached value or {@code null} if absent
+     */
+    public V get(final double key) {
+        return get(key, 0L);
+    }
+
+    /**
+     * @param key key
+     * @param tag additional key tag
+     * @return cached value or {@code null} if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final double key, final long tag) {
+        final int entry = find(Double.doubleToLongBits(key), tag);
+        if (entry == NIL) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        moveToHead(entry);
+        return (V) values[entry];
+    }
+
+    /**
+     * @param key key
+     * @param value new value (N.B. {@code null} values are not cached)
+     */
+    public void put(final double key, final V value) {
+        put(key, 0L, value);
+    }
+
+    /**
+     * @param key key
+     * @param tag additional key tag
+     * @param value new value (N.B. {@code null} values are not cached)
+     */
+    public void put(final double key, final long tag, final V value) {
+        if (value == null) {
+            return;
+        }
+        final long bits = Double.doubleToLongBits(key);
+        int entry = find(bits, tag);
+        if (entry == NIL) {
+            if (size < capacity) {
+                entry = size++;
+            } else {
+                // evict the least recently used entry and re-use its slot
+                entry = tail;
+                removeFromTable(entry);
+                unlink(entry);
+            }
+            keys[entry] = bits;
+            tags[entry] = tag;
+            insertIntoTable(entry);
+            linkAtHead(entry);
+        } else {
+            moveToHead(entry);
+        }
+        values[entry] = value;
+    }
+
+    /**
+     * @param key key
+     * @param mappingFunction function computing the value if absent (N.B. is passed the key)
+     * @return cached or newly computed value
+     */
+    public V computeIfAbsent(final double key, final DoubleFunction<? extends V> mappingFunction) {
+        return computeIfAbsent(key, 0L, mappingFunction);
+    }
+
+    /**
+     * @param key key
+     * @param tag additional key tag
+     * @param mappingFunction function computing the value if absent (N.B. is passed the key)
+     * @return cached or newly computed value
+     */
+    public V computeIfAbsent(final double key, final long tag, final DoubleFunction<? extends V> mappingFunction) {
+        final V cached = get(key, tag);
+        if (cached != null) {
+            return cached;
+        }
+        final V value = mappingFunction.apply(key);
+        put(key, tag, value);
+        return value;
+    }
+
+    /**
+     * removes all entries (N.B. keeps the hit/miss statistics)
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        head = NIL;
+        tail = NIL;
+    }
+
+    /**
+     * @return number of successful look-ups
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of failed look-ups
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return fraction of successful look-ups [0, 1] (0 if there have not been any)
+     */
+    public double getHitRate() {
+        final long total = hitCount + missCount;
+        return total == 0 ? 0.0 : hitCount / (double) total;
+    }
+
+    public void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    private int find(final long bits, final long tag) {
+        int slot = hash(bits, tag) & mask;
+        int current;
+        while ((current = table[slot]) != 0) {
+            final int entry = current - 1;
+            if (keys[entry] == bits && tags[entry] == tag) {
+                return entry;
+            }
+            slot = slot + 1 & mask;
+        }
+        return NIL;
+    }
+
+    private void insertIntoTable(final int entry) {
+        int slot = hash(keys[entry], tags[entry]) & mask;
+        while (table[slot] != 0) {
+            slot = slot + 1 & mask;
+        }
+        table[slot] = entry + 1;
+    }
+
+    private void removeFromTable(final int entry) {
+        int slot = hash(keys[entry], tags[entry]) & mask;
+        while (table[slot] != entry + 1) {
+            slot = slot + 1 & mask;
+        }
+        // backward-shift deletion: keeps the probing sequences valid without tombstones
+        int free = slot;
+        int current = free + 1 & mask;
+        while (table[current] != 0) {
+            final int candidate = table[current] - 1;
+            final int home = hash(keys[candidate], tags[candidate]) & mask;
+            // move candidate if its home slot is not within (free, current]
+            if ((current - home & mask) >= (current - free & mask)) {
+                table[free] = table[current];
+                free = current;
+            }
+            current = current + 1 & mask;
+        }
+        table[free] = 0;
+    }
+
+    private void moveToHead(final int entry) {
+        if (entry != head) {
+            unlink(entry);
+            linkAtHead(entry);
+        }
+    }
+
+    private void linkAtHead(final int entry) {
+        previous[entry] = NIL;
+        next[entry] = head;
+        if (head != NIL) {
+            previous[head] = entry;
+        }
+        head = entry;
+        if (tail == NIL) {
+            tail = entry;
+        }
+    }
+
+    private void unlink(final int entry) {
+        final int prev = previous[entry];
+        final int nxt = next[entry];
+        if (prev == NIL) {
+            head = nxt;
+        } else {
+            next[prev] = nxt;
+        }
+        if (nxt == NIL) {
+            tail = prev;
+        } else {
+            previous[nxt] = prev;
+        }
+    }
+
+    private static int hash(final long bits, final long tag) {
+        // MurmurHash3 64-bit finaliser
+        long h = bits ^ tag * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,106 @@
+package de.gsi.chart.data.utils;
+
+import java.util.Arrays;
+
+/**
+ * capacity management for the primitive storage arrays of editable data sets. In contrast to re-allocating the arrays
+ * to the exact required size for every new data point, the capacity is grown geometrically (by 50%, similar to
+ * {@link java.util.ArrayList}) so that streaming single-point appends cost amortised O(1) copies.
+ *
+ * @author rstein
+ */
+public final class GrowingArrayUtils {
+    /**
+     * default minimum capacity allocated on the first growth
+     */
+    public static final int DEFAULT_MIN_CAPACITY = 16;
+    /**
+     * some VMs reserve header words in an array
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private GrowingArrayUtils() {
+        // utility class
+    }
+
+    /**
+     * @param currentCapacity the current capacity of the array
+     * @param minCapacity the minimum required capacity
+     * @return new capacity that is at least 'minCapacity' and 50% larger than the current capacity
+     */
+    public static int newCapacity(final int currentCapacity, final int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("required array capacity exceeds integer range");
+        }
+        int newCapacity = currentCapacity + (currentCapacity >> 1);
+        if (newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE) {
+            newCapacity = MAX_ARRAY_SIZE;
+        }
+        return Math.max(Math.max(newCapacity, minCapacity), DEFAULT_MIN_CAPACITY);
+    }
+
+    /**
+     * @param array the array to be checked
+     * @param size number of valid elements in the array that need to be preserved
+     * @param minCapacity the minimum required capacity
+     * @return the same array if its capacity is sufficient, otherwise a geometrically grown copy containing the first
+     *         'size' elements
+     */
+    public static double[] ensureCapacity(final double[] array, final int size, final int minCapacity) {
+        if (array != null && array.length >= minCapacity) {
+            return array;
+        }
+        final double[] newArray = new double[newCapacity(array == null ? 0 : array.length, minCapacity)];
+        if (array != null && size > 0) {
+            System.arraycopy(array, 0, newArray, 0, Math.min(size, array.length));
+        }
+        return newArray;
+    }
+
+    /**
+     * @param array the array to be trimmed
+     * @param size number of valid elements in the array
+     * @return the same array if its length equals 'size', otherwise a copy with exactly 'size' elements
+     */
+    public static double[] trimToSize(final double[] array, final int size) {
+        if (array.length == size) {
+            return array;
+        }
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     * opens a gap of 'length' elements at position 'index' by shifting the elements [index, size) to the back. The
+     * array is grown geometrically if required.
+     *
+     * @param array the array to be modified
+     * @param size number of valid elements in the array
+     * @param index position at which the gap is opened
+     * @param length the length of the gap
+     * @return the (possibly re-allocated) array
+     */
+    public static double[] insertGap(final double[] array, final int size, final int index, final int length) {
+        final double[] retVal = ensureCapacity(array, size, size + length);
+        if (index < size) {
+            System.arraycopy(retVal, index, retVal, index + length, size - index);
+        }
+        return retVal;
+    }
+
+    /**
+     * removes the elements [fromIndex, toIndex) in place by shifting the remaining elements to the front. The capacity
+     * is retained.
+     *
+     * @param array the array to be modified
+     * @param size number of valid elements in the array
+     * @param fromIndex first index to be removed (inclusive)
+     * @param toIndex last index to be removed (exclusive)
+     * @return the array (fluent design)
+     */
+    public static double[] remove(final double[] array, final int size, final int fromIndex, final int toIndex) {
+        if (toIndex < size) {
+            System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,162 @@
+package de.gsi.chart.data.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import de.gsi.chart.utils.AssertUtils;
+
+/**
+ * single-writer/multi-reader circular ring buffer for one or several parallel double 'channels' (e.g. x, y and error
+ * values of the same sample) that does not block the writer.
+ * <p>
+ * Samples are identified by their (monotonically increasing) sequence number. The writer reserves the samples it is
+ * about to write ({@link #beginWrite(int)}), writes the channel values ({@link #put(int, int, double)}) and publishes
+ * them ({@link #endWrite()}). Readers copy any range of published samples and subsequently check via
+ * {@link #getOldestValid()} whether the copied samples may have been overwritten in the meantime (torn read), in which
+ * case the copy needs to be repeated or the affected (oldest) samples discarded. This is a sequence-lock scheme
+ * restricted to the overwritten slots, i.e. readers only need to retry if the writer wrapped around into the copied
+ * range and not for each concurrently appended sample.
+ * <p>
+ * N.B. the channel values are stored as raw long bits in {@link AtomicLongArray}s: the release-stores of the writer
+ * (lazySet) and the ordered loads of the readers guarantee the required happens-before relations without locks (and
+ * on x86 compile to plain memory accesses).
+ *
+ * @author rstein
+ */
+public class LockFreeDoubleRingBuffer {
+    private final int capacity;
+    private final AtomicLongArray[] channels;
+    // number of samples that have been completely written and published
+    private final AtomicLong published = new AtomicLong();
+    // number of samples that are published or are being written
+    private final AtomicLong reserved = new AtomicLong();
+    // sequence number of the first sample after the last reset
+    private volatile long firstSample;
+    // writer-private state
+    private long writePosition;
+    private int pendingLength;
+
+    /**
+     * @param capacity maximum number of samples retained in the buffer
+     * @param nChannels number of parallel values per sample
+     */
+    public LockFreeDoubleRingBuffer(final int capacity, final int nChannels) {
+        AssertUtils.gtThanZero("capacity", capacity);
+        AssertUtils.gtThanZero("nChannels", nChannels);
+        this.capacity = capacity;
+        channels = new AtomicLongArray[nChannels];
+        for (int i = 0; i < nChannels; i++) {
+            channels[i] = new AtomicLongArray(capacity);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int getChannelCount() {
+        return channels.length;
+    }
+
+    /**
+     * writer: discards all samples (readers see an empty buffer for their next copy)
+     */
+    public void reset() {
+        firstSample = writePosition;
+    }
+
+    /**
+     * writer: reserves the next 'length' samples, previous samples that occupy the same slots become invalid for
+     * readers
+     *
+     * @param length number of samples to be written (at most {@link #capacity()})
+     */
+    public void beginWrite(final int length) {
+        if (length < 0 || length > capacity) {
+            throw new IllegalArgumentException("length = " + length + " out of range [0, " + capacity + "]");
+        }
+        pendingLength = length;
+        // N.B. volatile store: visible before any of the subsequent (release-)stores of the channel values
+        reserved.set(writePosition + length);
+    }
+
+    /**
+     * writer: sets the channel value of a reserved sample
+     *
+     * @param channel the channel index
+     * @param offset the sample offset w.r.t. the first reserved sample
+     * @param value the new value
+     */
+    public void put(final int channel, final int offset, final double value) {
+        channels[channel].lazySet(index(writePosition + offset), Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * writer: publishes the reserved samples
+     */
+    public void endWrite() {
+        writePosition += pendingLength;
+        pendingLength = 0;
+        published.lazySet(writePosition);
+    }
+
+    /**
+     * @return sequence number after the last published sample
+     */
+    public long getPublished() {
+        return published.get();
+    }
+
+    /**
+     * @param end sequence number after the last published sample as returned by {@link #getPublished()}
+     * @return sequence number of the oldest published sample that is retained in the buffer
+     */
+    public long getOldestAvailable(final long end) {
+        return Math.min(end, Math.max(firstSample, end - capacity));
+    }
+
+    /**
+     * to be called by readers after copying samples: samples with sequence numbers below the returned value may have
+     * been (partially) overwritten by the writer in the meantime
+     *
+     * @return sequence number of the oldest sample that is guaranteed to be unmodified
+     */
+    public long getOldestValid() {
+        return Math.max(firstSample, reserved.get() - capacity);
+    }
+
+    /**
+     * reader: copies the channel values of the samples [fromSample, toSample) into the target array
+     *
+     * @param channel the channel index
+     * @param fromSample sequence number of the first sample (inclusive)
+     * @param toSample sequence number of the last sample (exclusive)
+     * @param target the target array
+     * @param targetOffset index within the target array of the first copied value
+     * @return the target array (fluent design)
+     */
+    public double[] get(final int channel, final long fromSample, final long toSample, final double[] target,
+            final int targetOffset) {
+        final AtomicLongArray values = channels[channel];
+        int pos = targetOffset;
+        for (long sample = fromSample; sample < toSample; sample++) {
+            target[pos++] = Double.longBitsToDouble(values.get(index(sample)));
+        }
+        return target;
+    }
+
+    /**
+     * reader: reads a single channel value (N.B. to be validated via {@link #getOldestValid()})
+     *
+     * @param channel the channel index
+     * @param sample the sample sequence number
+     * @return the channel value
+     */
+    public double get(final int channel, final long sample) {
+        return Double.longBitsToDouble(channels[channel].get(index(sample)));
+    }
+
+    private int index(final long sample) {
+        return (int) (sample % capacity);
+    }
+}
@@ -0,0 +1,184 @@
+package de.gsi.chart.data.utils;
+
+import java.util.Arrays;
+
+/**
+ * primitive open-addressing (linear probing) hash map of non-negative {@code long} keys to {@code double} values, e.g.
+ * for sparse bin storage. No boxing and two flat arrays -- as opposed to a {@code HashMap<Long, Double>}.
+ * <p>
+ * Missing keys read as '0.0'. Entries are not removed individually (only via {@link #clear()}) which keeps the probing
+ * sequences valid without tombstones.
+ *
+ * @author rstein
+ */
+public class LongDoubleHashMap {
+    private static final long FREE = -1L;
+    private static final double MAX_LOAD_FACTOR = 0.6;
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongDoubleHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of entries that can be stored without resizing
+     */
+    public LongDoubleHashMap(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("negative expectedSize = " + expectedSize);
+        }
+        allocate(Math.max(16, Integer.highestOneBit((int) (expectedSize / MAX_LOAD_FACTOR) + 1) << 1));
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return size of the internal slot tables, entries are accessible via {@link #isUsed(int)},
+     *         {@link #getKeyAt(int)} and {@link #getValueAt(int)}
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean isUsed(final int slot) {
+        return keys[slot] != FREE;
+    }
+
+    public long getKeyAt(final int slot) {
+        return keys[slot];
+    }
+
+    public double getValueAt(final int slot) {
+        return values[slot];
+    }
+
+    /**
+     * @param key non-negative key
+     * @return value of the entry or '0.0' if absent
+     */
+    public double get(final long key) {
+        int slot = hash(key) & mask;
+        long current;
+        while ((current = keys[slot]) != FREE) {
+            if (current == key) {
+                return values[slot];
+            }
+            slot = slot + 1 & mask;
+        }
+        return 0.0;
+    }
+
+    /**
+     * @param key non-negative key
+     * @return {@code true} if the key has an entry
+     */
+    public boolean containsKey(final long key) {
+        int slot = hash(key) & mask;
+        long current;
+        while ((current = keys[slot]) != FREE) {
+            if (current == key) {
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @param key non-negative key
+     * @param value new value
+     */
+    public void put(final long key, final double value) {
+        values[slot(key)] = value;
+    }
+
+    /**
+     * @param key non-negative key
+     * @param delta value to be added to the entry (absent entries are treated as '0.0')
+     * @return new value
+     */
+    public double add(final long key, final double delta) {
+        final int slot = slot(key);
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    /**
+     * removes all entries (N.B. keeps the table size)
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, 0.0);
+        size = 0;
+    }
+
+    /**
+     * @return slot of the key, a new entry (with value '0.0') is created if absent
+     */
+    private int slot(final long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("negative key = " + key);
+        }
+        int slot = hash(key) & mask;
+        long current;
+        while ((current = keys[slot]) != FREE) {
+            if (current == key) {
+                return slot;
+            }
+            slot = slot + 1 & mask;
+        }
+        if (size >= resizeThreshold) {
+            resize();
+            return slot(key);
+        }
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    private void resize() {
+        final long[] oldKeys = keys;
+        final double[] oldValues = values;
+        allocate(2 * oldKeys.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key == FREE) {
+                continue;
+            }
+            int slot = hash(key) & mask;
+            while (keys[slot] != FREE) {
+                slot = slot + 1 & mask;
+            }
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private static int hash(final long key) {
+        // MurmurHash3 64-bit finaliser: spreads neighbouring (e.g. bin) indices over the table
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,135 @@
+package de.gsi.chart.data.utils;
+
+/**
+ * sliding-window minimum/maximum tracker for FIFO-type (e.g. circular) data buffers based on two monotonic deques.
+ * Appending a new sample and expiring the oldest sample(s) cost amortised O(1), the current minimum and maximum are
+ * available in O(1) -- as opposed to a full O(n) rescan of the buffer after each update.
+ * <p>
+ * Each sample consists of a lower and upper value (e.g. 'y - dy' and 'y + dy' to include error bars) whereby the
+ * minimum is tracked for the lower and the maximum for the upper values. Non-finite values are ignored for the
+ * min/max computation but occupy a slot in the sample sequence.
+ *
+ * @author rstein
+ */
+public class MonotonicMinMaxQueue {
+    private final int capacity;
+    // ring buffers holding the monotonically increasing minimum candidates
+    private final long[] minIndex;
+    private final double[] minValue;
+    // ring buffers holding the monotonically decreasing maximum candidates
+    private final long[] maxIndex;
+    private final double[] maxValue;
+    private int minHead;
+    private int minSize;
+    private int maxHead;
+    private int maxSize;
+    private long head; // sequence number of the oldest valid sample
+    private long tail; // sequence number of the next sample to be added
+
+    /**
+     * @param capacity maximum number of samples in the window, older samples are expired automatically
+     */
+    public MonotonicMinMaxQueue(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("negative or zero capacity = " + capacity);
+        }
+        this.capacity = capacity;
+        minIndex = new long[capacity];
+        minValue = new double[capacity];
+        maxIndex = new long[capacity];
+        maxValue = new double[capacity];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of samples in the window
+     */
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    public void reset() {
+        minHead = 0;
+        minSize = 0;
+        maxHead = 0;
+        maxSize = 0;
+        head = 0;
+        tail = 0;
+    }
+
+    /**
+     * @param value new sample (lower and upper value being identical)
+     */
+    public void add(final double value) {
+        add(value, value);
+    }
+
+    /**
+     * appends a new sample and expires the oldest sample if the capacity is exceeded
+     *
+     * @param lowValue lower value of the new sample (used for the minimum)
+     * @param highValue upper value of the new sample (used for the maximum)
+     */
+    public void add(final double lowValue, final double highValue) {
+        if (tail - head >= capacity) {
+            removeOldest(1);
+        }
+        final long seq = tail++;
+
+        if (Double.isFinite(lowValue)) {
+            // drop all minimum candidates that can never become the minimum again
+            while (minSize > 0 && minValue[(minHead + minSize - 1) % capacity] >= lowValue) {
+                minSize--;
+            }
+            final int pos = (minHead + minSize) % capacity;
+            minIndex[pos] = seq;
+            minValue[pos] = lowValue;
+            minSize++;
+        }
+
+        if (Double.isFinite(highValue)) {
+            // drop all maximum candidates that can never become the maximum again
+            while (maxSize > 0 && maxValue[(maxHead + maxSize - 1) % capacity] <= highValue) {
+                maxSize--;
+            }
+            final int pos = (maxHead + maxSize) % capacity;
+            maxIndex[pos] = seq;
+            maxValue[pos] = highValue;
+            maxSize++;
+        }
+    }
+
+    /**
+     * expires the oldest samples
+     *
+     * @param nSamples number of samples to be expired
+     */
+    public void removeOldest(final int nSamples) {
+        head = Math.min(tail, head + Math.max(0, nSamples));
+        while (minSize > 0 && minIndex[minHead] < head) {
+            minHead = (minHead + 1) % capacity;
+            minSize--;
+        }
+        while (maxSize > 0 && maxIndex[maxHead] < head) {
+            maxHead = (maxHead + 1) % capacity;
+            maxSize--;
+        }
+    }
+
+    /**
+     * @return minimum of the lower sample values in the window or NaN if there is none
+     */
+    public double getMin() {
+        return minSize > 0 ? minValue[minHead] : Double.NaN;
+    }
+
+    /**
+     * @return maximum of the upper sample values in the window or NaN if there is none
+     */
+    public double getMax() {
+        return maxSize > 0 ? maxValue[maxHead] : Double.NaN;
+    }
+}
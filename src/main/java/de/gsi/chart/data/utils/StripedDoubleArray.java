@@ -0,0 +1,144 @@
+package de.gsi.chart.data.utils;
+
+import java.util.Arrays;
+
+import de.gsi.chart.utils.AssertUtils;
+
+/**
+ * thread-safe array of double accumulators (e.g. histogram bins) that may be updated concurrently by many threads at
+ * high rates.
+ * <p>
+ * The accumulators are striped (similar to {@link java.util.concurrent.atomic.DoubleAdder}): each thread adds to one
+ * of several shards selected by its thread id, i.e. concurrent writers rarely contend for the same shard monitor. The
+ * shards are merged on read via {@link #sum(double[])}. Bulk updates lock their shard only once.
+ * <p>
+ * Each shard is a full copy of the accumulator array. The number of shards is therefore limited by a memory budget
+ * (see {@link #DEFAULT_MAX_SHARD_BYTES}), i.e. large arrays (e.g. 2D histograms) use fewer shards (at least one).
+ *
+ * @author rstein
+ */
+public final class StripedDoubleArray {
+    /**
+     * default upper limit for the memory used by all shards together
+     */
+    public static final long DEFAULT_MAX_SHARD_BYTES = 64L << 20;
+    // number of accumulators merged at a time, see sum(double[])
+    private static final int SUM_BLOCK_SIZE = 4096;
+    private final int length;
+    private final double[][] shards;
+    private final int shardMask;
+
+    /**
+     * @param length number of accumulators
+     */
+    public StripedDoubleArray(final int length) {
+        this(length, DEFAULT_MAX_SHARD_BYTES);
+    }
+
+    /**
+     * @param length number of accumulators
+     * @param maxShardBytes upper limit for the memory used by all shards together (N.B. at least one shard is
+     *            allocated)
+     */
+    public StripedDoubleArray(final int length, final long maxShardBytes) {
+        AssertUtils.gtEqThanZero("length", length);
+        AssertUtils.gtEqThanZero("maxShardBytes", maxShardBytes);
+        this.length = length;
+        final int nCoreShards = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        final long maxShards = Math.max(1L, maxShardBytes / (Double.BYTES * Math.max(1L, length)));
+        final int nShards = (int) Math.min(nCoreShards, Long.highestOneBit(maxShards));
+        shards = new double[nShards][length];
+        shardMask = nShards - 1;
+    }
+
+    /**
+     * @return number of accumulators
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * @param index accumulator index
+     * @param value value to be added
+     */
+    public void add(final int index, final double value) {
+        final double[] shard = shards[shardIndex()];
+        synchronized (shard) {
+            shard[index] += value;
+        }
+    }
+
+    /**
+     * adds the values to the given accumulators
+     *
+     * @param indices accumulator indices [0, count)
+     * @param values values to be added [valueOffset, valueOffset + count), {@code null}: '1' for all
+     * @param valueOffset offset of the first value
+     * @param count number of values to be added
+     */
+    public void addAll(final int[] indices, final double[] values, final int valueOffset, final int count) {
+        final double[] shard = shards[shardIndex()];
+        synchronized (shard) {
+            if (values == null) {
+                for (int i = 0; i < count; i++) {
+                    shard[indices[i]] += 1.0;
+                }
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                shard[indices[i]] += values[valueOffset + i];
+            }
+        }
+    }
+
+    /**
+     * merges the shards. The accumulators are summed block-wise into a small scratch buffer, i.e. each target element
+     * is written once with its complete sum (concurrent readers of the target see either the previous or the new sum,
+     * never a partial one).
+     *
+     * @param target array the sums of all accumulators are written to (length &gt;= {@link #length()}), {@code null}
+     *            to allocate a new one
+     * @return the sums of all accumulators
+     */
+    public double[] sum(final double[] target) {
+        final double[] result = target == null ? new double[length] : target;
+        final double[] block = new double[Math.min(length, SUM_BLOCK_SIZE)];
+        for (int from = 0; from < length; from += SUM_BLOCK_SIZE) {
+            final int n = Math.min(SUM_BLOCK_SIZE, length - from);
+            Arrays.fill(block, 0, n, 0.0);
+            for (final double[] shard : shards) {
+                synchronized (shard) {
+                    for (int i = 0; i < n; i++) {
+                        block[i] += shard[from + i];
+                    }
+                }
+            }
+            System.arraycopy(block, 0, result, from, n);
+        }
+        return result;
+    }
+
+    /**
+     * resets all accumulators to zero
+     */
+    public void reset() {
+        for (final double[] shard : shards) {
+            synchronized (shard) {
+                Arrays.fill(shard, 0.0);
+            }
+        }
+    }
+
+    private int shardIndex() {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ id >>> 16) & shardMask;
+    }
+}
@@ -197,17 +197,24 @@ public class DataPointTooltip extends AbstractDataFormattingPlugin {
 
         final int nDataCount = (series instanceof DataSet3D) ? ((DataSet3D) series).getXDataCount()
                 : series.getDataCount();
-        for (int i = 0, size = nDataCount; i < size; i++) {
-            final double currentX = series.getX(i);
-
-            if (currentX < searchedX) {
-                if (prevX < currentX) {
-                    prevIndex = i;
-                    prevX = currentX;
+        if (!(series instanceof DataSet3D) && series.isXSorted()) {
+            // binary search for data sets with sorted x coordinates
+            final int index = series.getXIndexLowerBound(searchedX);
+            prevIndex = index - 1;
+            nextIndex = index < nDataCount ? index : -1;
+        } else {
+            for (int i = 0, size = nDataCount; i < size; i++) {
+                final double currentX = series.getX(i);
+
+                if (currentX < searchedX) {
+                    if (prevX < currentX) {
+                        prevIndex = i;
+                        prevX = currentX;
+                    }
+                } else if (nextX > currentX) {
+                    nextIndex = i;
+                    nextX = currentX;
                 }
-            } else if (nextX > currentX) {
-                nextIndex = i;
-                nextX = currentX;
             }
         }
         final DataPoint prevPoint = prevIndex == -1 ? null
@@ -22,7 +22,8 @@ import de.gsi.chart.axes.spi.DefaultNumericAxis;
 import de.gsi.chart.axes.spi.MetricPrefix;
 import de.gsi.chart.axes.Axis;
 import de.gsi.chart.data.DataSet;
-import de.gsi.chart.plugins.measurements.utils.SimpleDataSetEstimators;
+import de.gsi.chart.plugins.measurements.utils.MeasurementEngine;
+import de.gsi.chart.plugins.measurements.utils.RangeStatistics;
 import javafx.beans.Observable;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
@@ -30,10 +31,12 @@ import javafx.scene.paint.Color;
 /**
  * Simple DataSet parameter measurements N.B. this contains only algorithms w/o
  * external library dependencies (ie. fitting routines, etc.)
+ * <p>
+ * The measurements are evaluated asynchronously by the {@link MeasurementEngine}.
  *
  * @author rstein
  */
-public class SimpleMeasurements extends ValueIndicator {
+public class SimpleMeasurements extends ValueIndicator implements MeasurementEngine.Measurement {
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleMeasurements.class);
     private static final double DEFAULT_MIN = Double.NEGATIVE_INFINITY;
     private static final double DEFAULT_MAX = Double.POSITIVE_INFINITY;
@@ -164,6 +167,7 @@ public class SimpleMeasurements extends ValueIndicator {
         super.removeAction();
         chart.getPlugins().remove(sliderIndicator2);
         chart.requestLayout();
+        MeasurementEngine.getDefault().remove(this);
     }
 
     @Override
@@ -178,99 +182,74 @@ public class SimpleMeasurements extends ValueIndicator {
 
         final int index0 = selectedDataSet.getXIndex(newValueMarker1);
         final int index1 = selectedDataSet.getXIndex(newValueMarker2);
-        final int indexMin = Math.min(index0, index1);
-        final int indexMax = Math.max(index0, index1);
 
-        double val;
+        // N.B. evaluated off the JavaFX application thread, result is published via 'update(double)'
+        MeasurementEngine.getDefault().request(this, selectedDataSet, index0, index1);
+    }
+
+    @Override
+    public double evaluate(final RangeStatistics statistics, final int index0, final int index1) {
         switch (measType) {
         // indicators
         case VALUE_HOR:
-            val = SimpleDataSetEstimators.getValue(selectedDataSet, indexMin, true);
-            break;
+            return statistics.getValue(true);
         case VALUE_VER:
-            val = SimpleDataSetEstimators.getValue(selectedDataSet, indexMin, false);
-            break;
+            return statistics.getValue(false);
         case DISTANCE_HOR:
-            val = SimpleDataSetEstimators.getDistance(selectedDataSet, indexMin, indexMax, true);
-            break;
+            return statistics.getDistance(true);
         case DISTANCE_VER:
-            val = SimpleDataSetEstimators.getDistance(selectedDataSet, indexMin, indexMax, false);
-            break;
+            return statistics.getDistance(false);
         // vertical measurements
         case MINIMUM:
-            val = SimpleDataSetEstimators.getMinimum(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getMinimum();
         case MAXIMUM:
-            val = SimpleDataSetEstimators.getMaximum(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getMaximum();
         case RANGE:
-            val = SimpleDataSetEstimators.getRange(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getRange();
         case MEAN:
-            val = SimpleDataSetEstimators.getMean(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getMean();
         case RMS:
-            val = SimpleDataSetEstimators.getRms(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getRms();
         case MEDIAN:
-            val = SimpleDataSetEstimators.getMedian(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getMedian();
         case INTEGRAL:
-            val = SimpleDataSetEstimators.getIntegral(selectedDataSet, index0, index1); // N.B.
-                                                                                        // use
-                                                                                        // of
-                                                                                        // non-sanitised
-                                                                                        // indices
-                                                                                        // index[0,1]
-            break;
+            // N.B. use of non-sanitised indices index[0,1]
+            return statistics.getIntegral(index0, index1);
         case TRANSMISSION_ABS:
-            val = SimpleDataSetEstimators.getTransmission(selectedDataSet, index0, index1, true); // N.B.
-                                                                                                  // use
-                                                                                                  // of
-                                                                                                  // non-sanitised
-                                                                                                  // index[0,1]
-            break;
+            // N.B. use of non-sanitised indices index[0,1]
+            return statistics.getTransmission(index0, index1, true);
         case TRANSMISSION_REL:
-            val = SimpleDataSetEstimators.getTransmission(selectedDataSet, index0, index1, false); // N.B.
-                                                                                                   // use
-                                                                                                   // of
-                                                                                                   // non-sanitised
-                                                                                                   // index[0,1]
-            break;
+            // N.B. use of non-sanitised indices index[0,1]
+            return statistics.getTransmission(index0, index1, false);
 
         // horizontal measurements
         case EDGE_DETECT:
-            val = SimpleDataSetEstimators.getEdgeDetect(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getEdgeDetect();
         case RISETIME:
-            val = SimpleDataSetEstimators.getSimpleRiseTime(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getSimpleRiseTime();
         case FWHM:
-            val = SimpleDataSetEstimators.getFullWidthHalfMaximum(selectedDataSet, indexMin, indexMax, false);
-            break;
+            return statistics.getFullWidthHalfMaximum(false);
         case FWHM_INTERPOLATED:
-            val = SimpleDataSetEstimators.getFullWidthHalfMaximum(selectedDataSet, indexMin, indexMax, true);
-            break;
+            return statistics.getFullWidthHalfMaximum(true);
         case LOCATION_MAXIMUM:
-            val = selectedDataSet.getX(SimpleDataSetEstimators.getLocationMaximum(selectedDataSet, indexMin, indexMax));
-            break;
+            final int locationMaximum = statistics.getLocationMaximum();
+            return locationMaximum < 0 ? Double.NaN : statistics.getX(locationMaximum);
         case LOCATION_MAXIMUM_GAUSS:
-            val = SimpleDataSetEstimators.getLocationMaximumGaussInterpolated(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getLocationMaximumGaussInterpolated();
         case DUTY_CYCLE:
-            val = SimpleDataSetEstimators.getDutyCycle(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getDutyCycle();
         case PERIOD:
-            val = 1.0 / SimpleDataSetEstimators.getFrequencyEstimate(selectedDataSet, indexMin, indexMax);
-            break;
+            return 1.0 / statistics.getFrequencyEstimate();
         case FREQUENCY:
-            val = SimpleDataSetEstimators.getFrequencyEstimate(selectedDataSet, indexMin, indexMax);
-            break;
+            return statistics.getFrequencyEstimate();
 
         default:
-            val = Double.NaN;
+            return Double.NaN;
         }
+    }
 
+    @Override
+    public void update(final double val) {
         final Axis axis = measType.isVerticalMeasurement() ? chart.getYAxis() : chart.getXAxis();
         final Axis altAxis = measType.isVerticalMeasurement() ? chart.getXAxis() : chart.getYAxis();
         
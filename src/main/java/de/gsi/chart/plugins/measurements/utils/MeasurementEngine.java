@@ -0,0 +1,305 @@
+package de.gsi.chart.plugins.measurements.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gsi.chart.data.DataSet;
+import de.gsi.chart.utils.AssertUtils;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+
+/**
+ * asynchronous evaluation of data set range measurements (e.g. {@code SimpleMeasurements}) off the JavaFX application
+ * thread.
+ * <p>
+ * Requests are collected on the JavaFX application thread and released on the next JavaFX pulse, i.e. a measurement
+ * is evaluated at most once per pulse irrespective of how often its markers or data set have changed in the meantime.
+ * At most one batch is evaluated at a time, requests arriving meanwhile are merged into the next batch. Within a
+ * batch, all measurements on the same data set and index range share one {@link RangeStatistics} pass. The statistics
+ * are kept between batches so that a mere shift of the range (e.g. dragging a marker on static data) only processes
+ * the samples entering and leaving the range. The results are posted back to the JavaFX application thread.
+ *
+ * @author rstein
+ */
+public class MeasurementEngine {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MeasurementEngine.class);
+    private static final MeasurementEngine DEFAULT_ENGINE = new MeasurementEngine();
+    private static final ExecutorService EVALUATION_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "MeasurementEngine");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // JavaFX application thread only
+    private final Map<Measurement, Request> pendingRequests = new LinkedHashMap<>();
+    private final Map<Measurement, DataSet> measurementDataSets = new IdentityHashMap<>();
+    private final Map<DataSet, DataSetTracker> dataSetTrackers = new IdentityHashMap<>();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(final long now) {
+            handlePulse();
+        }
+    };
+    private boolean timerRunning;
+    private boolean evaluationRunning;
+    private long nRequests;
+    private long nCoalescedRequests;
+    // evaluation thread only
+    private final Map<Measurement, RangeStatistics> statistics = new IdentityHashMap<>();
+    private final AtomicLong nEvaluations = new AtomicLong();
+    private final AtomicLong nStatisticsPasses = new AtomicLong();
+
+    /**
+     * measurement evaluated by the engine
+     */
+    public interface Measurement {
+        /**
+         * evaluates the measurement, N.B. invoked on the engine's evaluation thread, i.e. must not access the scene
+         * graph
+         *
+         * @param rangeStatistics snapshot and statistics of the range [min(index0, index1), max(index0, index1)]
+         * @param index0 first (non-sanitised) index as requested
+         * @param index1 second (non-sanitised) index as requested
+         * @return measurement value
+         */
+        double evaluate(RangeStatistics rangeStatistics, int index0, int index1);
+
+        /**
+         * invoked on the JavaFX application thread with the result of the last evaluation
+         *
+         * @param value measurement value (NaN if the evaluation failed)
+         */
+        void update(double value);
+    }
+
+    /**
+     * @return the engine shared by all measurements by default
+     */
+    public static MeasurementEngine getDefault() {
+        return DEFAULT_ENGINE;
+    }
+
+    /**
+     * requests the (re-)evaluation of the measurement on the given data set range with the next pulse, replacing a
+     * still pending request of the same measurement. May be called from any thread.
+     *
+     * @param measurement the measurement
+     * @param dataSet the data set
+     * @param index0 first index
+     * @param index1 second index
+     */
+    public void request(final Measurement measurement, final DataSet dataSet, final int index0, final int index1) {
+        AssertUtils.notNull("measurement", measurement);
+        AssertUtils.notNull("dataSet", dataSet);
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> request(measurement, dataSet, index0, index1));
+            return;
+        }
+        nRequests++;
+        final DataSet oldDataSet = measurementDataSets.put(measurement, dataSet);
+        if (oldDataSet != dataSet) {
+            if (oldDataSet != null) {
+                releaseTracker(oldDataSet);
+            }
+            dataSetTrackers.computeIfAbsent(dataSet, DataSetTracker::new).users++;
+        }
+        final Request request = new Request(measurement, dataSet, dataSetTrackers.get(dataSet), index0, index1);
+        if (pendingRequests.put(measurement, request) != null) {
+            nCoalescedRequests++;
+        }
+        if (!timerRunning && !evaluationRunning) {
+            timerRunning = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * drops pending requests and the cached statistics of the measurement (e.g. when the measurement is removed from
+     * the chart). May be called from any thread.
+     *
+     * @param measurement the measurement
+     */
+    public void remove(final Measurement measurement) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> remove(measurement));
+            return;
+        }
+        pendingRequests.remove(measurement);
+        final DataSet dataSet = measurementDataSets.remove(measurement);
+        if (dataSet != null) {
+            releaseTracker(dataSet);
+        }
+        EVALUATION_EXECUTOR.execute(() -> statistics.remove(measurement));
+    }
+
+    /**
+     * @return number of requests
+     */
+    public long getRequestCount() {
+        return nRequests;
+    }
+
+    /**
+     * @return number of requests that replaced a still pending request of the same measurement
+     */
+    public long getCoalescedRequestCount() {
+        return nCoalescedRequests;
+    }
+
+    /**
+     * @return number of measurement evaluations
+     */
+    public long getEvaluationCount() {
+        return nEvaluations.get();
+    }
+
+    /**
+     * @return number of (full or incremental) range statistics updates, N.B. shared by the measurements on the same
+     *         data set and range
+     */
+    public long getStatisticsPassCount() {
+        return nStatisticsPasses.get();
+    }
+
+    private void releaseTracker(final DataSet dataSet) {
+        final DataSetTracker tracker = dataSetTrackers.get(dataSet);
+        if (tracker != null && --tracker.users <= 0) {
+            dataSet.removeListener(tracker.listener);
+            dataSetTrackers.remove(dataSet);
+        }
+    }
+
+    private void handlePulse() {
+        timer.stop();
+        timerRunning = false;
+        if (pendingRequests.isEmpty()) {
+            return;
+        }
+        final List<Request> batch = new ArrayList<>(pendingRequests.values());
+        pendingRequests.clear();
+        evaluationRunning = true;
+        EVALUATION_EXECUTOR.execute(() -> evaluate(batch));
+    }
+
+    private void evaluate(final List<Request> batch) {
+        final double[] results = new double[batch.size()];
+        try {
+            final Map<RangeKey, RangeStatistics> sharedStatistics = new HashMap<>();
+            final Set<RangeStatistics> usedStatistics = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 0; i < results.length; i++) {
+                final Request request = batch.get(i);
+                results[i] = Double.NaN;
+                try {
+                    final RangeKey key = new RangeKey(request.dataSet, Math.min(request.index0, request.index1),
+                            Math.max(request.index0, request.index1));
+                    RangeStatistics rangeStatistics = sharedStatistics.get(key);
+                    if (rangeStatistics == null) {
+                        // re-use (i.e. incrementally update) the measurement's previous statistics if not yet taken
+                        rangeStatistics = statistics.get(request.measurement);
+                        if (rangeStatistics == null || usedStatistics.contains(rangeStatistics)) {
+                            rangeStatistics = new RangeStatistics();
+                        }
+                        // N.B. modification count needs to be read prior to taking the snapshot
+                        rangeStatistics.update(request.dataSet, request.tracker.modificationCount.get(),
+                                key.indexMin, key.indexMax);
+                        nStatisticsPasses.incrementAndGet();
+                        sharedStatistics.put(key, rangeStatistics);
+                        usedStatistics.add(rangeStatistics);
+                    }
+                    statistics.put(request.measurement, rangeStatistics);
+                    if (!rangeStatistics.isEmpty()) {
+                        results[i] = request.measurement.evaluate(rangeStatistics, request.index0, request.index1);
+                    }
+                    nEvaluations.incrementAndGet();
+                } catch (final RuntimeException e) {
+                    LOGGER.warn("could not evaluate measurement " + request.measurement, e);
+                }
+            }
+        } finally {
+            Platform.runLater(() -> publish(batch, results));
+        }
+    }
+
+    private void publish(final List<Request> batch, final double[] results) {
+        evaluationRunning = false;
+        for (int i = 0; i < results.length; i++) {
+            final Measurement measurement = batch.get(i).measurement;
+            // N.B. skip measurements that have been removed in the meantime
+            if (measurementDataSets.containsKey(measurement)) {
+                measurement.update(results[i]);
+            }
+        }
+        if (!pendingRequests.isEmpty() && !timerRunning) {
+            timerRunning = true;
+            timer.start();
+        }
+    }
+
+    private static class Request {
+        protected final Measurement measurement;
+        protected final DataSet dataSet;
+        protected final DataSetTracker tracker;
+        protected final int index0;
+        protected final int index1;
+
+        protected Request(final Measurement measurement, final DataSet dataSet, final DataSetTracker tracker,
+                final int index0, final int index1) {
+            this.measurement = measurement;
+            this.dataSet = dataSet;
+            this.tracker = tracker;
+            this.index0 = index0;
+            this.index1 = index1;
+        }
+    }
+
+    /**
+     * counts the data set invalidations (i.e. modifications) to detect whether a cached range snapshot is still valid
+     */
+    private static class DataSetTracker {
+        protected final AtomicLong modificationCount = new AtomicLong();
+        protected final InvalidationListener listener = observable -> modificationCount.incrementAndGet();
+        protected int users;
+
+        protected DataSetTracker(final DataSet dataSet) {
+            dataSet.addListener(listener);
+        }
+    }
+
+    private static class RangeKey {
+        protected final DataSet dataSet;
+        protected final int indexMin;
+        protected final int indexMax;
+
+        protected RangeKey(final DataSet dataSet, final int indexMin, final int indexMax) {
+            this.dataSet = dataSet;
+            this.indexMin = indexMin;
+            this.indexMax = indexMax;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof RangeKey)) {
+                return false;
+            }
+            final RangeKey other = (RangeKey) obj;
+            return dataSet == other.dataSet && indexMin == other.indexMin && indexMax == other.indexMax;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(dataSet) + indexMin) + indexMax;
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package de.gsi.chart.plugins.measurements.utils;
+
+import de.gsi.chart.data.DataSet;
+
+/**
+ * snapshot of the x/y values of a data set index range [indexMin, indexMax] together with the statistics that are
+ * shared by all measurements on this range (extrema, location of the maximum, running sums and median). The
+ * estimators are equivalent to those of {@link SimpleDataSetEstimators} for the same (indexMin, indexMax) range, but
+ * are evaluated on the cached primitive arrays rather than via per-sample {@code DataSet::getY(int)} calls.
+ * <p>
+ * If only the range shifts and the data set has not been modified in the meantime, only the samples entering the
+ * range are fetched from the data set, the running sums are updated with the entering and leaving samples and the
+ * extrema are re-scanned (on the cached array) only if a leaving sample defined them. The median is evaluated lazily
+ * using a selection algorithm rather than a full sort.
+ * <p>
+ * N.B. not thread-safe
+ *
+ * @author rstein
+ */
+public class RangeStatistics {
+    // periodic full re-summation to limit the round-off drift of the running sums
+    private static final int MAX_INCREMENTAL_UPDATES = 100;
+    // short ranges are re-computed (cheap and avoids the cancellation in the r.m.s. of a few running-sum samples)
+    private static final int MIN_INCREMENTAL_LENGTH = 64;
+    private DataSet dataSet;
+    private long modificationCount = -1;
+    private int indexMin;
+    private int indexMax;
+    // number of samples within [indexMin, indexMax), N.B. the snapshot contains 'length + 1' samples
+    private int length;
+    private double[] xValues = new double[0];
+    private double[] yValues = new double[0];
+    private double[] xSpare = new double[0];
+    private double[] ySpare = new double[0];
+    private double[] scratch = new double[0];
+    private int nFinite;
+    private int nNonFinite;
+    private double sum;
+    private double sumSquares;
+    private double minimum;
+    private double maximum;
+    private int locationMaximum;
+    private boolean medianValid;
+    private double median;
+    private int nIncrementalUpdates;
+    private long fullUpdateCount;
+    private long incrementalUpdateCount;
+
+    /**
+     * updates the snapshot and statistics to the given range, N.B. the indices are clamped to [0, dataCount - 1]
+     *
+     * @param newDataSet the data set
+     * @param newModificationCount modification count of the data set (e.g. number of invalidations), a change w.r.t.
+     *            the last update enforces a full update
+     * @param newIndexMin first index (inclusive)
+     * @param newIndexMax last index (the statistics cover [indexMin, indexMax), the estimators that refer to the end
+     *            of the range, e.g. {@link #getDistance(boolean)}, to the sample at indexMax)
+     */
+    public void update(final DataSet newDataSet, final long newModificationCount, final int newIndexMin,
+            final int newIndexMax) {
+        newDataSet.lock();
+        try {
+            final int dataCount = newDataSet.getDataCount();
+            final int min = Math.max(0, Math.min(newIndexMin, dataCount - 1));
+            final int max = Math.max(min, Math.min(newIndexMax, dataCount - 1));
+            if (dataCount == 0) {
+                dataSet = newDataSet;
+                modificationCount = newModificationCount;
+                indexMin = 0;
+                indexMax = -1;
+                length = 0;
+                recomputeSums();
+                recomputeExtrema();
+                return;
+            }
+
+            final int overlapMin = Math.max(min, indexMin);
+            final int overlapMax = Math.min(max, indexMax);
+            if (newDataSet == dataSet && newModificationCount == modificationCount && overlapMin <= overlapMax
+                    && 2 * (overlapMax - overlapMin + 1) >= max - min + 1
+                    && max - min >= RangeStatistics.MIN_INCREMENTAL_LENGTH
+                    && nIncrementalUpdates < RangeStatistics.MAX_INCREMENTAL_UPDATES) {
+                updateIncrementally(min, max, overlapMin, overlapMax);
+                return;
+            }
+
+            dataSet = newDataSet;
+            modificationCount = newModificationCount;
+            indexMin = min;
+            indexMax = max;
+            length = max - min;
+            ensureCapacity(length + 1);
+            newDataSet.getXValues(min, max + 1, xValues, 0);
+            newDataSet.getYValues(min, max + 1, yValues, 0);
+            recomputeSums();
+            recomputeExtrema();
+            nIncrementalUpdates = 0;
+            fullUpdateCount++;
+        } finally {
+            newDataSet.unlock();
+        }
+    }
+
+    private void updateIncrementally(final int min, final int max, final int overlapMin, final int overlapMax) {
+        final int oldIndexMin = indexMin;
+        final int oldIndexMax = indexMax;
+        final double[] oldY = yValues;
+        final int newLength = max - min;
+        if (xSpare.length < newLength + 1) {
+            xSpare = new double[Math.max(newLength + 1, 2 * xSpare.length)];
+            ySpare = new double[xSpare.length];
+        }
+        // re-use the overlap, fetch the entering samples only
+        System.arraycopy(xValues, overlapMin - oldIndexMin, xSpare, overlapMin - min, overlapMax - overlapMin + 1);
+        System.arraycopy(yValues, overlapMin - oldIndexMin, ySpare, overlapMin - min, overlapMax - overlapMin + 1);
+        if (min < overlapMin) {
+            dataSet.getXValues(min, overlapMin, xSpare, 0);
+            dataSet.getYValues(min, overlapMin, ySpare, 0);
+        }
+        if (max > overlapMax) {
+            dataSet.getXValues(overlapMax + 1, max + 1, xSpare, overlapMax + 1 - min);
+            dataSet.getYValues(overlapMax + 1, max + 1, ySpare, overlapMax + 1 - min);
+        }
+
+        // samples leaving the (statistics) range [oldIndexMin, oldIndexMax)
+        boolean extremaLeft = false;
+        for (int index = oldIndexMin; index < oldIndexMax; index++) {
+            if (index < min || index >= max) {
+                final double value = oldY[index - oldIndexMin];
+                remove(value);
+                extremaLeft |= value == minimum || value == maximum;
+            }
+        }
+
+        final double[] tmpX = xValues;
+        final double[] tmpY = yValues;
+        xValues = xSpare;
+        yValues = ySpare;
+        xSpare = tmpX;
+        ySpare = tmpY;
+        indexMin = min;
+        indexMax = max;
+        length = newLength;
+
+        // samples entering the (statistics) range [min, max)
+        for (int index = min; index < max; index++) {
+            if (index < oldIndexMin || index >= oldIndexMax) {
+                add(yValues[index - min]);
+            }
+        }
+
+        if (extremaLeft || locationMaximum < 0) {
+            recomputeExtrema();
+        } else {
+            updateExtrema(oldIndexMin, oldIndexMax);
+        }
+        medianValid = false;
+        nIncrementalUpdates++;
+        incrementalUpdateCount++;
+    }
+
+    private void add(final double value) {
+        if (Double.isFinite(value)) {
+            nFinite++;
+            sum += value;
+            sumSquares += value * value;
+        } else {
+            nNonFinite++;
+        }
+    }
+
+    private void remove(final double value) {
+        if (Double.isFinite(value)) {
+            nFinite--;
+            sum -= value;
+            sumSquares -= value * value;
+        } else {
+            nNonFinite--;
+        }
+    }
+
+    private void recomputeSums() {
+        nFinite = 0;
+        nNonFinite = 0;
+        sum = 0.0;
+        sumSquares = 0.0;
+        for (int i = 0; i < length; i++) {
+            add(yValues[i]);
+        }
+        medianValid = false;
+    }
+
+    private void recomputeExtrema() {
+        minimum = Double.MAX_VALUE;
+        maximum = -Double.MAX_VALUE;
+        locationMaximum = -1;
+        for (int i = 0; i < length; i++) {
+            final double value = yValues[i];
+            if (Double.isFinite(value)) {
+                minimum = Math.min(minimum, value);
+                if (value > maximum) {
+                    maximum = value;
+                    locationMaximum = i;
+                }
+            }
+        }
+    }
+
+    private void updateExtrema(final int oldIndexMin, final int oldIndexMax) {
+        // N.B. the location of the maximum is the first occurrence
+        locationMaximum += oldIndexMin - indexMin;
+        int frontLocation = -1;
+        double frontMaximum = -Double.MAX_VALUE;
+        for (int index = indexMin; index < indexMax; index++) {
+            final boolean front = index < oldIndexMin;
+            if (!front && index < oldIndexMax) {
+                continue;
+            }
+            final double value = yValues[index - indexMin];
+            if (!Double.isFinite(value)) {
+                continue;
+            }
+            minimum = Math.min(minimum, value);
+            if (front) {
+                if (value > frontMaximum) {
+                    frontMaximum = value;
+                    frontLocation = index - indexMin;
+                }
+            } else if (value > maximum) {
+                maximum = value;
+                locationMaximum = index - indexMin;
+            }
+        }
+        if (frontLocation >= 0 && frontMaximum >= maximum) {
+            maximum = frontMaximum;
+            locationMaximum = frontLocation;
+        }
+    }
+
+    private int clamp(final int index) {
+        return Math.max(indexMin, Math.min(index, indexMax));
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (xValues.length >= capacity) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, 2 * xValues.length);
+        xValues = new double[newCapacity];
+        yValues = new double[newCapacity];
+    }
+
+    /**
+     * @return the data set of the last update
+     */
+    public DataSet getDataSet() {
+        return dataSet;
+    }
+
+    public int getIndexMin() {
+        return indexMin;
+    }
+
+    public int getIndexMax() {
+        return indexMax;
+    }
+
+    /**
+     * @return {@code true} if the snapshot does not contain any sample (i.e. empty data set)
+     */
+    public boolean isEmpty() {
+        return indexMax < indexMin;
+    }
+
+    /**
+     * @return number of full (non-incremental) updates
+     */
+    public long getFullUpdateCount() {
+        return fullUpdateCount;
+    }
+
+    /**
+     * @return number of incremental updates
+     */
+    public long getIncrementalUpdateCount() {
+        return incrementalUpdateCount;
+    }
+
+    /**
+     * @param index data set index within [indexMin, indexMax]
+     * @return x value of the snapshot
+     */
+    public double getX(final int index) {
+        return xValues[index - indexMin];
+    }
+
+    /**
+     * @param index data set index within [indexMin, indexMax]
+     * @return y value of the snapshot
+     */
+    public double getY(final int index) {
+        return yValues[index - indexMin];
+    }
+
+    public double getValue(final boolean isHorizontal) {
+        return isHorizontal ? xValues[0] : yValues[0];
+    }
+
+    public double getDistance(final boolean isHorizontal) {
+        return isHorizontal ? xValues[length] - xValues[0] : yValues[length] - yValues[0];
+    }
+
+    public double getMinimum() {
+        return minimum;
+    }
+
+    public double getMaximum() {
+        return maximum;
+    }
+
+    public double getRange() {
+        return Math.abs(maximum - minimum);
+    }
+
+    public double getMean() {
+        return nFinite > 0 ? sum / nFinite : Double.NaN;
+    }
+
+    /**
+     * @return un-biased r.m.s. (NaN if the range contains non-finite values)
+     */
+    public double getRms() {
+        if (length == 0 || nNonFinite > 0) {
+            return Double.NaN;
+        }
+        final double norm = 1.0 / length;
+        final double mean = sum * norm;
+        return Math.sqrt(Math.abs(sumSquares * norm - mean * mean));
+    }
+
+    public double getMedian() {
+        if (length == 0) {
+            return Double.NaN;
+        }
+        if (!medianValid) {
+            if (scratch.length < length) {
+                scratch = new double[Math.max(length, 2 * scratch.length)];
+            }
+            System.arraycopy(yValues, 0, scratch, 0, length);
+            median = SimpleDataSetEstimators.median(scratch, length);
+            medianValid = true;
+        }
+        return median;
+    }
+
+    /**
+     * @param index0 first (non-sanitised) index, N.B. clamped to [indexMin, indexMax]
+     * @param index1 second (non-sanitised) index, N.B. clamped to [indexMin, indexMax]
+     * @return integral (trapezoidal rule, negative if index1 &lt; index0)
+     */
+    public double getIntegral(final int index0, final int index1) {
+        final double sign = index0 > index1 ? -1.0 : +1.0;
+        final int start = clamp(Math.min(index0, index1)) - indexMin;
+        final int stop = clamp(Math.max(index0, index1)) - indexMin;
+        double integral = 0;
+        for (int i = start; i < stop - 1; i++) {
+            final double localIntegral = (xValues[i + 1] - xValues[i]) * 0.5 * (yValues[i] + yValues[i + 1]);
+            if (Double.isFinite(localIntegral)) {
+                integral += localIntegral;
+            }
+        }
+        return sign * integral;
+    }
+
+    /**
+     * @param index0 reference index, N.B. clamped to [indexMin, indexMax]
+     * @param index1 index, N.B. clamped to [indexMin, indexMax]
+     * @param isAbsoluteTransmission {@code true}: absolute, {@code false}: relative transmission
+     * @return transmission in [%]
+     */
+    public double getTransmission(final int index0, final int index1, final boolean isAbsoluteTransmission) {
+        final double valRef = getY(clamp(index0));
+        final double val = getY(clamp(index1));
+        return (isAbsoluteTransmission ? val : val - valRef) / valRef * 100.0;
+    }
+
+    public double getEdgeDetect() {
+        // N.B. same (mean-based) threshold as SimpleDataSetEstimators::getEdgeDetect
+        final double range = getMean();
+        final boolean inverted = yValues[0] > yValues[length];
+        final double startTime = xValues[0];
+        double stopTime = xValues[length];
+        for (int i = 0; i < length; i++) {
+            final double actual = yValues[i];
+            if (Double.isFinite(actual)
+                    && (inverted ? actual < maximum - 0.5 * range : actual > minimum + 0.5 * range)) {
+                stopTime = xValues[i];
+                break;
+            }
+        }
+        return stopTime - startTime;
+    }
+
+    public double getSimpleRiseTime() {
+        final double range = Math.abs(maximum - minimum);
+        final boolean inverted = yValues[0] > yValues[length];
+        double startTime = xValues[0];
+        double stopTime = xValues[length];
+        boolean foundStartRising = false;
+        for (int i = 0; i < length; i++) {
+            final double actual = yValues[i];
+            if (!Double.isFinite(actual)) {
+                continue;
+            }
+            final boolean start = inverted ? actual < maximum - 0.2 * range : actual > minimum + 0.2 * range;
+            if (!foundStartRising && start) {
+                startTime = xValues[i];
+                foundStartRising = true;
+                continue;
+            }
+            final boolean stop = inverted ? actual < maximum - 0.8 * range : actual > minimum + 0.8 * range;
+            if (foundStartRising && stop) {
+                stopTime = xValues[i];
+                break;
+            }
+        }
+        return stopTime - startTime;
+    }
+
+    /**
+     * @return data set index of the (first) maximum, -1 if there is none
+     */
+    public int getLocationMaximum() {
+        return locationMaximum < 0 ? -1 : indexMin + locationMaximum;
+    }
+
+    public double getLocationMaximumGaussInterpolated() {
+        if (locationMaximum <= 1 || locationMaximum >= length - 1) {
+            return Double.NaN;
+        }
+        final double refinedValue = SimpleDataSetEstimators.interpolateGaussian(yValues, length, locationMaximum)
+                - locationMaximum;
+        final double valX0 = xValues[locationMaximum];
+        final double valX1 = xValues[locationMaximum + 1];
+        return valX0 + refinedValue * (valX1 - valX0);
+    }
+
+    public double getFullWidthHalfMaximum(final boolean interpolate) {
+        if (locationMaximum <= 1 || locationMaximum >= length - 1) {
+            return Double.NaN;
+        }
+        if (interpolate) {
+            return SimpleDataSetEstimators.computeInterpolatedFWHM(yValues, length, locationMaximum);
+        }
+        return SimpleDataSetEstimators.computeFWHM(yValues, length, locationMaximum);
+    }
+
+    public double getDutyCycle() {
+        final double range = Math.abs(maximum - minimum);
+        final double thresholdMin = minimum + 0.45 * range; // includes 10% hysteresis
+        final double thresholdMax = minimum + 0.55 * range; // includes 10% hysteresis
+        int countLow = 0;
+        int countHigh = 0;
+        for (int i = 0; i < length; i++) {
+            final double actual = yValues[i];
+            if (Double.isFinite(actual)) {
+                if (actual < thresholdMin) {
+                    countLow++;
+                }
+                if (actual > thresholdMax) {
+                    countHigh++;
+                }
+            }
+        }
+        return (double) countHigh / (double) (countLow + countHigh);
+    }
+
+    public double getFrequencyEstimate() {
+        final double range = Math.abs(maximum - minimum);
+        final double thresholdMin = minimum + 0.45 * range; // includes 10% hysteresis
+        final double thresholdMax = minimum + 0.55 * range; // includes 10% hysteresis
+        double startRisingEdge = Double.NaN;
+        double startFallingEdge = Double.NaN;
+        double avgPeriod = 0.0;
+        int avgPeriodCount = 0;
+        boolean high = false;
+        for (int i = 0; i < length; i++) {
+            final double actual = yValues[i];
+            if (!Double.isFinite(actual)) {
+                continue;
+            }
+            if (!high && actual > thresholdMax) {
+                // detected rising edge
+                high = true;
+                final double time = xValues[i];
+                if (Double.isFinite(startRisingEdge)) {
+                    avgPeriod += time - startRisingEdge;
+                    avgPeriodCount++;
+                }
+                startRisingEdge = time;
+            } else if (high && actual < thresholdMin) {
+                // detected falling edge
+                high = false;
+                final double time = xValues[i];
+                if (Double.isFinite(startFallingEdge)) {
+                    avgPeriod += time - startFallingEdge;
+                    avgPeriodCount++;
+                }
+                startFallingEdge = time;
+            }
+        }
+        if (avgPeriodCount == 0) {
+            return Double.NaN;
+        }
+        return avgPeriodCount / avgPeriod;
+    }
+}
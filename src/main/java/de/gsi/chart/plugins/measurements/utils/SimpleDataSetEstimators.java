@@ -158,45 +158,86 @@ public final class SimpleDataSetEstimators {
     }
 
     /**
-     * @param data the input vector
+     * computes the median using a selection algorithm (O(n) on average rather than O(n log n) for a full sort) with the
+     * same ordering as {@link java.util.Arrays#sort(double[])} (i.e. NaN values are considered largest)
+     *
+     * @param data the input vector, N.B. the first 'length' elements are partially reordered
      * @param length <= data.length elements to be used
      * @return median value of vector element
      */
-    private static synchronized double median(final double[] data, final int length) {
-        final double[] temp = SimpleDataSetEstimators.sort(data, length, false);
-
+    public static double median(final double[] data, final int length) {
+        if (length <= 0) {
+            return Double.NaN;
+        }
+        final double upper = SimpleDataSetEstimators.select(data, 0, length - 1, length / 2);
         if (length % 2 == 0) {
-            return 0.5 * (temp[length / 2] + temp[length / 2 + 1]);
+            // N.B. after selection, all elements left of length/2 are less or equal
+            double lower = data[0];
+            for (int i = 1; i < length / 2; i++) {
+                if (Double.compare(data[i], lower) > 0) {
+                    lower = data[i];
+                }
+            }
+            return 0.5 * (lower + upper);
         }
-        return temp[length / 2];
+        return upper;
     }
 
     /**
-     * Sorts the input a array
+     * Hoare's selection algorithm ('quickselect', median-of-three pivot)
      *
-     * @param a the input array
-     * @param length <= data.length elements to be used
-     * @param down true: ascending , false: descending order
-     * @return the sorted array
+     * @param a the input array (partially reordered)
+     * @param left first index of the search range
+     * @param right last index of the search range
+     * @param k index of the element to be selected
+     * @return the k-th smallest element
      */
-    private static synchronized double[] sort(final double[] a, final int length, final boolean down) {
-        if (a == null || a.length <= 0) {
-            return new double[0];
-        }
-        final double[] index = java.util.Arrays.copyOf(a, length);
-        java.util.Arrays.sort(index);
-
-        if (down) {
-            double temp;
-            final int nlast = length - 1;
-            for (int i = 0; i < length / 2; i++) {
-                // swap values
-                temp = index[i];
-                index[i] = index[nlast - i];
-                index[nlast - i] = temp;
+    private static double select(final double[] a, final int left, final int right, final int k) {
+        int lo = left;
+        int hi = right;
+        while (hi > lo) {
+            final int mid = lo + hi >>> 1;
+            // median-of-three pivot: sorts a[lo], a[mid], a[hi]
+            if (Double.compare(a[mid], a[lo]) < 0) {
+                SimpleDataSetEstimators.swap(a, lo, mid);
+            }
+            if (Double.compare(a[hi], a[lo]) < 0) {
+                SimpleDataSetEstimators.swap(a, lo, hi);
+            }
+            if (Double.compare(a[hi], a[mid]) < 0) {
+                SimpleDataSetEstimators.swap(a, mid, hi);
+            }
+            final double pivot = a[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (Double.compare(a[i], pivot) < 0) {
+                    i++;
+                }
+                while (Double.compare(a[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    SimpleDataSetEstimators.swap(a, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return a[k];
             }
         }
-        return index;
+        return a[k];
+    }
+
+    private static void swap(final double[] a, final int i, final int j) {
+        final double temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
     }
 
     public static double getDistance(final DataSet dataSet, final int indexMin, final int indexMax,
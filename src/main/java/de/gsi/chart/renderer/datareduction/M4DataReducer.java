@@ -0,0 +1,386 @@
+package de.gsi.chart.renderer.datareduction;
+
+import java.security.InvalidParameterException;
+
+import de.gsi.chart.renderer.RendererDataReducer;
+import de.gsi.chart.utils.AssertUtils;
+import de.gsi.chart.utils.ProcessingProfiler;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+/**
+ * pixel-column based data reduction algorithm for the ErrorDataSet Renderer
+ * <br>
+ * The (screen coordinate) data points are aggregated per output pixel column (of configurable width):
+ * <ul>
+ * <li>{@link ReductionMode#M4}: the first, last, minimum and maximum data point of each column are kept (in their
+ * original order), i.e. the reduced poly-line is pixel-identical to the poly-line of the full data set and peaks or
+ * glitches are never hidden.
+ * <li>{@link ReductionMode#LTTB}: 'largest-triangle-three-buckets' -- one data point per column is kept that maximises
+ * the triangle area w.r.t. the previously kept point and the average of the next column, i.e. produces visually
+ * smoother lines at the cost of possibly clipping extremes.
+ * </ul>
+ * The errors of the kept data points are replaced by the envelope of all errors within the column. N.B. the reduction
+ * is in-place and does not allocate temporary arrays, numerical complexity: average = worst-case = O(n). The data
+ * points are assumed to be sorted in x.
+ *
+ * @author rstein
+ */
+public class M4DataReducer implements RendererDataReducer {
+    // N.B. per thread, since the data sets of a renderer may be reduced concurrently
+    private static final ThreadLocal<ColumnBuffers> COLUMN_BUFFERS = ThreadLocal.withInitial(ColumnBuffers::new);
+
+    /**
+     * aggregation performed per pixel column
+     */
+    public enum ReductionMode {
+        /**
+         * keep first, minimum, maximum and last data point per column
+         */
+        M4,
+        /**
+         * keep one data point per column using the largest-triangle-three-buckets algorithm
+         */
+        LTTB
+    }
+
+    protected IntegerProperty pixelColumnWidth = new SimpleIntegerProperty(this, "pixelColumnWidth", 1) {
+        @Override
+        public void set(final int value) {
+            if (value < 1) {
+                throw new InvalidParameterException("pixelColumnWidth " + value + " must be greater than zero");
+            }
+            super.set(value);
+        }
+    };
+
+    protected ObjectProperty<ReductionMode> reductionMode = new SimpleObjectProperty<ReductionMode>(this,
+            "reductionMode", ReductionMode.M4) {
+        @Override
+        public void set(final ReductionMode value) {
+            AssertUtils.notNull("reductionMode", value);
+            super.set(value);
+        }
+    };
+
+    /**
+     * @return the width of the pixel columns the data points are aggregated in
+     */
+    public final int getPixelColumnWidth() {
+        return pixelColumnWidthProperty().get();
+    }
+
+    /**
+     * Sets the <code>pixelColumnWidth</code> to the specified value.
+     *
+     * @param width the width of the pixel columns the data points are aggregated in
+     */
+    public final void setPixelColumnWidth(final int width) {
+        pixelColumnWidthProperty().set(width);
+    }
+
+    public final IntegerProperty pixelColumnWidthProperty() {
+        return pixelColumnWidth;
+    }
+
+    /**
+     * @return the aggregation performed per pixel column
+     */
+    public final ReductionMode getReductionMode() {
+        return reductionModeProperty().get();
+    }
+
+    /**
+     * Sets the <code>reductionMode</code> to the specified value.
+     *
+     * @param mode the aggregation performed per pixel column
+     */
+    public final void setReductionMode(final ReductionMode mode) {
+        reductionModeProperty().set(mode);
+    }
+
+    public final ObjectProperty<ReductionMode> reductionModeProperty() {
+        return reductionMode;
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        AssertUtils.nonEmptyArray("xValues", xValues);
+        AssertUtils.checkArrayDimension("yValues", yValues, xValues.length);
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        AssertUtils.indexOrder(indexMin, "indexMin", indexMax, "indexMax");
+        final long start = ProcessingProfiler.getTimeStamp();
+        final ColumnBuffers buffers = COLUMN_BUFFERS.get().set(xValues, yValues, xPointErrorsPos, xPointErrorsNeg,
+                yPointErrorsPos, yPointErrorsNeg, styles, pointSelected);
+
+        final int count;
+        try {
+            if (indexMax - indexMin <= 2) {
+                count = copyToFront(buffers, indexMin, indexMax);
+            } else if (getReductionMode() == ReductionMode.LTTB) {
+                count = reduceLTTB(buffers, indexMin, indexMax, getPixelColumnWidth());
+            } else {
+                count = reduceM4(buffers, indexMin, indexMax, getPixelColumnWidth());
+            }
+        } finally {
+            buffers.clear();
+        }
+
+        if (ProcessingProfiler.debugProperty().get()) {
+            // N.B. message formatted only if needed (allocates)
+            ProcessingProfiler.getTimeDiff(start,
+                    String.format("data reduction (from %d to %d)", indexMax - indexMin, count));
+        }
+        return count;
+    }
+
+    private static int copyToFront(final ColumnBuffers a, final int indexMin, final int indexMax) {
+        int count = 0;
+        for (int i = indexMin; i < indexMax; i++) {
+            a.move(i, count++);
+        }
+        return count;
+    }
+
+    private static long column(final double x, final int columnWidth) {
+        return (long) Math.floor(x / columnWidth);
+    }
+
+    private static int reduceM4(final ColumnBuffers a, final int indexMin, final int indexMax,
+            final int columnWidth) {
+        final double[] x = a.xValues;
+        final double[] y = a.yValues;
+        int count = 0;
+        int first = indexMin;
+        long currentColumn = column(x[indexMin], columnWidth);
+        for (int i = indexMin + 1; i <= indexMax; i++) {
+            if (i < indexMax && column(x[i], columnWidth) == currentColumn) {
+                continue;
+            }
+            // column [first, i) complete
+            final int last = i - 1;
+            int iMin = first;
+            int iMax = first;
+            for (int j = first + 1; j <= last; j++) {
+                if (y[j] < y[iMin]) {
+                    iMin = j;
+                }
+                if (y[j] > y[iMax]) {
+                    iMax = j;
+                }
+            }
+            a.computeEnvelope(first, i);
+
+            // emit first, min, max, last in their original order (N.B. count <= first, i.e. in-place safe)
+            final int lower = Math.min(iMin, iMax);
+            final int upper = Math.max(iMin, iMax);
+            count = a.emit(first, count);
+            if (lower != first) {
+                count = a.emit(lower, count);
+            }
+            if (upper != lower && upper != first) {
+                count = a.emit(upper, count);
+            }
+            if (last != upper && last != first) {
+                count = a.emit(last, count);
+            }
+
+            if (i < indexMax) {
+                first = i;
+                currentColumn = column(x[i], columnWidth);
+            }
+        }
+        return count;
+    }
+
+    private static int reduceLTTB(final ColumnBuffers a, final int indexMin, final int indexMax,
+            final int columnWidth) {
+        final double[] x = a.xValues;
+        final double[] y = a.yValues;
+
+        // first point is always kept
+        double xA = x[indexMin];
+        double yA = y[indexMin];
+        a.computeEnvelope(indexMin, indexMin + 1);
+        int count = a.emit(indexMin, 0);
+
+        int first = indexMin + 1;
+        while (first < indexMax - 1) {
+            // current column [first, next)
+            final long currentColumn = column(x[first], columnWidth);
+            int next = first + 1;
+            while (next < indexMax - 1 && column(x[next], columnWidth) == currentColumn) {
+                next++;
+            }
+
+            // average of the following column [next, nextEnd) (or the last point)
+            double xAvg = 0.0;
+            double yAvg = 0.0;
+            int nextEnd = next;
+            if (next >= indexMax - 1) {
+                xAvg = x[indexMax - 1];
+                yAvg = y[indexMax - 1];
+            } else {
+                final long nextColumn = column(x[next], columnWidth);
+                while (nextEnd < indexMax - 1 && column(x[nextEnd], columnWidth) == nextColumn) {
+                    xAvg += x[nextEnd];
+                    yAvg += y[nextEnd];
+                    nextEnd++;
+                }
+                xAvg /= nextEnd - next;
+                yAvg /= nextEnd - next;
+            }
+
+            // point of the current column spanning the largest triangle
+            int selected = first;
+            double maxArea = -1.0;
+            for (int j = first; j < next; j++) {
+                final double area = Math.abs((xA - xAvg) * (y[j] - yA) - (xA - x[j]) * (yAvg - yA));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = j;
+                }
+            }
+            a.computeEnvelope(first, next);
+            xA = x[selected];
+            yA = y[selected];
+            count = a.emit(selected, count);
+            first = next;
+        }
+
+        // last point is always kept
+        a.computeEnvelope(indexMax - 1, indexMax);
+        return a.emit(indexMax - 1, count);
+    }
+
+    /**
+     * the (optional) in-place arrays and the error envelope of the current column, re-used per thread (N.B. the array
+     * references are cleared after each reduction, i.e. the buffers do not keep the data alive)
+     */
+    private static final class ColumnBuffers {
+        private double[] xValues;
+        private double[] yValues;
+        private double[] xErrorsPos;
+        private double[] xErrorsNeg;
+        private double[] yErrorsPos;
+        private double[] yErrorsNeg;
+        private String[] styles;
+        private boolean[] selected;
+        private double xEnvelopeNeg;
+        private double xEnvelopePos;
+        private double yEnvelopeNeg;
+        private double yEnvelopePos;
+        private boolean anySelected;
+        // result of the last envelope(...) call
+        private double envelopeNeg;
+        private double envelopePos;
+
+        private ColumnBuffers set(final double[] xValues, final double[] yValues, final double[] xErrorsPos,
+                final double[] xErrorsNeg, final double[] yErrorsPos, final double[] yErrorsNeg, final String[] styles,
+                final boolean[] selected) {
+            this.xValues = xValues;
+            this.yValues = yValues;
+            this.xErrorsPos = xErrorsNeg == null ? null : xErrorsPos;
+            this.xErrorsNeg = xErrorsPos == null ? null : xErrorsNeg;
+            this.yErrorsPos = yErrorsNeg == null ? null : yErrorsPos;
+            this.yErrorsNeg = yErrorsPos == null ? null : yErrorsNeg;
+            this.styles = styles;
+            this.selected = selected;
+            return this;
+        }
+
+        private void clear() {
+            set(null, null, null, null, null, null, null, null);
+        }
+
+        /**
+         * computes the envelope of the (screen coordinate) errors within [from, to). N.B. the errors are stored as
+         * absolute screen coordinates whose orientation w.r.t. the value depends on the axis direction/inversion: the
+         * side with the larger coordinates is extended to the maximum, the other side to the minimum.
+         */
+        private void computeEnvelope(final int from, final int to) {
+            if (xErrorsNeg != null) {
+                envelope(xErrorsNeg, xErrorsPos, from, to);
+                xEnvelopeNeg = envelopeNeg;
+                xEnvelopePos = envelopePos;
+            }
+            if (yErrorsNeg != null) {
+                envelope(yErrorsNeg, yErrorsPos, from, to);
+                yEnvelopeNeg = envelopeNeg;
+                yEnvelopePos = envelopePos;
+            }
+            anySelected = false;
+            if (selected != null) {
+                for (int i = from; i < to && !anySelected; i++) {
+                    anySelected = selected[i];
+                }
+            }
+        }
+
+        private void envelope(final double[] neg, final double[] pos, final int from, final int to) {
+            double negMin = neg[from];
+            double negMax = neg[from];
+            double posMin = pos[from];
+            double posMax = pos[from];
+            for (int i = from + 1; i < to; i++) {
+                final double n = neg[i];
+                final double p = pos[i];
+                negMin = n < negMin ? n : negMin;
+                negMax = n > negMax ? n : negMax;
+                posMin = p < posMin ? p : posMin;
+                posMax = p > posMax ? p : posMax;
+            }
+            if (negMin + negMax >= posMin + posMax) {
+                envelopeNeg = negMax;
+                envelopePos = posMin;
+            } else {
+                envelopeNeg = negMin;
+                envelopePos = posMax;
+            }
+        }
+
+        /**
+         * moves the data point 'from' to 'to' (N.B. to &lt;= from) and assigns the current envelope
+         *
+         * @return the next output index
+         */
+        private int emit(final int from, final int to) {
+            move(from, to);
+            if (xErrorsNeg != null) {
+                xErrorsNeg[to] = xEnvelopeNeg;
+                xErrorsPos[to] = xEnvelopePos;
+            }
+            if (yErrorsNeg != null) {
+                yErrorsNeg[to] = yEnvelopeNeg;
+                yErrorsPos[to] = yEnvelopePos;
+            }
+            if (selected != null) {
+                selected[to] = anySelected;
+            }
+            return to + 1;
+        }
+
+        private void move(final int from, final int to) {
+            xValues[to] = xValues[from];
+            yValues[to] = yValues[from];
+            if (xErrorsNeg != null) {
+                xErrorsNeg[to] = xErrorsNeg[from];
+                xErrorsPos[to] = xErrorsPos[from];
+            }
+            if (yErrorsNeg != null) {
+                yErrorsNeg[to] = yErrorsNeg[from];
+                yErrorsPos[to] = yErrorsPos[from];
+            }
+            if (styles != null) {
+                styles[to] = styles[from];
+            }
+            if (selected != null) {
+                selected[to] = selected[from];
+            }
+        }
+    }
+}
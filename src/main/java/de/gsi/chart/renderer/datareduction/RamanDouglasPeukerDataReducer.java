@@ -1,13 +1,28 @@
 package de.gsi.chart.renderer.datareduction;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import de.gsi.chart.renderer.RendererDataReducer;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
 import de.gsi.chart.utils.AssertUtils;
 import de.gsi.chart.utils.ProcessingProfiler;
-import de.gsi.math.ArrayUtils;
 
 /**
  * Filters data using Ramer-Douglas-Peucker algorithm with specified tolerance
  * N.B. numberical complexity: average O(n log (n)) -> worst-case O(n^2)
+ * <p>
+ * The implementation is iterative (explicit segment stack) and marks the kept points in a (pooled) keep-flag array
+ * before compacting them in-place, i.e. neither deep recursion nor temporary point arrays. The tolerance 'epsilon' is
+ * the maximum perpendicular distance (in pixel for renderer use) between the original and simplified poly-line. The
+ * first and last as well as user-selected data points are always kept. Optionally, the top-level segments are
+ * processed in parallel.
  *
  * @author Rzeźnik
  * @see <a href=
@@ -15,12 +30,21 @@ import de.gsi.math.ArrayUtils;
  *      algorithm</a>
  */
 public class RamanDouglasPeukerDataReducer implements RendererDataReducer {
-    private double epsilon = 0.1;
+    private static final int N_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    // minimum number of points per parallel segment
+    private static final int MIN_PARALLEL_SEGMENT = 10_000;
+    private static final ExecutorService executorService = Executors.newFixedThreadPool(N_THREADS, runnable -> {
+        final Thread thread = new Thread(runnable, "RamanDouglasPeukerDataReducer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private double epsilon = 1.0;
+    private boolean parallel;
 
     /**
      * @param epsilon
      *            maximum distance of a point in data between original curve and
-     *            simplified curve
+     *            simplified curve (in pixel for renderer use)
      */
     public void setEpsilon(final double epsilon) {
         AssertUtils.gtEqThanZero("epsilon", epsilon);
@@ -34,77 +58,244 @@ public class RamanDouglasPeukerDataReducer implements RendererDataReducer {
         return epsilon;
     }
 
+    /**
+     * @param state {@code true}: the top-level segments are processed concurrently
+     */
+    public void setParallel(final boolean state) {
+        parallel = state;
+    }
+
+    /**
+     * @return {@code true}: the top-level segments are processed concurrently
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
     public double[][] filter(final double[][] data) {
-        return ramerDouglasPeuckerFunction(data, 0, data.length - 1);
+        final int n = data.length;
+        if (n == 0) {
+            return new double[0][];
+        }
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = data[i][0];
+            y[i] = data[i][1];
+        }
+        final boolean[] keep = new boolean[n];
+        markKeptPoints(x, y, null, keep, 0, n);
+        final List<double[]> result = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                result.add(data[i]);
+            }
+        }
+        return result.toArray(new double[result.size()][]);
     }
 
+    /**
+     * @param points data points ({x, y} pairs)
+     * @param startIndex index of the first point
+     * @param endIndex index of the last point (inclusive)
+     * @return the points of [startIndex, endIndex] retained by the simplification
+     * @deprecated former recursive implementation, delegates to the iterative {@link #filter(double[][])}; override
+     *             {@link #markKeptPoints(double[], double[], boolean[], boolean[], int, int)} to customise the
+     *             simplification
+     */
+    @Deprecated
     protected double[][] ramerDouglasPeuckerFunction(final double[][] points, final int startIndex,
             final int endIndex) {
-        double dmax = 0;
-        int idx = 0;
-        final double dx = points[endIndex][0] - points[startIndex][0];
-        final double dy = points[endIndex][1] - points[startIndex][1];
-        final double c = -(dy * points[startIndex][0] - dx * points[startIndex][1]);
-        final double norm = Math.sqrt(Math.pow(dx, 2) + Math.pow(dy, 2));
-        for (int i = startIndex + 1; i < endIndex; i++) {
-            final double distance = Math.abs(dy * points[i][0] - dx * points[i][1] + c) / norm;
-            if (distance > dmax) {
-                idx = i;
-                dmax = distance;
-            }
-        }
-        if (dmax >= epsilon) {
-            final double[][] recursiveResult1 = ramerDouglasPeuckerFunction(points, startIndex, idx);
-            final double[][] recursiveResult2 = ramerDouglasPeuckerFunction(points, idx, endIndex);
-            final double[][] result = new double[recursiveResult1.length - 1 + recursiveResult2.length][2];
-            System.arraycopy(recursiveResult1, 0, result, 0, recursiveResult1.length - 1);
-            System.arraycopy(recursiveResult2, 0, result, recursiveResult1.length - 1, recursiveResult2.length);
-            return result;
-        } else {
-            return new double[][] { points[startIndex], points[endIndex] };
-        }
+        return filter(Arrays.copyOfRange(points, startIndex, endIndex + 1));
     }
 
     @Override
     public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
             final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
             final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        AssertUtils.nonEmptyArray("xValues", xValues);
+        AssertUtils.checkArrayDimension("yValues", yValues, xValues.length);
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        AssertUtils.indexOrder(indexMin, "indexMin", indexMax, "indexMax");
         final long startTimeStamp = ProcessingProfiler.getTimeStamp();
-        final double[][] data = new double[indexMax - indexMin][2];
-        int count = 0;
-        for (int i = indexMin; i < indexMax; i++) {
-            data[count][0] = xValues[i];
-            data[count][1] = yValues[i];
-            count++;
+
+        final boolean[] keep = ArrayPool.getDefault().getBooleanArray(indexMax);
+        int nReduced = 0;
+        try {
+            markKeptPoints(xValues, yValues, pointSelected, keep, indexMin, indexMax);
+
+            // compact the kept points in-place to the front (N.B. output index <= input index)
+            for (int i = indexMin; i < indexMax; i++) {
+                if (!keep[i]) {
+                    continue;
+                }
+                if (i != nReduced) {
+                    xValues[nReduced] = xValues[i];
+                    yValues[nReduced] = yValues[i];
+                    if (xPointErrorsPos != null && xPointErrorsNeg != null) {
+                        xPointErrorsPos[nReduced] = xPointErrorsPos[i];
+                        xPointErrorsNeg[nReduced] = xPointErrorsNeg[i];
+                    }
+                    if (yPointErrorsPos != null && yPointErrorsNeg != null) {
+                        yPointErrorsPos[nReduced] = yPointErrorsPos[i];
+                        yPointErrorsNeg[nReduced] = yPointErrorsNeg[i];
+                    }
+                    if (styles != null) {
+                        styles[nReduced] = styles[i];
+                    }
+                    if (pointSelected != null) {
+                        pointSelected[nReduced] = pointSelected[i];
+                    }
+                }
+                nReduced++;
+            }
+        } finally {
+            ArrayPool.getDefault().release(keep);
+        }
+
+        ProcessingProfiler.getTimeDiff(startTimeStamp,
+                String.format("data reduction (from %d to %d)", indexMax - indexMin, nReduced));
+        return nReduced;
+    }
+
+    /**
+     * sets the keep flags of the points within [indexMin, indexMax) that are retained by the simplification
+     */
+    protected void markKeptPoints(final double[] x, final double[] y, final boolean[] pointSelected,
+            final boolean[] keep, final int indexMin, final int indexMax) {
+        Arrays.fill(keep, indexMin, indexMax, false);
+        if (indexMax - indexMin <= 2) {
+            Arrays.fill(keep, indexMin, indexMax, true);
+            return;
         }
 
-        final double[][] ret = ramerDouglasPeuckerFunction(data, 0, data.length - 1);
-        double minY = +Double.MAX_VALUE;
-        double maxY = -Double.MAX_VALUE;
-        final double[] xValuesNew = new double[ret.length];
-        final double[] yValuesNew = new double[ret.length];
-        for (int i = 0; i < ret.length; i++) {
-            xValuesNew[i] = ret[i][0];
-            yValuesNew[i] = ret[i][1];
-            minY = Math.min(minY, yValuesNew[i]);
-            maxY = Math.max(maxY, yValuesNew[i]);
+        // top-level segments: in between the end and user-selected points
+        final List<int[]> segments = new ArrayList<>();
+        int segmentStart = indexMin;
+        keep[indexMin] = true;
+        for (int i = indexMin + 1; i < indexMax; i++) {
+            if (i == indexMax - 1 || pointSelected != null && pointSelected[i]) {
+                keep[i] = true;
+                segments.add(new int[] { segmentStart, i });
+                segmentStart = i;
+            }
         }
-        double range = maxY - minY;
-        if (range <= 0) {
-            range = 1.0;
+
+        if (!isParallel() || indexMax - indexMin < 2 * MIN_PARALLEL_SEGMENT) {
+            for (final int[] segment : segments) {
+                simplify(x, y, keep, segment[0], segment[1]);
+            }
+            return;
         }
-        epsilon = 100 / range;
 
-        System.arraycopy(xValuesNew, 0, xValues, 0, xValuesNew.length);
-        System.arraycopy(yValuesNew, 0, yValues, 0, yValuesNew.length);
-        // ArrayUtils.fillArray(xPointErrorsPos, 0);
-        // ArrayUtils.fillArray(xPointErrorsNeg, 0);
-        ArrayUtils.fillArray(yPointErrorsPos, epsilon);
-        ArrayUtils.fillArray(yPointErrorsNeg, epsilon);
+        // split the (large) top-level segments until there are enough segments for all cores
+        final List<int[]> parallelSegments = new ArrayList<>();
+        while (!segments.isEmpty()) {
+            final int[] segment = segments.remove(segments.size() - 1);
+            if (segment[1] - segment[0] < MIN_PARALLEL_SEGMENT
+                    || parallelSegments.size() + segments.size() >= 4 * N_THREADS) {
+                parallelSegments.add(segment);
+                continue;
+            }
+            final int split = findFarthest(x, y, segment[0], segment[1]);
+            if (split < 0) {
+                // no point exceeds the tolerance
+                continue;
+            }
+            keep[split] = true;
+            segments.add(new int[] { segment[0], split });
+            segments.add(new int[] { split, segment[1] });
+        }
 
-        ProcessingProfiler.getTimeDiff(startTimeStamp,
-                String.format("data reduction (from %d to %d)", indexMax - indexMin, xValuesNew.length));
-        return xValuesNew.length;
+        final List<Callable<Boolean>> workers = new ArrayList<>(parallelSegments.size());
+        for (final int[] segment : parallelSegments) {
+            workers.add(() -> {
+                simplify(x, y, keep, segment[0], segment[1]);
+                return Boolean.TRUE;
+            });
+        }
+        try {
+            for (final Future<Boolean> future : executorService.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("one parallel worker thread finished execution with error", e);
+        }
+    }
+
+    /**
+     * iterative (explicit stack) simplification of the segment [first, last], the end points are assumed to be kept
+     */
+    private void simplify(final double[] x, final double[] y, final boolean[] keep, final int first,
+            final int last) {
+        if (last - first < 2) {
+            return;
+        }
+        // N.B. each split pushes at most one additional segment -> bounded by the number of points
+        int[] stack = ArrayPool.getDefault().getIntArray(64);
+        try {
+            int top = 0;
+            stack[top++] = first;
+            stack[top++] = last;
+            while (top > 0) {
+                final int end = stack[--top];
+                final int start = stack[--top];
+                final int split = findFarthest(x, y, start, end);
+                if (split < 0) {
+                    continue;
+                }
+                keep[split] = true;
+                if (top + 4 > stack.length) {
+                    final int[] newStack = ArrayPool.getDefault().getIntArray(2 * stack.length);
+                    System.arraycopy(stack, 0, newStack, 0, top);
+                    ArrayPool.getDefault().release(stack);
+                    stack = newStack;
+                }
+                if (end - split >= 2) {
+                    stack[top++] = split;
+                    stack[top++] = end;
+                }
+                if (split - start >= 2) {
+                    stack[top++] = start;
+                    stack[top++] = split;
+                }
+            }
+        } finally {
+            ArrayPool.getDefault().release(stack);
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * @return index of the point within (start, end) farthest from the line through the end points if its distance
+     *         exceeds epsilon, otherwise '-1'
+     */
+    private int findFarthest(final double[] x, final double[] y, final int start, final int end) {
+        final double x0 = x[start];
+        final double y0 = y[start];
+        final double dx = x[end] - x0;
+        final double dy = y[end] - y0;
+        final double norm2 = dx * dx + dy * dy;
+        double dmax = 0;
+        int idx = -1;
+        if (norm2 > 0) {
+            // N.B. compares the unnormalised distance |dy*(x-x0) - dx*(y-y0)| = distance * norm
+            for (int i = start + 1; i < end; i++) {
+                final double distance = Math.abs(dy * (x[i] - x0) - dx * (y[i] - y0));
+                if (distance > dmax) {
+                    idx = i;
+                    dmax = distance;
+                }
+            }
+            return dmax > epsilon * Math.sqrt(norm2) ? idx : -1;
+        }
+        // coinciding end points: Euclidean distance to the end point
+        for (int i = start + 1; i < end; i++) {
+            final double distance = (x[i] - x0) * (x[i] - x0) + (y[i] - y0) * (y[i] - y0);
+            if (distance > dmax) {
+                idx = i;
+                dmax = distance;
+            }
+        }
+        return dmax > epsilon * epsilon ? idx : -1;
+    }
+}
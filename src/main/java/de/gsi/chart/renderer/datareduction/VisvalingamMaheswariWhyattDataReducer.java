@@ -1,15 +1,330 @@
 package de.gsi.chart.renderer.datareduction;
 
+import java.security.InvalidParameterException;
+
+import de.gsi.chart.renderer.RendererDataReducer;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
+import de.gsi.chart.utils.AssertUtils;
+import de.gsi.chart.utils.ProcessingProfiler;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
 /**
  * Line generalisation by repeated elimination of the smallest area Visvalingam,
  * Maheswari; Whyatt, J. D. (James Duncan) Cartography -- Data processing;
  * Computer science July 1992 https://hydra.hull.ac.uk/resources/hull:8338
  * https://bost.ocks.org/mike/simplify/
+ * <p>
+ * The data point spanning the smallest (effective) triangle area with its two remaining neighbours is eliminated
+ * repeatedly as long as this area is below the area threshold or more data points than the target point count remain.
+ * The effective area of a point never decreases below the area of a previously eliminated neighbour, i.e. the order of
+ * elimination is stable w.r.t. the threshold. The first and last as well as user-selected data points are always
+ * kept.
+ * <p>
+ * The areas are kept in a primitive indexed min-heap (no boxing, pooled temporary arrays), the remaining points in an
+ * index-based doubly-linked list. N.B. the reduction is in-place and iterative, numerical complexity: O(n log n).
  *
- *
- * TODO: flesh out algorithm
- *
+ * @author rstein
  */
-public class VisvalingamMaheswariWhyattDataReducer {
+public class VisvalingamMaheswariWhyattDataReducer implements RendererDataReducer {
+
+    protected DoubleProperty minArea = new SimpleDoubleProperty(this, "minArea", 1.0) {
+        @Override
+        public void set(final double value) {
+            if (!(value >= 0)) {
+                throw new InvalidParameterException("minArea " + value + " must be greater or equal than zero");
+            }
+            super.set(value);
+        }
+    };
+
+    protected IntegerProperty targetPointCount = new SimpleIntegerProperty(this, "targetPointCount", 0) {
+        @Override
+        public void set(final int value) {
+            if (value < 0) {
+                throw new InvalidParameterException(
+                        "targetPointCount " + value + " must be greater or equal than zero");
+            }
+            super.set(value);
+        }
+    };
+
+    /**
+     * @return data points spanning a triangle smaller than this area (in pixel^2) are eliminated
+     */
+    public final double getMinArea() {
+        return minAreaProperty().get();
+    }
+
+    /**
+     * Sets the <code>minArea</code> to the specified value.
+     *
+     * @param area data points spanning a triangle smaller than this area (in pixel^2) are eliminated
+     */
+    public final void setMinArea(final double area) {
+        minAreaProperty().set(area);
+    }
+
+    public final DoubleProperty minAreaProperty() {
+        return minArea;
+    }
+
+    /**
+     * @return data points are eliminated until at most this number remains, '0': area threshold only
+     */
+    public final int getTargetPointCount() {
+        return targetPointCountProperty().get();
+    }
+
+    /**
+     * Sets the <code>targetPointCount</code> to the specified value.
+     *
+     * @param count data points are eliminated until at most this number remains, '0': area threshold only
+     */
+    public final void setTargetPointCount(final int count) {
+        targetPointCountProperty().set(count);
+    }
+
+    public final IntegerProperty targetPointCountProperty() {
+        return targetPointCount;
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        AssertUtils.nonEmptyArray("xValues", xValues);
+        AssertUtils.checkArrayDimension("yValues", yValues, xValues.length);
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        AssertUtils.indexOrder(indexMin, "indexMin", indexMax, "indexMax");
+        final long start = ProcessingProfiler.getTimeStamp();
+        final int n = indexMax - indexMin;
+        final int target = getTargetPointCount() == 0 ? n : Math.max(2, getTargetPointCount());
+        final double threshold = getMinArea();
+        if (n <= 2 || n <= target && threshold == 0) {
+            for (int i = 0; i < n; i++) {
+                move(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles,
+                        pointSelected, indexMin + i, i);
+            }
+            return n;
+        }
+
+        final ArrayPool pool = ArrayPool.getDefault();
+        // N.B. local index = data index - indexMin
+        final int[] prev = pool.getIntArray(n);
+        final int[] next = pool.getIntArray(n);
+        final AreaHeap heap = new AreaHeap(n);
+        int count = n;
+        try {
+            for (int i = 0; i < n; i++) {
+                prev[i] = i - 1;
+                next[i] = i + 1;
+            }
+            for (int i = 1; i < n - 1; i++) {
+                final boolean keep = pointSelected != null && pointSelected[indexMin + i];
+                heap.area[i] = keep ? Double.POSITIVE_INFINITY
+                        : area(xValues, yValues, indexMin, i - 1, i, i + 1);
+                heap.add(i);
+            }
+            heap.heapify();
+
+            // eliminate points with the smallest effective area
+            double maxEliminatedArea = 0.0;
+            while (heap.size > 0) {
+                final int i = heap.peek();
+                final double area = heap.area[i];
+                if (area == Double.POSITIVE_INFINITY || area >= threshold && count <= target) {
+                    break;
+                }
+                heap.poll();
+                maxEliminatedArea = Math.max(maxEliminatedArea, area);
+                final int left = prev[i];
+                final int right = next[i];
+                next[left] = right;
+                prev[right] = left;
+                count--;
+
+                // update effective areas of the neighbours (end points are not in the heap)
+                if (left > 0) {
+                    heap.update(left, effectiveArea(heap, xValues, yValues, indexMin, prev[left], left, right,
+                            maxEliminatedArea));
+                }
+                if (right < n - 1) {
+                    heap.update(right, effectiveArea(heap, xValues, yValues, indexMin, left, right, next[right],
+                            maxEliminatedArea));
+                }
+            }
+
+            // compact the remaining points in-place to the front (N.B. output index <= input index)
+            int out = 0;
+            for (int i = 0; i < n; i = next[i]) {
+                move(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles,
+                        pointSelected, indexMin + i, out++);
+            }
+        } finally {
+            pool.release(prev);
+            pool.release(next);
+            heap.release();
+        }
+
+        ProcessingProfiler.getTimeDiff(start, String.format("data reduction (from %d to %d)", n, count));
+        return count;
+    }
+
+    private static double effectiveArea(final AreaHeap heap, final double[] x, final double[] y, final int offset,
+            final int a, final int b, final int c, final double maxEliminatedArea) {
+        if (heap.area[b] == Double.POSITIVE_INFINITY) {
+            // selected point
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.max(area(x, y, offset, a, b, c), maxEliminatedArea);
+    }
+
+    private static double area(final double[] x, final double[] y, final int offset, final int a, final int b,
+            final int c) {
+        final int ia = offset + a;
+        final int ib = offset + b;
+        final int ic = offset + c;
+        final double area = 0.5 * Math.abs((x[ia] - x[ic]) * (y[ib] - y[ia]) - (x[ia] - x[ib]) * (y[ic] - y[ia]));
+        // N.B. non-finite coordinates are kept
+        return Double.isNaN(area) ? Double.POSITIVE_INFINITY : area;
+    }
+
+    private static void move(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int from, final int to) {
+        if (from == to) {
+            return;
+        }
+        xValues[to] = xValues[from];
+        yValues[to] = yValues[from];
+        if (xPointErrorsPos != null && xPointErrorsNeg != null) {
+            xPointErrorsPos[to] = xPointErrorsPos[from];
+            xPointErrorsNeg[to] = xPointErrorsNeg[from];
+        }
+        if (yPointErrorsPos != null && yPointErrorsNeg != null) {
+            yPointErrorsPos[to] = yPointErrorsPos[from];
+            yPointErrorsNeg[to] = yPointErrorsNeg[from];
+        }
+        if (styles != null) {
+            styles[to] = styles[from];
+        }
+        if (pointSelected != null) {
+            pointSelected[to] = pointSelected[from];
+        }
+    }
+
+    /**
+     * primitive indexed binary min-heap of point indices ordered by their area. N.B. the areas are additionally stored
+     * in heap order to avoid the indirection (cache misses) during sifting.
+     */
+    private static final class AreaHeap {
+        // area per point
+        private final double[] area;
+        // area per heap position
+        private final double[] keys;
+        private final int[] heap;
+        // position of a point within the heap, '-1' if not contained
+        private final int[] position;
+        private int size;
+
+        private AreaHeap(final int n) {
+            final ArrayPool pool = ArrayPool.getDefault();
+            area = pool.getDoubleArray(n);
+            keys = pool.getDoubleArray(n);
+            heap = pool.getIntArray(n);
+            position = pool.getIntArray(n);
+        }
+
+        private void release() {
+            final ArrayPool pool = ArrayPool.getDefault();
+            pool.release(area);
+            pool.release(keys);
+            pool.release(heap);
+            pool.release(position);
+        }
+
+        /**
+         * appends the point without restoring the heap order (see {@link #heapify()})
+         */
+        private void add(final int point) {
+            heap[size] = point;
+            keys[size] = area[point];
+            position[point] = size;
+            size++;
+        }
+
+        private void heapify() {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i, heap[i], keys[i]);
+            }
+        }
+
+        private int peek() {
+            return heap[0];
+        }
+
+        private int poll() {
+            final int point = heap[0];
+            position[point] = -1;
+            size--;
+            if (size > 0) {
+                siftDown(0, heap[size], keys[size]);
+            }
+            return point;
+        }
+
+        private void update(final int point, final double value) {
+            final int pos = position[point];
+            final double old = area[point];
+            area[point] = value;
+            if (pos < 0) {
+                return;
+            }
+            if (value < old) {
+                siftUp(pos, point, value);
+            } else if (value > old) {
+                siftDown(pos, point, value);
+            }
+        }
+
+        private void siftUp(final int pos, final int point, final double value) {
+            int i = pos;
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (keys[parent] <= value) {
+                    break;
+                }
+                set(i, heap[parent], keys[parent]);
+                i = parent;
+            }
+            set(i, point, value);
+        }
+
+        private void siftDown(final int pos, final int point, final double value) {
+            int i = pos;
+            final int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                final int right = child + 1;
+                if (right < size && keys[right] < keys[child]) {
+                    child = right;
+                }
+                if (value <= keys[child]) {
+                    break;
+                }
+                set(i, heap[child], keys[child]);
+                i = child;
+            }
+            set(i, point, value);
+        }
 
+        private void set(final int pos, final int point, final double value) {
+            heap[pos] = point;
+            keys[pos] = value;
+            position[point] = pos;
+        }
+    }
 }
@@ -56,6 +56,7 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
     private DoubleProperty barWidthPercentage = new SimpleDoubleProperty(this, "barWidthPercentage", 70.0);
     private IntegerProperty barWidth = new SimpleIntegerProperty(this, "barWidth", 5);
     private BooleanProperty parallelImplementation = new SimpleBooleanProperty(this, "parallelImplementation", false);
+    private BooleanProperty streamingReduction = new SimpleBooleanProperty(this, "streamingReduction", false);
     private DoubleProperty intensityFading = new SimpleDoubleProperty(this, "intensityFading",
             AbstractErrorDataSetRendererParameter.DEFAULT_HISTORY_INTENSITY_FADING);
 
@@ -70,6 +71,7 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
         pointReductionProperty().bind(other.pointReductionProperty());
         dashSizeProperty().bind(other.dashSizeProperty());
         minRequiredReductionSizeProperty().bind(other.minRequiredReductionSizeProperty());
+        streamingReductionProperty().bind(other.streamingReductionProperty());
         markerSizeProperty().bind(other.markerSizeProperty());
         drawMarkerProperty().bind(other.drawMarkerProperty());
         polyLineStyleProperty().bind(other.polyLineStyleProperty());
@@ -98,6 +100,7 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
         pointReductionProperty().unbind();
         dashSizeProperty().unbind();
         minRequiredReductionSizeProperty().unbind();
+        streamingReductionProperty().unbind();
         markerSizeProperty().unbind();
         drawMarkerProperty().unbind();
         polyLineStyleProperty().unbind();
@@ -494,6 +497,32 @@ public abstract class AbstractErrorDataSetRendererParameter<R extends AbstractEr
         return parallelImplementation;
     }
 
+    /**
+     * whether the screen coordinate transform and data reduction are fused for linear and logarithmic axes: the data
+     * points are binned into pixel columns directly from their data coordinates and only the first, minimum, maximum
+     * and last point of each column are transformed (replaces the data reducer for data sets without x-errors)
+     *
+     * @return true if the streaming reduction is used
+     */
+    public boolean isStreamingReduction() {
+        return streamingReduction.get();
+    }
+
+    /**
+     * Sets whether the screen coordinate transform and data reduction are fused for linear and logarithmic axes
+     *
+     * @param state true if the streaming reduction should be used
+     * @return itself (fluent design)
+     */
+    public R setStreamingReduction(final boolean state) {
+        streamingReduction.set(state);
+        return getThis();
+    }
+
+    public BooleanProperty streamingReductionProperty() {
+        return streamingReduction;
+    }
+
     /**
      * whether renderer should draw no, simple (point-to-point), stair-case, Bezier, ... lines
      *
@@ -21,7 +21,9 @@ import de.gsi.chart.renderer.spi.hexagon.HexagonMap;
 import de.gsi.chart.renderer.spi.hexagon.HexagonMap.Direction;
 import de.gsi.chart.renderer.spi.marchingsquares.GeneralPath;
 import de.gsi.chart.renderer.spi.marchingsquares.MarchingSquares;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
 import de.gsi.chart.renderer.spi.utils.ColorGradient;
+import de.gsi.chart.renderer.spi.utils.HeatMapRasterizer;
 import de.gsi.chart.ui.geometry.Side;
 import de.gsi.chart.utils.ProcessingProfiler;
 import javafx.beans.property.BooleanProperty;
@@ -37,6 +39,7 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
@@ -46,7 +49,6 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Paint;
-import javafx.scene.paint.Stop;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.StrokeType;
 
@@ -58,6 +60,10 @@ import javafx.scene.shape.StrokeType;
 public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDataSetRenderer> implements Renderer {
 
     private final Cache localCache = new Cache();
+    private final HeatMapRasterizer heatMapRasterizer = new HeatMapRasterizer();
+    // heat-map images are reused between frames, one per data set drawn within the same frame
+    private final List<WritableImage> heatMapImages = new ArrayList<>();
+    private int heatMapImageCount;
     private Axis zAxis;
     protected final Rectangle gradientRect = new Rectangle();
 
@@ -139,6 +145,7 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
         final double xMax = xAxis.getValueForDisplay(xAxisWidth);
 
         long stop = ProcessingProfiler.getTimeDiff(start, "init");
+        heatMapImageCount = 0;
         // N.B. importance of reverse order: start with last index, so that
         // most(-like) important DataSet is drawn on
         // top of the others
@@ -337,10 +344,16 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
 
         getNumberQuantisationLevels();
 
-        // filter for contour
-        final double[][] input = new double[xSize][ySize];
-        final double[][] output = new double[xSize][ySize];
-        final double[][] output2 = new double[xSize][ySize];
+        // filter for contour (N.B. pooled rows may be longer than 'ySize')
+        final ArrayPool pool = ArrayPool.getDefault();
+        final double[][] input = new double[xSize][];
+        final double[][] output = new double[xSize][];
+        final double[][] output2 = new double[xSize][];
+        for (int x = 0; x < xSize; x++) {
+            input[x] = pool.getDoubleArray(ySize);
+            output[x] = pool.getDoubleArray(ySize);
+            output2[x] = pool.getDoubleArray(ySize);
+        }
 
         // setup quantisation levels
         final double[] levels = new double[getNumberQuantisationLevels()];
@@ -363,8 +376,8 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
         final PixelWriter pixelWriter = image.getPixelWriter();
 
         for (final double level : levels) {
-            ContourDataSetRenderer.sobelOperator(input, output2, zMin, zMax, level);
-            ContourDataSetRenderer.erosionOperator(output2, output, zMin, zMax, level);
+            ContourDataSetRenderer.sobelOperator(input, output2, xSize, ySize, level);
+            ContourDataSetRenderer.erosionOperator(output2, output, xSize, ySize, level);
             // erosionOperator2(output2, output, zMin, zMax, levels[i]);
 
             for (int xIndex = indexXMin; xIndex < indexXMax; xIndex++) {
@@ -392,6 +405,12 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
             }
         }
 
+        for (int x = 0; x < xSize; x++) {
+            pool.release(input[x]);
+            pool.release(output[x]);
+            pool.release(output2[x]);
+        }
+
         gc.drawImage(image, 0, 0, lCache.xAxisWidth, lCache.yAxisHeight);
         ProcessingProfiler.getTimeDiff(start, "sobel");
     }
@@ -698,39 +717,40 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
         // this.setSmooth(false);
         final int scaleX = isSmooth() ? 1 : Math.max((int) lCache.xAxisWidth / lCache.xSize, 1);
         final int scaleY = isSmooth() ? 1 : Math.max((int) lCache.yAxisHeight / lCache.ySize, 1);
-        final int xSize = lCache.xSize;
-        final int ySize = lCache.ySize;
-        final double zMin = axisTransform.forward(lCache.zMin);
-        final double zMax = axisTransform.forward(lCache.zMax);
-        final int indexXMin = lCache.indexXMin;
-        final int indexXMax = lCache.indexXMax;
-        final int indexYMin = lCache.indexYMin;
-        final int indexYMax = lCache.indexYMax;
-        final DataSet3D dataSet = lCache.dataSet3D;
+        final int width = lCache.xSize * scaleX;
+        final int height = lCache.ySize * scaleY;
 
-        final int nQuant = getNumberQuantisationLevels();
+        // N.B. colour lookup table, parallel row strips and one bulk pixel transfer instead of per-pixel setColor(..)
+        final int[] pixels = ArrayPool.getDefault().getIntArray(width * height);
+        heatMapRasterizer.rasterize(lCache.dataSet3D, lCache.indexXMin, lCache.indexXMax, lCache.indexYMin,
+                lCache.indexYMax, axisTransform, lCache.zMin, lCache.zMax, lCache.zInverted, getColorGradient(),
+                getNumberQuantisationLevels(), scaleX, scaleY, pixels);
+        ProcessingProfiler.getTimeDiff(start, "rasterize");
 
-        final WritableImage image = new WritableImage(xSize * scaleX, ySize * scaleY);
-        final PixelWriter pixelWriter = image.getPixelWriter();
-        for (int xIndex = indexXMin; xIndex < indexXMax; xIndex++) {
-            for (int yIndex = indexYMin; yIndex < indexYMax; yIndex++) {
-                final double z = dataSet.getZ(xIndex, yIndex);
-                final double offset = (axisTransform.forward(z) - zMin) / (zMax - zMin);
-                final Color color = lCache.zInverted ? getColor(ContourDataSetRenderer.quantize(1 - offset, nQuant))
-                        : getColor(ContourDataSetRenderer.quantize(offset, nQuant));
+        final WritableImage image = getHeatMapImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), pixels, 0, width);
+        ArrayPool.getDefault().release(pixels);
 
-                final int x = (xIndex - indexXMin) * scaleX;
-                final int y = (indexYMax - 1 - yIndex) * scaleY;
-                for (int dx = 0; dx < scaleX; dx++) {
-                    for (int dy = 0; dy < scaleY; dy++) {
-                        pixelWriter.setColor(x + dx, y + dy, color);
-                    }
-                }
+        gc.drawImage(image, 0, 0, width, height, 0, 0, lCache.xAxisWidth, lCache.yAxisHeight);
+        ProcessingProfiler.getTimeDiff(start, "drawHeatMap");
+    }
+
+    private WritableImage getHeatMapImage(final int width, final int height) {
+        // N.B. images are only reallocated if they are too small, the unused border is not drawn
+        final int index = heatMapImageCount++;
+        if (index < heatMapImages.size()) {
+            final WritableImage image = heatMapImages.get(index);
+            if (image.getWidth() >= width && image.getHeight() >= height) {
+                return image;
             }
         }
-
-        gc.drawImage(image, 0, 0, lCache.xAxisWidth, lCache.yAxisHeight);
-        ProcessingProfiler.getTimeDiff(start, "drawHeatMap");
+        final WritableImage image = new WritableImage(width, height);
+        if (index < heatMapImages.size()) {
+            heatMapImages.set(index, image);
+        } else {
+            heatMapImages.add(image);
+        }
+        return image;
     }
 
     private static void computeZrange(final Axis zAxis, final DataSet3D dataSet3D, final int indexXMin,
@@ -765,18 +785,14 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
         return Math.round(value * nLevels) / (double) nLevels;
     }
 
-    private static void sobelOperator(final double[][] input, final double[][] output, final double zMin,
-            final double zMax, final double level) {
-        final int width = input.length;
-        final int height = input[0].length;
-        final double[][] Gx = new double[width][height];
-        final double[][] Gy = new double[width][height];
+    private static void sobelOperator(final double[][] input, final double[][] output, final int width,
+            final int height, final double level) {
 
         final double[][] pixelMatrix = new double[3][3];
         for (int i = 0; i < width; i++) {
             for (int j = 0; j < height; j++) {
                 if (i == 0 || i == width - 1 || j == 0 || j == height - 1) {
-                    Gx[i][j] = Gy[i][j] = output[i][j] = 0;
+                    output[i][j] = 0;
                 } else {
                     // Gx[i][j] = input[i + 1][j - 1] + 2 * input[i + 1][j] +
                     // input[i + 1][j + 1];
@@ -787,20 +803,6 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
                     // Gy[i][j] -= input[i - 1][j - 1] + 2 * input[i][j - 1] +
                     // input[i + 1][j - 1];
 
-                    // Roberts Cross
-                    Gx[i][j] = -1.0 * input[i][j - 1] - 0.0 * input[i][j] + 0.0 * input[i][j + 1];
-                    Gx[i][j] += 0.0 * input[i][j - 1] + 1.0 * input[i][j] + 0.0 * input[i + 1][j + 1];
-
-                    Gy[i][j] = 0.0 * input[i][j - 1] - 1.0 * input[i][j] + 0.0 * input[i][j + 1];
-                    Gy[i][j] += 1.0 * input[i][j - 1] - 0.0 * input[i][j] + 0.0 * input[i + 1][j + 1];
-
-                    double zNorm = Math.abs(Gx[i][j]) + Math.abs(Gy[i][j]);// -
-                                                                           // zMin)
-                                                                           // /
-                                                                           // (zMax
-                                                                           // -
-                                                                           // zMin);
-
                     pixelMatrix[0][0] = input[i - 1][j - 1] > level ? 1.0 : 0.0;
                     pixelMatrix[0][1] = input[i - 1][j] > level ? 1.0 : 0.0;
                     pixelMatrix[0][2] = input[i - 1][j + 1] > level ? 1.0 : 0.0;
@@ -810,7 +812,7 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
                     pixelMatrix[2][1] = input[i + 1][j] > level ? 1.0 : 0.0;
                     pixelMatrix[2][2] = input[i + 1][j + 1] > level ? 1.0 : 0.0;
 
-                    zNorm = ContourDataSetRenderer.convolution(pixelMatrix);
+                    final double zNorm = ContourDataSetRenderer.convolution(pixelMatrix);
                     output[i][j] = zNorm;// > level ? 1.0 : 0.0;
 
                     // output[i][j] = zNorm;
@@ -819,18 +821,14 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
         }
     }
 
-    private static void erosionOperator(final double[][] input, final double[][] output, final double zMin,
-            final double zMax, final double level) {
-        final int width = input.length;
-        final int height = input[0].length;
-        final double[][] Gx = new double[width][height];
-        final double[][] Gy = new double[width][height];
+    private static void erosionOperator(final double[][] input, final double[][] output, final int width,
+            final int height, final double level) {
 
         final double[][] pixelMatrix = new double[3][3];
         for (int i = 0; i < width; i++) {
             for (int j = 0; j < height; j++) {
                 if (i == 0 || i == width - 1 || j == 0 || j == height - 1) {
-                    Gx[i][j] = Gy[i][j] = output[i][j] = 0;
+                    output[i][j] = 0;
                 } else {
                     pixelMatrix[0][0] = input[i - 1][j - 1] > level ? 1.0 : 0.0;
                     pixelMatrix[0][1] = input[i - 1][j] > level ? 1.0 : 0.0;
@@ -889,27 +887,7 @@ public class ContourDataSetRenderer extends AbstractDataSetManagement<ContourDat
     }
 
     private Color getColor(final double offset) {
-        double lowerOffset = 0.0;
-        double upperOffset = 1.0;
-        Color lowerColor = Color.TRANSPARENT;
-        Color upperColor = Color.TRANSPARENT;
-
-        for (final Stop stop : getColorGradient().getStops()) {
-            final double currentOffset = stop.getOffset();
-            if (currentOffset == offset) {
-                return stop.getColor();
-            } else if (currentOffset < offset) {
-                lowerOffset = currentOffset;
-                lowerColor = stop.getColor();
-            } else {
-                upperOffset = currentOffset;
-                upperColor = stop.getColor();
-                break;
-            }
-        }
-
-        final double interpolationOffset = (offset - lowerOffset) / (upperOffset - lowerOffset);
-        return lowerColor.interpolate(upperColor, interpolationOffset);
+        return HeatMapRasterizer.getColor(getColorGradient(), offset);
     }
 
     private final IntegerProperty quantisationLevels = new SimpleIntegerProperty(this, "quantisationLevels", 20) {
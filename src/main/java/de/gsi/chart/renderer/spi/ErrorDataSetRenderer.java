@@ -2,12 +2,18 @@ package de.gsi.chart.renderer.spi;
 
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import de.gsi.chart.Chart;
 import de.gsi.chart.XYChart;
@@ -18,16 +24,16 @@ import de.gsi.chart.data.DataSet;
 import de.gsi.chart.data.DataSet3D;
 import de.gsi.chart.data.DataSetError;
 import de.gsi.chart.data.DataSetError.ErrorType;
+import de.gsi.chart.data.spi.LevelOfDetailDataSet;
 import de.gsi.chart.marker.Marker;
 import de.gsi.chart.renderer.ErrorStyle;
 import de.gsi.chart.renderer.Renderer;
 import de.gsi.chart.renderer.RendererDataReducer;
 import de.gsi.chart.renderer.spi.utils.BezierCurve;
-import de.gsi.chart.renderer.spi.utils.Cache;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
 import de.gsi.chart.renderer.spi.utils.DefaultRenderColorScheme;
 import de.gsi.chart.utils.ProcessingProfiler;
 import de.gsi.chart.utils.StyleParser;
-import de.gsi.math.ArrayUtils;
 import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
 import javafx.scene.canvas.Canvas;
@@ -48,8 +54,17 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
     // private static final ExecutorService executorService =
     // Executors.newCachedThreadPool();
     private static final ExecutorService executorService = Executors.newFixedThreadPool(2 * MAX_THREADS);
-
-    protected Cache cache = new Cache();
+    // bounded pool for the per-data-set preparation stage (N.B. separate from the above to avoid nested waits)
+    private static final ExecutorService dataSetExecutorService = Executors.newFixedThreadPool(MAX_THREADS,
+            runnable -> {
+                final Thread thread = new Thread(runnable, "ErrorDataSetRenderer-stage1");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    protected ArrayPool cache = ArrayPool.getDefault();
+    // screen coordinate buffers per data set, re-used across frames
+    private final Map<DataSet, CachedDataPoints> cachedDataPoints = new WeakHashMap<>();
     private Marker marker; // TODO: generate marker
     private boolean isPolarPlot = false;
 
@@ -115,85 +130,253 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         ProcessingProfiler.getTimeDiff(start, "init");
 
+        // update categories in case of category axes for the first (index
+        // == '0') indexed data set (N.B. modifies the axes -> FX thread)
+        final DataSet firstDataSet = localDataSetList.get(0);
+        if (getFirstAxis(Orientation.HORIZONTAL) instanceof CategoryAxis
+                || getFirstAxis(Orientation.VERTICAL) instanceof CategoryAxis) {
+            firstDataSet.lock();
+            try {
+                if (getFirstAxis(Orientation.HORIZONTAL) instanceof CategoryAxis) {
+                    final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.HORIZONTAL);
+                    axis.updateCategories(firstDataSet);
+                }
+
+                if (getFirstAxis(Orientation.VERTICAL) instanceof CategoryAxis) {
+                    final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.VERTICAL);
+                    axis.updateCategories(firstDataSet);
+                }
+            } finally {
+                firstDataSet.unlock();
+            }
+        }
+
+        synchronized (cachedDataPoints) {
+            // N.B. previous frame is complete (also if it was aborted by an exception)
+            cachedDataPoints.values().forEach(points -> points.inUse = false);
+        }
+
+        // stage 1: lock, transform to screen coordinates and reduce -- for
+        // all data sets concurrently if the parallel implementation is
+        // enabled (N.B. the draw order is preserved by stage 2)
+        final boolean concurrent = isParallelImplementation() && localDataSetList.size() > 1;
+        final List<Future<CachedDataPoints>> stages = new ArrayList<>(localDataSetList.size());
+        final List<DataSet> stageDataSets = new ArrayList<>(localDataSetList.size());
+        // N.B. set if the frame is aborted: stage 1 tasks that have not yet been started are skipped
+        final AtomicBoolean aborted = new AtomicBoolean();
         for (int dataSetIndex = localDataSetList.size() - 1; dataSetIndex >= 0; dataSetIndex--) {
-            long stop = ProcessingProfiler.getTimeStamp();
             final DataSet dataSet = localDataSetList.get(dataSetIndex);
-            if (dataSet instanceof DataSet3D) {
-                // this renderer cannot use 3D data sets directly, use
-                // MountainRangeRenderer instead
-                // continue;
+            final int dsIndex = dataSetOffset + dataSetIndex;
+            final Callable<CachedDataPoints> stage = () -> aborted.get() ? null
+                    : prepareDataSet(chart, dataSet, dsIndex, xMin, xMax);
+            stageDataSets.add(dataSet);
+            if (concurrent) {
+                stages.add(ErrorDataSetRenderer.dataSetExecutorService.submit(stage));
+            } else {
+                final FutureTask<CachedDataPoints> task = new FutureTask<>(stage);
+                task.run();
+                stages.add(task);
             }
+        }
+        ProcessingProfiler.getTimeDiff(start, "stage 1 submitted");
+
+        // stage 2: issue the canvas draw calls in data set order (FX thread)
+        int nConsumed = 0; // number of stages whose result has been taken (and released) by stage 2
+        try {
+            while (nConsumed < stages.size()) {
+                long stop = ProcessingProfiler.getTimeStamp();
+                final CachedDataPoints localCachedPoints;
+                try {
+                    localCachedPoints = stages.get(nConsumed).get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while waiting for the data set preparation", e);
+                } catch (final ExecutionException e) {
+                    nConsumed++;
+                    throw new IllegalStateException("data set preparation finished execution with error", e);
+                }
+                final int stageIndex = nConsumed++;
+                stop = ProcessingProfiler.getTimeDiff(stop, "stage 1 wait");
+                if (localCachedPoints == null) {
+                    // zero length/range data set -> nothing to be drawn
+                    continue;
+                }
 
-            // N.B. print out for debugging purposes, please keep (used for
-            // detecting redundant or too frequent render updates)
-            // System.err.println(
-            // String.format("render for range [%f,%f] and dataset = '%s'",
-            // xMin, xMax, dataSet.getName()));
-
-            dataSet.lock();
-            stop = ProcessingProfiler.getTimeDiff(stop, "dataSet.lock()");
+                // draw individual plot components
+                try {
+                    drawChartCompontents(gc, localCachedPoints);
+                    dataSetDrawn(stageDataSets.get(stageIndex), localCachedPoints);
+                } finally {
+                    releaseCachedDataPoints(localCachedPoints);
+                }
+                ProcessingProfiler.getTimeDiff(stop, "stage 2 draw");
+            }
+        } finally {
+            if (nConsumed < stages.size()) {
+                abortStages(stages, nConsumed, aborted);
+            }
+        }
 
-            // update categories in case of category axes for the first (index
-            // == '0') indexed data set
-            if (dataSetIndex == 0) {
-                if (getFirstAxis(Orientation.HORIZONTAL) instanceof CategoryAxis) {
-                    final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.HORIZONTAL);
-                    axis.updateCategories(dataSet);
+        // drop the buffers of data sets that are no longer rendered
+        synchronized (cachedDataPoints) {
+            cachedDataPoints.entrySet().removeIf(entry -> {
+                if (localDataSetList.contains(entry.getKey())) {
+                    return false;
                 }
+                entry.getValue().release();
+                return true;
+            });
+        }
+        ProcessingProfiler.getTimeDiff(start);
+    }
 
-                if (getFirstAxis(Orientation.VERTICAL) instanceof CategoryAxis) {
-                    final CategoryAxis axis = (CategoryAxis) getFirstAxis(Orientation.VERTICAL);
-                    axis.updateCategories(dataSet);
+    /**
+     * aborts the remaining stage 1 tasks of a failed frame: tasks that have not been started yet are skipped, running
+     * tasks are awaited (N.B. they would otherwise keep writing into buffers that are handed out again by the next
+     * frame) and their buffers released
+     *
+     * @param stages the stage 1 tasks
+     * @param from index of the first task whose result has not been taken by stage 2
+     * @param aborted flag checked by the tasks before they start
+     */
+    private void abortStages(final List<Future<CachedDataPoints>> stages, final int from, final AtomicBoolean aborted) {
+        aborted.set(true);
+        boolean interrupted = false;
+        for (int stageIndex = from; stageIndex < stages.size(); stageIndex++) {
+            while (true) {
+                try {
+                    final CachedDataPoints points = stages.get(stageIndex).get();
+                    if (points != null) {
+                        releaseCachedDataPoints(points);
+                    }
+                    break;
+                } catch (final InterruptedException e) {
+                    // N.B. wait nevertheless, the interrupt flag is restored below
+                    interrupted = true;
+                } catch (final ExecutionException | CancellationException e) {
+                    break;
                 }
             }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the (re-usable) screen coordinate buffers of the given data set
+     */
+    private CachedDataPoints acquireCachedDataPoints(final DataSet dataSet) {
+        synchronized (cachedDataPoints) {
+            CachedDataPoints points = cachedDataPoints.get(dataSet);
+            if (points == null) {
+                points = new CachedDataPoints();
+                cachedDataPoints.put(dataSet, points);
+            } else if (points.inUse) {
+                // same data set rendered more than once per frame -> temporary buffers
+                points = new CachedDataPoints();
+                points.temporary = true;
+            }
+            points.inUse = true;
+            return points;
+        }
+    }
+
+    private void releaseCachedDataPoints(final CachedDataPoints points) {
+        synchronized (cachedDataPoints) {
+            points.inUse = false;
+            if (points.temporary) {
+                points.release();
+            }
+        }
+    }
+
+    /**
+     * stage 1 of the rendering pipeline (may be executed on a worker thread): locks the data set and computes the
+     * reduced screen coordinates of the visible data points
+     *
+     * @return the screen coordinates or {@code null} if there are no data points to be drawn
+     */
+    private CachedDataPoints prepareDataSet(final Chart chart, final DataSet dataSet, final int dsIndex,
+            final double xMin, final double xMax) {
+        long stop = ProcessingProfiler.getTimeStamp();
+
+        // N.B. print out for debugging purposes, please keep (used for
+        // detecting redundant or too frequent render updates)
+        // System.err.println(
+        // String.format("render for range [%f,%f] and dataset = '%s'",
+        // xMin, xMax, dataSet.getName()));
+
+        dataSet.lock();
+        final CachedDataPoints localCachedPoints;
+        try {
+            stop = ProcessingProfiler.getTimeDiff(stop, "dataSet.lock()");
 
             // check for potentially reduced data range we are supposed to plot
 
-            int indexMin = Math.max(0, dataSet.getXIndex(xMin));
+            // N.B. binary search for sorted data sets, includes the first
+            // point outside on either side so that connecting lines are drawn
+            // (full range for unsorted data sets)
+            final int indexMin = Math.max(0, dataSet.getXIndexLowerBound(Math.min(xMin, xMax)) - 1);
             /* indexMax is excluded in the drawing */
-            int indexMax = Math.min(dataSet.getXIndex(xMax) + 1, dataSet.getDataCount());
-            if (xAxis.isInvertedAxis()) {
-                final int temp = indexMin;
-                indexMin = indexMax - 1;
-                indexMax = temp + 1;
-            }
+            final int indexMax = Math.min(dataSet.getXIndexUpperBound(Math.max(xMin, xMax)) + 1,
+                    dataSet.getDataCount());
 
             if (indexMax - indexMin <= 0) {
                 // zero length/range data set -> nothing to be drawn
-                dataSet.unlock();
-                continue;
+                return null;
             }
 
             stop = ProcessingProfiler.getTimeDiff(stop,
                     "get min/max" + String.format(" from:%d to:%d", indexMin, indexMax));
 
-            final CachedDataPoints localCachedPoints = new CachedDataPoints(indexMin, indexMax, dataSet.getDataCount(),
-                    true);
+            // zoomed-out large data sets: draw the matching level of the min/max pyramid instead of the raw samples
+            DataSet drawnDataSet = dataSet;
+            int drawnMin = indexMin;
+            int drawnMax = indexMax;
+            if (dataSet instanceof LevelOfDetailDataSet) {
+                final Axis xAxis = getFirstAxis(Orientation.HORIZONTAL);
+                final double nPixels = Math.abs(xAxis.getDisplayPosition(xMax) - xAxis.getDisplayPosition(xMin));
+                final LevelOfDetailDataSet.Level level = ((LevelOfDetailDataSet) dataSet).getLevelOfDetail(indexMin,
+                        indexMax, nPixels);
+                if (level != null) {
+                    drawnDataSet = level;
+                    drawnMin = level.getIndex(indexMin);
+                    drawnMax = Math.min(level.getDataCount(), level.getIndex(indexMax - 1) + 2);
+                    stop = ProcessingProfiler.getTimeDiff(stop, "get level of detail " + level.getLevel());
+                }
+            }
+
+            localCachedPoints = acquireCachedDataPoints(dataSet);
+            localCachedPoints.prepare(drawnMin, drawnMax);
             stop = ProcessingProfiler.getTimeDiff(stop, "get CachedPoints");
 
             // compute local screen coordinates
-            localCachedPoints.computeScreenCoordinates(chart, dataSet, dataSetOffset + dataSetIndex, indexMin,
-                    indexMax);
+            localCachedPoints.computeScreenCoordinates(chart, drawnDataSet, dsIndex, drawnMin, drawnMax);
             stop = ProcessingProfiler.getTimeDiff(stop, "computeScreenCoordinates()");
+        } finally {
             dataSet.unlock();
-            stop = ProcessingProfiler.getTimeDiff(stop, "dataSet.unlock()");
-
-            // invoke data reduction algorithm
-            localCachedPoints.reduce();
+        }
+        stop = ProcessingProfiler.getTimeDiff(stop, "dataSet.unlock()");
 
-            synchronized (gc) {
-                // draw individual plot components
-                drawChartCompontents(gc, localCachedPoints);
-            }
-            stop = ProcessingProfiler.getTimeStamp();
+        // invoke data reduction algorithm
+        localCachedPoints.reduce();
+        ProcessingProfiler.getTimeDiff(stop, "reduce()");
+        return localCachedPoints;
+    }
 
-            localCachedPoints.release();
-            ProcessingProfiler.getTimeDiff(stop, "localCachedPoints.release()");
-        } // end of 'dataSetIndex' loop
-        ProcessingProfiler.getTimeDiff(start);
+    /**
+     * invoked (on the FX thread) after the data set has been drawn, e.g. to retain its screen coordinates. N.B. the
+     * screen coordinate buffers are re-used for the next frame, i.e. must not be referenced after this call.
+     *
+     * @param dataSet the drawn data set
+     * @param localCachedPoints the reduced screen coordinates of the data set
+     */
+    protected void dataSetDrawn(final DataSet dataSet, final CachedDataPoints localCachedPoints) {
+        // null implementation
     }
 
-    private void drawChartCompontents(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
+    protected void drawChartCompontents(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
         final long start = ProcessingProfiler.getTimeStamp();
         switch (getErrorType()) {
         case ERRORBARS:
@@ -372,8 +555,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] newX = cache.getCachedDoubleArray("xDrawPolyLineArea", n + 2);
-        final double[] newY = cache.getCachedDoubleArray("yDrawPolyLineArea", n + 2);
+        final double[] newX = cache.getDoubleArray(n + 2);
+        final double[] newY = cache.getDoubleArray(n + 2);
 
         System.arraycopy(localCachedPoints.xValues, 0, newX, 0, n);
         System.arraycopy(localCachedPoints.yValues, 0, newY, 0, n);
@@ -392,8 +575,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        cache.release("xDrawPolyLineArea", newX);
-        cache.release("yDrawPolyLineArea", newY);
+        cache.release(newX);
+        cache.release(newY);
     }
 
     protected void drawPolyLineStairCase(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
@@ -403,8 +586,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] newX = cache.getCachedDoubleArray("xDrawPolyLineStairCase", 2 * n);
-        final double[] newY = cache.getCachedDoubleArray("yDrawPolyLineStairCase", 2 * n);
+        final double[] newX = cache.getDoubleArray(2 * n);
+        final double[] newY = cache.getDoubleArray(2 * n);
 
         for (int i = 0; i < n - 1; i++) {
             newX[2 * i] = localCachedPoints.xValues[i];
@@ -435,8 +618,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        cache.release("xDrawPolyLineStairCase", newX);
-        cache.release("yDrawPolyLineStairCase", newY);
+        cache.release(newX);
+        cache.release(newY);
     }
 
     protected void drawPolyLineHistogram(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
@@ -446,8 +629,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] newX = cache.getCachedDoubleArray("xDrawPolyLineHistogram", 2 * (n + 1));
-        final double[] newY = cache.getCachedDoubleArray("yDrawPolyLineHistogram", 2 * (n + 1));
+        final double[] newX = cache.getDoubleArray(2 * (n + 1));
+        final double[] newY = cache.getDoubleArray(2 * (n + 1));
 
         final double xRange = localCachedPoints.xMax - localCachedPoints.xMin;
         double diffLeft;
@@ -487,8 +670,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        cache.release("xDrawPolyLineHistogram", newX);
-        cache.release("yDrawPolyLineHistogram", newY);
+        cache.release(newX);
+        cache.release(newY);
     }
 
     protected void drawPolyLineHistogramFilled(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
@@ -498,8 +681,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] newX = cache.getCachedDoubleArray("xDrawPolyLineHistogram", 2 * (n + 1));
-        final double[] newY = cache.getCachedDoubleArray("yDrawPolyLineHistogram", 2 * (n + 1));
+        final double[] newX = cache.getDoubleArray(2 * (n + 1));
+        final double[] newY = cache.getDoubleArray(2 * (n + 1));
 
         final double xRange = localCachedPoints.xMax - localCachedPoints.xMin;
         double diffLeft;
@@ -532,8 +715,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        cache.release("xDrawPolyLineHistogram", newX);
-        cache.release("yDrawPolyLineHistogram", newY);
+        cache.release(newX);
+        cache.release(newY);
     }
 
     protected void drawPolyLineHistogramBezier(final GraphicsContext gc, final CachedDataPoints localCachedPoints) {
@@ -544,10 +727,10 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         }
 
         // need to allocate new array :-(
-        final double[] xCp1 = cache.getCachedDoubleArray("xBezierFirstControlPoint", n);
-        final double[] yCp1 = cache.getCachedDoubleArray("yBezierFirstControlPoint", n);
-        final double[] xCp2 = cache.getCachedDoubleArray("xBezierSecondControlPoint", n);
-        final double[] yCp2 = cache.getCachedDoubleArray("yBezierSecondControlPoint", n);
+        final double[] xCp1 = cache.getDoubleArray(n);
+        final double[] yCp1 = cache.getDoubleArray(n);
+        final double[] xCp2 = cache.getDoubleArray(n);
+        final double[] yCp2 = cache.getDoubleArray(n);
 
         BezierCurve.calcCurveControlPoints(localCachedPoints.xValues, localCachedPoints.yValues, xCp1, yCp1, xCp2, yCp2,
                 localCachedPoints.actualDataCount);
@@ -581,10 +764,10 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         gc.restore();
 
         // release arrays to cache
-        cache.release("xBezierFirstControlPoint", xCp1);
-        cache.release("yBezierFirstControlPoint", yCp1);
-        cache.release("xBezierSecondControlPoint", xCp2);
-        cache.release("yBezierSecondControlPoint", yCp2);
+        cache.release(xCp1);
+        cache.release(yCp1);
+        cache.release(xCp2);
+        cache.release(yCp2);
     }
 
     /**
@@ -759,8 +942,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         final int nDataCount = localCachedPoints.actualDataCount;
         final int nPolygoneEdges = 2 * nDataCount;
-        final double[] xValuesSurface = cache.getCachedDoubleArray("xValuesSurface", nPolygoneEdges);
-        final double[] yValuesSurface = cache.getCachedDoubleArray("yValuesSurface", nPolygoneEdges);
+        final double[] xValuesSurface = cache.getDoubleArray(nPolygoneEdges);
+        final double[] yValuesSurface = cache.getDoubleArray(nPolygoneEdges);
 
         final int xend = nPolygoneEdges - 1;
         for (int i = 0; i < nDataCount; i++) {
@@ -783,8 +966,8 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         drawBars(gc, localCachedPoints);
         drawMarker(gc, localCachedPoints);
 
-        cache.release("xValuesSurface", xValuesSurface);
-        cache.release("yValuesSurface", yValuesSurface);
+        cache.release(xValuesSurface);
+        cache.release(yValuesSurface);
 
         ProcessingProfiler.getTimeDiff(start);
     }
@@ -851,26 +1034,86 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         protected double xRange;
         protected double yRange;
         protected double maxRadius;
-        protected int maxDataCount;
+        // buffers are re-allocated if they exceed the visible range by more than this factor
+        private static final int SHRINK_FACTOR = 4;
+        // number of data points the buffers can hold (N.B. pooled arrays may be longer)
+        protected int capacity;
+        // buffers are used by the current frame
+        protected boolean inUse;
+        // buffers are not retained across frames
+        protected boolean temporary;
+        // screen coordinates have already been reduced by the fused transform+reduce path
+        protected boolean streamingReduced;
         protected int actualDataCount; // number of data points that remain
                                        // after data reduction
 
-        public CachedDataPoints(final int indexMin, final int indexMax, final int dataLength, final boolean full) {
-            maxDataCount = dataLength;
-            xValues = cache.getCachedDoubleArray("xValues", maxDataCount);
-            yValues = cache.getCachedDoubleArray("yValues", maxDataCount);
-            styles = cache.getCachedStringArray("styles", dataLength);
+        /**
+         * (re-)initialises the buffers for the visible index range [indexMin, indexMax), the buffers are re-used
+         * across frames and only re-allocated if they are too small or much larger than needed
+         *
+         * @param indexMin first visible data index (inclusive)
+         * @param indexMax last visible data index (exclusive)
+         */
+        protected void prepare(final int indexMin, final int indexMax) {
             this.indexMin = indexMin;
             this.indexMax = indexMax;
-            errorYNeg = cache.getCachedDoubleArray("errorYNeg", maxDataCount);
-            errorYPos = cache.getCachedDoubleArray("errorYPos", maxDataCount);
-            if (full) {
-                errorXNeg = cache.getCachedDoubleArray("errorXNeg", maxDataCount);
-                errorXPos = cache.getCachedDoubleArray("errorXPos", maxDataCount);
+            minDistanceX = Integer.MAX_VALUE;
+            actualDataCount = 0;
+            streamingReduced = false;
+            final int length = indexMax - indexMin;
+            if (length > capacity || capacity > CachedDataPoints.SHRINK_FACTOR * Math.max(length, 1024)) {
+                release();
+                capacity = length;
+                xValues = cache.getDoubleArray(length);
+                yValues = cache.getDoubleArray(length);
+                errorYNeg = cache.getDoubleArray(length);
+                errorYPos = cache.getDoubleArray(length);
+                errorXNeg = cache.getDoubleArray(length);
+                errorXPos = cache.getDoubleArray(length);
+                selected = cache.getBooleanArray(length);
+                styles = cache.getStringArray(length);
+            } else {
+                Arrays.fill(selected, 0, length, false);
+                Arrays.fill(styles, 0, length, null);
             }
-            selected = cache.getCachedBooleanArray("selected", dataLength);
-            // ArrayUtils.fillArray(selected, true);
-            ArrayUtils.fillArray(styles, null);
+        }
+
+        /**
+         * copies the (reduced) screen coordinates and draw attributes of another frame, the buffers are only
+         * re-allocated if they are too small or much larger than needed
+         *
+         * @param other the screen coordinates to be copied
+         */
+        protected void copyFrom(final CachedDataPoints other) {
+            final int n = other.actualDataCount;
+            other.getMinXDistance();
+            prepare(0, n);
+            System.arraycopy(other.xValues, 0, xValues, 0, n);
+            System.arraycopy(other.yValues, 0, yValues, 0, n);
+            System.arraycopy(other.errorXNeg, 0, errorXNeg, 0, n);
+            System.arraycopy(other.errorXPos, 0, errorXPos, 0, n);
+            System.arraycopy(other.errorYNeg, 0, errorYNeg, 0, n);
+            System.arraycopy(other.errorYPos, 0, errorYPos, 0, n);
+            System.arraycopy(other.selected, 0, selected, 0, n);
+            System.arraycopy(other.styles, 0, styles, 0, n);
+            actualDataCount = n;
+            minDistanceX = other.minDistanceX;
+            xAxisInverted = other.xAxisInverted;
+            yAxisInverted = other.yAxisInverted;
+            defaultStyle = other.defaultStyle;
+            dataSetIndex = other.dataSetIndex;
+            dataSetStyleIndex = other.dataSetStyleIndex;
+            errorType = other.errorType;
+            xZero = other.xZero;
+            yZero = other.yZero;
+            yMin = other.yMin;
+            yMax = other.yMax;
+            xMin = other.xMin;
+            xMax = other.xMax;
+            polarPlot = other.polarPlot;
+            xRange = other.xRange;
+            yRange = other.yRange;
+            maxRadius = other.maxRadius;
         }
 
         /**
@@ -984,6 +1227,11 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
                 errorType = ErrorType.NO_ERROR;
             }
 
+            if (isStreamingReductionApplicable(max - min)
+                    && computeStreamingReducedScreenCoordinates(xAxis, yAxis, dataSet, min, max)) {
+                return;
+            }
+
             // ErrorDataSetRenderer.this.setParallelImplementation(false);
             // compute data set to screen coordinates
             if (isParallelImplementation()) {
@@ -1017,110 +1265,73 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         }
 
-        private void computeScreenCoordinates(final Axis xAxis, final Axis yAxis, final DataSet dataSet, final int min,
-                final int max) {
-            switch (errorType) {
-            case NO_ERROR: // no error attached
-                if (!polarPlot) {
-                    for (int index = min; index < max; index++) {
-                        final double x = dataSet.getX(index);
-                        final double y = dataSet.getY(index);
-                        // check if error should be surrounded by Math.abs(..)
-                        // to ensure that they are always positive
-                        xValues[index] = xAxis.getDisplayPosition(x);
-                        yValues[index] = yAxis.getDisplayPosition(y);
-                        if (!Double.isFinite(yValues[index])) {
-                            yValues[index] = yMin;
-                        }
-                    }
-                } else {
-                    // experimental transform euclidean to polar coordinates
+        private void computeScreenCoordinates(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
+                final int dataMin, final int dataMax) {
+            // bulk-copy the raw data into the screen coordinate buffers (N.B.
+            // buffer index = data index - indexMin) and transform them in
+            // place via the axes' bulk transforms -> avoids the per-point
+            // getX(i)/getY(i)/getYError..(i) and getDisplayPosition(..)
+            // interface dispatch
+            final int min = dataMin - indexMin;
+            final int max = dataMax - indexMin;
+            final int length = max - min;
+            dataSet.getXValues(dataMin, dataMax, xValues, min);
+            dataSet.getYValues(dataMin, dataMax, yValues, min);
 
-                    for (int index = min; index < max; index++) {
-                        final double x = dataSet.getX(index);
-                        final double y = dataSet.getY(index);
-                        // check if error should be surrounded by Math.abs(..)
-                        // to ensure that they are always positive
-                        final double phi = x * ErrorDataSetRenderer.DEG_TO_RAD;
-                        final double r = maxRadius * Math.abs(1 - yAxis.getDisplayPosition(y) / yRange);
-                        xValues[index] = xZero + r * Math.cos(phi);
-                        yValues[index] = yZero + r * Math.sin(phi);
+            if (polarPlot) {
+                // experimental transform euclidean to polar coordinates
+                computePolarScreenCoordinates(yAxis, min, max);
+                return;
+            }
 
-                        if (!Double.isFinite(yValues[index])) {
-                            yValues[index] = yZero;
-                        }
+            switch (errorType) {
+            case NO_ERROR: // no error attached
+                xAxis.getDisplayPositions(xValues, min, xValues, min, length);
+                yAxis.getDisplayPositions(yValues, min, yValues, min, length);
+                for (int index = min; index < max; index++) {
+                    if (!Double.isFinite(yValues[index])) {
+                        yValues[index] = yMin;
                     }
                 }
-
                 return;
             case Y: // only symmetric errors around y
             case Y_ASYMMETRIC: // asymmetric errors around y
-                if (!polarPlot) {
-                    if (dataSet instanceof DataSetError) {
-                        final DataSetError ds = (DataSetError) dataSet;
-
-                        for (int index = min; index < max; index++) {
-                            final double x = dataSet.getX(index);
-                            final double y = dataSet.getY(index);
-                            // check if error should be surrounded by
-                            // Math.abs(..)
-                            // to ensure that they are always positive
-                            xValues[index] = xAxis.getDisplayPosition(x);
-                            yValues[index] = yAxis.getDisplayPosition(y);
-                            if (Double.isFinite(yValues[index])) {
-                                errorYNeg[index] = yAxis.getDisplayPosition(y - ds.getYErrorNegative(index));
-                                errorYPos[index] = yAxis.getDisplayPosition(y + ds.getYErrorPositive(index));
-                            } else {
-                                yValues[index] = yMin;
-                                errorYNeg[index] = yMin;
-                                errorYPos[index] = yMin;
-                            }
-                        }
-                        return;
-                    }
-
-                    // default dataset
+                if (dataSet instanceof DataSetError) {
+                    final DataSetError ds = (DataSetError) dataSet;
+                    ds.getYErrorsNegative(dataMin, dataMax, errorYNeg, min);
+                    ds.getYErrorsPositive(dataMin, dataMax, errorYPos, min);
+                    // check if error should be surrounded by Math.abs(..)
+                    // to ensure that they are always positive
+                    toErrorBounds(yValues, errorYNeg, errorYPos, min, max);
+
+                    xAxis.getDisplayPositions(xValues, min, xValues, min, length);
+                    yAxis.getDisplayPositions(yValues, min, yValues, min, length);
+                    yAxis.getDisplayPositions(errorYNeg, min, errorYNeg, min, length);
+                    yAxis.getDisplayPositions(errorYPos, min, errorYPos, min, length);
                     for (int index = min; index < max; index++) {
-                        final double x = dataSet.getX(index);
-                        final double y = dataSet.getY(index);
-                        // check if error should be surrounded by Math.abs(..)
-                        // to ensure that they are always positive
-                        xValues[index] = xAxis.getDisplayPosition(x);
-                        yValues[index] = yAxis.getDisplayPosition(y);
-
-                        if (!Double.isFinite(xValues[index])) {
-                            xValues[index] = xMin;
-                        }
-                        if (Double.isFinite(yValues[index])) {
-                            errorYNeg[index] = yValues[index];
-                            errorYPos[index] = yValues[index];
-                        } else {
+                        if (!Double.isFinite(yValues[index])) {
                             yValues[index] = yMin;
                             errorYNeg[index] = yMin;
                             errorYPos[index] = yMin;
                         }
                     }
-                } else {
-                    for (int index = min; index < max; index++) {
-                        final double x = dataSet.getX(index);
-                        final double y = dataSet.getY(index);
-                        // check if error should be surrounded by Math.abs(..)
-                        // to ensure that they are always positive
-                        final double phi = x * ErrorDataSetRenderer.DEG_TO_RAD;
-                        final double r = maxRadius * Math.abs(1 - yAxis.getDisplayPosition(y) / yRange);
-                        xValues[index] = xZero + r * Math.cos(phi);
-                        yValues[index] = yZero + r * Math.sin(phi);
-
-                        // ignore errors (for now) -> TODO: add proper
-                        // transformation
-                        errorXNeg[index] = 0.0;
-                        errorXPos[index] = 0.0;
-                        errorYNeg[index] = 0.0;
-                        errorYPos[index] = 0.0;
+                    return;
+                }
 
-                        if (!Double.isFinite(yValues[index])) {
-                            yValues[index] = yZero;
-                        }
+                // default dataset
+                xAxis.getDisplayPositions(xValues, min, xValues, min, length);
+                yAxis.getDisplayPositions(yValues, min, yValues, min, length);
+                for (int index = min; index < max; index++) {
+                    if (!Double.isFinite(xValues[index])) {
+                        xValues[index] = xMin;
+                    }
+                    if (Double.isFinite(yValues[index])) {
+                        errorYNeg[index] = yValues[index];
+                        errorYPos[index] = yValues[index];
+                    } else {
+                        yValues[index] = yMin;
+                        errorYNeg[index] = yMin;
+                        errorYPos[index] = yMin;
                     }
                 }
                 return;
@@ -1134,60 +1345,202 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
                             + dataSet.getName() + " errorType = " + errorType);
                 }
                 final DataSetError ds = (DataSetError) dataSet;
+                ds.getXErrorsNegative(dataMin, dataMax, errorXNeg, min);
+                ds.getXErrorsPositive(dataMin, dataMax, errorXPos, min);
+                ds.getYErrorsNegative(dataMin, dataMax, errorYNeg, min);
+                ds.getYErrorsPositive(dataMin, dataMax, errorYPos, min);
+                // check if error should be surrounded by Math.abs(..) to
+                // ensure that they are always positive
+                toErrorBounds(xValues, errorXNeg, errorXPos, min, max);
+                toErrorBounds(yValues, errorYNeg, errorYPos, min, max);
+
+                xAxis.getDisplayPositions(xValues, min, xValues, min, length);
+                xAxis.getDisplayPositions(errorXNeg, min, errorXNeg, min, length);
+                xAxis.getDisplayPositions(errorXPos, min, errorXPos, min, length);
+                yAxis.getDisplayPositions(yValues, min, yValues, min, length);
+                yAxis.getDisplayPositions(errorYNeg, min, errorYNeg, min, length);
+                yAxis.getDisplayPositions(errorYPos, min, errorYPos, min, length);
+                for (int index = min; index < max; index++) {
+                    if (!Double.isFinite(xValues[index])) {
+                        xValues[index] = xMin;
+                        errorXNeg[index] = xMin;
+                        errorXPos[index] = xMin;
+                    }
+                    if (!Double.isFinite(yValues[index])) {
+                        yValues[index] = yMin;
+                        errorYNeg[index] = yMin;
+                        errorYPos[index] = yMin;
+                    }
+                }
+                return;
+            }
+        }
 
-                if (!polarPlot) {
-                    for (int index = min; index < max; index++) {
-                        final double x = dataSet.getX(index);
-                        final double y = dataSet.getY(index);
-                        // check if error should be surrounded by
-                        // Math.abs(..) to ensure that they are always positive
-                        xValues[index] = xAxis.getDisplayPosition(x);
-                        yValues[index] = yAxis.getDisplayPosition(y);
-
-                        if (Double.isFinite(xValues[index])) {
-                            errorXNeg[index] = xAxis.getDisplayPosition(x - ds.getXErrorNegative(index));
-                            errorXPos[index] = xAxis.getDisplayPosition(x + ds.getXErrorPositive(index));
-                        } else {
-                            xValues[index] = xMin;
-                            errorXNeg[index] = xMin;
-                            errorXPos[index] = xMin;
-                        }
+        /**
+         * converts the negative and positive errors into the absolute lower and upper error bounds (in place)
+         */
+        private void toErrorBounds(final double[] values, final double[] errorNeg, final double[] errorPos,
+                final int min, final int max) {
+            for (int index = min; index < max; index++) {
+                final double value = values[index];
+                errorNeg[index] = value - errorNeg[index];
+                errorPos[index] = value + errorPos[index];
+            }
+        }
 
-                        if (Double.isFinite(yValues[index])) {
-                            errorYNeg[index] = yAxis.getDisplayPosition(y - ds.getYErrorNegative(index));
-                            errorYPos[index] = yAxis.getDisplayPosition(y + ds.getYErrorPositive(index));
-                        } else {
-                            yValues[index] = yMin;
-                            errorYNeg[index] = yMin;
-                            errorYPos[index] = yMin;
-                        }
-                    }
-                } else {
-                    for (int index = min; index < max; index++) {
-                        final double x = dataSet.getX(index);
-                        final double y = dataSet.getY(index);
-                        // check if error should be surrounded by Math.abs(..)
-                        // to ensure that they are always positive
-                        final double phi = x * ErrorDataSetRenderer.DEG_TO_RAD;
-                        final double r = maxRadius * Math.abs(1 - yAxis.getDisplayPosition(y) / yRange);
-                        // double r = maxRadius * Math.abs(-y /
-                        // (dataSet.getYMax()-dataSet.getYMin()));
-                        xValues[index] = xZero + r * Math.cos(phi);
-                        yValues[index] = yZero + r * Math.sin(phi);
-
-                        // ignore errors (for now) -> TODO: add proper
-                        // transformation
-                        errorXNeg[index] = 0.0;
-                        errorXPos[index] = 0.0;
-                        errorYNeg[index] = 0.0;
-                        errorYPos[index] = 0.0;
+        private boolean isStreamingReductionApplicable(final int length) {
+            if (!isStreamingReduction() || !isReducePoints() || polarPlot || length < getMinRequiredReductionSize()) {
+                return false;
+            }
+            switch (errorType) {
+            case NO_ERROR:
+            case Y:
+            case Y_ASYMMETRIC:
+                return true;
+            default:
+                return false;
+            }
+        }
 
-                        if (!Double.isFinite(yValues[index])) {
-                            yValues[index] = yZero;
-                        }
+        /**
+         * fused transform+reduce path: bins the data points into (1 pixel wide) columns directly from their data
+         * coordinates -- using the affine relation of the screen coordinate to 'x' (linear axis) or 'ln(x)'
+         * (logarithmic axis) -- and transforms only the first, minimum, maximum and last data point of each column.
+         * The y-errors of the kept points are replaced by the y-error envelope of the column.
+         *
+         * @return {@code false} if the x-axis transform is neither linear nor logarithmic (N.B. nothing has been
+         *         computed in this case)
+         */
+        private boolean computeStreamingReducedScreenCoordinates(final Axis xAxis, final Axis yAxis,
+                final DataSet dataSet, final int dataMin, final int dataMax) {
+            // screen coordinate = offset + slope * f(x) with f = identity or ln
+            final boolean logX = xAxis.isLogAxis();
+            final double axisLower = xAxis.getLowerBound();
+            final double axisUpper = xAxis.getUpperBound();
+            final double f0 = logX ? Math.log(axisLower) : axisLower;
+            final double f1 = logX ? Math.log(axisUpper) : axisUpper;
+            final double p0 = xAxis.getDisplayPosition(axisLower);
+            final double slope = (xAxis.getDisplayPosition(axisUpper) - p0) / (f1 - f0);
+            final double offset = p0 - slope * f0;
+            final double probe = logX ? Math.sqrt(axisLower * axisUpper) : 0.5 * (axisLower + axisUpper);
+            final double fProbe = logX ? Math.log(probe) : probe;
+            if (!Double.isFinite(slope) || !Double.isFinite(offset) || slope == 0
+                    || Math.abs(offset + slope * fProbe - xAxis.getDisplayPosition(probe)) > 0.5) {
+                // not an affine function of x or ln(x)
+                return false;
+            }
+
+            final int n = dataMax - dataMin;
+            final double[] x = xValues;
+            final double[] y = yValues;
+            dataSet.getXValues(dataMin, dataMax, x, 0);
+            dataSet.getYValues(dataMin, dataMax, y, 0);
+            final boolean hasErrors = errorType != ErrorType.NO_ERROR && dataSet instanceof DataSetError;
+            if (hasErrors) {
+                ((DataSetError) dataSet).getYErrorsNegative(dataMin, dataMax, errorYNeg, 0);
+                ((DataSetError) dataSet).getYErrorsPositive(dataMin, dataMax, errorYPos, 0);
+            }
+
+            int count = 0;
+            int first = 0;
+            long currentColumn = (long) Math.floor(offset + slope * (logX ? Math.log(x[0]) : x[0]));
+            for (int i = 1; i <= n; i++) {
+                if (i < n) {
+                    final long column = (long) Math.floor(offset + slope * (logX ? Math.log(x[i]) : x[i]));
+                    if (column == currentColumn) {
+                        continue;
                     }
+                    currentColumn = column;
+                }
+                // column [first, i) complete: extrema and y-error envelope in data coordinates
+                final int last = i - 1;
+                int iMin = first;
+                int iMax = first;
+                double low = Double.POSITIVE_INFINITY;
+                double high = Double.NEGATIVE_INFINITY;
+                for (int j = first; j <= last; j++) {
+                    final double value = y[j];
+                    if (value < y[iMin] || Double.isNaN(y[iMin])) {
+                        iMin = j;
+                    }
+                    if (value > y[iMax] || Double.isNaN(y[iMax])) {
+                        iMax = j;
+                    }
+                    if (hasErrors) {
+                        // N.B. comparisons skip non-finite samples
+                        final double valueLow = value - errorYNeg[j];
+                        final double valueHigh = value + errorYPos[j];
+                        low = valueLow < low ? valueLow : low;
+                        high = valueHigh > high ? valueHigh : high;
+                    }
+                }
+                if (!hasErrors) {
+                    low = y[iMin];
+                    high = y[iMax];
+                }
+                final double lowPosition = yAxis.getDisplayPosition(low);
+                final double highPosition = yAxis.getDisplayPosition(high);
+                final double envelopeNeg = Double.isFinite(lowPosition) ? lowPosition : yMin;
+                final double envelopePos = Double.isFinite(highPosition) ? highPosition : yMin;
+
+                // emit first, min, max, last in their original order (N.B. count <= first, i.e. in-place safe)
+                final int lower = Math.min(iMin, iMax);
+                final int upper = Math.max(iMin, iMax);
+                count = emitStreamingReduced(xAxis, yAxis, first, count, envelopeNeg, envelopePos);
+                if (lower != first) {
+                    count = emitStreamingReduced(xAxis, yAxis, lower, count, envelopeNeg, envelopePos);
+                }
+                if (upper != lower && upper != first) {
+                    count = emitStreamingReduced(xAxis, yAxis, upper, count, envelopeNeg, envelopePos);
+                }
+                if (last != upper && last != first) {
+                    count = emitStreamingReduced(xAxis, yAxis, last, count, envelopeNeg, envelopePos);
+                }
+                first = i;
+            }
+            actualDataCount = count;
+            streamingReduced = true;
+            return true;
+        }
+
+        private int emitStreamingReduced(final Axis xAxis, final Axis yAxis, final int from, final int to,
+                final double envelopeNeg, final double envelopePos) {
+            final double x = xAxis.getDisplayPosition(xValues[from]);
+            final double y = yAxis.getDisplayPosition(yValues[from]);
+            xValues[to] = Double.isFinite(x) ? x : xMin;
+            yValues[to] = Double.isFinite(y) ? y : yMin;
+            errorYNeg[to] = envelopeNeg;
+            errorYPos[to] = envelopePos;
+            return to + 1;
+        }
+
+        /**
+         * experimental transform of the (already bulk-copied) euclidean data coordinates to polar screen coordinates
+         */
+        private void computePolarScreenCoordinates(final Axis yAxis, final int min, final int max) {
+            final boolean hasErrors = errorType != ErrorType.NO_ERROR;
+            yAxis.getDisplayPositions(yValues, min, yValues, min, max - min);
+            for (int index = min; index < max; index++) {
+                final double x = xValues[index];
+                // check if error should be surrounded by Math.abs(..)
+                // to ensure that they are always positive
+                final double phi = x * ErrorDataSetRenderer.DEG_TO_RAD;
+                final double r = maxRadius * Math.abs(1 - yValues[index] / yRange);
+                xValues[index] = xZero + r * Math.cos(phi);
+                yValues[index] = yZero + r * Math.sin(phi);
+
+                if (hasErrors) {
+                    // ignore errors (for now) -> TODO: add proper
+                    // transformation
+                    errorXNeg[index] = 0.0;
+                    errorXPos[index] = 0.0;
+                    errorYNeg[index] = 0.0;
+                    errorYPos[index] = 0.0;
+                }
+
+                if (!Double.isFinite(yValues[index])) {
+                    yValues[index] = yZero;
                 }
-                return;
             }
         }
 
@@ -1207,32 +1560,19 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         protected void reduce() {
             final long startTimeStamp = ProcessingProfiler.getTimeStamp();
+            if (streamingReduced) {
+                // already reduced while computing the screen coordinates
+                minDataPointDistanceX();
+                ProcessingProfiler.getTimeDiff(startTimeStamp,
+                        String.format("streaming data reduction (from %d to %d)", indexMax - indexMin,
+                                actualDataCount));
+                return;
+            }
             actualDataCount = 1;
 
             if (!isReducePoints() || Math.abs(indexMax - indexMin) < getMinRequiredReductionSize()) {
+                // N.B. buffers are already aligned to the visible range
                 actualDataCount = indexMax - indexMin;
-                System.arraycopy(xValues, indexMin, xValues, 0, actualDataCount);
-                System.arraycopy(yValues, indexMin, yValues, 0, actualDataCount);
-                System.arraycopy(selected, indexMin, selected, 0, actualDataCount);
-                switch (errorType) {
-                case NO_ERROR: // no error attached
-                    break;
-                case Y: // only symmetric errors around y
-                case Y_ASYMMETRIC: // asymmetric errors around y
-                    System.arraycopy(errorYNeg, indexMin, errorYNeg, 0, actualDataCount);
-                    System.arraycopy(errorYPos, indexMin, errorYPos, 0, actualDataCount);
-                    break;
-                case XY: // symmetric errors around x and y
-                case X: // only symmetric errors around x
-                case X_ASYMMETRIC: // asymmetric errors around x
-                default:
-                    System.arraycopy(errorXNeg, indexMin, errorXNeg, 0, actualDataCount);
-                    System.arraycopy(errorXPos, indexMin, errorXPos, 0, actualDataCount);
-                    System.arraycopy(errorYNeg, indexMin, errorYNeg, 0, actualDataCount);
-                    System.arraycopy(errorYPos, indexMin, errorYPos, 0, actualDataCount);
-                    break;
-                }
-
                 ProcessingProfiler.getTimeDiff(startTimeStamp,
                         String.format("no data reduction (%d)", actualDataCount));
                 return;
@@ -1248,14 +1588,14 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
             case NO_ERROR: // see comment above
             case Y:
                 actualDataCount = cruncher.reducePoints(xValues, yValues, null, null, errorYPos, errorYNeg, styles,
-                        selected, indexMin, indexMax);
+                        selected, 0, indexMax - indexMin);
                 minDataPointDistanceX();
                 break;
             case X:
             case XY:
             default:
                 actualDataCount = cruncher.reducePoints(xValues, yValues, errorXPos, errorXNeg, errorYPos, errorYNeg,
-                        styles, selected, indexMin, indexMax);
+                        styles, selected, 0, indexMax - indexMin);
 
                 minDataPointDistanceX();
                 break;
@@ -1263,21 +1603,22 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
             // ProcessingProfiler.getTimeDiff(startTimeStamp,
         }
 
-        @Override
-        protected void finalize() throws Throwable {
-            release();
-            super.finalize();
-        }
-
+        /**
+         * returns the buffers to the array pool
+         */
         public void release() {
-            cache.release("xValues", xValues);
-            cache.release("yValues", yValues);
-            cache.release("errorYNeg", errorYNeg);
-            cache.release("errorYPos", errorYPos);
-            cache.release("errorXNeg", errorXNeg);
-            cache.release("errorXPos", errorXPos);
-            cache.release("selected", selected);
-            cache.release("styles", styles);
+            cache.release(xValues);
+            cache.release(yValues);
+            cache.release(errorYNeg);
+            cache.release(errorYPos);
+            cache.release(errorXNeg);
+            cache.release(errorXPos);
+            cache.release(selected);
+            cache.release(styles);
+            xValues = yValues = errorYNeg = errorYPos = errorXNeg = errorXPos = null;
+            selected = null;
+            styles = null;
+            capacity = 0;
         }
     }
 
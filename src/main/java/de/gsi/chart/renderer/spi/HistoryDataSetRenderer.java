@@ -4,7 +4,9 @@ import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,13 +21,22 @@ import de.gsi.chart.renderer.Renderer;
 import de.gsi.chart.utils.FXUtilities;
 import de.gsi.chart.utils.ProcessingProfiler;
 import de.gsi.chart.utils.StyleParser;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
 import javafx.scene.canvas.GraphicsContext;
 
 /**
  * Renders the data set with the pre-described
+ * <p>
+ * By default, the history is kept as deep copies of the data sets that are drawn by dependent renderers. Alternatively
+ * (see {@link #screenSpaceHistoryProperty()}), the history is kept as a ring of the past frames' (reduced) screen
+ * coordinates that are re-drawn with decaying opacity, i.e. no data set copies, style rewrites or FX thread
+ * round-trips and the history depth costs O(depth * pixels) rather than O(depth * data size). N.B. the screen-space
+ * history is cleared if the axis ranges or sizes change.
  *
  * @author R.J. Steinhagen
  */
@@ -37,6 +48,13 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
     protected final ObservableList<DataSet> chartDataSetsCopy = FXCollections.observableArrayList();
     protected final ObservableList<ErrorDataSetRenderer> renderers = FXCollections.observableArrayList();
     protected boolean itself = false;
+    private final int historyDepth;
+    private final BooleanProperty screenSpaceHistory = new SimpleBooleanProperty(this, "screenSpaceHistory", false);
+    // screen-space history: ring of past frames per data set
+    private final Map<DataSet, ScreenHistory> screenHistory = new WeakHashMap<>();
+    private final AtomicBoolean shiftRequested = new AtomicBoolean();
+    private final double[] screenHistoryAxisState = new double[6];
+    private boolean shiftPending;
 
     public HistoryDataSetRenderer() {
         this(HistoryDataSetRenderer.DEFAULT_HISTORY_DEPTH);
@@ -49,6 +67,8 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
             throw new IllegalArgumentException(
                     String.format("historyDepth=='%d' should be larger than '0'", historyDepth));
         }
+        this.historyDepth = historyDepth;
+        screenSpaceHistory.addListener((ch, o, n) -> clearScreenHistory());
 
         for (int i = 0; i < historyDepth; i++) {
             final ErrorDataSetRenderer newRenderer = new ErrorDataSetRenderer();
@@ -119,6 +139,28 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
         return retVal;
     }
 
+    /**
+     * @return {@code true}: the history is kept as (reduced) screen coordinates of the past frames rather than as data
+     *         set copies
+     */
+    public BooleanProperty screenSpaceHistoryProperty() {
+        return screenSpaceHistory;
+    }
+
+    public boolean isScreenSpaceHistory() {
+        return screenSpaceHistory.get();
+    }
+
+    /**
+     * @param state {@code true}: the history is kept as (reduced) screen coordinates of the past frames rather than as
+     *            data set copies
+     * @return itself (fluent design)
+     */
+    public HistoryDataSetRenderer setScreenSpaceHistory(final boolean state) {
+        screenSpaceHistory.set(state);
+        return this;
+    }
+
     @Override
     public void render(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
             final ObservableList<DataSet> datasets) {
@@ -127,6 +169,11 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
             throw new InvalidParameterException(
                     "must be derivative of XYChart for renderer - " + this.getClass().getSimpleName());
         }
+        if (isScreenSpaceHistory()) {
+            renderScreenHistory(gc, chart, dataSetOffset, datasets);
+            ProcessingProfiler.getTimeDiff(start);
+            return;
+        }
         // add local datasets from upstream chart if not already present
         final ObservableList<DataSet> localList = FXCollections.observableArrayList();
         for (final DataSet set : datasets) {
@@ -156,6 +203,79 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
         ProcessingProfiler.getTimeDiff(start);
     }
 
+    private void renderScreenHistory(final GraphicsContext gc, final Chart chart, final int dataSetOffset,
+            final ObservableList<DataSet> datasets) {
+        synchronized (screenHistory) {
+            if (axisStateChanged()) {
+                clearScreenHistory();
+            }
+
+            // past frames (oldest first) with decaying opacity
+            for (final ScreenHistory history : screenHistory.values()) {
+                for (int age = history.size - 1; age >= 0; age--) {
+                    gc.save();
+                    gc.setGlobalAlpha(Math.pow(getIntensityFading(), age + 2.0));
+                    drawChartCompontents(gc, history.get(age));
+                    gc.restore();
+                }
+            }
+
+            // current frame, retained by 'dataSetDrawn(..)' if a shift has been requested
+            shiftPending = historyDepth > 0 && shiftRequested.getAndSet(false);
+            try {
+                super.render(gc, chart, dataSetOffset, datasets);
+            } finally {
+                shiftPending = false;
+            }
+
+            // drop the history of data sets that are no longer rendered
+            screenHistory.entrySet().removeIf(entry -> {
+                if (datasets.contains(entry.getKey()) || getDatasets().contains(entry.getKey())) {
+                    return false;
+                }
+                entry.getValue().release();
+                return true;
+            });
+        }
+    }
+
+    @Override
+    protected void dataSetDrawn(final DataSet dataSet, final CachedDataPoints localCachedPoints) {
+        if (!shiftPending) {
+            return;
+        }
+        screenHistory.computeIfAbsent(dataSet, ds -> new ScreenHistory()).push(localCachedPoints);
+    }
+
+    /**
+     * @return {@code true} if the axis ranges or sizes changed since the last call, i.e. the retained screen
+     *         coordinates are invalid
+     */
+    private boolean axisStateChanged() {
+        final Axis xAxis = getFirstAxis(Orientation.HORIZONTAL);
+        final Axis yAxis = getFirstAxis(Orientation.VERTICAL);
+        if (xAxis == null || yAxis == null) {
+            return true;
+        }
+        final double[] state = { xAxis.getLowerBound(), xAxis.getUpperBound(), xAxis.getWidth(),
+                yAxis.getLowerBound(), yAxis.getUpperBound(), yAxis.getHeight() };
+        boolean changed = false;
+        for (int i = 0; i < state.length; i++) {
+            if (state[i] != screenHistoryAxisState[i]) {
+                screenHistoryAxisState[i] = state[i];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void clearScreenHistory() {
+        synchronized (screenHistory) {
+            screenHistory.values().forEach(ScreenHistory::release);
+            screenHistory.clear();
+        }
+    }
+
     protected void modifyStyle(final DataSet dataSet, final int dataSetIndex) {
         // modify style and add dsIndex if there is not strokeColor or dsIndex
         // Marker
@@ -174,6 +294,11 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
     }
 
     public void shiftHistory() {
+        if (isScreenSpaceHistory()) {
+            // N.B. the current frame is retained during the next render pass
+            shiftRequested.set(true);
+            return;
+        }
         final int nRenderer = renderers.size();
         if (nRenderer <= 0) {
             return;
@@ -240,6 +365,7 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
      * clear renderer history
      */
     public void clearHistory() {
+        clearScreenHistory();
         for (final Renderer renderer : renderers) {
             try {
                 FXUtilities.runAndWait(() -> {
@@ -252,6 +378,41 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
         }
     }
 
+    /**
+     * ring of the (reduced) screen coordinates of the past frames of one data set
+     */
+    private final class ScreenHistory {
+        private final CachedDataPoints[] frames = new CachedDataPoints[historyDepth];
+        private int head = -1; // most recent frame
+        private int size;
+
+        private void push(final CachedDataPoints current) {
+            head = (head + 1) % frames.length;
+            if (frames[head] == null) {
+                frames[head] = new CachedDataPoints();
+            }
+            // N.B. re-uses the buffers of the oldest frame
+            frames[head].copyFrom(current);
+            size = Math.min(size + 1, frames.length);
+        }
+
+        /**
+         * @param age '0': most recent frame
+         */
+        private CachedDataPoints get(final int age) {
+            return frames[(head - age + frames.length) % frames.length];
+        }
+
+        private void release() {
+            for (final CachedDataPoints frame : frames) {
+                if (frame != null) {
+                    frame.release();
+                }
+            }
+            size = 0;
+        }
+    }
+
     private static String setLegendCounter(final String oldStyle, final int count) {
         final Map<String, String> map = StyleParser.splitIntoMap(oldStyle);
         map.put(XYChartCss.DATASET_INDEX, Integer.toString(count));
@@ -87,8 +87,8 @@ public class LabelledMarkerRenderer extends AbstractDataSetManagement<LabelledMa
             dataSet.lock();
 
             // check for potentially reduced data range we are supposed to plot
-            final int indexMin = Math.max(0, dataSet.getXIndex(xMin));
-            final int indexMax = Math.min(dataSet.getXIndex(xMax) + 1, dataSet.getDataCount());
+            final int indexMin = Math.max(0, dataSet.getXIndexLowerBound(xMin));
+            final int indexMax = Math.min(dataSet.getXIndexUpperBound(xMax), dataSet.getDataCount());
 
             // return if zero length data set
             if (indexMax - indexMin <= 0) {
@@ -8,6 +8,7 @@ import de.gsi.chart.axes.Axis;
 import de.gsi.chart.axes.spi.CategoryAxis;
 import de.gsi.chart.data.DataSet;
 import de.gsi.chart.renderer.Renderer;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
 import de.gsi.chart.utils.ProcessingProfiler;
 import javafx.collections.ObservableList;
 import javafx.scene.canvas.Canvas;
@@ -21,6 +22,7 @@ import javafx.scene.paint.Color;
 public class LineRenderer extends AbstractDataSetManagement<LineRenderer> implements Renderer {
 
     static private final Color[] COLORS = { Color.BLACK, Color.BLUE, Color.GREEN, Color.RED };
+    private final ArrayPool cache = ArrayPool.getDefault();
 
     /**
      * @return the instance of this LineRenderer.
@@ -67,22 +69,21 @@ public class LineRenderer extends AbstractDataSetManagement<LineRenderer> implem
 
                 if (dataset.getDataCount() > 0) {
                     gc.setStroke(LineRenderer.COLORS[index++ % 4]);
-                    int i = dataset.getXIndex(xmin);
-                    if (i < 0) {
-                        i = 0;
-                    }
-                    double x0 = xAxis.getDisplayPosition(dataset.getX(i));
-                    double y0 = yAxis.getDisplayPosition(dataset.getY(i));
-                    i++;
-                    final int maxIndex = Math.min(dataset.getXIndex(xmax) + 1, dataset.getDataCount());
-                    for (; i < maxIndex; i++) {
-                        final double x1 = xAxis.getDisplayPosition(dataset.getX(i));
-                        final double y1 = yAxis.getDisplayPosition(dataset.getY(i));
-                        gc.strokeLine(x0, y0, x1, y1);
-                        // System.out.println(x0+" "+y0+" -> "+x1+" "+y1);
-                        x0 = x1;
-                        y0 = y1;
+                    final int indexMin = Math.max(0, dataset.getXIndexLowerBound(xmin) - 1);
+                    final int indexMax = Math.min(dataset.getXIndexUpperBound(xmax) + 1, dataset.getDataCount());
+                    final int length = Math.max(0, indexMax - indexMin);
+                    // bulk copy of the visible range and bulk (in-place) transform into screen coordinates
+                    final double[] xValues = dataset.getXValues(indexMin, indexMin + length,
+                            cache.getDoubleArray(length), 0);
+                    final double[] yValues = dataset.getYValues(indexMin, indexMin + length,
+                            cache.getDoubleArray(length), 0);
+                    xAxis.getDisplayPositions(xValues, 0, xValues, 0, length);
+                    yAxis.getDisplayPositions(yValues, 0, yValues, 0, length);
+                    for (int i = 1; i < length; i++) {
+                        gc.strokeLine(xValues[i - 1], yValues[i - 1], xValues[i], yValues[i]);
                     }
+                    cache.release(xValues);
+                    cache.release(yValues);
                 }
             } finally {
                 dataset.unlock();
@@ -14,6 +14,7 @@ import de.gsi.chart.axes.Axis;
 import de.gsi.chart.axes.spi.CategoryAxis;
 import de.gsi.chart.data.DataSet;
 import de.gsi.chart.renderer.Renderer;
+import de.gsi.chart.renderer.spi.utils.ArrayPool;
 import de.gsi.chart.renderer.spi.utils.DefaultRenderColorScheme;
 import de.gsi.chart.utils.ProcessingProfiler;
 import javafx.collections.ObservableList;
@@ -28,6 +29,7 @@ import javafx.scene.canvas.GraphicsContext;
 public class ReducingLineRenderer extends AbstractDataSetManagement<ReducingLineRenderer> implements Renderer {
 
     private int maxPoints;
+    private final ArrayPool cache = ArrayPool.getDefault();
 
     //    static private final Color[] COLORS = { Color.BLACK, Color.BLUE, Color.GREEN, Color.RED };
 
@@ -98,40 +100,46 @@ public class ReducingLineRenderer extends AbstractDataSetManagement<ReducingLine
                 DefaultRenderColorScheme.setLineScheme(gc, dataset.getStyle(), index);
                 DefaultRenderColorScheme.setGraphicsContextAttributes(gc, dataset.getStyle());
                 if (dataset.getDataCount() > 0) {
+                    final int indexMin = Math.max(0, dataset.getXIndexLowerBound(xmin) - 1);
+                    final int indexMax = Math.min(dataset.getXIndexUpperBound(xmax) + 1, dataset.getDataCount());
+                    final int length = Math.max(0, indexMax - indexMin);
+                    // bulk copy of the visible range (avoids per-point interface dispatch)
+                    final double[] xValues = dataset.getXValues(indexMin, indexMin + length,
+                            cache.getDoubleArray(length), 0);
+                    final double[] yValues = dataset.getYValues(indexMin, indexMin + length,
+                            cache.getDoubleArray(length), 0);
+                    // bulk (in-place) transform into screen coordinates
+                    xAxis.getDisplayPositions(xValues, 0, xValues, 0, length);
+                    yAxis.getDisplayPositions(yValues, 0, yValues, 0, length);
+
                     final int n = dataset.getDataCount(xmin, xmax);
                     final int d = n / maxPoints;
-                    if (d <= 1) {
-                        int i = dataset.getXIndex(xmin);
-                        if (i < 0) {
-                            i = 0;
-                        }
-                        double x0 = xAxis.getDisplayPosition(dataset.getX(i));
-                        double y0 = yAxis.getDisplayPosition(dataset.getY(i));
+                    if (d <= 1 && length > 0) {
+                        int i = 0;
+                        double x0 = xValues[i];
+                        double y0 = yValues[i];
                         i++;
-                        for (; i < Math.min(dataset.getXIndex(xmax) + 1, dataset.getDataCount()); i++) {
-                            final double x1 = xAxis.getDisplayPosition(dataset.getX(i));
-                            final double y1 = yAxis.getDisplayPosition(dataset.getY(i));
+                        for (; i < length; i++) {
+                            final double x1 = xValues[i];
+                            final double y1 = yValues[i];
                             gc.strokeLine(x0, y0, x1, y1);
                             x0 = x1;
                             y0 = y1;
                         }
-                    } else {
-                        int i = dataset.getXIndex(xmin);
-                        if (i < 0) {
-                            i = 0;
-                        }
-                        double x0 = xAxis.getDisplayPosition(dataset.getX(i));
-                        double y0 = yAxis.getDisplayPosition(dataset.getY(i));
+                    } else if (length > 1) {
+                        int i = 0;
+                        double x0 = xValues[i];
+                        double y0 = yValues[i];
                         i++;
-                        double x1 = xAxis.getDisplayPosition(dataset.getX(i));
-                        double y1 = yAxis.getDisplayPosition(dataset.getY(i));
+                        double x1 = xValues[i];
+                        double y1 = yValues[i];
                         double delta = Math.abs(y1 - y0);
                         i++;
                         int j = d - 2;
-                        for (; i < Math.min(dataset.getXIndex(xmax) + 1, dataset.getDataCount()); i++) {
+                        for (; i < length; i++) {
                             if (j > 0) {
-                                final double x2 = xAxis.getDisplayPosition(dataset.getX(i));
-                                final double y2 = yAxis.getDisplayPosition(dataset.getY(i));
+                                final double x2 = xValues[i];
+                                final double y2 = yValues[i];
                                 if (Math.abs(y2 - y0) > delta) {
                                     x1 = x2;
                                     y1 = y2;
@@ -142,13 +150,15 @@ public class ReducingLineRenderer extends AbstractDataSetManagement<ReducingLine
                                 gc.strokeLine(x0, y0, x1, y1);
                                 x0 = x1;
                                 y0 = y1;
-                                x1 = xAxis.getDisplayPosition(dataset.getX(i));
-                                y1 = yAxis.getDisplayPosition(dataset.getY(i));
+                                x1 = xValues[i];
+                                y1 = yValues[i];
                                 delta = Math.abs(y1 - y0);
                                 j = d - 1;
                             }
                         }
                     }
+                    cache.release(xValues);
+                    cache.release(yValues);
                 }
                 gc.restore();
             } finally {
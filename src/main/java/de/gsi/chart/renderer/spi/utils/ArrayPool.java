@@ -0,0 +1,370 @@
+package de.gsi.chart.renderer.spi.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.gsi.chart.utils.AssertUtils;
+
+/**
+ * thread-safe pool of primitive (and String) arrays that are frequently needed as temporary buffers e.g. by renderers
+ * and data reducers.
+ * <p>
+ * Arrays are pooled in power-of-two size classes, i.e. the returned arrays may be larger than requested (callers must
+ * use the requested rather than the actual array length). The free lists are striped by thread to minimise lock
+ * contention. The number of bytes retained by the pool is limited: if released arrays exceed the budget, the least
+ * recently released arrays are evicted (and left to the garbage collector).
+ * <p>
+ * usage:
+ *
+ * <pre>
+ * final double[] buffer = ArrayPool.getDefault().getDoubleArray(n);
+ * try {
+ *     // ... use buffer[0, n) ...
+ * } finally {
+ *     ArrayPool.getDefault().release(buffer);
+ * }
+ * </pre>
+ *
+ * @author rstein
+ */
+public final class ArrayPool {
+    private static final long DEFAULT_MAX_RETAINED_BYTES = 64L << 20;
+    private static final ArrayPool DEFAULT_POOL = new ArrayPool(DEFAULT_MAX_RETAINED_BYTES);
+    private static final int N_SIZE_CLASSES = 31;
+    private static final int TYPE_DOUBLE = 0;
+    private static final int TYPE_INT = 1;
+    private static final int TYPE_BOOLEAN = 2;
+    private static final int TYPE_STRING = 3;
+    private static final int N_TYPES = 4;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private volatile long maxRetainedBytes;
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final LongAdder nHits = new LongAdder();
+    private final LongAdder nMisses = new LongAdder();
+    private final LongAdder nEvictions = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    /**
+     * @param maxRetainedBytes maximum number of bytes retained by the pool
+     */
+    public ArrayPool(final long maxRetainedBytes) {
+        AssertUtils.gtEqThanZero("maxRetainedBytes", maxRetainedBytes);
+        this.maxRetainedBytes = maxRetainedBytes;
+        final int nStripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        stripes = new Stripe[nStripes];
+        for (int i = 0; i < nStripes; i++) {
+            stripes[i] = new Stripe();
+        }
+        stripeMask = nStripes - 1;
+    }
+
+    /**
+     * @return the pool shared by the renderers and data reducers
+     */
+    public static ArrayPool getDefault() {
+        return DEFAULT_POOL;
+    }
+
+    public double[] getDoubleArray(final int minLength) {
+        final double[] array = (double[]) borrow(TYPE_DOUBLE, minLength);
+        return array == null ? new double[allocationLength(TYPE_DOUBLE, minLength)] : array;
+    }
+
+    public int[] getIntArray(final int minLength) {
+        final int[] array = (int[]) borrow(TYPE_INT, minLength);
+        return array == null ? new int[allocationLength(TYPE_INT, minLength)] : array;
+    }
+
+    public boolean[] getBooleanArray(final int minLength) {
+        final boolean[] array = (boolean[]) borrow(TYPE_BOOLEAN, minLength);
+        return array == null ? new boolean[allocationLength(TYPE_BOOLEAN, minLength)] : array;
+    }
+
+    /**
+     * @param minLength minimum array length
+     * @return array with at least the given length, all elements are {@code null}
+     */
+    public String[] getStringArray(final int minLength) {
+        final String[] array = (String[]) borrow(TYPE_STRING, minLength);
+        return array == null ? new String[allocationLength(TYPE_STRING, minLength)] : array;
+    }
+
+    public void release(final double[] array) {
+        if (array != null) {
+            giveBack(TYPE_DOUBLE, array, array.length);
+        }
+    }
+
+    public void release(final int[] array) {
+        if (array != null) {
+            giveBack(TYPE_INT, array, array.length);
+        }
+    }
+
+    public void release(final boolean[] array) {
+        if (array != null) {
+            giveBack(TYPE_BOOLEAN, array, array.length);
+        }
+    }
+
+    public void release(final String[] array) {
+        if (array != null) {
+            // N.B. do not retain references to the strings
+            Arrays.fill(array, null);
+            giveBack(TYPE_STRING, array, array.length);
+        }
+    }
+
+    /**
+     * evicts all retained arrays
+     */
+    public void clear() {
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Node node = stripe.evictOldest(); node != null; node = stripe.evictOldest()) {
+                    retainedBytes.addAndGet(-node.bytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param maxBytes maximum number of bytes retained by the pool
+     */
+    public void setMaxRetainedBytes(final long maxBytes) {
+        AssertUtils.gtEqThanZero("maxBytes", maxBytes);
+        maxRetainedBytes = maxBytes;
+        evictExcess(0);
+    }
+
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    /**
+     * @return number of bytes currently retained by the pool
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    /**
+     * @return number of requests served by a pooled array
+     */
+    public long getHitCount() {
+        return nHits.sum();
+    }
+
+    /**
+     * @return number of requests that required a new allocation
+     */
+    public long getMissCount() {
+        return nMisses.sum();
+    }
+
+    /**
+     * @return number of released arrays that have been dropped due to the retained byte budget
+     */
+    public long getEvictionCount() {
+        return nEvictions.sum();
+    }
+
+    /**
+     * @return number of bytes allocated due to misses
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * resets the hit/miss/eviction/allocation counters
+     */
+    public void resetCounters() {
+        nHits.reset();
+        nMisses.reset();
+        nEvictions.reset();
+        allocatedBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayPool [hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions="
+                + getEvictionCount() + ", retainedBytes=" + getRetainedBytes() + ", allocatedBytes="
+                + getAllocatedBytes() + "]";
+    }
+
+    private Object borrow(final int type, final int minLength) {
+        AssertUtils.gtEqThanZero("minLength", minLength);
+        final int sizeClass = ceilSizeClass(minLength);
+        if (sizeClass < N_SIZE_CLASSES) {
+            final int home = stripeIndex();
+            for (int i = 0; i < stripes.length; i++) {
+                final Stripe stripe = stripes[(home + i) & stripeMask];
+                final Node node;
+                synchronized (stripe) {
+                    node = stripe.poll(type, sizeClass);
+                }
+                if (node != null) {
+                    retainedBytes.addAndGet(-node.bytes);
+                    nHits.increment();
+                    return node.array;
+                }
+            }
+        }
+        nMisses.increment();
+        return null;
+    }
+
+    private int allocationLength(final int type, final int minLength) {
+        final int sizeClass = ceilSizeClass(minLength);
+        final int length = sizeClass < N_SIZE_CLASSES ? 1 << sizeClass : minLength;
+        allocatedBytes.add(byteSize(type, length));
+        return length;
+    }
+
+    private void giveBack(final int type, final Object array, final int length) {
+        if (length == 0) {
+            return;
+        }
+        final long bytes = byteSize(type, length);
+        if (bytes > maxRetainedBytes) {
+            nEvictions.increment();
+            return;
+        }
+        // N.B. floor: the array satisfies all requests of its size class
+        final int sizeClass = Math.min(N_SIZE_CLASSES - 1, 31 - Integer.numberOfLeadingZeros(length));
+        final Stripe stripe = stripes[stripeIndex()];
+        synchronized (stripe) {
+            stripe.push(new Node(array, type, sizeClass, bytes));
+        }
+        retainedBytes.addAndGet(bytes);
+        evictExcess(stripeIndex());
+    }
+
+    private void evictExcess(final int home) {
+        for (int i = 0; i < stripes.length && retainedBytes.get() > maxRetainedBytes; i++) {
+            final Stripe stripe = stripes[(home + i) & stripeMask];
+            synchronized (stripe) {
+                while (retainedBytes.get() > maxRetainedBytes) {
+                    final Node node = stripe.evictOldest();
+                    if (node == null) {
+                        break;
+                    }
+                    retainedBytes.addAndGet(-node.bytes);
+                    nEvictions.increment();
+                }
+            }
+        }
+    }
+
+    private int stripeIndex() {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ id >>> 16) & stripeMask;
+    }
+
+    private static int ceilSizeClass(final int length) {
+        return length <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1);
+    }
+
+    private static long byteSize(final int type, final int length) {
+        switch (type) {
+        case TYPE_DOUBLE:
+            return ARRAY_HEADER_BYTES + 8L * length;
+        case TYPE_INT:
+            return ARRAY_HEADER_BYTES + 4L * length;
+        case TYPE_BOOLEAN:
+            return ARRAY_HEADER_BYTES + (long) length;
+        case TYPE_STRING:
+        default:
+            return ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * length;
+        }
+    }
+
+    private static final class Node {
+        private final Object array;
+        private final int bucket;
+        private final long bytes;
+        // free list of the same type and size class (most recently released first)
+        private Node bucketPrev;
+        private Node bucketNext;
+        // release order across all free lists of the stripe
+        private Node lruPrev;
+        private Node lruNext;
+
+        private Node(final Object array, final int type, final int sizeClass, final long bytes) {
+            this.array = array;
+            bucket = type * N_SIZE_CLASSES + sizeClass;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * free lists of one stripe (N.B. guarded by the stripe's monitor)
+     */
+    private static final class Stripe {
+        private final Node[] buckets = new Node[N_TYPES * N_SIZE_CLASSES];
+        private Node newest;
+        private Node oldest;
+
+        private void push(final Node node) {
+            final Node head = buckets[node.bucket];
+            node.bucketNext = head;
+            if (head != null) {
+                head.bucketPrev = node;
+            }
+            buckets[node.bucket] = node;
+
+            node.lruNext = newest;
+            if (newest != null) {
+                newest.lruPrev = node;
+            }
+            newest = node;
+            if (oldest == null) {
+                oldest = node;
+            }
+        }
+
+        private Node poll(final int type, final int sizeClass) {
+            final Node node = buckets[type * N_SIZE_CLASSES + sizeClass];
+            if (node != null) {
+                unlink(node);
+            }
+            return node;
+        }
+
+        private Node evictOldest() {
+            final Node node = oldest;
+            if (node != null) {
+                unlink(node);
+            }
+            return node;
+        }
+
+        private void unlink(final Node node) {
+            if (node.bucketPrev == null) {
+                buckets[node.bucket] = node.bucketNext;
+            } else {
+                node.bucketPrev.bucketNext = node.bucketNext;
+            }
+            if (node.bucketNext != null) {
+                node.bucketNext.bucketPrev = node.bucketPrev;
+            }
+
+            if (node.lruPrev == null) {
+                newest = node.lruNext;
+            } else {
+                node.lruPrev.lruNext = node.lruNext;
+            }
+            if (node.lruNext == null) {
+                oldest = node.lruPrev;
+            } else {
+                node.lruNext.lruPrev = node.lruPrev;
+            }
+            node.bucketPrev = node.bucketNext = node.lruPrev = node.lruNext = null;
+        }
+    }
+}
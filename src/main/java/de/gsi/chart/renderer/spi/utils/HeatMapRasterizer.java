@@ -0,0 +1,212 @@
+package de.gsi.chart.renderer.spi.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.gsi.chart.axes.AxisTransform;
+import de.gsi.chart.data.DataSet3D;
+import de.gsi.chart.utils.AssertUtils;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Stop;
+
+/**
+ * rasterizes the z values of a {@link DataSet3D} into an int ARGB (pre-multiplied alpha) pixel buffer that can be
+ * pushed with a single {@code PixelWriter.setPixels(..., PixelFormat.getIntArgbPreInstance(), ...)} call.
+ * <p>
+ * The z values are mapped to colours via a lookup table that is precomputed from the {@link ColorGradient} for each
+ * quantisation level (and cached until the gradient or number of levels changes), i.e. no per-pixel colour
+ * interpolation or {@link Color} objects. Each z value is fetched once per data cell and the cell colour is replicated
+ * horizontally and -- via row copies -- vertically. Large maps are rasterized concurrently in row strips.
+ *
+ * @author rstein
+ */
+public class HeatMapRasterizer {
+    private static final int N_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    // minimum number of data cells for the concurrent implementation
+    private static final int MIN_PARALLEL_CELLS = 1 << 16;
+    private static final ExecutorService executorService = Executors.newFixedThreadPool(N_THREADS, runnable -> {
+        final Thread thread = new Thread(runnable, "HeatMapRasterizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ColorGradient lookupGradient;
+    private int lookupLevels = -1;
+    private int[] lookupTable;
+    private boolean parallel = true;
+
+    /**
+     * @param state {@code true}: large maps are rasterized concurrently in row strips (default)
+     */
+    public void setParallel(final boolean state) {
+        parallel = state;
+    }
+
+    /**
+     * @return {@code true}: large maps are rasterized concurrently in row strips (default)
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * @param gradient the colour gradient
+     * @param nLevels number of quantisation levels
+     * @return lookup table with 'nLevels + 3' pre-multiplied ARGB colours: [0] below range, [1, nLevels + 1] the
+     *         quantised offsets k/nLevels, [nLevels + 2] above range
+     */
+    public int[] getLookupTable(final ColorGradient gradient, final int nLevels) {
+        AssertUtils.notNull("gradient", gradient);
+        AssertUtils.gtThanZero("nLevels", nLevels);
+        if (gradient != lookupGradient || nLevels != lookupLevels) {
+            final int[] table = new int[nLevels + 3];
+            for (int k = -1; k <= nLevels + 1; k++) {
+                table[k + 1] = toArgbPre(getColor(gradient, k / (double) nLevels));
+            }
+            lookupTable = table;
+            lookupGradient = gradient;
+            lookupLevels = nLevels;
+        }
+        return lookupTable;
+    }
+
+    /**
+     * rasterizes the data cells [indexXMin, indexXMax) x [indexYMin, indexYMax) whereby the highest y index is drawn
+     * in the top row, each cell covers scaleX x scaleY pixels
+     *
+     * @param dataSet source data
+     * @param indexXMin first x index (inclusive)
+     * @param indexXMax last x index (exclusive)
+     * @param indexYMin first y index (inclusive)
+     * @param indexYMax last y index (exclusive)
+     * @param axisTransform z axis transform
+     * @param zMin lower z range limit (untransformed)
+     * @param zMax upper z range limit (untransformed)
+     * @param zInverted {@code true}: inverted colour scale
+     * @param gradient colour gradient
+     * @param nLevels number of colour quantisation levels
+     * @param scaleX number of horizontal pixels per data cell
+     * @param scaleY number of vertical pixels per data cell
+     * @param pixels target buffer of at least (indexXMax - indexXMin) * scaleX * (indexYMax - indexYMin) * scaleY
+     *            pixels, scan-line stride: (indexXMax - indexXMin) * scaleX
+     * @return the target buffer (fluent design)
+     */
+    public int[] rasterize(final DataSet3D dataSet, final int indexXMin, final int indexXMax, final int indexYMin,
+            final int indexYMax, final AxisTransform axisTransform, final double zMin, final double zMax,
+            final boolean zInverted, final ColorGradient gradient, final int nLevels, final int scaleX,
+            final int scaleY, final int[] pixels) {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.indexOrder(indexXMin, "indexXMin", indexXMax, "indexXMax");
+        AssertUtils.indexOrder(indexYMin, "indexYMin", indexYMax, "indexYMax");
+        AssertUtils.gtThanZero("scaleX", scaleX);
+        AssertUtils.gtThanZero("scaleY", scaleY);
+        final int nCellsX = indexXMax - indexXMin;
+        final int nCellsY = indexYMax - indexYMin;
+        final int width = nCellsX * scaleX;
+        if (pixels.length < width * nCellsY * scaleY) {
+            throw new IllegalArgumentException("pixel buffer too small: " + pixels.length + " < " + width + " x "
+                    + nCellsY * scaleY);
+        }
+        final int[] table = getLookupTable(gradient, nLevels);
+        final double zMinTransformed = axisTransform.forward(zMin);
+        final double norm = 1.0 / (axisTransform.forward(zMax) - zMinTransformed);
+
+        final int nStrips = parallel && nCellsX * nCellsY >= MIN_PARALLEL_CELLS ? Math.min(nCellsY, 4 * N_THREADS)
+                : 1;
+        if (nStrips <= 1) {
+            rasterizeRows(dataSet, indexXMin, indexXMax, indexYMin, indexYMax, indexYMax, axisTransform,
+                    zMinTransformed, norm, zInverted, table, nLevels, scaleX, scaleY, pixels);
+            return pixels;
+        }
+
+        final List<Callable<Boolean>> workers = new ArrayList<>(nStrips);
+        for (int strip = 0; strip < nStrips; strip++) {
+            // N.B. strips of whole data cell rows, top (highest y index) first
+            final int stripMax = indexYMax - (int) ((long) nCellsY * strip / nStrips);
+            final int stripMin = indexYMax - (int) ((long) nCellsY * (strip + 1) / nStrips);
+            workers.add(() -> {
+                rasterizeRows(dataSet, indexXMin, indexXMax, stripMin, stripMax, indexYMax, axisTransform,
+                        zMinTransformed, norm, zInverted, table, nLevels, scaleX, scaleY, pixels);
+                return Boolean.TRUE;
+            });
+        }
+        try {
+            for (final Future<Boolean> future : executorService.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("one parallel worker thread finished execution with error", e);
+        }
+        return pixels;
+    }
+
+    private static void rasterizeRows(final DataSet3D dataSet, final int indexXMin, final int indexXMax,
+            final int rowMin, final int rowMax, final int indexYMax, final AxisTransform axisTransform,
+            final double zMinTransformed, final double norm, final boolean zInverted, final int[] table,
+            final int nLevels, final int scaleX, final int scaleY, final int[] pixels) {
+        final int width = (indexXMax - indexXMin) * scaleX;
+        for (int yIndex = rowMax - 1; yIndex >= rowMin; yIndex--) {
+            final int rowStart = (indexYMax - 1 - yIndex) * scaleY * width;
+            int pixel = rowStart;
+            for (int xIndex = indexXMin; xIndex < indexXMax; xIndex++) {
+                final double offset = (axisTransform.forward(dataSet.getZ(xIndex, yIndex)) - zMinTransformed) * norm;
+                // N.B. same rounding as the quantisation of the other contour types, NaN -> level '0'
+                final long level = Math.round((zInverted ? 1 - offset : offset) * nLevels);
+                final int color = table[level < 0 ? 0 : level > nLevels ? nLevels + 2 : (int) level + 1];
+                for (int dx = 0; dx < scaleX; dx++) {
+                    pixels[pixel++] = color;
+                }
+            }
+            // replicate the first pixel row of the data cell row
+            for (int dy = 1; dy < scaleY; dy++) {
+                System.arraycopy(pixels, rowStart, pixels, rowStart + dy * width, width);
+            }
+        }
+    }
+
+    /**
+     * @param gradient colour gradient
+     * @param offset normalised offset (nominally [0, 1])
+     * @return colour linearly interpolated between the adjacent stops of the gradient
+     */
+    public static Color getColor(final ColorGradient gradient, final double offset) {
+        double lowerOffset = 0.0;
+        double upperOffset = 1.0;
+        Color lowerColor = Color.TRANSPARENT;
+        Color upperColor = Color.TRANSPARENT;
+
+        for (final Stop stop : gradient.getStops()) {
+            final double currentOffset = stop.getOffset();
+            if (currentOffset == offset) {
+                return stop.getColor();
+            } else if (currentOffset < offset) {
+                lowerOffset = currentOffset;
+                lowerColor = stop.getColor();
+            } else {
+                upperOffset = currentOffset;
+                upperColor = stop.getColor();
+                break;
+            }
+        }
+
+        final double interpolationOffset = (offset - lowerOffset) / (upperOffset - lowerOffset);
+        return lowerColor.interpolate(upperColor, interpolationOffset);
+    }
+
+    /**
+     * @param color colour
+     * @return the colour as int ARGB with pre-multiplied alpha
+     */
+    public static int toArgbPre(final Color color) {
+        final double alpha = color.getOpacity();
+        final int a = (int) Math.round(alpha * 255);
+        final int r = (int) Math.round(color.getRed() * alpha * 255);
+        final int g = (int) Math.round(color.getGreen() * alpha * 255);
+        final int b = (int) Math.round(color.getBlue() * alpha * 255);
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+}
@@ -0,0 +1,161 @@
+package de.gsi.chart.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.application.Platform;
+
+/**
+ * coalesces invalidation notifications of one source (e.g. data set or chart) that may be fired at high rates from
+ * (non-)JavaFX threads into at most one pending dispatch on the JavaFX application thread.
+ * <p>
+ * Requests arriving while a dispatch is pending only set the 'dirty' flag and are merged into the pending dispatch
+ * (counted as 'coalesced'). Optionally, the dispatch rate can be limited: requests arriving within 1/maxRate of the
+ * previous dispatch are deferred to the end of the interval and merged (counted as 'dropped', i.e. notifications that
+ * would have been dispatched individually without the rate limit).
+ * <p>
+ * Requests on the JavaFX application thread are dispatched synchronously if neither a dispatch is pending nor the rate
+ * limit applies.
+ *
+ * @author rstein
+ */
+public class InvalidationCoalescer {
+    private static final ScheduledExecutorService DEFERRED_DISPATCHER = Executors
+            .newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "InvalidationCoalescer");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final int IDLE = 0;
+    private static final int PENDING = 1;
+    private static final int DEFERRED = 2; // pending, deferred by the rate limit
+    private final Runnable dispatchAction;
+    // N.B. 'pending' and 'deferred' are published together, i.e. merged requests are always counted correctly
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private volatile long minIntervalNanos;
+    private volatile long lastDispatch = Long.MIN_VALUE;
+    private final AtomicLong nRequested = new AtomicLong();
+    private final AtomicLong nDispatched = new AtomicLong();
+    private final AtomicLong nCoalesced = new AtomicLong();
+    private final AtomicLong nDropped = new AtomicLong();
+
+    /**
+     * @param dispatchAction the notification to be executed on the JavaFX application thread
+     */
+    public InvalidationCoalescer(final Runnable dispatchAction) {
+        AssertUtils.notNull("dispatchAction", dispatchAction);
+        this.dispatchAction = dispatchAction;
+    }
+
+    /**
+     * @param maxRate maximum number of dispatches per second, '0' (default) for no limit besides the coalescing of
+     *            notifications pending on the JavaFX application thread
+     * @return itself (fluent design)
+     */
+    public InvalidationCoalescer setMaxRate(final double maxRate) {
+        AssertUtils.gtEqThanZero("maxRate", maxRate);
+        minIntervalNanos = maxRate == 0 ? 0 : (long) (1e9 / maxRate);
+        return this;
+    }
+
+    /**
+     * @return maximum number of dispatches per second, '0' if unlimited
+     */
+    public double getMaxRate() {
+        final long interval = minIntervalNanos;
+        return interval == 0 ? 0 : 1e9 / interval;
+    }
+
+    /**
+     * requests a dispatch of the notification on the JavaFX application thread, may be called from any thread
+     */
+    public void request() {
+        nRequested.incrementAndGet();
+        final long delay = lastDispatch == Long.MIN_VALUE ? 0 : lastDispatch + minIntervalNanos - System.nanoTime();
+        final int newState = delay > 0 ? DEFERRED : PENDING;
+        while (!state.compareAndSet(IDLE, newState)) {
+            final int current = state.get();
+            if (current == IDLE) {
+                // dispatched in the meantime
+                continue;
+            }
+            // merged into the already pending dispatch
+            if (current == DEFERRED) {
+                nDropped.incrementAndGet();
+            } else {
+                nCoalesced.incrementAndGet();
+            }
+            return;
+        }
+
+        if (delay > 0) {
+            DEFERRED_DISPATCHER.schedule(() -> Platform.runLater(this::dispatch), delay, TimeUnit.NANOSECONDS);
+        } else if (Platform.isFxApplicationThread()) {
+            dispatch();
+        } else {
+            Platform.runLater(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        lastDispatch = System.nanoTime();
+        // N.B. cleared before the notification so that invalidations caused by the listeners are not lost
+        state.set(IDLE);
+        nDispatched.incrementAndGet();
+        dispatchAction.run();
+    }
+
+    /**
+     * @return {@code true} if a dispatch is pending
+     */
+    public boolean isPending() {
+        return state.get() != IDLE;
+    }
+
+    /**
+     * @return number of requested notifications
+     */
+    public long getRequestCount() {
+        return nRequested.get();
+    }
+
+    /**
+     * @return number of notifications dispatched on the JavaFX application thread
+     */
+    public long getDispatchCount() {
+        return nDispatched.get();
+    }
+
+    /**
+     * @return number of requests merged into an already pending dispatch
+     */
+    public long getCoalescedCount() {
+        return nCoalesced.get();
+    }
+
+    /**
+     * @return number of requests merged into a dispatch deferred by the rate limit
+     */
+    public long getDroppedCount() {
+        return nDropped.get();
+    }
+
+    /**
+     * resets all counters
+     */
+    public void resetCounters() {
+        nRequested.set(0);
+        nDispatched.set(0);
+        nCoalesced.set(0);
+        nDropped.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "InvalidationCoalescer [requested=" + getRequestCount() + ", dispatched=" + getDispatchCount()
+                + ", coalesced=" + getCoalescedCount() + ", dropped=" + getDroppedCount() + "]";
+    }
+}
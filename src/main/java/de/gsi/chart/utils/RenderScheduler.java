@@ -0,0 +1,261 @@
+package de.gsi.chart.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.gsi.chart.Chart;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * pulse-based render scheduler that collects dirty charts (e.g. due to data set updates) and releases their re-drawing
+ * on the next JavaFX pulse, i.e. each chart is re-drawn at most once per pulse irrespective of how many of its data
+ * sets have been updated in the meantime.
+ * <p>
+ * The scheduler runs an {@link AnimationTimer} only while charts are pending and provides:
+ * <ul>
+ * <li>a target frame rate: pulses are skipped until 1/rate has elapsed since the last frame
+ * <li>a per-frame time budget: based on the measured duration of their last re-draw, only as many pending charts are
+ * released in one pulse as fit into the budget (at least one, the others follow in the next pulses)
+ * <li>a frame-skip policy defining whether pulses are skipped after a frame has overrun the budget
+ * </ul>
+ *
+ * @author rstein
+ */
+public class RenderScheduler {
+    private static final RenderScheduler DEFAULT_SCHEDULER = new RenderScheduler();
+    private final Set<Chart> dirtyCharts = new LinkedHashSet<>();
+    // charts with a request from another thread that has not yet been handed over to the FX thread
+    private final Set<Chart> postedCharts = ConcurrentHashMap.newKeySet();
+    private final Map<Chart, Long> lastRenderDuration = new WeakHashMap<>();
+    private final Map<Chart, Long> lastRenderPulse = new WeakHashMap<>();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(final long now) {
+            handlePulse(now);
+        }
+    };
+    private boolean timerRunning;
+    private long pulse;
+    private long lastFrame = Long.MIN_VALUE;
+    private long skipUntil = Long.MIN_VALUE;
+    private long frameDuration;
+    private double targetFrameRate;
+    private double frameBudget = 16.0;
+    private FrameSkipPolicy frameSkipPolicy = FrameSkipPolicy.SKIP_AFTER_OVERRUN;
+    private long nFrames;
+    private long nSkippedPulses;
+    private long nRequests;
+
+    /**
+     * behaviour after a frame took longer than the per-frame time budget
+     */
+    public enum FrameSkipPolicy {
+        /**
+         * render the next frame as soon as possible
+         */
+        NEVER,
+        /**
+         * skip the pulses covered by the overrun (i.e. give the application thread time to catch up with e.g. user
+         * input)
+         */
+        SKIP_AFTER_OVERRUN
+    }
+
+    /**
+     * @return the scheduler shared by all charts by default
+     */
+    public static RenderScheduler getDefault() {
+        return DEFAULT_SCHEDULER;
+    }
+
+    /**
+     * @param rate maximum number of frames per second, '0' to render on every pulse (default)
+     * @return itself (fluent design)
+     */
+    public RenderScheduler setTargetFrameRate(final double rate) {
+        AssertUtils.gtEqThanZero("rate", rate);
+        targetFrameRate = rate;
+        return this;
+    }
+
+    /**
+     * @return maximum number of frames per second, '0' if charts are rendered on every pulse
+     */
+    public double getTargetFrameRate() {
+        return targetFrameRate;
+    }
+
+    /**
+     * @param budget per-frame time budget in milliseconds
+     * @return itself (fluent design)
+     */
+    public RenderScheduler setFrameBudget(final double budget) {
+        AssertUtils.gtThanZero("budget", budget);
+        frameBudget = budget;
+        return this;
+    }
+
+    /**
+     * @return per-frame time budget in milliseconds
+     */
+    public double getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * @param policy behaviour after a frame took longer than the per-frame time budget
+     * @return itself (fluent design)
+     */
+    public RenderScheduler setFrameSkipPolicy(final FrameSkipPolicy policy) {
+        AssertUtils.notNull("policy", policy);
+        frameSkipPolicy = policy;
+        return this;
+    }
+
+    /**
+     * @return behaviour after a frame took longer than the per-frame time budget
+     */
+    public FrameSkipPolicy getFrameSkipPolicy() {
+        return frameSkipPolicy;
+    }
+
+    /**
+     * marks the chart as dirty: it is re-drawn with the next frame. May be called from any thread, N.B. there is at
+     * most one outstanding {@link Platform#runLater(Runnable)} per chart, i.e. further requests from other threads are
+     * covered by it (e.g. data sets updated at high rates do not flood the JavaFX event queue).
+     *
+     * @param chart the chart to be re-drawn
+     */
+    public void requestRedraw(final Chart chart) {
+        if (!Platform.isFxApplicationThread()) {
+            if (postedCharts.add(chart)) {
+                Platform.runLater(() -> {
+                    // N.B. removed first: requests issued from now on post a new hand-over
+                    postedCharts.remove(chart);
+                    requestRedraw(chart);
+                });
+            }
+            return;
+        }
+        nRequests++;
+        dirtyCharts.add(chart);
+        if (!timerRunning) {
+            timerRunning = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * @param chart the chart to be checked
+     * @return {@code true} if a re-draw of the chart has been requested but not yet started
+     */
+    public boolean isPending(final Chart chart) {
+        return dirtyCharts.contains(chart);
+    }
+
+    /**
+     * to be called by charts at the start of their layout pass: re-draw requests issued so far are covered by this
+     * pass, N.B. requests issued during the pass (e.g. by data sets updated from within a renderer or axis listener)
+     * remain pending and are served with the next frame
+     *
+     * @param chart the chart
+     */
+    public void beginRedraw(final Chart chart) {
+        dirtyCharts.remove(chart);
+    }
+
+    /**
+     * @param chart the chart to be checked
+     * @return {@code true} if the chart has already been drawn during the current pulse
+     */
+    public boolean isRedrawnThisPulse(final Chart chart) {
+        final Long chartPulse = lastRenderPulse.get(chart);
+        return timerRunning && chartPulse != null && chartPulse == pulse;
+    }
+
+    /**
+     * to be called by charts after they have been re-drawn
+     *
+     * @param chart the chart
+     * @param duration time spent for the re-draw in nano-seconds
+     */
+    public void reportRedraw(final Chart chart, final long duration) {
+        lastRenderDuration.put(chart, duration);
+        lastRenderPulse.put(chart, pulse);
+        frameDuration += duration;
+    }
+
+    private void handlePulse(final long now) {
+        pulse++;
+        final long frameBudgetNanos = (long) (frameBudget * 1e6);
+        if (frameDuration > frameBudgetNanos && frameSkipPolicy == FrameSkipPolicy.SKIP_AFTER_OVERRUN) {
+            skipUntil = now + frameDuration - frameBudgetNanos;
+        }
+        frameDuration = 0;
+
+        if (dirtyCharts.isEmpty()) {
+            timerRunning = false;
+            timer.stop();
+            return;
+        }
+        final long minFrameInterval = targetFrameRate == 0 ? 0 : (long) (1e9 / targetFrameRate);
+        if (now < skipUntil || lastFrame != Long.MIN_VALUE && now - lastFrame < minFrameInterval) {
+            nSkippedPulses++;
+            return;
+        }
+        lastFrame = now;
+        nFrames++;
+
+        // release as many charts as (expected to) fit into the frame budget
+        long expectedDuration = 0;
+        final List<Chart> released = new ArrayList<>();
+        for (final Chart chart : dirtyCharts) {
+            final Long duration = lastRenderDuration.get(chart);
+            expectedDuration += duration == null ? 0 : duration;
+            if (!released.isEmpty() && expectedDuration > frameBudgetNanos) {
+                break;
+            }
+            released.add(chart);
+        }
+        dirtyCharts.removeAll(released);
+        for (final Chart chart : released) {
+            // N.B. layout pass follows in the same pulse
+            chart.requestLayout();
+        }
+    }
+
+    /**
+     * @return number of charts waiting to be re-drawn
+     */
+    public int getPendingCount() {
+        return dirtyCharts.size();
+    }
+
+    /**
+     * @return number of frames in which pending charts have been released
+     */
+    public long getFrameCount() {
+        return nFrames;
+    }
+
+    /**
+     * @return number of pulses skipped due to the target frame rate or frame-skip policy
+     */
+    public long getSkippedPulseCount() {
+        return nSkippedPulses;
+    }
+
+    /**
+     * @return number of re-draw requests (N.B. requests from other threads that are covered by an outstanding one are
+     *         not counted)
+     */
+    public long getRequestCount() {
+        return nRequests;
+    }
+}
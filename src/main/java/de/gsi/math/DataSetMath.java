@@ -1008,11 +1008,14 @@ public final class DataSetMath {
     }
 
     public static DataSet getSubRange(final DataSet function, final double xMin, final double xMax) {
-        final int nLength = function.getDataCount();
+        // N.B. binary search for sorted data sets, full range otherwise
+        final int indexMin = function.getXIndexLowerBound(xMin);
+        final int indexMax = function.getXIndexUpperBound(xMax);
+        final int nLength = Math.max(0, indexMax - indexMin);
         final DoubleErrorDataSet ret = new DoubleErrorDataSet(
                 function.getName() + "subRange(" + xMin + ", " + xMax + ")", nLength);
 
-        for (int i = 0; i < nLength; i++) {
+        for (int i = indexMin; i < indexMax; i++) {
             final double x = function.getX(i);
             final double y = function.getY(i);
             final double ex = error(function, EXP, i);
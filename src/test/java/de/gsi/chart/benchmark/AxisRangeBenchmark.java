@@ -0,0 +1,121 @@
+package de.gsi.chart.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.gsi.chart.XYChart;
+import de.gsi.chart.axes.Axis;
+import de.gsi.chart.axes.spi.DefaultNumericAxis;
+import de.gsi.chart.data.DataSet;
+import de.gsi.chart.data.spi.DoubleDataSet;
+import de.gsi.chart.renderer.Renderer;
+import de.gsi.chart.renderer.spi.ErrorDataSetRenderer;
+import de.gsi.chart.ui.geometry.Side;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+/**
+ * simple benchmark illustrating the cost of the per-layout axis auto-ranging of a chart with 200 data sets and 8 axes
+ * (4 renderers with one x- and y-axis each): previous full re-computation (new data set list per axis, boxed min/max
+ * values, Axis::invalidateRange(List) for each axis and layout pass) vs. incremental {@link XYChart#updateAxisRange()}
+ * with none or one modified data set per pass
+ *
+ * @author rstein
+ */
+public class AxisRangeBenchmark extends Application {
+    private static final int N_RENDERER = 4;
+    private static final int N_DATA_SETS = 200;
+    private static final int N_SAMPLES = 1000;
+    private static final int N_PASSES = 20_000;
+    private static final int N_ITERATIONS = 3;
+
+    private interface LayoutPass {
+        void update(int pass);
+    }
+
+    private static void benchmark(final String name, final XYChart chart, final LayoutPass layoutPass) {
+        final long updates = chart.getAxisRangeUpdateCount();
+        final long start = System.nanoTime();
+        for (int pass = 0; pass < N_PASSES; pass++) {
+            layoutPass.update(pass);
+        }
+        final double passTime = (System.nanoTime() - start) * 1e-3 / N_PASSES;
+        System.out.printf("%-45s: %8.2f us/pass (%6d axis range updates)%n", name, passTime,
+                chart.getAxisRangeUpdateCount() - updates);
+    }
+
+    // previous (non-incremental) XYChart::updateAxisRange implementation for reference
+    private static void legacyUpdateAxisRange(final XYChart chart) {
+        for (final Axis axis : chart.getAxes()) {
+            final List<DataSet> dataSets = new ArrayList<>(chart.getDatasets());
+            chart.getRenderers().forEach(renderer -> renderer.getAxes().stream().filter(axis::equals)
+                    .forEach(rendererAxis -> dataSets.addAll(renderer.getDatasets())));
+            if (dataSets.isEmpty()) {
+                continue;
+            }
+            final boolean isHorizontal = axis.getSide().isHorizontal();
+            final List<Number> dataMinMax = new ArrayList<>();
+            dataSets.forEach(dataSet -> {
+                dataMinMax.add(isHorizontal ? dataSet.getXMin() : dataSet.getYMin());
+                dataMinMax.add(isHorizontal ? dataSet.getXMax() : dataSet.getYMax());
+            });
+            final boolean oldFlag = axis.isAutoNotification();
+            axis.setAutoNotifaction(false);
+            axis.invalidateRange(dataMinMax);
+            axis.setAutoNotifaction(oldFlag);
+        }
+    }
+
+    @Override
+    public void start(final Stage primaryStage) {
+        final XYChart chart = new XYChart(new DefaultNumericAxis("x0"), new DefaultNumericAxis("y0"));
+        final Side[] xSides = { Side.BOTTOM, Side.TOP };
+        final Side[] ySides = { Side.LEFT, Side.RIGHT };
+        for (int i = 1; i < N_RENDERER; i++) {
+            final DefaultNumericAxis xAxis = new DefaultNumericAxis("x" + i);
+            xAxis.setSide(xSides[i % 2]);
+            final DefaultNumericAxis yAxis = new DefaultNumericAxis("y" + i);
+            yAxis.setSide(ySides[i % 2]);
+            final ErrorDataSetRenderer renderer = new ErrorDataSetRenderer();
+            renderer.getAxes().addAll(xAxis, yAxis);
+            chart.getRenderers().add(renderer);
+        }
+
+        final List<DoubleDataSet> dataSets = new ArrayList<>();
+        for (int i = 0; i < N_DATA_SETS; i++) {
+            final double[] xValues = new double[N_SAMPLES];
+            final double[] yValues = new double[N_SAMPLES];
+            for (int j = 0; j < N_SAMPLES; j++) {
+                xValues[j] = j;
+                yValues[j] = (i + 1) * Math.sin(0.01 * j);
+            }
+            final DoubleDataSet dataSet = new DoubleDataSet("data set " + i, xValues, yValues);
+            dataSets.add(dataSet);
+            final Renderer renderer = chart.getRenderers().get(i % N_RENDERER);
+            renderer.getDatasets().add(dataSet);
+        }
+        System.out.println("chart with " + dataSets.size() + " data sets and " + chart.getAxes().size() + " axes");
+
+        for (int iter = 0; iter < N_ITERATIONS; iter++) {
+            System.out.println("iteration " + iter);
+            benchmark("full re-computation (previous implementation)", chart, pass -> legacyUpdateAxisRange(chart));
+            benchmark("incremental, invalidated axis data ranges", chart, pass -> {
+                chart.invalidateAxisDataRanges();
+                chart.updateAxisRange();
+            });
+            benchmark("incremental, no data set changes", chart, pass -> chart.updateAxisRange());
+            benchmark("incremental, one data set changed per pass", chart, pass -> {
+                final DoubleDataSet dataSet = dataSets.get(pass % N_DATA_SETS);
+                // N.B. alternating the range defining sample
+                dataSet.set(N_SAMPLES / 2, N_SAMPLES / 2, pass % 2 == 0 ? 1e3 : 0.0);
+                chart.updateAxisRange();
+            });
+        }
+        Platform.exit();
+    }
+
+    public static void main(final String[] args) {
+        Application.launch(args);
+    }
+}
@@ -0,0 +1,72 @@
+package de.gsi.chart.benchmark;
+
+import de.gsi.chart.renderer.RendererDataReducer;
+import de.gsi.chart.renderer.datareduction.DefaultDataReducer;
+import de.gsi.chart.renderer.datareduction.M4DataReducer;
+import de.gsi.chart.renderer.datareduction.M4DataReducer.ReductionMode;
+
+/**
+ * simple benchmark illustrating the reduction of 10^8 (screen coordinate) data points to the screen width by the
+ * pixel-column based {@link M4DataReducer} (M4 and LTTB mode) compared to the {@link DefaultDataReducer}.
+ * <p>
+ * N.B. requires about 2.5 GB of heap (e.g. '-Xmx4g'), the number of points can be changed via the first argument
+ *
+ * @author rstein
+ */
+public class DataReducerBenchmark {
+    private static final int N_DEFAULT_SAMPLES = 100_000_000;
+    private static final int SCREEN_WIDTH = 1920;
+    private static final double SCREEN_HEIGHT = 1080;
+    private static final double FRAME_BUDGET_MS = 1000.0 / 60.0;
+    private static final int N_ITERATIONS = 5;
+
+    private static void fill(final double[] x, final double[] y, final int n) {
+        long seed = 42;
+        for (int i = 0; i < n; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            final double noise = (seed >>> 11) * 0x1.0p-53;
+            x[i] = (double) i / n * SCREEN_WIDTH;
+            // slow sine + noise + rare glitches that must not be hidden
+            y[i] = 0.5 * SCREEN_HEIGHT + 200 * Math.sin(x[i] * 0.01) + 20 * noise + (i % 9_999_991 == 0 ? 300 : 0);
+        }
+    }
+
+    private static void benchmark(final String name, final RendererDataReducer reducer, final double[] x,
+            final double[] y, final String[] styles, final boolean[] selected, final int n) {
+        double sum = 0.0;
+        double min = Double.MAX_VALUE;
+        int count = 0;
+        for (int i = 0; i < N_ITERATIONS; i++) {
+            // N.B. in-place reduction modifies the input
+            fill(x, y, n);
+            final long start = System.nanoTime();
+            count = reducer.reducePoints(x, y, null, null, null, null, styles, selected, 0, n);
+            final double diff = (System.nanoTime() - start) * 1e-6;
+            sum += diff;
+            min = Math.min(min, diff);
+        }
+        final double mean = sum / N_ITERATIONS;
+        System.out.println(String.format(
+                "%-22s: %,d -> %,7d points in %8.2f ms (min %8.2f ms, %6.1f MPoints/s) - frame budget %5.1f ms: %s",
+                name, n, count, mean, min, n / min * 1e-3, FRAME_BUDGET_MS,
+                min <= FRAME_BUDGET_MS ? "within" : "exceeded"));
+    }
+
+    public static void main(final String[] args) {
+        final int n = args.length > 0 ? Integer.parseInt(args[0]) : N_DEFAULT_SAMPLES;
+        final double[] x = new double[n];
+        final double[] y = new double[n];
+
+        final M4DataReducer m4 = new M4DataReducer();
+        benchmark("M4DataReducer (M4)", m4, x, y, null, null, n);
+
+        final M4DataReducer lttb = new M4DataReducer();
+        lttb.setReductionMode(ReductionMode.LTTB);
+        benchmark("M4DataReducer (LTTB)", lttb, x, y, null, null, n);
+
+        // N.B. the default reducer requires the styles and selection arrays
+        final DefaultDataReducer defaultReducer = new DefaultDataReducer();
+        defaultReducer.setMinPointPixelDistance(1);
+        benchmark("DefaultDataReducer", defaultReducer, x, y, new String[n], new boolean[n], n);
+    }
+}
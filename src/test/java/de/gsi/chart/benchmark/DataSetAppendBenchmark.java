@@ -0,0 +1,89 @@
+package de.gsi.chart.benchmark;
+
+import de.gsi.chart.data.spi.DoubleDataSet;
+import de.gsi.chart.data.spi.DoubleErrorDataSet;
+
+/**
+ * simple benchmark illustrating the append throughput of the editable data sets for single-point (streaming) and bulk
+ * appends of 10^7 points
+ *
+ * @author rstein
+ */
+public class DataSetAppendBenchmark {
+    private static final int N_SAMPLES = 10_000_000;
+    private static final int N_SAMPLES_REFERENCE = 20_000;
+    private static final int N_BULK_CHUNK = 1000;
+    private static final int N_ITERATIONS = 5;
+
+    private static void benchmarkSingleAppendDoubleDataSet() {
+        final long start = System.nanoTime();
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        dataSet.setAutoNotifaction(false);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, Math.sin(0.001 * i));
+        }
+        print("DoubleDataSet.add(x,y)", start, dataSet.getDataCount());
+    }
+
+    private static void benchmarkSingleAppendDoubleErrorDataSet() {
+        final long start = System.nanoTime();
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test");
+        dataSet.setAutoNotifaction(false);
+        for (int i = 0; i < N_SAMPLES; i++) {
+            dataSet.add(i, Math.sin(0.001 * i), 0.1, 0.1);
+        }
+        print("DoubleErrorDataSet.add(x,y,ey-,ey+)", start, dataSet.getDataCount());
+    }
+
+    private static void benchmarkBulkAppendDoubleDataSet() {
+        final double[] x = new double[N_BULK_CHUNK];
+        final double[] y = new double[N_BULK_CHUNK];
+        final long start = System.nanoTime();
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        dataSet.setAutoNotifaction(false);
+        for (int i = 0; i < N_SAMPLES; i += N_BULK_CHUNK) {
+            for (int j = 0; j < N_BULK_CHUNK; j++) {
+                x[j] = i + j;
+                y[j] = Math.sin(0.001 * (i + j));
+            }
+            dataSet.add(x, y, N_BULK_CHUNK);
+        }
+        print("DoubleDataSet.add(x[],y[]," + N_BULK_CHUNK + ")", start, dataSet.getDataCount());
+    }
+
+    /**
+     * reference: previous strategy re-allocating the arrays to the exact required size for each new sample
+     */
+    private static void benchmarkExactReallocationReference() {
+        final long start = System.nanoTime();
+        double[] xValues = new double[0];
+        double[] yValues = new double[0];
+        for (int i = 0; i < N_SAMPLES_REFERENCE; i++) {
+            final double[] xValuesNew = new double[i + 1];
+            final double[] yValuesNew = new double[i + 1];
+            System.arraycopy(xValues, 0, xValuesNew, 0, i);
+            System.arraycopy(yValues, 0, yValuesNew, 0, i);
+            xValues = xValuesNew;
+            yValues = yValuesNew;
+            xValues[i] = i;
+            yValues[i] = Math.sin(0.001 * i);
+        }
+        print("reference: exact re-allocation", start, xValues.length);
+    }
+
+    private static void print(final String name, final long start, final int nSamples) {
+        final double diff = (System.nanoTime() - start) * 1e-9;
+        System.out.println(String.format("%-40s: %9d samples in %7.3f s -> %8.2f MSamples/s", name, nSamples, diff,
+                nSamples / diff * 1e-6));
+    }
+
+    public static void main(final String[] args) {
+        for (int i = 0; i < N_ITERATIONS; i++) {
+            System.out.println("iteration " + i);
+            benchmarkExactReallocationReference();
+            benchmarkSingleAppendDoubleDataSet();
+            benchmarkSingleAppendDoubleErrorDataSet();
+            benchmarkBulkAppendDoubleDataSet();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.gsi.chart.benchmark;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.gsi.chart.data.DataSet;
+import de.gsi.chart.data.spi.CircularDoubleErrorDataSet;
+import de.gsi.chart.data.spi.LockFreeCircularDoubleErrorDataSet;
+
+/**
+ * simple benchmark illustrating the writer stalls of a single (acquisition) thread appending to a circular data set
+ * while several reader (rendering) threads repeatedly copy the data within lock()/unlock(): lock-based
+ * {@link CircularDoubleErrorDataSet} vs. {@link LockFreeCircularDoubleErrorDataSet}
+ *
+ * @author rstein
+ */
+public class DataSetContentionBenchmark {
+    private static final int N_CAPACITY = 100_000;
+    private static final int N_READERS = 2;
+    private static final long DURATION_NANOS = 2_000_000_000L;
+    private static final long STALL_THRESHOLD_NANOS = 100_000L;
+    private static final int N_ITERATIONS = 3;
+
+    private interface Appender {
+        void add(double x, double y);
+    }
+
+    private static void benchmark(final String name, final DataSet dataSet, final Appender appender)
+            throws InterruptedException {
+        dataSet.setAutoNotifaction(false);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong nFrames = new AtomicLong();
+        final Thread[] readers = new Thread[N_READERS];
+        for (int i = 0; i < N_READERS; i++) {
+            readers[i] = new Thread(() -> {
+                double[] xValues = new double[N_CAPACITY];
+                double[] yValues = new double[N_CAPACITY];
+                double checkSum = 0.0;
+                while (running.get()) {
+                    dataSet.lock();
+                    try {
+                        // emulates the renderer copying and transforming the data
+                        final int n = dataSet.getDataCount();
+                        xValues = dataSet.getXValues(0, n, xValues, 0);
+                        yValues = dataSet.getYValues(0, n, yValues, 0);
+                        for (int j = 0; j < n; j++) {
+                            checkSum += 0.5 * xValues[j] + 2.0 * yValues[j];
+                        }
+                    } finally {
+                        dataSet.unlock();
+                    }
+                    nFrames.incrementAndGet();
+                }
+                if (checkSum == Double.MIN_VALUE) {
+                    System.out.println("avoids dead-code elimination");
+                }
+            });
+            readers[i].start();
+        }
+
+        long nSamples = 0;
+        long maxStall = 0;
+        long nStalls = 0;
+        final long start = System.nanoTime();
+        long now = start;
+        while (now - start < DURATION_NANOS) {
+            appender.add(nSamples, Math.sin(0.001 * nSamples));
+            nSamples++;
+            final long stop = System.nanoTime();
+            final long diff = stop - now;
+            maxStall = Math.max(maxStall, diff);
+            if (diff > STALL_THRESHOLD_NANOS) {
+                nStalls++;
+            }
+            now = stop;
+        }
+        running.set(false);
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+
+        final double diff = (now - start) * 1e-9;
+        final String extra = dataSet instanceof LockFreeCircularDoubleErrorDataSet
+                ? " torn reads: " + ((LockFreeCircularDoubleErrorDataSet) dataSet).getTornReadCount() : "";
+        System.out.println(String.format(
+                "%-36s: writer %7.2f MSamples/s, max stall %8.1f us, %7d stalls > %d us - readers %7.1f frames/s%s",
+                name, nSamples / diff * 1e-6, maxStall * 1e-3, nStalls, STALL_THRESHOLD_NANOS / 1000,
+                nFrames.get() / diff, extra));
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        for (int i = 0; i < N_ITERATIONS; i++) {
+            System.out.println("iteration " + i);
+            final CircularDoubleErrorDataSet lockBased = new CircularDoubleErrorDataSet("lock-based", N_CAPACITY);
+            benchmark("CircularDoubleErrorDataSet", lockBased, (x, y) -> lockBased.add(x, y, 0.1, 0.1));
+
+            final LockFreeCircularDoubleErrorDataSet lockFree = new LockFreeCircularDoubleErrorDataSet("lock-free",
+                    N_CAPACITY);
+            benchmark("LockFreeCircularDoubleErrorDataSet", lockFree, (x, y) -> lockFree.add(x, y, 0.1, 0.1));
+        }
+    }
+}
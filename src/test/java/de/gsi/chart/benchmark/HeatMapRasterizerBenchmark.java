@@ -0,0 +1,114 @@
+package de.gsi.chart.benchmark;
+
+import de.gsi.chart.axes.AxisTransform;
+import de.gsi.chart.data.spi.DoubleDataSet3D;
+import de.gsi.chart.renderer.spi.utils.ColorGradient;
+import de.gsi.chart.renderer.spi.utils.HeatMapRasterizer;
+import javafx.scene.paint.Color;
+
+/**
+ * simple benchmark illustrating the rasterisation rate of 2048 x 2048 spectrograms (e.g. a 25 Hz waterfall display):
+ * per-pixel gradient interpolation (previous ContourDataSetRenderer::drawHeatMap implementation, w/o the
+ * PixelWriter::setColor overhead) vs. {@link HeatMapRasterizer} (sequential and concurrent row strips)
+ *
+ * @author rstein
+ */
+public class HeatMapRasterizerBenchmark {
+    private static final int N_SAMPLES = 2048;
+    private static final int N_LEVELS = 20;
+    private static final int N_FRAMES = 25;
+    private static final int N_ITERATIONS = 3;
+    private static final double FRAME_BUDGET = 1e3 / 25; // [ms]
+
+    private interface Rasterizer {
+        void rasterize(int frame);
+    }
+
+    // N.B. stand-in for the DefaultAxisTransform that requires a (JavaFX) axis instance
+    private static class IdentityTransform implements AxisTransform {
+        @Override
+        public double forward(final double val) {
+            return val;
+        }
+
+        @Override
+        public double backward(final double val) {
+            return val;
+        }
+
+        @Override
+        public void setMinimumRange(final double val) {
+            // not needed
+        }
+
+        @Override
+        public double getMinimumRange() {
+            return -Double.MAX_VALUE;
+        }
+
+        @Override
+        public double getRoundedMinimumRange(final double val) {
+            return val;
+        }
+
+        @Override
+        public void setMaximumRange(final double val) {
+            // not needed
+        }
+
+        @Override
+        public double getMaximumRange() {
+            return Double.MAX_VALUE;
+        }
+
+        @Override
+        public double getRoundedMaximumRange(final double val) {
+            return val;
+        }
+    }
+
+    private static void benchmark(final String name, final Rasterizer rasterizer) {
+        final long start = System.nanoTime();
+        for (int frame = 0; frame < N_FRAMES; frame++) {
+            rasterizer.rasterize(frame);
+        }
+        final double frameTime = (System.nanoTime() - start) * 1e-6 / N_FRAMES;
+        System.out.printf("%-40s: %7.2f ms/frame (%5.1f%% of the 25 Hz budget)%n", name, frameTime,
+                100.0 * frameTime / FRAME_BUDGET);
+    }
+
+    public static void main(final String[] args) {
+        final double[][] spectrum = new double[N_SAMPLES][N_SAMPLES];
+        for (int y = 0; y < N_SAMPLES; y++) {
+            for (int x = 0; x < N_SAMPLES; x++) {
+                spectrum[y][x] = Math.sin(0.01 * x) * Math.cos(0.003 * y) + 0.1 * Math.random();
+            }
+        }
+        final DoubleDataSet3D dataSet = new DoubleDataSet3D("spectrogram", spectrum);
+        dataSet.setAutoNotifaction(false);
+        final AxisTransform transform = new IdentityTransform();
+        final ColorGradient gradient = ColorGradient.RAINBOW;
+        final int[] pixels = new int[N_SAMPLES * N_SAMPLES];
+        final HeatMapRasterizer rasterizer = new HeatMapRasterizer();
+
+        for (int iter = 0; iter < N_ITERATIONS; iter++) {
+            System.out.println("iteration " + iter);
+            benchmark("per-pixel gradient interpolation", frame -> {
+                for (int xIndex = 0; xIndex < N_SAMPLES; xIndex++) {
+                    for (int yIndex = 0; yIndex < N_SAMPLES; yIndex++) {
+                        final double offset = (dataSet.getZ(xIndex, yIndex) + 1.1) / 2.2;
+                        final Color color = HeatMapRasterizer.getColor(gradient,
+                                Math.round(offset * N_LEVELS) / (double) N_LEVELS);
+                        pixels[(N_SAMPLES - 1 - yIndex) * N_SAMPLES + xIndex] = HeatMapRasterizer.toArgbPre(color);
+                    }
+                }
+            });
+            rasterizer.setParallel(false);
+            benchmark("HeatMapRasterizer (sequential)", frame -> rasterizer.rasterize(dataSet, 0, N_SAMPLES, 0,
+                    N_SAMPLES, transform, -1.1, 1.1, false, gradient, N_LEVELS, 1, 1, pixels));
+            rasterizer.setParallel(true);
+            benchmark("HeatMapRasterizer (parallel)", frame -> rasterizer.rasterize(dataSet, 0, N_SAMPLES, 0,
+                    N_SAMPLES, transform, -1.1, 1.1, false, gradient, N_LEVELS, 1, 1, pixels));
+        }
+    }
+}
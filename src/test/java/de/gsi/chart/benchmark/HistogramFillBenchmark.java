@@ -0,0 +1,83 @@
+package de.gsi.chart.benchmark;
+
+import java.util.Random;
+
+import de.gsi.chart.data.spi.ConcurrentHistogram;
+import de.gsi.chart.data.spi.Histogram;
+
+/**
+ * simple benchmark illustrating the fill rates of several (event builder) threads filling the same histogram:
+ * {@link Histogram} (single-threaded and guarded by a common monitor) vs. {@link ConcurrentHistogram} (single and bulk
+ * fill)
+ *
+ * @author rstein
+ */
+public class HistogramFillBenchmark {
+    private static final int N_THREADS = 8;
+    private static final int N_EVENTS = 5_000_000; // per thread
+    private static final int N_BINS = 1000;
+    private static final int N_ITERATIONS = 3;
+    private static final double[] EVENTS = new double[N_EVENTS];
+
+    private interface Filler {
+        void fill(double[] x);
+    }
+
+    private static void benchmark(final String name, final int nThreads, final Histogram histogram,
+            final Filler filler) throws InterruptedException {
+        histogram.setAutoNotifaction(false);
+        histogram.reset();
+        final Thread[] threads = new Thread[nThreads];
+        final long start = System.nanoTime();
+        for (int i = 0; i < nThreads; i++) {
+            threads[i] = new Thread(() -> filler.fill(EVENTS));
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        final long stop = System.nanoTime();
+
+        histogram.lock();
+        double sum = 0.0;
+        for (int i = 0; i < histogram.getNBinsX(); i++) {
+            sum += histogram.getBinContent(i);
+        }
+        histogram.unlock();
+        final double nEvents = (double) nThreads * N_EVENTS;
+        System.out.printf("%-40s: %2d threads %7.1f MEvents/s (entries %s)%n", name, nThreads,
+                nEvents / (stop - start) * 1e3, sum == nEvents ? "OK" : "LOST " + (long) (nEvents - sum));
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        final Random random = new Random(42);
+        for (int i = 0; i < N_EVENTS; i++) {
+            EVENTS[i] = 50.0 + 20.0 * random.nextGaussian();
+        }
+        final Histogram histogram = new Histogram("reference", N_BINS, 0.0, 100.0);
+        final ConcurrentHistogram concurrentHistogram = new ConcurrentHistogram("concurrent", N_BINS, 0.0, 100.0);
+
+        for (int iter = 0; iter < N_ITERATIONS; iter++) {
+            System.out.println("iteration " + iter);
+            benchmark("Histogram::fill", 1, histogram, x -> {
+                for (final double value : x) {
+                    histogram.fill(value);
+                }
+            });
+            benchmark("Histogram::fill (synchronized)", N_THREADS, histogram, x -> {
+                for (final double value : x) {
+                    synchronized (histogram) {
+                        histogram.fill(value);
+                    }
+                }
+            });
+            benchmark("ConcurrentHistogram::fill", N_THREADS, concurrentHistogram, x -> {
+                for (final double value : x) {
+                    concurrentHistogram.fill(value);
+                }
+            });
+            benchmark("ConcurrentHistogram::fill(x, w, from, to)", N_THREADS, concurrentHistogram,
+                    x -> concurrentHistogram.fill(x, null, 0, x.length));
+        }
+    }
+}
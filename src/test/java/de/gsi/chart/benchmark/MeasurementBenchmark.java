@@ -0,0 +1,84 @@
+package de.gsi.chart.benchmark;
+
+import de.gsi.chart.data.DataSet;
+import de.gsi.chart.data.spi.DoubleDataSet;
+import de.gsi.chart.plugins.measurements.utils.RangeStatistics;
+import de.gsi.chart.plugins.measurements.utils.SimpleDataSetEstimators;
+
+/**
+ * simple benchmark illustrating the cost of re-evaluating 30 measurements (10 each of MEAN, RMS and MEDIAN) on the
+ * same data set range of a 1M sample data set while a marker is dragged (range shifted by a few samples per update):
+ * previous independent per-measurement passes via {@link SimpleDataSetEstimators} vs. one shared
+ * {@link RangeStatistics} pass (full re-computation and incremental range shift)
+ *
+ * @author rstein
+ */
+public class MeasurementBenchmark {
+    private static final int N_SAMPLES = 1_000_000;
+    private static final int N_MEASUREMENTS_PER_TYPE = 10;
+    private static final int RANGE_LENGTH = 500_000;
+    private static final int RANGE_SHIFT = 10;
+    private static final int N_UPDATES = 200;
+    private static final int N_ITERATIONS = 3;
+
+    private interface Update {
+        double update(int indexMin, int indexMax);
+    }
+
+    private static void benchmark(final String name, final Update update) {
+        double checkSum = 0.0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < N_UPDATES; i++) {
+            final int indexMin = i * RANGE_SHIFT;
+            checkSum += update.update(indexMin, indexMin + RANGE_LENGTH);
+        }
+        final double updateTime = (System.nanoTime() - start) * 1e-6 / N_UPDATES;
+        System.out.printf("%-45s: %8.3f ms/update (check sum %.6e)%n", name, updateTime, checkSum);
+    }
+
+    public static void main(final String[] args) {
+        final double[] xValues = new double[N_SAMPLES];
+        final double[] yValues = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            xValues[i] = i;
+            yValues[i] = Math.sin(1e-4 * i) + 0.1 * Math.sin(0.37 * i);
+        }
+        final DataSet dataSet = new DoubleDataSet("data", xValues, yValues);
+        final RangeStatistics fullStatistics = new RangeStatistics();
+        final RangeStatistics incrementalStatistics = new RangeStatistics();
+
+        for (int iter = 0; iter < N_ITERATIONS; iter++) {
+            System.out.println("iteration " + iter);
+            benchmark("independent passes (previous implementation)", (indexMin, indexMax) -> {
+                double sum = 0.0;
+                for (int i = 0; i < N_MEASUREMENTS_PER_TYPE; i++) {
+                    sum += SimpleDataSetEstimators.getMean(dataSet, indexMin, indexMax);
+                    sum += SimpleDataSetEstimators.getRms(dataSet, indexMin, indexMax);
+                    sum += SimpleDataSetEstimators.getMedian(dataSet, indexMin, indexMax);
+                }
+                return sum;
+            });
+            final long modificationCount = 0;
+            benchmark("shared pass, full re-computation", (indexMin, indexMax) -> {
+                // N.B. a new modification count enforces a full update
+                fullStatistics.update(dataSet, fullStatistics.getFullUpdateCount(), indexMin, indexMax);
+                double sum = 0.0;
+                for (int i = 0; i < N_MEASUREMENTS_PER_TYPE; i++) {
+                    sum += fullStatistics.getMean() + fullStatistics.getRms() + fullStatistics.getMedian();
+                }
+                return sum;
+            });
+            benchmark("shared pass, incremental range shift", (indexMin, indexMax) -> {
+                incrementalStatistics.update(dataSet, modificationCount, indexMin, indexMax);
+                double sum = 0.0;
+                for (int i = 0; i < N_MEASUREMENTS_PER_TYPE; i++) {
+                    sum += incrementalStatistics.getMean() + incrementalStatistics.getRms()
+                            + incrementalStatistics.getMedian();
+                }
+                return sum;
+            });
+            System.out.printf("incremental statistics: %d full, %d incremental updates%n",
+                    incrementalStatistics.getFullUpdateCount(), incrementalStatistics.getIncrementalUpdateCount());
+        }
+    }
+}